@@ -0,0 +1,86 @@
+package com.epam.esm.benchmark;
+
+import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.entity.Tag;
+import lombok.experimental.UtilityClass;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static com.epam.esm.util.DatabaseQueryConstants.*;
+
+/**
+ * Gift certificates shaped like the ones the application serves, shared by the benchmarks.
+ */
+@UtilityClass
+public class BenchmarkData {
+    public static final int TAGS_PER_CERTIFICATE = 3;
+    public static final int PAGE_SIZE = 20;
+
+    private static final LocalDateTime CREATE_DATE = LocalDateTime.of(2024, 3, 14, 9, 26, 53, 589_793_000);
+
+    /**
+     * Creates a gift certificate with its tags.
+     *
+     * @param id The ID of the certificate.
+     * @return The gift certificate.
+     */
+    public static GiftCertificate certificate(long id) {
+        Set<Tag> tags = new LinkedHashSet<>();
+        for (int i = 0; i < TAGS_PER_CERTIFICATE; i++) {
+            long tagId = (id + i) % 100 + 1;
+            tags.add(Tag.builder().id(tagId).name("Tag " + tagId).build());
+        }
+        return GiftCertificate.builder()
+                .id(id)
+                .name("Certificate " + id)
+                .description("Description of the gift certificate number " + id)
+                .price(49.99)
+                .duration(30)
+                .createDate(CREATE_DATE)
+                .lastUpdateDate(CREATE_DATE.plusDays(id % 365))
+                .tags(tags)
+                .build();
+    }
+
+    /**
+     * Creates a page of gift certificates with consecutive IDs.
+     *
+     * @return The gift certificates of a page.
+     */
+    public static List<GiftCertificate> page() {
+        return IntStream.rangeClosed(1, PAGE_SIZE).mapToObj(BenchmarkData::certificate).toList();
+    }
+
+    /**
+     * Creates a result set positioned on the row of a gift certificate. Only the getters by column name
+     * that the row mappers call are supported, and they return prepared values, so that the cost
+     * measured is the one of the mapping rather than of the stub.
+     *
+     * @param certificate The certificate the row holds.
+     * @return The result set stub.
+     */
+    public static ResultSet resultSet(GiftCertificate certificate) {
+        Map<String, Object> row = Map.of(
+                GIFT_CERTIFICATE_ID, certificate.getId(),
+                GIFT_CERTIFICATE_NAME, certificate.getName(),
+                GIFT_CERTIFICATE_DESCRIPTION, certificate.getDescription(),
+                GIFT_CERTIFICATE_PRICE, certificate.getPrice(),
+                GIFT_CERTIFICATE_DURATION, certificate.getDuration(),
+                GIFT_CERTIFICATE_CREATE_DATE, Timestamp.valueOf(certificate.getCreateDate()),
+                GIFT_CERTIFICATE_LAST_UPDATE_DATE, Timestamp.valueOf(certificate.getLastUpdateDate()));
+        return (ResultSet) Proxy.newProxyInstance(BenchmarkData.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getLong", "getString", "getDouble", "getInt", "getTimestamp", "getObject" -> row.get((String) args[0]);
+                    case "wasNull" -> false;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,142 @@
+package com.epam.esm.benchmark;
+
+import com.epam.esm.cache.CertificateSearchIndex;
+import com.epam.esm.entity.CatalogVersion;
+import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.entity.filter.search.SearchFilter;
+import com.epam.esm.entity.filter.search.SearchPlace;
+import com.epam.esm.entity.filter.search.SearchType;
+import com.epam.esm.event.GiftCertificateChangedEvent;
+import com.epam.esm.generator.CatalogGenerator;
+import com.epam.esm.generator.CatalogSettings;
+import com.epam.esm.repository.repository.GiftCertificateRepository;
+import com.epam.esm.repository.repository.SearchTextConsumer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency percentiles of the certificate search index on a generated catalog of a million
+ * certificates, indexing names and descriptions, for the keystrokes of a name prefix, a word contained in a tenth
+ * of the names ignoring case, a number contained in the names of a few certificates, a two digit suffix and a city
+ * contained in the descriptions. A rename of a certificate is measured too.
+ * The SQL searches on the same catalog size are measured by {@code TrigramSearchBenchmark} of the repository.
+ */
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class CertificateSearchIndexBenchmark {
+    private static final CatalogSettings CATALOG = new CatalogSettings(1_000_000, 100, 1, 1.0, 42);
+    private static final int PAGE_SIZE = 21;
+    private static final long RENAMED_ID = CATALOG.certificates() / 2;
+
+    private CertificateSearchIndex certificateSearchIndex;
+    private SearchFilter firstLetter;
+    private SearchFilter firstWord;
+    private SearchFilter containedWord;
+    private SearchFilter containedNumber;
+    private SearchFilter twoDigitSuffix;
+    private SearchFilter descriptionCity;
+    private boolean renamed;
+
+    @Setup
+    public void setUp() throws IOException {
+        StringWriter certificates = new StringWriter();
+        new CatalogGenerator(CATALOG).write(CatalogGenerator.Table.GIFT_CERTIFICATE, certificates);
+        GiftCertificateRepository giftCertificateRepository = (GiftCertificateRepository) Proxy.newProxyInstance(
+                GiftCertificateRepository.class.getClassLoader(), new Class<?>[]{GiftCertificateRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "streamSearchTexts" -> {
+                        SearchTextConsumer consumer = (SearchTextConsumer) args[1];
+                        // rows are id,name,"description",price,...
+                        certificates.toString().lines().forEach(row -> {
+                            int nameStart = row.indexOf(',') + 1;
+                            int descriptionStart = row.indexOf(",\"", nameStart) + 2;
+                            consumer.accept(Long.parseLong(row.substring(0, nameStart - 1)),
+                                    row.substring(nameStart, descriptionStart - 2),
+                                    row.substring(descriptionStart, row.indexOf('"', descriptionStart)));
+                        });
+                        yield null;
+                    }
+                    case "findCatalogVersion" -> new CatalogVersion(0, LocalDateTime.now());
+                    case "findById" -> Optional.of(GiftCertificate.builder()
+                            .id(RENAMED_ID)
+                            .name(renamed ? "Renamed gift certificate" : "Relaxing spa day " + RENAMED_ID)
+                            .description("Gift certificate for a spa day in Paris")
+                            .build());
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        certificateSearchIndex = new CertificateSearchIndex(giftCertificateRepository, true, true, 3600);
+        certificateSearchIndex.afterPropertiesSet();
+
+        firstLetter = filter(SearchType.TITLE, SearchPlace.STARTS_WITH, "R", false);
+        firstWord = filter(SearchType.TITLE, SearchPlace.STARTS_WITH, "Romantic", false);
+        containedWord = filter(SearchType.TITLE, SearchPlace.CONTAINS, "WINE", true);
+        containedNumber = filter(SearchType.TITLE, SearchPlace.CONTAINS, "12345", false);
+        twoDigitSuffix = filter(SearchType.TITLE, SearchPlace.ENDS_WITH, "77", false);
+        descriptionCity = filter(SearchType.DESC, SearchPlace.CONTAINS, "lisbon", true);
+    }
+
+    @Benchmark
+    public List<Long> startsWithLetter() {
+        return certificateSearchIndex.findIds(firstLetter, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Long> startsWithWord() {
+        return certificateSearchIndex.findIds(firstWord, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Long> middlePageContainingWord() {
+        return certificateSearchIndex.findIds(containedWord, CATALOG.certificates() / 2L, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Long> containsRareNumber() {
+        return certificateSearchIndex.findIds(containedNumber, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Long> endsWithTwoDigits() {
+        return certificateSearchIndex.findIds(twoDigitSuffix, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Long> descriptionContainsCity() {
+        return certificateSearchIndex.findIds(descriptionCity, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public void rename() {
+        renamed = !renamed;
+        certificateSearchIndex.onGiftCertificateChanged(new GiftCertificateChangedEvent(RENAMED_ID));
+    }
+
+    private static SearchFilter filter(SearchType searchType, SearchPlace searchPlace, String value, boolean caseInsensitive) {
+        return SearchFilter.builder()
+                .searchType(searchType)
+                .searchPlace(searchPlace)
+                .searchValue(value)
+                .caseInsensitive(caseInsensitive)
+                .build();
+    }
+}
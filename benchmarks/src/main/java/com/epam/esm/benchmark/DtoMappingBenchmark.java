@@ -0,0 +1,60 @@
+package com.epam.esm.benchmark;
+
+import com.epam.esm.dto.GiftCertificateDTO;
+import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.util.mapper.GiftCertificateMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures mapping gift certificate entities to DTOs, alone and for a page,
+ * and the ISO date formatting the mapping does for both dates of every certificate.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class DtoMappingBenchmark {
+    private GiftCertificateMapper giftCertificateMapper;
+    private GiftCertificate certificate;
+    private List<GiftCertificate> page;
+    private LocalDateTime date;
+
+    @Setup
+    public void setUp() {
+        giftCertificateMapper = Mappers.getMapper(GiftCertificateMapper.class);
+        certificate = BenchmarkData.certificate(42);
+        page = BenchmarkData.page();
+        date = certificate.getCreateDate();
+    }
+
+    @Benchmark
+    public String formatDate() {
+        return giftCertificateMapper.dateToString(date);
+    }
+
+    @Benchmark
+    public GiftCertificateDTO mapCertificate() {
+        return giftCertificateMapper.toGiftCertificateDTO(certificate);
+    }
+
+    @Benchmark
+    public List<GiftCertificateDTO> mapPage() {
+        return page.stream().map(giftCertificateMapper::toGiftCertificateDTO).toList();
+    }
+}
@@ -0,0 +1,67 @@
+package com.epam.esm.benchmark;
+
+import com.epam.esm.dto.GiftCertificateDTO;
+import com.epam.esm.response.ResponseData;
+import com.epam.esm.util.mapper.GiftCertificateMapper;
+import com.google.gson.reflect.TypeToken;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.GsonHttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures writing responses as JSON the way Spring MVC writes them in the application:
+ * with the Gson message converter, which is the JSON converter on the classpath.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+    private static final Type CERTIFICATE_RESPONSE = new TypeToken<ResponseData<GiftCertificateDTO>>() {}.getType();
+    private static final Type PAGE_RESPONSE = new TypeToken<ResponseData<List<GiftCertificateDTO>>>() {}.getType();
+
+    private GsonHttpMessageConverter converter;
+    private ResponseData<GiftCertificateDTO> certificateResponse;
+    private ResponseData<List<GiftCertificateDTO>> pageResponse;
+
+    @Setup
+    public void setUp() {
+        converter = new GsonHttpMessageConverter();
+        GiftCertificateMapper giftCertificateMapper = Mappers.getMapper(GiftCertificateMapper.class);
+        certificateResponse = new ResponseData<>(giftCertificateMapper.toGiftCertificateDTO(BenchmarkData.certificate(42)));
+        List<GiftCertificateDTO> page = BenchmarkData.page().stream().map(giftCertificateMapper::toGiftCertificateDTO).toList();
+        pageResponse = new ResponseData<>(page, "eyJpZCI6MjB9");
+    }
+
+    @Benchmark
+    public MockHttpOutputMessage writeCertificate() throws IOException {
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+        converter.write(certificateResponse, CERTIFICATE_RESPONSE, MediaType.APPLICATION_JSON, outputMessage);
+        return outputMessage;
+    }
+
+    @Benchmark
+    public MockHttpOutputMessage writePage() throws IOException {
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+        converter.write(pageResponse, PAGE_RESPONSE, MediaType.APPLICATION_JSON, outputMessage);
+        return outputMessage;
+    }
+}
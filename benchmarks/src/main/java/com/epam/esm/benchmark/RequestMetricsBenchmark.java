@@ -0,0 +1,115 @@
+package com.epam.esm.benchmark;
+
+import com.epam.esm.interceptor.RequestMetricsInterceptor;
+import com.epam.esm.metrics.ConnectionPoolMetrics;
+import com.epam.esm.metrics.LatencyHistogram;
+import com.epam.esm.metrics.MetricsRegistry;
+import com.epam.esm.metrics.RepositoryMetricsPostProcessor;
+import com.epam.esm.metrics.TimerFamily;
+import com.epam.esm.service.impl.MetricsServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.stereotype.Repository;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost the metrics add to a request: the request interceptor around a handler,
+ * the timer lookup and recording behind it, and the timing proxy around a repository call.
+ * Run with several threads, e.g. {@code -Pjmh.args="-t 4"}, to see the cost under contention on the shared timers.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RequestMetricsBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Metrics {
+        MetricsRegistry metricsRegistry;
+        TimerFamily requests;
+        LatencyHistogram histogram;
+        RequestMetricsInterceptor interceptor;
+        SampleRepository repository;
+        SampleRepository timedRepository;
+
+        @Setup
+        public void setUp() {
+            metricsRegistry = new MetricsRegistry(new ConnectionPoolMetrics());
+            requests = metricsRegistry.family("benchmark_requests", "benchmark requests", "method", "uri");
+            histogram = new LatencyHistogram();
+            interceptor = new RequestMetricsInterceptor(new MetricsServiceImpl(metricsRegistry));
+            DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+            beanFactory.registerSingleton("metricsRegistry", metricsRegistry);
+            repository = new SampleRepositoryImpl();
+            timedRepository = (SampleRepository) new RepositoryMetricsPostProcessor(beanFactory.getBeanProvider(MetricsRegistry.class))
+                    .postProcessAfterInitialization(new SampleRepositoryImpl(), "sampleRepository");
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Request {
+        MockHttpServletRequest request;
+        MockHttpServletResponse response;
+        Object handler = new Object();
+
+        @Setup
+        public void setUp() {
+            request = new MockHttpServletRequest("GET", "/gift-certificates/1");
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/gift-certificates/{id}");
+            response = new MockHttpServletResponse();
+        }
+    }
+
+    @Benchmark
+    public void recordHistogram(Metrics metrics) {
+        metrics.histogram.record(123_456);
+    }
+
+    @Benchmark
+    public void recordTimer(Metrics metrics) {
+        metrics.requests.timer("GET", "/gift-certificates/{id}").record(123_456, false);
+    }
+
+    @Benchmark
+    public void interceptRequest(Metrics metrics, Request request) {
+        metrics.interceptor.preHandle(request.request, request.response, request.handler);
+        metrics.interceptor.afterCompletion(request.request, request.response, request.handler, null);
+        request.request.removeAttribute(RequestMetricsInterceptor.class.getName() + ".START");
+    }
+
+    @Benchmark
+    public long callRepository(Metrics metrics) {
+        return metrics.repository.findById(42L);
+    }
+
+    @Benchmark
+    public long callTimedRepository(Metrics metrics) {
+        return metrics.timedRepository.findById(42L);
+    }
+
+    public interface SampleRepository {
+        long findById(long id);
+    }
+
+    @Repository
+    public static class SampleRepositoryImpl implements SampleRepository {
+        @Override
+        public long findById(long id) {
+            return id;
+        }
+    }
+}
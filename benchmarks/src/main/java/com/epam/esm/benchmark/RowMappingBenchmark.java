@@ -0,0 +1,58 @@
+package com.epam.esm.benchmark;
+
+import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.util.mapper.GiftCertificateRowMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import static com.epam.esm.util.DatabaseQueryConstants.*;
+
+/**
+ * Measures mapping a row of a result set to a gift certificate.
+ * Reading the columns alone is measured as the baseline, so that the difference is the cost of the mapper.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class RowMappingBenchmark {
+    private GiftCertificateRowMapper rowMapper;
+    private ResultSet resultSet;
+
+    @Setup
+    public void setUp() {
+        rowMapper = new GiftCertificateRowMapper();
+        resultSet = BenchmarkData.resultSet(BenchmarkData.certificate(42));
+    }
+
+    @Benchmark
+    public void readColumns(Blackhole blackhole) throws SQLException {
+        blackhole.consume(resultSet.getLong(GIFT_CERTIFICATE_ID));
+        blackhole.consume(resultSet.getString(GIFT_CERTIFICATE_NAME));
+        blackhole.consume(resultSet.getString(GIFT_CERTIFICATE_DESCRIPTION));
+        blackhole.consume(resultSet.getDouble(GIFT_CERTIFICATE_PRICE));
+        blackhole.consume(resultSet.getInt(GIFT_CERTIFICATE_DURATION));
+        blackhole.consume(resultSet.getTimestamp(GIFT_CERTIFICATE_CREATE_DATE));
+        blackhole.consume(resultSet.getTimestamp(GIFT_CERTIFICATE_LAST_UPDATE_DATE));
+    }
+
+    @Benchmark
+    public GiftCertificate mapRow() throws SQLException {
+        return rowMapper.mapRow(resultSet, 0);
+    }
+}
@@ -0,0 +1,169 @@
+package com.epam.esm.benchmark;
+
+import com.epam.esm.cache.TagDictionary;
+import com.epam.esm.cache.TagIndex;
+import com.epam.esm.dto.TagSuggestionDTO;
+import com.epam.esm.dto.stats.TagIndexStatsDTO;
+import com.epam.esm.entity.CatalogVersion;
+import com.epam.esm.entity.Tag;
+import com.epam.esm.entity.filter.tag.TagFilter;
+import com.epam.esm.entity.filter.tag.TagMatch;
+import com.epam.esm.event.GiftCertificateChangedEvent;
+import com.epam.esm.generator.CatalogGenerator;
+import com.epam.esm.generator.CatalogSettings;
+import com.epam.esm.repository.repository.GiftCertificateRepository;
+import com.epam.esm.repository.repository.TagAssociationConsumer;
+import com.epam.esm.repository.repository.TagRepository;
+import com.epam.esm.service.impl.TagServiceImpl;
+import com.epam.esm.util.mapper.TagMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Measures the tag index on a generated catalog of a million certificates whose tag popularity follows
+ * a Zipf distribution: a page of the certificates having both of the two most popular tags, a page of those
+ * having either of two rare tags, and a page from the middle of the certificates of the most popular tag
+ * that lack the third one. The setup prints the memory the bitmaps take per million associations.
+ * Tag suggestions are sampled for their latency percentiles, for an empty prefix ranking all 10,000 tags,
+ * a one letter prefix matching four of the tag words and a prefix matching about a hundred tags.
+ * Applying a committed change moves a certificate back and forth between two sets of popular tags.
+ */
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class TagIndexBenchmark {
+    private static final CatalogSettings CATALOG = new CatalogSettings(1_000_000, 10_000, 8, 1.0, 42);
+    private static final int PAGE_SIZE = 21;
+    private static final long CHANGED_CERTIFICATE_ID = 500_000;
+    private static final List<List<Long>> CHANGED_TAG_IDS = List.of(List.of(1L, 2L, 3L), List.of(2L, 4L, 5L));
+
+    private TagIndex tagIndex;
+    private TagServiceImpl tagService;
+    private TagFilter popularPair;
+    private TagFilter rarePair;
+    private TagFilter popularExcludingThird;
+    private int changes;
+
+    @Setup
+    public void setUp() throws IOException {
+        CatalogGenerator generator = new CatalogGenerator(CATALOG);
+        StringWriter associations = new StringWriter();
+        generator.write(CatalogGenerator.Table.TAG_GIFT_CERTIFICATE, associations);
+        List<Tag> tags = LongStream.rangeClosed(1, CATALOG.tags())
+                .mapToObj(id -> Tag.builder().id(id).name(generator.tagName(id)).build())
+                .toList();
+
+        TagRepository tagRepository = stub(TagRepository.class, "findAll", tags);
+        GiftCertificateRepository giftCertificateRepository = (GiftCertificateRepository) Proxy.newProxyInstance(
+                GiftCertificateRepository.class.getClassLoader(), new Class<?>[]{GiftCertificateRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findCatalogVersion")) {
+                        return new CatalogVersion(0, LocalDateTime.now());
+                    }
+                    if (method.getName().equals("findTagIds")) {
+                        return CHANGED_TAG_IDS.get(changes % CHANGED_TAG_IDS.size());
+                    }
+                    if (!method.getName().equals("streamTagAssociations")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    TagAssociationConsumer consumer = (TagAssociationConsumer) args[1];
+                    // rows are gift_certificate_id,tag_id
+                    associations.toString().lines().forEach(row -> {
+                        int comma = row.indexOf(',');
+                        consumer.accept(Long.parseLong(row.substring(comma + 1)), Long.parseLong(row.substring(0, comma)));
+                    });
+                    return null;
+                });
+        TagDictionary tagDictionary = new TagDictionary(tagRepository);
+        tagDictionary.afterPropertiesSet();
+        tagIndex = new TagIndex(giftCertificateRepository, tagDictionary, true, 3600);
+        tagIndex.afterPropertiesSet();
+        tagService = new TagServiceImpl(tagRepository, Mappers.getMapper(TagMapper.class), tagDictionary, tagIndex, null);
+
+        TagIndexStatsDTO stats = tagIndex.stats();
+        System.out.printf("%nTag index of %d tags and %d associations: %d bytes, %d bytes per million associations%n",
+                stats.getTags(), stats.getAssociations(), stats.getSizeInBytes(), stats.getBytesPerMillionAssociations());
+
+        popularPair = filter(TagMatch.ALL, Set.of(generator.tagName(1), generator.tagName(2)), Set.of());
+        rarePair = filter(TagMatch.ANY, Set.of(generator.tagName(4_000), generator.tagName(5_000)), Set.of());
+        popularExcludingThird = filter(TagMatch.ALL, Set.of(generator.tagName(1)), Set.of(generator.tagName(3)));
+    }
+
+    @Benchmark
+    public List<Long> allOfPopularPair() {
+        return tagIndex.findIds(popularPair, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Long> anyOfRarePair() {
+        return tagIndex.findIds(rarePair, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Long> middlePageOfPopularExcludingThird() {
+        return tagIndex.findIds(popularExcludingThird, CATALOG.certificates() / 2L, PAGE_SIZE);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    public List<TagSuggestionDTO> suggestWithoutPrefix() {
+        return tagService.suggest("", 10);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    public List<TagSuggestionDTO> suggestByLetter() {
+        return tagService.suggest("w", 10);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    public List<TagSuggestionDTO> suggestByWord() {
+        return tagService.suggest("wine-1", 10);
+    }
+
+    @Benchmark
+    public void applyCertificateChange() {
+        changes++;
+        tagIndex.onGiftCertificateChanged(new GiftCertificateChangedEvent(CHANGED_CERTIFICATE_ID));
+    }
+
+    private static TagFilter filter(TagMatch tagMatch, Set<String> included, Set<String> excluded) {
+        return TagFilter.builder()
+                .includedTags(included)
+                .excludedTags(excluded)
+                .tagMatch(tagMatch)
+                .build();
+    }
+
+    private static <T> T stub(Class<T> type, String methodName, Object result) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals(methodName)) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    return result;
+                }));
+    }
+}
@@ -1,12 +1,27 @@
 package com.epam.esm.config;
 
+import com.epam.esm.interceptor.CacheControlInterceptor;
+import com.epam.esm.interceptor.RequestMetricsInterceptor;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 @ComponentScan("com.epam.esm")
 @EnableWebMvc
+@RequiredArgsConstructor
 public class WebLayerConfig implements WebMvcConfigurer {
+    private final RequestMetricsInterceptor requestMetricsInterceptor;
+    private final CacheControlInterceptor cacheControlInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(requestMetricsInterceptor);
+        registry.addInterceptor(cacheControlInterceptor)
+                .addPathPatterns("/gift-certificates", "/gift-certificates/*")
+                .excludePathPatterns("/gift-certificates/export");
+    }
 }
@@ -2,21 +2,37 @@ package com.epam.esm.controller;
 
 import com.epam.esm.dto.GiftCertificateDTO;
 import com.epam.esm.dto.TagDTO;
+import com.epam.esm.dto.VersionDTO;
+import com.epam.esm.dto.filter.GiftCertificateFilterDTO;
 import com.epam.esm.dto.filter.SearchFilterDTO;
 import com.epam.esm.dto.filter.SortFilterDTO;
+import com.epam.esm.dto.filter.TagFilterDTO;
+import com.epam.esm.dto.imports.ImportReportDTO;
+import com.epam.esm.dto.page.PageDTO;
+import com.epam.esm.dto.page.PageRequestDTO;
 import com.epam.esm.exception.InvalidRequestBodyException;
 import com.epam.esm.exception.DataModificationException;
 import com.epam.esm.exception.NotFoundException;
+import com.epam.esm.importer.ImportFormat;
+import com.epam.esm.response.JsonStreamWriter;
 import com.epam.esm.response.ResponseData;
 import com.epam.esm.service.GiftCertificateService;
 import com.epam.esm.validator.RequestBodyValidator;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 /**
@@ -27,81 +43,283 @@ import java.util.List;
 @RequiredArgsConstructor
 @RequestMapping("/gift-certificates")
 public class GiftCertificateController {
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
     private final GiftCertificateService giftCertificateService;
 
     /**
-     * Retrieves all gift certificates.
-     * @return ResponseData containing a list of GiftCertificateDTO.
+     * Retrieves a page of gift certificates matching the tag, search and sort filters given as query parameters,
+     * all of them optional: a page of all gift certificates ordered by ID without any.
+     * The response carries the version of all certificates as its ETag and Last-Modified headers; a request
+     * whose If-None-Match or If-Modified-Since header still matches it is answered with 304 Not Modified
+     * without reading the certificates.
+     * @param filter The tags, search and sort of the certificates.
+     * @param filterBindingResult The binding result of the filters.
+     * @param page The page cursor and size.
+     * @param bindingResult The binding result of the page.
+     * @param request The request, checked for the conditional headers.
+     * @return ResponseData containing a list of GiftCertificateDTO and the cursor of the next page,
+     * or null if the page is not modified.
+     * @throws InvalidRequestBodyException if the filter or page parameters are invalid.
      * @throws NotFoundException if no certificates are found.
      */
     @GetMapping
-    public ResponseData<List<GiftCertificateDTO>> getAll() throws NotFoundException {
-        log.info("Processing get request for all certificates...");
-        return new ResponseData<>(giftCertificateService.findAll());
+    public ResponseData<List<GiftCertificateDTO>> getAll(@Valid GiftCertificateFilterDTO filter,
+                                                         BindingResult filterBindingResult,
+                                                         @Valid PageRequestDTO page, BindingResult bindingResult,
+                                                         WebRequest request)
+            throws InvalidRequestBodyException, NotFoundException {
+        log.info("Processing get request for certificates by combined filter...");
+        RequestBodyValidator.validate(filterBindingResult);
+        RequestBodyValidator.validate(bindingResult);
+        if (isNotModified(request, giftCertificateService.findCatalogVersion())) {
+            return null;
+        }
+        return toResponse(giftCertificateService.findByFilter(filter, page));
+    }
+
+    /**
+     * Exports all gift certificates, streaming them to the response as they are read from the database.
+     * The certificates are written as newline delimited JSON if it is the accepted type, as a JSON array otherwise.
+     * @param accept The accepted media types.
+     * @return ResponseEntity containing the body writing the certificates.
+     */
+    @GetMapping(value = "/export", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestHeader(value = HttpHeaders.ACCEPT, defaultValue = MediaType.APPLICATION_JSON_VALUE) String accept) {
+        log.info("Processing get request for export of all certificates...");
+        boolean lines = MediaType.parseMediaTypes(accept).stream()
+                .anyMatch(MediaType.APPLICATION_NDJSON::equalsTypeAndSubtype);
+        StreamingResponseBody body = outputStream ->
+                export(lines ? JsonStreamWriter.lines(outputStream) : JsonStreamWriter.array(outputStream));
+        return ResponseEntity.ok()
+                .contentType(lines ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .body(body);
     }
 
     /**
      * Retrieves a gift certificate by its ID.
+     * The response carries the version of the certificate, derived from its ID and last update date, as its ETag
+     * and Last-Modified headers; a request whose If-None-Match or If-Modified-Since header still matches it
+     * is answered with 304 Not Modified without reading the whole certificate.
      * @param id The ID of the gift certificate.
-     * @return ResponseData containing a GiftCertificateDTO.
+     * @param request The request, checked for the conditional headers.
+     * @return ResponseData containing a GiftCertificateDTO, or null if the certificate is not modified.
      * @throws NotFoundException if the gift certificate with the given ID is not found.
      */
     @GetMapping(value = "/{id}")
-    public ResponseData<GiftCertificateDTO> getById(@PathVariable("id") Long id) throws NotFoundException {
+    public ResponseData<GiftCertificateDTO> getById(@PathVariable("id") Long id, WebRequest request)
+            throws NotFoundException {
         log.info("Processing get request for gift certificate by id...");
+        if (isNotModified(request, giftCertificateService.findVersionById(id))) {
+            return null;
+        }
         return new ResponseData<>(giftCertificateService.findById(id));
     }
 
     /**
-     * Retrieves gift certificates by tag.
+     * Retrieves a page of gift certificates by tag.
      * @param tag The tag to search for.
      * @param bindingResult The binding result.
-     * @return ResponseData containing a list of GiftCertificateDTO.
+     * @param page The page cursor and size.
+     * @param pageBindingResult The binding result of the page.
+     * @return ResponseData containing a list of GiftCertificateDTO and the cursor of the next page.
      * @throws InvalidRequestBodyException if the request body is invalid.
      * @throws NotFoundException if no certificates are found for the given tag.
      */
 
     @PostMapping(value = "/tag")
     public ResponseData<List<GiftCertificateDTO>> getByTag(@RequestBody @Valid TagDTO tag,
-                                                       BindingResult bindingResult)
+                                                       BindingResult bindingResult,
+                                                       @Valid PageRequestDTO page,
+                                                       BindingResult pageBindingResult)
             throws InvalidRequestBodyException, NotFoundException {
         log.info("Processing post request for certificates by tags...");
         RequestBodyValidator.validate(bindingResult);
-        return new ResponseData<>(giftCertificateService.findByTag(tag));
+        RequestBodyValidator.validate(pageBindingResult);
+        return toResponse(giftCertificateService.findByTag(tag, page));
     }
 
     /**
-     * Retrieves gift certificates by search filter criteria.
+     * Retrieves a page of gift certificates by the tag name given as the name query parameter.
+     * The list is versioned like the page of all gift certificates, and also by the tag index when it is enabled.
+     * @param tag The tag to search for.
+     * @param bindingResult The binding result.
+     * @param page The page cursor and size.
+     * @param pageBindingResult The binding result of the page.
+     * @param request The request, checked for the conditional headers.
+     * @return ResponseData containing a list of GiftCertificateDTO and the cursor of the next page,
+     * or null if the page is not modified.
+     * @throws InvalidRequestBodyException if the query parameters are invalid.
+     * @throws NotFoundException if no certificates are found for the given tag.
+     */
+    @GetMapping(value = "/tag")
+    public ResponseData<List<GiftCertificateDTO>> getByTagQuery(@Valid TagDTO tag,
+                                                                 BindingResult bindingResult,
+                                                                 @Valid PageRequestDTO page,
+                                                                 BindingResult pageBindingResult,
+                                                                 WebRequest request)
+            throws InvalidRequestBodyException, NotFoundException {
+        log.info("Processing get request for certificates by tag...");
+        RequestBodyValidator.validate(bindingResult);
+        RequestBodyValidator.validate(pageBindingResult);
+        if (isNotModified(request, giftCertificateService.findTagPagesVersion())) {
+            return null;
+        }
+        return toResponse(giftCertificateService.findByTag(tag, page));
+    }
+
+    /**
+     * Retrieves a page of gift certificates having all or any of the included tags and none of the excluded ones.
+     * @param tagFilter The included and excluded tag names and the tag match, all or any.
+     * @param bindingResult The binding result.
+     * @param page The page cursor and size.
+     * @param pageBindingResult The binding result of the page.
+     * @return ResponseData containing a list of GiftCertificateDTO and the cursor of the next page.
+     * @throws InvalidRequestBodyException if the request body is invalid.
+     * @throws NotFoundException if no certificates are found for the tag filter.
+     */
+    @PostMapping(value = "/tags")
+    public ResponseData<List<GiftCertificateDTO>> getByTags(@RequestBody @Valid TagFilterDTO tagFilter,
+                                                        BindingResult bindingResult,
+                                                        @Valid PageRequestDTO page,
+                                                        BindingResult pageBindingResult)
+            throws InvalidRequestBodyException, NotFoundException {
+        log.info("Processing post request for certificates by tag filter...");
+        RequestBodyValidator.validate(bindingResult);
+        RequestBodyValidator.validate(pageBindingResult);
+        return toResponse(giftCertificateService.findByTags(tagFilter, page));
+    }
+
+    /**
+     * Retrieves a page of gift certificates by the includedTags, excludedTags and tagMatch query parameters.
+     * The list is versioned like the page of all gift certificates, and also by the tag index when it is enabled.
+     * @param tagFilter The included and excluded tag names and the tag match, all or any.
+     * @param bindingResult The binding result.
+     * @param page The page cursor and size.
+     * @param pageBindingResult The binding result of the page.
+     * @param request The request, checked for the conditional headers.
+     * @return ResponseData containing a list of GiftCertificateDTO and the cursor of the next page,
+     * or null if the page is not modified.
+     * @throws InvalidRequestBodyException if the query parameters are invalid.
+     * @throws NotFoundException if no certificates are found for the tag filter.
+     */
+    @GetMapping(value = "/tags")
+    public ResponseData<List<GiftCertificateDTO>> getByTagsQuery(@Valid TagFilterDTO tagFilter,
+                                                                  BindingResult bindingResult,
+                                                                  @Valid PageRequestDTO page,
+                                                                  BindingResult pageBindingResult,
+                                                                  WebRequest request)
+            throws InvalidRequestBodyException, NotFoundException {
+        log.info("Processing get request for certificates by tag filter...");
+        RequestBodyValidator.validate(bindingResult);
+        RequestBodyValidator.validate(pageBindingResult);
+        if (isNotModified(request, giftCertificateService.findTagPagesVersion())) {
+            return null;
+        }
+        return toResponse(giftCertificateService.findByTags(tagFilter, page));
+    }
+
+    /**
+     * Retrieves a page of gift certificates by search filter criteria.
      * @param searchFilter The search filter criteria.
      * @param bindingResult The binding result.
-     * @return ResponseData containing a list of GiftCertificateDTO.
+     * @param page The page cursor and size.
+     * @param pageBindingResult The binding result of the page.
+     * @return ResponseData containing a list of GiftCertificateDTO and the cursor of the next page.
      * @throws InvalidRequestBodyException if the request body is invalid.
      * @throws NotFoundException if no certificates are found based on the search filter.
      */
     @PostMapping(value = "/search")
     public ResponseData<List<GiftCertificateDTO>> getBySearchFilter(@RequestBody @Valid SearchFilterDTO searchFilter,
-                                                                BindingResult bindingResult)
+                                                                BindingResult bindingResult,
+                                                                @Valid PageRequestDTO page,
+                                                                BindingResult pageBindingResult)
             throws InvalidRequestBodyException, NotFoundException {
         log.info("Processing post request for certificates by search filter...");
         RequestBodyValidator.validate(bindingResult);
-        return new ResponseData<>(giftCertificateService.findBySearchFilter(searchFilter));
+        RequestBodyValidator.validate(pageBindingResult);
+        return toResponse(giftCertificateService.findBySearchFilter(searchFilter, page));
     }
 
     /**
-     * Retrieves gift certificates by sort filter criteria.
+     * Retrieves a page of gift certificates by the searchValue, searchType, searchPlace and caseInsensitive query parameters.
+     * The list is versioned like the page of all gift certificates, and also by the search index when it is enabled.
+     * @param searchFilter The search filter criteria.
+     * @param bindingResult The binding result.
+     * @param page The page cursor and size.
+     * @param pageBindingResult The binding result of the page.
+     * @param request The request, checked for the conditional headers.
+     * @return ResponseData containing a list of GiftCertificateDTO and the cursor of the next page,
+     * or null if the page is not modified.
+     * @throws InvalidRequestBodyException if the query parameters are invalid.
+     * @throws NotFoundException if no certificates are found based on the search filter.
+     */
+    @GetMapping(value = "/search")
+    public ResponseData<List<GiftCertificateDTO>> getBySearchQuery(@Valid SearchFilterDTO searchFilter,
+                                                                    BindingResult bindingResult,
+                                                                    @Valid PageRequestDTO page,
+                                                                    BindingResult pageBindingResult,
+                                                                    WebRequest request)
+            throws InvalidRequestBodyException, NotFoundException {
+        log.info("Processing get request for certificates by search filter...");
+        RequestBodyValidator.validate(bindingResult);
+        RequestBodyValidator.validate(pageBindingResult);
+        if (isNotModified(request, giftCertificateService.findSearchPagesVersion())) {
+            return null;
+        }
+        return toResponse(giftCertificateService.findBySearchFilter(searchFilter, page));
+    }
+
+    /**
+     * Retrieves a page of gift certificates by sort filter criteria.
      * @param sortFilter The sort filter criteria.
      * @param bindingResult The binding result.
-     * @return ResponseData containing a list of GiftCertificateDTO.
+     * @param page The page cursor and size.
+     * @param pageBindingResult The binding result of the page.
+     * @return ResponseData containing a list of GiftCertificateDTO and the cursor of the next page.
      * @throws InvalidRequestBodyException if the request body is invalid.
      * @throws NotFoundException if no certificates are found based on the sort filter.
      */
     @PostMapping(value = "/sort")
     public ResponseData<List<GiftCertificateDTO>> getBySortFilter(@RequestBody SortFilterDTO sortFilter,
-                                                              BindingResult bindingResult)
+                                                              BindingResult bindingResult,
+                                                              @Valid PageRequestDTO page,
+                                                              BindingResult pageBindingResult)
             throws InvalidRequestBodyException, NotFoundException {
         log.info("Processing post request for certificates by sort filter...");
         RequestBodyValidator.validate(bindingResult);
-        return new ResponseData<>(giftCertificateService.findBySortFilter(sortFilter));
+        RequestBodyValidator.validate(pageBindingResult);
+        return toResponse(giftCertificateService.findBySortFilter(sortFilter, page));
+    }
+
+    /**
+     * Retrieves a page of gift certificates by the sortType and sortOrder query parameters.
+     * The list is versioned, and answered with 304 Not Modified, like the page of all gift certificates.
+     * @param sortFilter The sort filter criteria.
+     * @param bindingResult The binding result.
+     * @param page The page cursor and size.
+     * @param pageBindingResult The binding result of the page.
+     * @param request The request, checked for the conditional headers.
+     * @return ResponseData containing a list of GiftCertificateDTO and the cursor of the next page,
+     * or null if the page is not modified.
+     * @throws InvalidRequestBodyException if the query parameters are invalid.
+     * @throws NotFoundException if no certificates are found based on the sort filter.
+     */
+    @GetMapping(value = "/sort")
+    public ResponseData<List<GiftCertificateDTO>> getBySortQuery(@Valid SortFilterDTO sortFilter,
+                                                                  BindingResult bindingResult,
+                                                                  @Valid PageRequestDTO page,
+                                                                  BindingResult pageBindingResult,
+                                                                  WebRequest request)
+            throws InvalidRequestBodyException, NotFoundException {
+        log.info("Processing get request for certificates by sort filter...");
+        RequestBodyValidator.validate(bindingResult);
+        RequestBodyValidator.validate(pageBindingResult);
+        if (isNotModified(request, giftCertificateService.findCatalogVersion())) {
+            return null;
+        }
+        return toResponse(giftCertificateService.findBySortFilter(sortFilter, page));
     }
 
     /**
@@ -123,6 +341,27 @@ public class GiftCertificateController {
         return new ResponseData<>(HttpStatus.OK, "Certificate was successfully created!");
     }
 
+    /**
+     * Imports gift certificates in bulk from newline delimited JSON or CSV, streaming the request body
+     * into the database as it is read. Invalid rows are skipped and reported with their line numbers.
+     * @param contentType The media type of the request body.
+     * @param body The gift certificates to import, encoded in UTF-8.
+     * @return ResponseData containing the numbers of imported and rejected rows and the errors of the rejected ones.
+     * @throws DataModificationException if the import could not be read or inserted.
+     */
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE})
+    public ResponseData<ImportReportDTO> importAll(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                   InputStream body) throws DataModificationException {
+        log.info("Processing post request for import of certificates...");
+        ImportFormat format = MediaType.APPLICATION_NDJSON.equalsTypeAndSubtype(MediaType.parseMediaType(contentType))
+                ? ImportFormat.NDJSON
+                : ImportFormat.CSV;
+        ImportReportDTO report = giftCertificateService.importAll(body, format);
+        log.info("Certificates were successfully imported...");
+        return new ResponseData<>(report, HttpStatus.OK, String.format("%d certificates were imported, %d rows were rejected!",
+                report.getImported(), report.getRejected()));
+    }
+
     /**
      * Updates an existing gift certificate.
      * @param giftCertificate The updated GiftCertificateDTO.
@@ -158,4 +397,43 @@ public class GiftCertificateController {
         log.info("Gift certificate has been successfully deleted...");
         return new ResponseData<>(HttpStatus.OK, "Gift certificate has been successfully deleted!");
     }
+
+    /**
+     * Wraps a page of gift certificates into a response.
+     * @param page The page of gift certificates.
+     * @return ResponseData containing the page content and the cursor of the next page.
+     */
+    private ResponseData<List<GiftCertificateDTO>> toResponse(PageDTO<GiftCertificateDTO> page) {
+        return new ResponseData<>(page.getContent(), page.getNext());
+    }
+
+    /**
+     * Checks the conditional headers of a GET or HEAD request against a version, setting the ETag and
+     * Last-Modified headers of the response, and its status to 304 Not Modified if the version still matches.
+     * @param request The request.
+     * @param version The current version of the requested resource.
+     * @return true if the response is not modified and needs no body.
+     */
+    private static boolean isNotModified(WebRequest request, VersionDTO version) {
+        return request.checkNotModified(version.getEtag(), version.getLastModified());
+    }
+
+    /**
+     * Writes all gift certificates with the given writer.
+     * @param writer The writer of the response body.
+     * @throws IOException if the certificates could not be read or written.
+     */
+    private void export(JsonStreamWriter writer) throws IOException {
+        try {
+            giftCertificateService.exportAll(writer::write);
+            writer.finish();
+            log.info("Certificates were successfully exported...");
+        } catch (UncheckedIOException ex) {
+            log.error("Failed to write exported certificates, cause: {}", ex.getMessage());
+            throw ex.getCause();
+        } catch (NotFoundException ex) {
+            log.error("Failed to export certificates, cause: {}", ex.getMessage());
+            throw new IOException(ex.getMessage(), ex);
+        }
+    }
 }
@@ -0,0 +1,28 @@
+package com.epam.esm.controller;
+
+import com.epam.esm.service.MetricsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller exposing the metrics of the application to Prometheus.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/metrics")
+public class MetricsController {
+    private static final String PROMETHEUS_TEXT_FORMAT = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final MetricsService metricsService;
+
+    /**
+     * Retrieves the request, repository and connection pool metrics in the Prometheus text format.
+     * @return The metrics text.
+     */
+    @GetMapping(produces = PROMETHEUS_TEXT_FORMAT)
+    public String getMetrics() {
+        return metricsService.scrape();
+    }
+}
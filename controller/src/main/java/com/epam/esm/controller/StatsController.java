@@ -0,0 +1,55 @@
+package com.epam.esm.controller;
+
+import com.epam.esm.dto.stats.CacheStatsDTO;
+import com.epam.esm.dto.stats.PoolStatsDTO;
+import com.epam.esm.dto.stats.TagIndexStatsDTO;
+import com.epam.esm.response.ResponseData;
+import com.epam.esm.service.StatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controller exposing runtime statistics of the application.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/stats")
+public class StatsController {
+    private final StatsService statsService;
+
+    /**
+     * Retrieves the hit, miss and eviction counters of the gift certificate cache.
+     * @return ResponseData containing a CacheStatsDTO.
+     */
+    @GetMapping(value = "/cache")
+    public ResponseData<CacheStatsDTO> getCacheStats() {
+        log.info("Processing get request for cache statistics...");
+        return new ResponseData<>(statsService.getCertificateCacheStats());
+    }
+
+    /**
+     * Retrieves the connection counts, waiting threads and acquisition latencies of the connection pools.
+     * @return ResponseData containing a list of PoolStatsDTO.
+     */
+    @GetMapping(value = "/pool")
+    public ResponseData<List<PoolStatsDTO>> getPoolStats() {
+        log.info("Processing get request for connection pool statistics...");
+        return new ResponseData<>(statsService.getConnectionPoolStats());
+    }
+
+    /**
+     * Retrieves the number of tags and associations in the tag index and the memory held by its bitmaps.
+     * @return ResponseData containing a TagIndexStatsDTO.
+     */
+    @GetMapping(value = "/tag-index")
+    public ResponseData<TagIndexStatsDTO> getTagIndexStats() {
+        log.info("Processing get request for tag index statistics...");
+        return new ResponseData<>(statsService.getTagIndexStats());
+    }
+}
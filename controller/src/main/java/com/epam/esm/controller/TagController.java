@@ -1,6 +1,7 @@
 package com.epam.esm.controller;
 
 import com.epam.esm.dto.TagDTO;
+import com.epam.esm.dto.TagSuggestionDTO;
 import com.epam.esm.exception.InvalidRequestBodyException;
 import com.epam.esm.exception.DataModificationException;
 import com.epam.esm.exception.NotFoundException;
@@ -49,6 +50,19 @@ public class TagController {
         return new ResponseData<>(tagService.findById(id));
     }
 
+    /**
+     * Suggests the tags whose names start with a prefix, most used first, for autocompletion.
+     * @param prefix The prefix typed so far, matched ignoring case.
+     * @param limit The maximum number of suggestions, at most 50.
+     * @return ResponseData containing a list of TagSuggestionDTO.
+     */
+    @GetMapping(value = "/suggest")
+    public ResponseData<List<TagSuggestionDTO>> suggest(@RequestParam(value = "prefix", defaultValue = "") String prefix,
+                                                        @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        log.info("Processing get request for tag suggestions...");
+        return new ResponseData<>(tagService.suggest(prefix, limit));
+    }
+
     /**
      * Creates a new tag.
      * @param tags The TagDTO to be created.
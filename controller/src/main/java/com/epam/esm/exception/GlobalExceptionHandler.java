@@ -1,8 +1,11 @@
 package com.epam.esm.exception;
 
 import com.epam.esm.response.ResponseData;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -10,6 +13,7 @@ import org.springframework.web.bind.annotation.ResponseBody;
 
 /**
  * GlobalExceptionHandler handles exceptions globally for the application.
+ * Error responses are marked as not to be stored by any cache, as they are sent with status 200.
  */
 @Slf4j
 @ControllerAdvice
@@ -20,11 +24,13 @@ public class GlobalExceptionHandler {
      * Handles InvalidRequestBodyException and returns an appropriate error response.
      *
      * @param ex The InvalidRequestBodyException instance.
+     * @param response The response of the request.
      * @return ResponseData containing details of the error.
      */
     @ResponseBody
     @ExceptionHandler(InvalidRequestBodyException.class)
-    public ResponseData<Object[]> handleInvalidRequestBodyException(InvalidRequestBodyException ex) {
+    public ResponseData<Object[]> handleInvalidRequestBodyException(InvalidRequestBodyException ex, HttpServletResponse response) {
+        preventCaching(response);
         log.info("Sending error message for invalid request body...");
         return new ResponseData<>(ex.getViolations(), HttpStatus.BAD_REQUEST, "Invalid request body");
     }
@@ -33,11 +39,13 @@ public class GlobalExceptionHandler {
      * Handles NotFoundException and returns an appropriate error response.
      *
      * @param ex The NotFoundException instance.
+     * @param response The response of the request.
      * @return ResponseData containing details of the error.
      */
     @ResponseBody
     @ExceptionHandler(NotFoundException.class)
-    public ResponseData<Object> handleNotFoundException(NotFoundException ex) {
+    public ResponseData<Object> handleNotFoundException(NotFoundException ex, HttpServletResponse response) {
+        preventCaching(response);
         log.info("Sending error message for not found exception...");
         return new ResponseData<>(HttpStatus.BAD_REQUEST, ex.getMessage());
     }
@@ -46,12 +54,18 @@ public class GlobalExceptionHandler {
      * Handles DataModificationException and returns an appropriate error response.
      *
      * @param ex The DataModificationException instance.
+     * @param response The response of the request.
      * @return ResponseData containing details of the error.
      */
     @ResponseBody
     @ExceptionHandler(DataModificationException.class)
-    public ResponseData<Object> handleModificationException(DataModificationException ex) {
+    public ResponseData<Object> handleModificationException(DataModificationException ex, HttpServletResponse response) {
+        preventCaching(response);
         log.info("Sending error message for modification exception...");
         return new ResponseData<>(HttpStatus.BAD_REQUEST, ex.getMessage());
     }
+
+    private static void preventCaching(HttpServletResponse response) {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noStore().getHeaderValue());
+    }
 }
@@ -0,0 +1,46 @@
+package com.epam.esm.interceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+import java.util.regex.Pattern;
+
+/**
+ * Lets browsers, proxies and CDNs store the responses of GET and HEAD requests. A certificate may be served from
+ * a cache for http.cache.max-age-seconds, after which it must be revalidated with the ETag or Last-Modified headers
+ * of the response. A page of certificates must be revalidated on every use instead: its version is read from the
+ * database the page is read from, so revalidating costs one small query, while a page served from a cache would
+ * miss the certificates changed meanwhile.
+ * The header is set before the handler runs, as the response is committed when its body is written;
+ * the exception handlers replace it for error responses, so that they are not stored.
+ */
+@Component
+public class CacheControlInterceptor implements HandlerInterceptor {
+    private static final Pattern CERTIFICATE_PATH = Pattern.compile(".*/gift-certificates/\\d+");
+    private static final String PAGE_CACHE_CONTROL = CacheControl.noCache().cachePublic().getHeaderValue();
+
+    private final String certificateCacheControl;
+
+    public CacheControlInterceptor(@Value("${http.cache.max-age-seconds:30}") long maxAgeSeconds) {
+        this.certificateCacheControl = CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds))
+                .cachePublic()
+                .mustRevalidate()
+                .getHeaderValue();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod())) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CERTIFICATE_PATH.matcher(request.getRequestURI()).matches()
+                    ? certificateCacheControl : PAGE_CACHE_CONTROL);
+        }
+        return true;
+    }
+}
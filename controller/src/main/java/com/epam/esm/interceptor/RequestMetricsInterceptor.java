@@ -0,0 +1,48 @@
+package com.epam.esm.interceptor;
+
+import com.epam.esm.service.MetricsService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records the latency of every request by HTTP method and URI pattern of its handler.
+ * A request counts as failed if its handler threw an exception, even one turned into an error response
+ * by the exception handlers, or if it was answered with an error status.
+ * Streamed responses are timed until the stream is complete.
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestMetricsInterceptor implements HandlerInterceptor {
+    private static final String START_ATTRIBUTE = RequestMetricsInterceptor.class.getName() + ".START";
+    private static final String UNMATCHED_URI = "UNMATCHED";
+
+    private final MetricsService metricsService;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // async dispatches of streamed responses pass through again and keep the original start
+        if (request.getAttribute(START_ATTRIBUTE) == null) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (start == null) {
+            return;
+        }
+        Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        boolean failed = ex != null
+                || request.getAttribute(DispatcherServlet.EXCEPTION_ATTRIBUTE) != null
+                || response.getStatus() >= 400;
+        metricsService.recordRequest(request.getMethod(), uri == null ? UNMATCHED_URI : uri.toString(),
+                System.nanoTime() - (long) start, failed);
+    }
+}
@@ -0,0 +1,88 @@
+package com.epam.esm.response;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes values to an output stream one by one, either as a JSON array or as newline delimited JSON,
+ * so that the values never have to be held in memory together.
+ */
+public class JsonStreamWriter {
+    private static final Gson GSON = new Gson();
+
+    private final Writer writer;
+    private final JsonWriter jsonWriter;
+
+    private JsonStreamWriter(OutputStream outputStream, boolean array) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        this.jsonWriter = array ? GSON.newJsonWriter(writer) : null;
+        if (array) {
+            jsonWriter.beginArray();
+        }
+    }
+
+    /**
+     * Creates a writer of a JSON array.
+     *
+     * @param outputStream The stream to write to.
+     * @return JsonStreamWriter writing the values as elements of a JSON array.
+     * @throws IOException if the array could not be opened.
+     */
+    public static JsonStreamWriter array(OutputStream outputStream) throws IOException {
+        return new JsonStreamWriter(outputStream, true);
+    }
+
+    /**
+     * Creates a writer of newline delimited JSON.
+     *
+     * @param outputStream The stream to write to.
+     * @return JsonStreamWriter writing every value on its own line.
+     * @throws IOException never, declared for symmetry with {@link #array(OutputStream)}.
+     */
+    public static JsonStreamWriter lines(OutputStream outputStream) throws IOException {
+        return new JsonStreamWriter(outputStream, false);
+    }
+
+    /**
+     * Writes a single value.
+     *
+     * @param value The value to write.
+     * @throws UncheckedIOException if the value could not be written.
+     */
+    public void write(Object value) {
+        try {
+            if (jsonWriter != null) {
+                GSON.toJson(value, value.getClass(), jsonWriter);
+            } else {
+                GSON.toJson(value, writer);
+                writer.write('\n');
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } catch (JsonIOException ex) {
+            throw new UncheckedIOException(new IOException(ex.getMessage(), ex));
+        }
+    }
+
+    /**
+     * Closes the JSON array, if any, and flushes the written values without closing the output stream.
+     *
+     * @throws IOException if the values could not be flushed.
+     */
+    public void finish() throws IOException {
+        if (jsonWriter != null) {
+            jsonWriter.endArray();
+            jsonWriter.flush();
+        }
+        writer.flush();
+    }
+}
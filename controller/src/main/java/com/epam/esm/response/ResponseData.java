@@ -20,6 +20,7 @@ public class ResponseData<T> {
     private HttpStatus status;
     private String message;
     private T content;
+    private String next;
 
     /**
      * Constructs a ResponseData object with content, status, and message.
@@ -46,6 +47,17 @@ public class ResponseData<T> {
         this.message = message;
     }
 
+    /**
+     * Constructs a ResponseData object with a page of content and the cursor of the next page.
+     *
+     * @param content The page content to be wrapped in the response.
+     * @param next    The cursor of the next page, or null on the last page.
+     */
+    public ResponseData(T content, String next) {
+        this.content = content;
+        this.next = next;
+    }
+
     /**
      * Constructs a ResponseData object with only content.
      *
@@ -1,12 +1,19 @@
 package com.epam.esm.controller;
 
 import com.epam.esm.config.ControllerTestConfig;
+import com.epam.esm.dto.GiftCertificateDTO;
+import com.epam.esm.dto.VersionDTO;
+import com.epam.esm.dto.filter.GiftCertificateFilterDTO;
+import com.epam.esm.dto.imports.ImportReportDTO;
+import com.epam.esm.dto.page.PageDTO;
 import com.epam.esm.exception.InvalidRequestBodyException;
 import com.epam.esm.exception.DataModificationException;
 import com.epam.esm.exception.NotFoundException;
+import com.epam.esm.importer.ImportFormat;
 import com.epam.esm.response.ResponseData;
 import com.epam.esm.service.GiftCertificateService;
 import com.epam.esm.service.impl.GiftCertificateServiceImpl;
+import com.google.gson.Gson;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -14,16 +21,33 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.web.WebAppConfiguration;
 import org.springframework.validation.BindingResult;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
 
 import static com.epam.esm.util.ControllerTestEntityHolder.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,54 +61,174 @@ public class GiftCertificateControllerTest {
     private GiftCertificateService certificateService;
     @InjectMocks
     private GiftCertificateController certificateController;
+    private MockHttpServletRequest servletRequest;
+    private MockHttpServletResponse servletResponse;
+    private WebRequest request;
 
     @BeforeEach
     public void setUp() {
         certificateService = mock(GiftCertificateServiceImpl.class);
         certificateController = new GiftCertificateController(certificateService);
+        servletRequest = new MockHttpServletRequest(HttpMethod.GET.name(), "/gift-certificates");
+        servletResponse = new MockHttpServletResponse();
+        request = new ServletWebRequest(servletRequest, servletResponse);
     }
 
     @Nested
     class GetAllTest {
+        private final VersionDTO version = new VersionDTO("18b-7", 1_700_000_000_000L);
+        private final GiftCertificateFilterDTO filter = GiftCertificateFilterDTO.builder().tag(List.of("Spa")).sort("by_name").build();
+
         @Test
         public void shouldThrowNotFoundExceptionIfCertificatesWereNotFoundTest()
                 throws NotFoundException {
+            when(certificateService.findCatalogVersion())
+                    .thenReturn(version);
             doThrow(NotFoundException.class)
                     .when(certificateService)
-                    .findAll();
+                    .findByFilter(filter, page);
             assertThrows(NotFoundException.class,
-                    () -> certificateController.getAll());
+                    () -> certificateController.getAll(filter, bindingResult, page, bindingResult, request));
         }
 
         @Test
         public void shouldReturnResponseWithCorrectListIfNoExceptionWasThrownTest()
-                throws NotFoundException {
-            when(certificateService.findAll())
-                    .thenReturn(List.of(certificate));
+                throws NotFoundException, InvalidRequestBodyException {
+            when(certificateService.findCatalogVersion())
+                    .thenReturn(version);
+            when(certificateService.findByFilter(filter, page))
+                    .thenReturn(new PageDTO<>(List.of(certificate), null));
             assertEquals(new ResponseData<>(List.of(certificate)),
-                    certificateController.getAll());
+                    certificateController.getAll(filter, bindingResult, page, bindingResult, request));
+            assertEquals("\"18b-7\"", servletResponse.getHeader(HttpHeaders.ETAG));
+            assertEquals(version.getLastModified(), servletResponse.getDateHeader(HttpHeaders.LAST_MODIFIED));
+        }
+
+        @Test
+        public void shouldReturnResponseWithNextCursorIfNextPageExistsTest()
+                throws NotFoundException, InvalidRequestBodyException {
+            when(certificateService.findCatalogVersion())
+                    .thenReturn(version);
+            when(certificateService.findByFilter(filter, page))
+                    .thenReturn(new PageDTO<>(List.of(certificate), "next"));
+            assertEquals(new ResponseData<>(List.of(certificate), "next"),
+                    certificateController.getAll(filter, bindingResult, page, bindingResult, request));
+        }
+
+        @Test
+        public void shouldAnswerNotModifiedWithoutReadingCertificatesIfEtagMatchesTest()
+                throws NotFoundException, InvalidRequestBodyException {
+            when(certificateService.findCatalogVersion())
+                    .thenReturn(version);
+            servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"18b-7\"");
+            assertNull(certificateController.getAll(filter, bindingResult, page, bindingResult, request));
+            assertEquals(HttpStatus.NOT_MODIFIED.value(), servletResponse.getStatus());
+            verify(certificateService, never()).findByFilter(any(), any());
+        }
+
+        @Test
+        public void shouldAnswerNotModifiedIfNotModifiedSinceTest()
+                throws NotFoundException, InvalidRequestBodyException {
+            when(certificateService.findCatalogVersion())
+                    .thenReturn(version);
+            servletRequest.addHeader(HttpHeaders.IF_MODIFIED_SINCE, version.getLastModified());
+            assertNull(certificateController.getAll(filter, bindingResult, page, bindingResult, request));
+            assertEquals(HttpStatus.NOT_MODIFIED.value(), servletResponse.getStatus());
+        }
+    }
+
+    @Nested
+    class ExportTest {
+        @Test
+        public void shouldWriteJsonArrayIfNdjsonIsNotAcceptedTest() throws IOException, NotFoundException {
+            exportTwoCertificates();
+            ResponseEntity<StreamingResponseBody> response = certificateController.export(MediaType.ALL_VALUE);
+            assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+            String json = new Gson().toJson(certificate);
+            assertEquals("[" + json + "," + json + "]", writeBody(response));
+        }
+
+        @Test
+        public void shouldWriteCertificatePerLineIfNdjsonIsAcceptedTest() throws IOException, NotFoundException {
+            exportTwoCertificates();
+            ResponseEntity<StreamingResponseBody> response = certificateController.export(MediaType.APPLICATION_NDJSON_VALUE);
+            assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+            String json = new Gson().toJson(certificate);
+            assertEquals(json + "\n" + json + "\n", writeBody(response));
+        }
+
+        @Test
+        public void shouldThrowIOExceptionIfCertificatesCouldNotBeReadTest() throws NotFoundException {
+            doThrow(NotFoundException.class)
+                    .when(certificateService)
+                    .exportAll(any());
+            ResponseEntity<StreamingResponseBody> response = certificateController.export(MediaType.APPLICATION_JSON_VALUE);
+            assertThrows(IOException.class,
+                    () -> writeBody(response));
+        }
+
+        private void exportTwoCertificates() throws NotFoundException {
+            doAnswer(invocation -> {
+                Consumer<GiftCertificateDTO> consumer = invocation.getArgument(0);
+                consumer.accept(certificate);
+                consumer.accept(certificate);
+                return null;
+            }).when(certificateService).exportAll(any());
+        }
+
+        private String writeBody(ResponseEntity<StreamingResponseBody> response) throws IOException {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            Objects.requireNonNull(response.getBody()).writeTo(outputStream);
+            return outputStream.toString(StandardCharsets.UTF_8);
         }
     }
 
     @Nested
     class GetByIdTest {
+        private final VersionDTO version = new VersionDTO("0-5f1e2d3c4b5a6-18b-0", 1_700_000_000_000L);
+
         @Test
         public void shouldThrowNotFoundExceptionIfCertificateWasNotFoundTest()
                 throws NotFoundException {
             doThrow(NotFoundException.class)
                     .when(certificateService)
-                    .findById(0L);
+                    .findVersionById(0L);
             assertThrows(NotFoundException.class,
-                    () -> certificateController.getById(0L));
+                    () -> certificateController.getById(0L, request));
         }
 
         @Test
         public void shouldReturnResponseWithCorrectCertificateIfNoExceptionWasThrownTest()
                 throws NotFoundException {
+            when(certificateService.findVersionById(0L))
+                    .thenReturn(version);
             when(certificateService.findById(0L))
                     .thenReturn(certificate);
             assertEquals(new ResponseData<>(certificate),
-                    certificateController.getById(0L));
+                    certificateController.getById(0L, request));
+            assertEquals("\"0-5f1e2d3c4b5a6-18b-0\"", servletResponse.getHeader(HttpHeaders.ETAG));
+        }
+
+        @Test
+        public void shouldReturnCertificateIfEtagDoesNotMatchTest() throws NotFoundException {
+            when(certificateService.findVersionById(0L))
+                    .thenReturn(version);
+            when(certificateService.findById(0L))
+                    .thenReturn(certificate);
+            servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"0-5f1e2d3c4b5a5-18b-0\"");
+            assertEquals(new ResponseData<>(certificate),
+                    certificateController.getById(0L, request));
+            assertEquals(HttpStatus.OK.value(), servletResponse.getStatus());
+        }
+
+        @Test
+        public void shouldAnswerNotModifiedWithoutReadingCertificateIfEtagMatchesTest() throws NotFoundException {
+            when(certificateService.findVersionById(0L))
+                    .thenReturn(version);
+            servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"0-5f1e2d3c4b5a6-18b-0\"");
+            assertNull(certificateController.getById(0L, request));
+            assertEquals(HttpStatus.NOT_MODIFIED.value(), servletResponse.getStatus());
+            verify(certificateService, never()).findById(any());
         }
     }
 
@@ -101,7 +245,7 @@ public class GiftCertificateControllerTest {
             when(bindingResult.hasErrors())
                     .thenReturn(true);
             assertThrows(InvalidRequestBodyException.class,
-                    () -> certificateController.getByTag(tag, bindingResult));
+                    () -> certificateController.getByTag(tag, bindingResult, page, bindingResult));
         }
         @Test
         public void shouldThrowNotFoundExceptionIfCertificatesWereNotFoundTest()
@@ -110,9 +254,9 @@ public class GiftCertificateControllerTest {
                     .thenReturn(false);
             doThrow(NotFoundException.class)
                     .when(certificateService)
-                    .findByTag(tag);
+                    .findByTag(tag, page);
             assertThrows(NotFoundException.class,
-                    () -> certificateController.getByTag(tag, bindingResult));
+                    () -> certificateController.getByTag(tag, bindingResult, page, bindingResult));
         }
 
         @Test
@@ -120,10 +264,37 @@ public class GiftCertificateControllerTest {
                 throws NotFoundException, InvalidRequestBodyException {
             when(bindingResult.hasErrors())
                     .thenReturn(false);
-            when(certificateService.findByTag(tag))
-                    .thenReturn(List.of(certificate));
+            when(certificateService.findByTag(tag, page))
+                    .thenReturn(new PageDTO<>(List.of(certificate), null));
             assertEquals(new ResponseData<>(List.of(certificate)),
-                    certificateController.getByTag(tag, bindingResult));
+                    certificateController.getByTag(tag, bindingResult, page, bindingResult));
+        }
+    }
+
+    @Nested
+    class GetByTagsTest {
+        @BeforeEach
+        public void setUp() {
+            bindingResult = mock(BindingResult.class);
+        }
+
+        @Test
+        public void shouldThrowInvalidRequestBodyExceptionIfFieldErrorsArePresentTest() {
+            when(bindingResult.hasErrors())
+                    .thenReturn(true);
+            assertThrows(InvalidRequestBodyException.class,
+                    () -> certificateController.getByTags(tagFilter, bindingResult, page, bindingResult));
+        }
+
+        @Test
+        public void shouldReturnResponseWithCorrectListIfNoExceptionWasThrownTest()
+                throws NotFoundException, InvalidRequestBodyException {
+            when(bindingResult.hasErrors())
+                    .thenReturn(false);
+            when(certificateService.findByTags(tagFilter, page))
+                    .thenReturn(new PageDTO<>(List.of(certificate), null));
+            assertEquals(new ResponseData<>(List.of(certificate)),
+                    certificateController.getByTags(tagFilter, bindingResult, page, bindingResult));
         }
     }
 
@@ -139,7 +310,7 @@ public class GiftCertificateControllerTest {
             when(bindingResult.hasErrors())
                     .thenReturn(true);
             assertThrows(InvalidRequestBodyException.class,
-                    () -> certificateController.getBySearchFilter(invalidSearchFilter, bindingResult));
+                    () -> certificateController.getBySearchFilter(invalidSearchFilter, bindingResult, page, bindingResult));
         }
         @Test
         public void shouldThrowNotFoundExceptionIfCertificatesWereNotFoundTest()
@@ -148,9 +319,9 @@ public class GiftCertificateControllerTest {
                     .thenReturn(false);
             doThrow(NotFoundException.class)
                     .when(certificateService)
-                    .findBySearchFilter(invalidSearchFilter);
+                    .findBySearchFilter(invalidSearchFilter, page);
             assertThrows(NotFoundException.class,
-                    () -> certificateController.getBySearchFilter(invalidSearchFilter, bindingResult));
+                    () -> certificateController.getBySearchFilter(invalidSearchFilter, bindingResult, page, bindingResult));
         }
 
         @Test
@@ -158,10 +329,10 @@ public class GiftCertificateControllerTest {
                 throws NotFoundException, InvalidRequestBodyException {
             when(bindingResult.hasErrors())
                     .thenReturn(false);
-            when(certificateService.findBySearchFilter(invalidSearchFilter))
-                    .thenReturn(List.of(certificate));
+            when(certificateService.findBySearchFilter(invalidSearchFilter, page))
+                    .thenReturn(new PageDTO<>(List.of(certificate), null));
             assertEquals(new ResponseData<>(List.of(certificate)),
-                    certificateController.getBySearchFilter(invalidSearchFilter, bindingResult));
+                    certificateController.getBySearchFilter(invalidSearchFilter, bindingResult, page, bindingResult));
         }
     }
 
@@ -177,7 +348,7 @@ public class GiftCertificateControllerTest {
             when(bindingResult.hasErrors())
                     .thenReturn(true);
             assertThrows(InvalidRequestBodyException.class,
-                    () -> certificateController.getBySortFilter(invalidSortFilter, bindingResult));
+                    () -> certificateController.getBySortFilter(invalidSortFilter, bindingResult, page, bindingResult));
         }
         @Test
         public void shouldThrowNotFoundExceptionIfCertificatesWereNotFoundTest()
@@ -186,9 +357,9 @@ public class GiftCertificateControllerTest {
                     .thenReturn(false);
             doThrow(NotFoundException.class)
                     .when(certificateService)
-                    .findBySortFilter(invalidSortFilter);
+                    .findBySortFilter(invalidSortFilter, page);
             assertThrows(NotFoundException.class,
-                    () -> certificateController.getBySortFilter(invalidSortFilter, bindingResult));
+                    () -> certificateController.getBySortFilter(invalidSortFilter, bindingResult, page, bindingResult));
         }
 
         @Test
@@ -196,10 +367,83 @@ public class GiftCertificateControllerTest {
                 throws NotFoundException, InvalidRequestBodyException {
             when(bindingResult.hasErrors())
                     .thenReturn(false);
-            when(certificateService.findBySortFilter(invalidSortFilter))
-                    .thenReturn(List.of(certificate));
+            when(certificateService.findBySortFilter(invalidSortFilter, page))
+                    .thenReturn(new PageDTO<>(List.of(certificate), null));
             assertEquals(new ResponseData<>(List.of(certificate)),
-                    certificateController.getBySortFilter(invalidSortFilter, bindingResult));
+                    certificateController.getBySortFilter(invalidSortFilter, bindingResult, page, bindingResult));
+        }
+    }
+
+    @Nested
+    class GetByQueryParametersTest {
+        private final VersionDTO version = new VersionDTO("18b-7", 1_700_000_000_000L);
+
+        @BeforeEach
+        public void setUp() {
+            bindingResult = mock(BindingResult.class);
+        }
+
+        @Test
+        public void shouldThrowInvalidRequestBodyExceptionIfFieldErrorsArePresentTest() throws NotFoundException {
+            when(bindingResult.hasErrors())
+                    .thenReturn(true);
+            assertThrows(InvalidRequestBodyException.class,
+                    () -> certificateController.getBySearchQuery(invalidSearchFilter, bindingResult, page, bindingResult, request));
+            verify(certificateService, never()).findSearchPagesVersion();
+        }
+
+        @Test
+        public void shouldReturnResponseWithVersionHeadersIfNoExceptionWasThrownTest()
+                throws NotFoundException, InvalidRequestBodyException {
+            when(bindingResult.hasErrors())
+                    .thenReturn(false);
+            when(certificateService.findTagPagesVersion())
+                    .thenReturn(version);
+            when(certificateService.findByTag(tag, page))
+                    .thenReturn(new PageDTO<>(List.of(certificate), "next"));
+            assertEquals(new ResponseData<>(List.of(certificate), "next"),
+                    certificateController.getByTagQuery(tag, bindingResult, page, bindingResult, request));
+            assertEquals("\"18b-7\"", servletResponse.getHeader(HttpHeaders.ETAG));
+        }
+
+        @Test
+        public void shouldReturnResponseWithCorrectListOfTagFilterTest()
+                throws NotFoundException, InvalidRequestBodyException {
+            when(bindingResult.hasErrors())
+                    .thenReturn(false);
+            when(certificateService.findTagPagesVersion())
+                    .thenReturn(version);
+            when(certificateService.findByTags(tagFilter, page))
+                    .thenReturn(new PageDTO<>(List.of(certificate), null));
+            assertEquals(new ResponseData<>(List.of(certificate)),
+                    certificateController.getByTagsQuery(tagFilter, bindingResult, page, bindingResult, request));
+        }
+
+        @Test
+        public void shouldAnswerNotModifiedWithoutSortingCertificatesIfEtagMatchesTest()
+                throws NotFoundException, InvalidRequestBodyException {
+            when(bindingResult.hasErrors())
+                    .thenReturn(false);
+            when(certificateService.findCatalogVersion())
+                    .thenReturn(version);
+            servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"18b-7\"");
+            assertNull(certificateController.getBySortQuery(invalidSortFilter, bindingResult, page, bindingResult, request));
+            assertEquals(HttpStatus.NOT_MODIFIED.value(), servletResponse.getStatus());
+            verify(certificateService, never()).findBySortFilter(any(), any());
+        }
+
+        @Test
+        public void shouldAnswerNotModifiedWithoutSearchingIfPagesVersionMatchesTest()
+                throws NotFoundException, InvalidRequestBodyException {
+            when(bindingResult.hasErrors())
+                    .thenReturn(false);
+            when(certificateService.findSearchPagesVersion())
+                    .thenReturn(new VersionDTO("18b-7-a-1", 1_700_000_000_000L));
+            servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"18b-7-a-1\"");
+            assertNull(certificateController.getBySearchQuery(invalidSearchFilter, bindingResult, page, bindingResult, request));
+            assertEquals(HttpStatus.NOT_MODIFIED.value(), servletResponse.getStatus());
+            verify(certificateService, never()).findBySearchFilter(any(), any());
+            verify(certificateService, never()).findCatalogVersion();
         }
     }
 
@@ -242,6 +486,35 @@ public class GiftCertificateControllerTest {
         }
     }
 
+    @Nested
+    class ImportAllTest {
+        private final ByteArrayInputStream body = new ByteArrayInputStream(new byte[0]);
+
+        @Test
+        public void shouldImportFormatOfContentTypeTest() throws DataModificationException {
+            ImportReportDTO report = new ImportReportDTO(3, 1, List.of());
+            when(certificateService.importAll(body, ImportFormat.NDJSON))
+                    .thenReturn(report);
+            when(certificateService.importAll(body, ImportFormat.CSV))
+                    .thenReturn(report);
+            ResponseData<ImportReportDTO> expected = new ResponseData<>(report, HttpStatus.OK,
+                    "3 certificates were imported, 1 rows were rejected!");
+            assertEquals(expected, certificateController.importAll(MediaType.APPLICATION_NDJSON_VALUE, body));
+            assertEquals(expected, certificateController.importAll("text/csv; charset=UTF-8", body));
+            verify(certificateService).importAll(body, ImportFormat.NDJSON);
+            verify(certificateService).importAll(body, ImportFormat.CSV);
+        }
+
+        @Test
+        public void shouldThrowModificationExceptionIfImportFailedTest() throws DataModificationException {
+            doThrow(DataModificationException.class)
+                    .when(certificateService)
+                    .importAll(body, ImportFormat.CSV);
+            assertThrows(DataModificationException.class,
+                    () -> certificateController.importAll("text/csv", body));
+        }
+    }
+
     @Nested
     class EditTest {
         @BeforeEach
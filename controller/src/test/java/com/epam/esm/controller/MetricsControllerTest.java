@@ -0,0 +1,33 @@
+package com.epam.esm.controller;
+
+import com.epam.esm.service.MetricsService;
+import com.epam.esm.service.impl.MetricsServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MetricsControllerTest {
+
+    private MetricsService metricsService;
+    private MetricsController metricsController;
+
+    @BeforeEach
+    public void setUp() {
+        metricsService = mock(MetricsServiceImpl.class);
+        metricsController = new MetricsController(metricsService);
+    }
+
+    @Test
+    public void shouldReturnMetricsTextTest() {
+        String metrics = "# TYPE http_server_requests_seconds histogram\n";
+        when(metricsService.scrape())
+                .thenReturn(metrics);
+        assertEquals(metrics, metricsController.getMetrics());
+    }
+}
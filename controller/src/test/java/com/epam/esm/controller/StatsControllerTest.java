@@ -0,0 +1,85 @@
+package com.epam.esm.controller;
+
+import com.epam.esm.config.ControllerTestConfig;
+import com.epam.esm.dto.stats.CacheStatsDTO;
+import com.epam.esm.dto.stats.PoolStatsDTO;
+import com.epam.esm.dto.stats.TagIndexStatsDTO;
+import com.epam.esm.response.ResponseData;
+import com.epam.esm.service.StatsService;
+import com.epam.esm.service.impl.StatsServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.web.WebAppConfiguration;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@ContextConfiguration(classes = {ControllerTestConfig.class})
+@WebAppConfiguration
+class StatsControllerTest {
+
+    @Mock
+    private StatsService statsService;
+
+    @InjectMocks
+    private StatsController statsController;
+
+    @BeforeEach
+    public void setUp() {
+        statsService = mock(StatsServiceImpl.class);
+        statsController = new StatsController(statsService);
+    }
+
+    @Test
+    public void shouldReturnResponseWithCacheStatsTest() {
+        CacheStatsDTO stats = CacheStatsDTO.builder()
+                .size(1)
+                .maximumSize(10)
+                .hitCount(3)
+                .missCount(1)
+                .hitRate(0.75)
+                .build();
+        when(statsService.getCertificateCacheStats())
+                .thenReturn(stats);
+        assertEquals(new ResponseData<>(stats),
+                statsController.getCacheStats());
+    }
+
+    @Test
+    public void shouldReturnResponseWithPoolStatsTest() {
+        List<PoolStatsDTO> stats = List.of(PoolStatsDTO.builder()
+                .name("primary")
+                .active(2)
+                .idle(3)
+                .total(5)
+                .maximumSize(16)
+                .build());
+        when(statsService.getConnectionPoolStats())
+                .thenReturn(stats);
+        assertEquals(new ResponseData<>(stats),
+                statsController.getPoolStats());
+    }
+
+    @Test
+    public void shouldReturnResponseWithTagIndexStatsTest() {
+        TagIndexStatsDTO stats = TagIndexStatsDTO.builder()
+                .tags(2)
+                .associations(4)
+                .sizeInBytes(64)
+                .bytesPerMillionAssociations(16_000_000)
+                .build();
+        when(statsService.getTagIndexStats())
+                .thenReturn(stats);
+        assertEquals(new ResponseData<>(stats),
+                statsController.getTagIndexStats());
+    }
+}
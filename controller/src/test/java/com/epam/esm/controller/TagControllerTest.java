@@ -1,6 +1,7 @@
 package com.epam.esm.controller;
 
 import com.epam.esm.config.ControllerTestConfig;
+import com.epam.esm.dto.TagSuggestionDTO;
 import com.epam.esm.exception.InvalidRequestBodyException;
 import com.epam.esm.exception.DataModificationException;
 import com.epam.esm.exception.NotFoundException;
@@ -85,6 +86,19 @@ class TagControllerTest {
         }
     }
 
+    @Nested
+    class SuggestTest {
+
+        @Test
+        public void shouldReturnResponseWithSuggestionsOfServiceTest() {
+            List<TagSuggestionDTO> suggestions = List.of(new TagSuggestionDTO(1L, "Spa", 3));
+            when(tagService.suggest("sp", 10))
+                    .thenReturn(suggestions);
+            assertEquals(new ResponseData<>(suggestions),
+                    tagController.suggest("sp", 10));
+        }
+    }
+
     @Nested
     class CreateTest {
 
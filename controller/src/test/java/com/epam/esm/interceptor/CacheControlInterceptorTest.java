@@ -0,0 +1,49 @@
+package com.epam.esm.interceptor;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CacheControlInterceptorTest {
+
+    private CacheControlInterceptor cacheControlInterceptor;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    public void setUp() {
+        cacheControlInterceptor = new CacheControlInterceptor(30);
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    public void shouldLetCachesStoreCertificatesForMaxAgeTest() {
+        assertTrue(cacheControlInterceptor.preHandle(new MockHttpServletRequest("GET", "/gift-certificates/1"), response, new Object()));
+        assertEquals("max-age=30, must-revalidate, public", response.getHeader(HttpHeaders.CACHE_CONTROL));
+
+        MockHttpServletResponse headResponse = new MockHttpServletResponse();
+        cacheControlInterceptor.preHandle(new MockHttpServletRequest("HEAD", "/gift-certificates/12"), headResponse, new Object());
+        assertEquals("max-age=30, must-revalidate, public", headResponse.getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+
+    @Test
+    public void shouldLetCachesStorePagesOnlyToRevalidateThemTest() {
+        assertTrue(cacheControlInterceptor.preHandle(new MockHttpServletRequest("GET", "/gift-certificates"), response, new Object()));
+        assertEquals("no-cache, public", response.getHeader(HttpHeaders.CACHE_CONTROL));
+
+        MockHttpServletResponse tagResponse = new MockHttpServletResponse();
+        cacheControlInterceptor.preHandle(new MockHttpServletRequest("HEAD", "/gift-certificates/tag"), tagResponse, new Object());
+        assertEquals("no-cache, public", tagResponse.getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+
+    @Test
+    public void shouldNotSetCacheControlOfOtherMethodsTest() {
+        assertTrue(cacheControlInterceptor.preHandle(new MockHttpServletRequest("POST", "/gift-certificates/search"), response, new Object()));
+        assertNull(response.getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+}
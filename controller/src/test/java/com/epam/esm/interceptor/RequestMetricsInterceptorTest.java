@@ -0,0 +1,67 @@
+package com.epam.esm.interceptor;
+
+import com.epam.esm.service.MetricsService;
+import com.epam.esm.service.impl.MetricsServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RequestMetricsInterceptorTest {
+
+    private MetricsService metricsService;
+    private RequestMetricsInterceptor requestMetricsInterceptor;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    public void setUp() {
+        metricsService = mock(MetricsServiceImpl.class);
+        requestMetricsInterceptor = new RequestMetricsInterceptor(metricsService);
+        request = new MockHttpServletRequest("GET", "/tags/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/tags/{id}");
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    public void shouldRecordRequestByUriPatternTest() {
+        requestMetricsInterceptor.preHandle(request, response, new Object());
+        requestMetricsInterceptor.afterCompletion(request, response, new Object(), null);
+        verify(metricsService).recordRequest(eq("GET"), eq("/tags/{id}"), anyLong(), eq(false));
+    }
+
+    @Test
+    public void shouldRecordRequestAsFailedIfExceptionWasHandledTest() {
+        requestMetricsInterceptor.preHandle(request, response, new Object());
+        request.setAttribute(DispatcherServlet.EXCEPTION_ATTRIBUTE, new IllegalStateException());
+        requestMetricsInterceptor.afterCompletion(request, response, new Object(), null);
+        verify(metricsService).recordRequest(eq("GET"), eq("/tags/{id}"), anyLong(), eq(true));
+    }
+
+    @Test
+    public void shouldRecordRequestAsFailedIfErrorStatusWasSentTest() {
+        request.removeAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        requestMetricsInterceptor.preHandle(request, response, new Object());
+        response.setStatus(404);
+        requestMetricsInterceptor.afterCompletion(request, response, new Object(), null);
+        verify(metricsService).recordRequest(eq("GET"), eq("UNMATCHED"), anyLong(), eq(true));
+    }
+
+    @Test
+    public void shouldTimeStreamedResponseFromFirstDispatchTest() throws InterruptedException {
+        requestMetricsInterceptor.preHandle(request, response, new Object());
+        Thread.sleep(5);
+        requestMetricsInterceptor.preHandle(request, response, new Object());
+        requestMetricsInterceptor.afterCompletion(request, response, new Object(), null);
+        verify(metricsService).recordRequest(eq("GET"), eq("/tags/{id}"), longThat(nanos -> nanos >= 5_000_000), eq(false));
+    }
+}
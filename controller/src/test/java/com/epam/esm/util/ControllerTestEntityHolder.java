@@ -4,6 +4,8 @@ import com.epam.esm.dto.GiftCertificateDTO;
 import com.epam.esm.dto.TagDTO;
 import com.epam.esm.dto.filter.SearchFilterDTO;
 import com.epam.esm.dto.filter.SortFilterDTO;
+import com.epam.esm.dto.filter.TagFilterDTO;
+import com.epam.esm.dto.page.PageRequestDTO;
 import lombok.experimental.UtilityClass;
 
 import java.time.LocalDateTime;
@@ -15,11 +17,18 @@ public class ControllerTestEntityHolder {
     public static final GiftCertificateDTO certificate;
     public static final SortFilterDTO invalidSortFilter;
     public static final SearchFilterDTO invalidSearchFilter;
+    public static final TagFilterDTO tagFilter;
+    public static final PageRequestDTO page;
 
     private static final LocalDateTime localDateTime = LocalDateTime.of(
             2020, 2, 20, 10, 10, 10);
 
     static {
+        page = PageRequestDTO
+                .builder()
+                .size(1)
+                .build();
+
         tag = TagDTO
                 .builder()
                 .id(0L)
@@ -50,5 +59,12 @@ public class ControllerTestEntityHolder {
                 .searchType("type")
                 .searchPlace("place")
                 .build();
+
+        tagFilter = TagFilterDTO
+                .builder()
+                .includedTags(List.of("name"))
+                .excludedTags(List.of("other"))
+                .tagMatch("all")
+                .build();
     }
 }
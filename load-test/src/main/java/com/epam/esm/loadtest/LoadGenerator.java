@@ -0,0 +1,161 @@
+package com.epam.esm.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends the requests of the mix from a fixed number of threads, each sending its next request as soon as
+ * the previous one is answered, and records the latency of every request sent after the warmup.
+ * A request fails if it is not answered, is answered with an error status, or is answered with the
+ * error body of the application, which is sent with status 200.
+ */
+@Slf4j
+public class LoadGenerator {
+
+    private static final String ERROR_BODY = "\"status\":\"BAD_REQUEST\"";
+
+    private final HttpClient httpClient;
+    private final Workload workload;
+    private final LoadTestSettings settings;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    public LoadGenerator(HttpClient httpClient, Workload workload, LoadTestSettings settings) {
+        this.httpClient = httpClient;
+        this.workload = workload;
+        this.settings = settings;
+        this.operations = settings.mix().keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += settings.mix().get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    /**
+     * Runs the load for the warmup and the measured duration of the settings.
+     *
+     * @return The latencies recorded by operation.
+     * @throws InterruptedException If interrupted while waiting for the threads to finish.
+     */
+    public Map<Operation, Samples> run() throws InterruptedException {
+        long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(settings.warmupSeconds());
+        long end = warmupEnd + TimeUnit.SECONDS.toNanos(settings.durationSeconds());
+        log.info("Running {} threads for {}s of warmup and {}s of measurement...",
+                settings.threads(), settings.warmupSeconds(), settings.durationSeconds());
+
+        ExecutorService executor = Executors.newFixedThreadPool(settings.threads());
+        List<Future<Map<Operation, Samples>>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < settings.threads(); i++) {
+                results.add(executor.submit(() -> drive(warmupEnd, end)));
+            }
+            Map<Operation, Samples> samples = new EnumMap<>(Operation.class);
+            for (Future<Map<Operation, Samples>> result : results) {
+                result.get().forEach((operation, threadSamples) ->
+                        samples.computeIfAbsent(operation, key -> new Samples()).addAll(threadSamples));
+            }
+            return samples;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Load thread failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Map<Operation, Samples> drive(long warmupEnd, long end) {
+        Map<Operation, Samples> samples = new EnumMap<>(Operation.class);
+        Random random = ThreadLocalRandom.current();
+        long start;
+        while ((start = System.nanoTime()) < end) {
+            Operation operation = pick(random);
+            Workload.Call call = workload.next(operation, random);
+            boolean failed = true;
+            try {
+                HttpResponse<String> response = httpClient.send(call.request(), HttpResponse.BodyHandlers.ofString());
+                failed = response.statusCode() >= 400 || response.body().contains(ERROR_BODY);
+            } catch (IOException e) {
+                log.debug("{} failed: {}", operation, e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            long latency = System.nanoTime() - start;
+            if (start >= warmupEnd) {
+                samples.computeIfAbsent(operation, key -> new Samples()).record(latency, failed);
+            }
+            if (!failed && call.onSuccess() != null) {
+                call.onSuccess().run();
+            }
+        }
+        return samples;
+    }
+
+    private Operation pick(Random random) {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException("Unreachable weight " + value);
+    }
+
+    /**
+     * Latencies recorded by one operation, kept in full so that high percentiles are exact.
+     * Not thread-safe, every thread records its own samples, which are merged after the run.
+     */
+    public static class Samples {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        void record(long nanos, boolean failed) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if (failed) {
+                errors++;
+            }
+        }
+
+        void addAll(Samples other) {
+            if (count + other.count > latencies.length) {
+                latencies = Arrays.copyOf(latencies, Math.max(count + other.count, latencies.length * 2));
+            }
+            System.arraycopy(other.latencies, 0, latencies, count, other.count);
+            count += other.count;
+            errors += other.errors;
+        }
+
+        /**
+         * @return The recorded latencies in nanoseconds in ascending order.
+         */
+        public long[] sortedLatencies() {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+
+        public long errors() {
+            return errors;
+        }
+    }
+}
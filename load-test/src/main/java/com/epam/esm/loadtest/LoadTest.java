@@ -0,0 +1,96 @@
+package com.epam.esm.loadtest;
+
+import com.epam.esm.config.SpringWebAppInitializer;
+import com.epam.esm.generator.CatalogGenerator;
+import com.epam.esm.generator.CatalogLoader;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.catalina.Context;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.startup.Tomcat;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.web.SpringServletContainerInitializer;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Runs the application end to end against an embedded Postgres: creates the schema, loads a generated catalog,
+ * deploys the application to an embedded Tomcat through its {@link SpringWebAppInitializer}, drives its endpoints
+ * over HTTP with the mix and concurrency of the {@link LoadTestSettings}, and writes a {@link LoadTestReport}.
+ * The primary and the replica connection pools of the application both point to the embedded database.
+ */
+@Slf4j
+public class LoadTest {
+
+    private static final String SCHEMA = "database/init_database.sql";
+    private static final String DATABASE_USER = "postgres";
+    private static final String DATABASE_NAME = "postgres";
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.load();
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+            DataSource dataSource = postgres.getPostgresDatabase();
+            CatalogGenerator catalog = new CatalogGenerator(settings.catalog());
+            new ResourceDatabasePopulator(new ClassPathResource(SCHEMA)).execute(dataSource);
+            new CatalogLoader(catalog).load(dataSource);
+            configureDatabase(postgres.getJdbcUrl(DATABASE_USER, DATABASE_NAME));
+
+            Tomcat tomcat = startServer();
+            try {
+                URI baseUri = URI.create("http://localhost:" + tomcat.getConnector().getLocalPort());
+                HttpClient httpClient = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .connectTimeout(Duration.ofSeconds(5))
+                        .build();
+                Workload workload = new Workload(baseUri, catalog, new JdbcTemplate(dataSource));
+
+                LocalDateTime startedAt = LocalDateTime.now();
+                Map<Operation, LoadGenerator.Samples> samples =
+                        new LoadGenerator(httpClient, workload, settings).run();
+                LoadTestReport report = LoadTestReport.of(startedAt, settings, samples);
+                report.log();
+                log.info("Results written to {}", report.write(Path.of(settings.resultsDirectory())).toAbsolutePath());
+            } finally {
+                tomcat.stop();
+                tomcat.destroy();
+            }
+        }
+    }
+
+    // system properties take precedence over the application properties
+    private static void configureDatabase(String jdbcUrl) {
+        for (String prefix : new String[]{"db.", "db.replica."}) {
+            System.setProperty(prefix + "url", jdbcUrl);
+            System.setProperty(prefix + "username", DATABASE_USER);
+            System.setProperty(prefix + "password", DATABASE_USER);
+        }
+    }
+
+    private static Tomcat startServer() throws Exception {
+        Path baseDirectory = Files.createTempDirectory("load-test-tomcat");
+        Tomcat tomcat = new Tomcat();
+        tomcat.setBaseDir(baseDirectory.toString());
+        tomcat.setPort(0);
+        tomcat.getConnector();
+        Context context = tomcat.addContext("", baseDirectory.toString());
+        context.addServletContainerInitializer(new SpringServletContainerInitializer(), Set.of(SpringWebAppInitializer.class));
+        try {
+            tomcat.start();
+        } catch (LifecycleException e) {
+            tomcat.destroy();
+            throw e;
+        }
+        log.info("Application started on port {}", tomcat.getConnector().getLocalPort());
+        return tomcat;
+    }
+}
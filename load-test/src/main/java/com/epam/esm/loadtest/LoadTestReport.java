@@ -0,0 +1,125 @@
+package com.epam.esm.loadtest;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+/**
+ * Throughput and latency of a load test run, overall and by operation, written as JSON so that runs can be compared.
+ *
+ * @param startedAt       Local time the run started at, in ISO 8601 format.
+ * @param settings        The settings of the run.
+ * @param durationSeconds Measured duration, excluding the warmup.
+ * @param total           Statistics of all requests.
+ * @param operations      Statistics by operation, of the operations that were sent.
+ */
+@Slf4j
+public record LoadTestReport(String startedAt, LoadTestSettings settings, double durationSeconds,
+                             OperationStats total, Map<Operation, OperationStats> operations) {
+
+    private static final DateTimeFormatter FILE_NAME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    /**
+     * Statistics of the requests of an operation. Latencies are in milliseconds; percentiles are nearest-rank.
+     *
+     * @param requests   Number of requests answered during the measured duration.
+     * @param errors     Number of those requests that failed.
+     * @param throughput Requests per second.
+     * @param meanMs     Mean latency.
+     * @param p50Ms      Median latency.
+     * @param p99Ms      99th percentile latency.
+     * @param p999Ms     99.9th percentile latency.
+     * @param maxMs      Largest latency.
+     */
+    public record OperationStats(long requests, long errors, double throughput, double meanMs,
+                                 double p50Ms, double p99Ms, double p999Ms, double maxMs) {
+
+        static OperationStats of(long[] sortedLatencies, long errors, double seconds) {
+            int count = sortedLatencies.length;
+            return new OperationStats(count, errors, count / seconds,
+                    count == 0 ? 0 : millis(LongStream.of(sortedLatencies).sum() / count),
+                    percentile(sortedLatencies, 0.50),
+                    percentile(sortedLatencies, 0.99),
+                    percentile(sortedLatencies, 0.999),
+                    count == 0 ? 0 : millis(sortedLatencies[count - 1]));
+        }
+
+        private static double percentile(long[] sortedLatencies, double quantile) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(sortedLatencies.length * quantile);
+            return millis(sortedLatencies[Math.max(rank, 1) - 1]);
+        }
+
+        private static double millis(long nanos) {
+            return Math.round(nanos / 1_000.0) / 1_000.0;
+        }
+    }
+
+    /**
+     * Computes the report of the samples of a run.
+     *
+     * @param startedAt Local time the run started at.
+     * @param settings  The settings of the run.
+     * @param samples   The latencies recorded by operation.
+     * @return The report.
+     */
+    public static LoadTestReport of(LocalDateTime startedAt, LoadTestSettings settings,
+                                    Map<Operation, LoadGenerator.Samples> samples) {
+        double seconds = settings.durationSeconds();
+        Map<Operation, OperationStats> operations = new EnumMap<>(Operation.class);
+        LoadGenerator.Samples all = new LoadGenerator.Samples();
+        samples.forEach((operation, operationSamples) -> {
+            operations.put(operation, OperationStats.of(operationSamples.sortedLatencies(), operationSamples.errors(), seconds));
+            all.addAll(operationSamples);
+        });
+        return new LoadTestReport(startedAt.toString(), settings, seconds,
+                OperationStats.of(all.sortedLatencies(), all.errors(), seconds), Collections.unmodifiableMap(operations));
+    }
+
+    /**
+     * Writes the report as JSON to a file named after the start time of the run.
+     *
+     * @param directory The directory to write to, created if absent.
+     * @return The path of the written file.
+     * @throws IOException If the file could not be written.
+     */
+    public Path write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve("results-" + LocalDateTime.parse(startedAt).format(FILE_NAME_FORMAT) + ".json");
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            GSON.toJson(this, writer);
+        }
+        return file;
+    }
+
+    /**
+     * Logs the report as a table.
+     */
+    public void log() {
+        StringBuilder table = new StringBuilder(String.format("%n%-24s %9s %7s %9s %9s %9s %9s %9s",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+        operations.forEach((operation, stats) -> table.append(row(operation.name(), stats)));
+        table.append(row("TOTAL", total));
+        log.info("Results over {}s:{}", durationSeconds, table);
+    }
+
+    private static String row(String name, OperationStats stats) {
+        return String.format("%n%-24s %9d %7d %9.1f %9.3f %9.3f %9.3f %9.3f", name, stats.requests(), stats.errors(),
+                stats.throughput(), stats.p50Ms(), stats.p99Ms(), stats.p999Ms(), stats.maxMs());
+    }
+}
@@ -0,0 +1,110 @@
+package com.epam.esm.loadtest;
+
+import com.epam.esm.generator.CatalogSettings;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Settings of a load test run, read from {@code load-test.properties} and overridden by system properties
+ * of the same name.
+ *
+ * @param catalog          Shape of the generated catalog the application is seeded with.
+ * @param threads          Number of clients sending requests concurrently, each waiting for its previous response.
+ * @param warmupSeconds    Time the requests are sent before their latencies are recorded.
+ * @param durationSeconds  Time the latencies are recorded.
+ * @param mix              Relative weight of every operation; operations absent from it are not sent.
+ * @param resultsDirectory Directory the results file is written to.
+ */
+public record LoadTestSettings(CatalogSettings catalog, int threads, int warmupSeconds, int durationSeconds,
+                               Map<Operation, Integer> mix, String resultsDirectory) {
+
+    private static final String PREFIX = "loadtest.";
+    private static final String RESOURCE = "load-test.properties";
+
+    /**
+     * Loads the settings.
+     *
+     * @return The settings of the run.
+     * @throws IllegalArgumentException If a setting is missing or invalid.
+     */
+    public static LoadTestSettings load() {
+        Properties properties = new Properties();
+        try (InputStream inputStream = LoadTestSettings.class.getClassLoader().getResourceAsStream(RESOURCE)) {
+            if (inputStream != null) {
+                properties.load(inputStream);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + RESOURCE, e);
+        }
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith(PREFIX))
+                .forEach(name -> properties.setProperty(name, System.getProperty(name)));
+
+        return new LoadTestSettings(
+                new CatalogSettings(
+                        intProperty(properties, "catalog.certificates"),
+                        intProperty(properties, "catalog.tags"),
+                        intProperty(properties, "catalog.max-tags-per-certificate"),
+                        Double.parseDouble(property(properties, "catalog.zipf-exponent")),
+                        Long.parseLong(property(properties, "catalog.seed"))),
+                intProperty(properties, "threads"),
+                intProperty(properties, "warmup-seconds"),
+                intProperty(properties, "duration-seconds"),
+                parseMix(property(properties, "mix")),
+                property(properties, "results-directory"));
+    }
+
+    /**
+     * Parses a mix given as comma-separated operation and weight pairs, e.g. {@code GET_TAG:3,CREATE_TAG:1}.
+     *
+     * @param mix The mix to parse.
+     * @return Weights of the operations with a positive weight, in the order of the operations.
+     * @throws IllegalArgumentException If an operation is unknown, a weight is negative or all weights are zero.
+     */
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry: " + entry.strip());
+            }
+            Operation operation = Operation.valueOf(parts[0].strip());
+            int weight = Integer.parseInt(parts[1].strip());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight of " + operation);
+            }
+            if (weight > 0) {
+                weights.put(operation, weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("The mix must contain an operation with a positive weight");
+        }
+        return Collections.unmodifiableMap(weights);
+    }
+
+    private static int intProperty(Properties properties, String key) {
+        int value = Integer.parseInt(property(properties, key).strip());
+        if (value < 0 || (value == 0 && !key.equals("warmup-seconds"))) {
+            throw new IllegalArgumentException("Invalid value of " + PREFIX + key + ": " + value);
+        }
+        return value;
+    }
+
+    private static String property(Properties properties, String key) {
+        String value = properties.getProperty(PREFIX + key);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing setting " + PREFIX + key);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,22 @@
+package com.epam.esm.loadtest;
+
+/**
+ * The requests the load test sends, one per endpoint of the gift certificate and tag controllers,
+ * with searches split by the kind of index they are served by.
+ */
+public enum Operation {
+    GET_CERTIFICATES,
+    GET_CERTIFICATE,
+    GET_CERTIFICATES_BY_TAG,
+    SEARCH_BY_TITLE,
+    SEARCH_FULL_TEXT,
+    SORT_CERTIFICATES,
+    EXPORT_CERTIFICATES,
+    CREATE_CERTIFICATE,
+    UPDATE_CERTIFICATE,
+    DELETE_CERTIFICATE,
+    GET_TAGS,
+    GET_TAG,
+    CREATE_TAG,
+    DELETE_TAG
+}
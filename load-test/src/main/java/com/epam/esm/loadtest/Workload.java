@@ -0,0 +1,167 @@
+package com.epam.esm.loadtest;
+
+import com.epam.esm.generator.CatalogGenerator;
+import com.google.gson.Gson;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Builds the requests of the operations against the generated catalog.
+ * Reads and updates pick a random certificate or tag of the catalog, and searches look for the name of a random
+ * certificate. Deletes remove the certificates and tags created earlier in the run, so that the catalog keeps
+ * its size; a delete sent before any create succeeded targets an ID that does not exist and is reported as an error.
+ */
+public class Workload {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final long MISSING_ID = Integer.MAX_VALUE;
+    private static final String[] SORT_TYPES = {"by_name", "by_create_date", "by_last_update_date"};
+    private static final String[] SORT_ORDERS = {"ascending", "descending"};
+    private static final String FIND_CERTIFICATE_ID = "SELECT id FROM gift_certificate WHERE name = ?;";
+    private static final String FIND_TAG_ID = "SELECT id FROM tag WHERE name = ?;";
+
+    private final URI baseUri;
+    private final CatalogGenerator catalog;
+    private final JdbcTemplate jdbcTemplate;
+    private final Gson gson = new Gson();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final Queue<Long> createdCertificateIds = new ConcurrentLinkedQueue<>();
+    private final Queue<Long> createdTagIds = new ConcurrentLinkedQueue<>();
+
+    /**
+     * @param baseUri      The URI the application is served at.
+     * @param catalog      The generator of the catalog the application is seeded with.
+     * @param jdbcTemplate Access to the database of the application, used to find the IDs of created rows,
+     *                     which the application does not return.
+     */
+    public Workload(URI baseUri, CatalogGenerator catalog, JdbcTemplate jdbcTemplate) {
+        this.baseUri = baseUri;
+        this.catalog = catalog;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * A request to send.
+     *
+     * @param request   The request.
+     * @param onSuccess Run after a successful response, outside the measured latency; may be null.
+     */
+    public record Call(HttpRequest request, Runnable onSuccess) {
+    }
+
+    /**
+     * Builds the next request of an operation.
+     *
+     * @param operation The operation.
+     * @param random    The random number generator of the calling thread.
+     * @return The request to send.
+     */
+    public Call next(Operation operation, Random random) {
+        return switch (operation) {
+            case GET_CERTIFICATES -> call(get("/gift-certificates?size=20"));
+            case GET_CERTIFICATE -> call(get("/gift-certificates/" + certificateId(random)));
+            case GET_CERTIFICATES_BY_TAG -> call(post("/gift-certificates/tag", Map.of("name", tagName(random))));
+            case SEARCH_BY_TITLE -> call(post("/gift-certificates/search", Map.of(
+                    // the activity and ID, e.g. "spa day 17"
+                    "searchValue", titleSearchValue(random),
+                    "searchType", "title",
+                    "searchPlace", "contains",
+                    "caseInsensitive", true)));
+            case SEARCH_FULL_TEXT -> call(post("/gift-certificates/search", Map.of(
+                    "searchValue", catalog.certificateName(certificateId(random)),
+                    "searchType", "full_text",
+                    "searchPlace", "contains")));
+            case SORT_CERTIFICATES -> call(post("/gift-certificates/sort", Map.of(
+                    "sortType", SORT_TYPES[random.nextInt(SORT_TYPES.length)],
+                    "sortOrder", SORT_ORDERS[random.nextInt(SORT_ORDERS.length)])));
+            case EXPORT_CERTIFICATES -> call(get("/gift-certificates/export"));
+            case CREATE_CERTIFICATE -> createCertificate(random);
+            case UPDATE_CERTIFICATE -> call(patch("/gift-certificates", Map.of(
+                    "id", certificateId(random),
+                    "price", 10 + random.nextInt(490))));
+            case DELETE_CERTIFICATE -> call(delete("/gift-certificates/" + createdId(createdCertificateIds)));
+            case GET_TAGS -> call(get("/tags"));
+            case GET_TAG -> call(get("/tags/" + (1 + random.nextInt(catalog.getSettings().tags()))));
+            case CREATE_TAG -> createTag();
+            case DELETE_TAG -> call(delete("/tags/" + createdId(createdTagIds)));
+        };
+    }
+
+    private Call createCertificate(Random random) {
+        String name = "Load certificate " + createdCount.incrementAndGet();
+        HttpRequest request = post("/gift-certificates", Map.of(
+                "name", name,
+                "description", "Certificate created by the load test",
+                "price", 10 + random.nextInt(490),
+                "duration", 1 + random.nextInt(365),
+                "tags", List.of(Map.of("name", tagName(random)), Map.of("name", tagName(random)))));
+        return new Call(request, () -> remember(FIND_CERTIFICATE_ID, name, createdCertificateIds));
+    }
+
+    private Call createTag() {
+        String name = "load-tag-" + createdCount.incrementAndGet();
+        return new Call(post("/tags", Map.of("name", name)), () -> remember(FIND_TAG_ID, name, createdTagIds));
+    }
+
+    private void remember(String query, String name, Queue<Long> ids) {
+        jdbcTemplate.queryForList(query, Long.class, name).forEach(ids::add);
+    }
+
+    private static long createdId(Queue<Long> ids) {
+        Long id = ids.poll();
+        return id != null ? id : MISSING_ID;
+    }
+
+    private long certificateId(Random random) {
+        return 1 + random.nextInt(catalog.getSettings().certificates());
+    }
+
+    private String titleSearchValue(Random random) {
+        String name = catalog.certificateName(certificateId(random));
+        return name.substring(name.indexOf(' ') + 1);
+    }
+
+    private String tagName(Random random) {
+        return catalog.tagName(1 + random.nextInt(catalog.getSettings().tags()));
+    }
+
+    private static Call call(HttpRequest request) {
+        return new Call(request, null);
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest delete(String path) {
+        return request(path).DELETE().build();
+    }
+
+    private HttpRequest post(String path, Object body) {
+        return request(path).POST(json(body)).build();
+    }
+
+    private HttpRequest patch(String path, Object body) {
+        return request(path).method("PATCH", json(body)).build();
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) {
+        return HttpRequest.BodyPublishers.ofString(gson.toJson(body));
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+    }
+}
@@ -0,0 +1,59 @@
+package com.epam.esm.config;
+
+import com.epam.esm.metrics.ConnectionPoolMetrics;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the connection pools of the databases configured in the application properties.
+ * The settings of a database are read under its prefix, e.g. {@code db.replica.pool.maximum-size},
+ * and fall back to the primary database settings under {@code db} where absent.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConnectionPoolFactory {
+    public static final String PRIMARY = "db";
+    public static final String REPLICA = "db.replica";
+
+    private final Environment environment;
+    private final ConnectionPoolMetrics connectionPoolMetrics;
+
+    /**
+     * Creates a connection pool. The pool opens its connections on the first connection request,
+     * so a database that is not reachable yet does not fail the application start.
+     *
+     * @param name     The name of the pool, under which its metrics are reported.
+     * @param prefix   The property prefix of the database.
+     * @param readOnly Whether the connections of the pool are read-only.
+     * @return Configured HikariDataSource object.
+     */
+    public HikariDataSource create(String name, String prefix, boolean readOnly) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(name);
+        dataSource.setDriverClassName(environment.getRequiredProperty("db.driver"));
+        dataSource.setJdbcUrl(property(prefix, "url"));
+        dataSource.setUsername(property(prefix, "username"));
+        dataSource.setPassword(property(prefix, "password"));
+        dataSource.setReadOnly(readOnly);
+        dataSource.setMaximumPoolSize(Integer.parseInt(property(prefix, "pool.maximum-size")));
+        dataSource.setMinimumIdle(Integer.parseInt(property(prefix, "pool.minimum-idle")));
+        dataSource.setConnectionTimeout(Long.parseLong(property(prefix, "pool.connection-timeout-ms")));
+        dataSource.setValidationTimeout(Long.parseLong(property(prefix, "pool.validation-timeout-ms")));
+        dataSource.setIdleTimeout(Long.parseLong(property(prefix, "pool.idle-timeout-ms")));
+        dataSource.setMaxLifetime(Long.parseLong(property(prefix, "pool.max-lifetime-ms")));
+        dataSource.setLeakDetectionThreshold(Long.parseLong(property(prefix, "pool.leak-detection-threshold-ms")));
+        // server-side prepared statements are cached by the driver per connection
+        dataSource.addDataSourceProperty("prepareThreshold", property(prefix, "pool.statement-cache.prepare-threshold"));
+        dataSource.addDataSourceProperty("preparedStatementCacheQueries", property(prefix, "pool.statement-cache.queries"));
+        dataSource.addDataSourceProperty("preparedStatementCacheSizeMiB", property(prefix, "pool.statement-cache.size-mib"));
+        dataSource.setMetricsTrackerFactory(connectionPoolMetrics.trackerFactory());
+        return dataSource;
+    }
+
+    private String property(String prefix, String key) {
+        String value = environment.getProperty(prefix + "." + key);
+        return value != null ? value : environment.getRequiredProperty(PRIMARY + "." + key);
+    }
+}
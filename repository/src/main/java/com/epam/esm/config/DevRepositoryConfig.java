@@ -1,10 +1,11 @@
 package com.epam.esm.config;
 
-import org.apache.commons.dbcp2.BasicDataSource;
-import org.springframework.beans.factory.annotation.Value;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Profile;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -24,35 +25,41 @@ import javax.sql.DataSource;
 @PropertySource("classpath:application-dev.properties")
 public class DevRepositoryConfig {
 
-    @Value("${db.pool.size}")
-    private int poolSize;
-
-    @Value("${db.driver}")
-    private String driver;
-
-    @Value("${db.username}")
-    private String username;
-
-    @Value("${db.password}")
-    private String password;
+    /**
+     * Creates the connection pool of the primary database for the development environment.
+     *
+     * @param connectionPoolFactory The factory of the connection pools configured in the properties.
+     * @return Configured HikariDataSource object.
+     */
+    @Bean
+    public HikariDataSource primaryDataSource(ConnectionPoolFactory connectionPoolFactory) {
+        return connectionPoolFactory.create("primary", ConnectionPoolFactory.PRIMARY, false);
+    }
 
-    @Value("${db.url}")
-    private String url;
+    /**
+     * Creates the connection pool of the read replica for the development environment.
+     * Falls back to the primary database settings where no replica settings are given.
+     *
+     * @param connectionPoolFactory The factory of the connection pools configured in the properties.
+     * @return Configured HikariDataSource object.
+     */
+    @Bean
+    public HikariDataSource replicaDataSource(ConnectionPoolFactory connectionPoolFactory) {
+        return connectionPoolFactory.create("replica", ConnectionPoolFactory.REPLICA, true);
+    }
 
     /**
-     * Creates and configures the data source based on properties for the development environment.
+     * Creates the data source sending read-only transactions to the read replica and the rest to the primary.
      *
+     * @param primaryDataSource The connection pool of the primary database.
+     * @param replicaDataSource The connection pool of the read replica.
      * @return Configured DataSource object.
      */
     @Bean
-    public DataSource dataSource() {
-        BasicDataSource dataSource = new BasicDataSource();
-        dataSource.setInitialSize(poolSize);
-        dataSource.setDriverClassName(driver);
-        dataSource.setUrl(url);
-        dataSource.setUsername(username);
-        dataSource.setPassword(password);
-        return dataSource;
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") HikariDataSource replicaDataSource) {
+        return ReadWriteRoutingDataSource.of(primaryDataSource, replicaDataSource);
     }
 
     /**
@@ -0,0 +1,43 @@
+package com.epam.esm.config;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * DataSource routing read-only transactions to a replica and everything else to the primary.
+ * The transaction manager takes its connection before it marks the transaction read-only,
+ * so the router is only used through {@link #of}, which defers taking the connection until the first statement.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private ReadWriteRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Creates a DataSource sending the statements of read-only transactions to the replica
+     * and all other statements to the primary.
+     *
+     * @param primary The DataSource of the primary database.
+     * @param replica The DataSource of the read replica.
+     * @return Routing DataSource object.
+     */
+    public static DataSource of(DataSource primary, DataSource replica) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replica));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? Route.REPLICA : Route.PRIMARY;
+    }
+}
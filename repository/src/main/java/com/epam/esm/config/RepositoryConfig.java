@@ -1,8 +1,7 @@
 package com.epam.esm.config;
 
-import lombok.RequiredArgsConstructor;
-import org.apache.commons.dbcp2.BasicDataSource;
-import org.springframework.beans.factory.annotation.Value;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.*;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.datasource.DataSourceTransactionManager;
@@ -16,37 +15,45 @@ import javax.sql.DataSource;
  */
 @Configuration
 @Profile("prod")
-@RequiredArgsConstructor
 @EnableTransactionManagement
 @ComponentScan("com.epam.esm")
 @PropertySource("classpath:application.properties")
 public class RepositoryConfig {
-    @Value("${db.pool.size}")
-    public String POOL_SIZE;
-    @Value("${db.driver}")
-    public String DRIVER;
-    @Value("${db.username}")
-    public String USERNAME;
-    @Value("${db.password}")
-    public String PASSWORD;
-    @Value("${db.url}")
-    public String URL;
+    /**
+     * Creates the connection pool of the primary database for the production environment.
+     *
+     * @param connectionPoolFactory The factory of the connection pools configured in the properties.
+     * @return Configured HikariDataSource object.
+     */
+    @Bean
+    public HikariDataSource primaryDataSource(ConnectionPoolFactory connectionPoolFactory) {
+        return connectionPoolFactory.create("primary", ConnectionPoolFactory.PRIMARY, false);
+    }
 
     /**
-     * Creates and configures the data source based on properties for the production environment.
+     * Creates the connection pool of the read replica for the production environment.
+     * Falls back to the primary database settings where no replica settings are given.
      *
-     * @return Configured DataSource object.
+     * @param connectionPoolFactory The factory of the connection pools configured in the properties.
+     * @return Configured HikariDataSource object.
      */
     @Bean
-    public DataSource dataSource() {
-        BasicDataSource dataSource = new BasicDataSource();
-        dataSource.setInitialSize(Integer.parseInt(POOL_SIZE));
-        dataSource.setDriverClassName(DRIVER);
-        dataSource.setUrl(URL);
-        dataSource.setUsername(USERNAME);
-        dataSource.setPassword(PASSWORD);
+    public HikariDataSource replicaDataSource(ConnectionPoolFactory connectionPoolFactory) {
+        return connectionPoolFactory.create("replica", ConnectionPoolFactory.REPLICA, true);
+    }
 
-        return dataSource;
+    /**
+     * Creates the data source sending read-only transactions to the read replica and the rest to the primary.
+     *
+     * @param primaryDataSource The connection pool of the primary database.
+     * @param replicaDataSource The connection pool of the read replica.
+     * @return Configured DataSource object.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") HikariDataSource replicaDataSource) {
+        return ReadWriteRoutingDataSource.of(primaryDataSource, replicaDataSource);
     }
 
     /**
@@ -0,0 +1,16 @@
+package com.epam.esm.entity;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Version of all gift certificates as they are listed, counted by the database.
+ */
+@Value
+public class CatalogVersion {
+    // number of statements that wrote certificates or their tags
+    long changes;
+    // time of the last of those statements
+    LocalDateTime lastUpdateDate;
+}
@@ -0,0 +1,16 @@
+package com.epam.esm.entity;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Version of a gift certificate with its tags, read without the rest of the row.
+ */
+@Value
+public class GiftCertificateVersion {
+    LocalDateTime lastUpdateDate;
+    // IDs of the tags of the certificate in ascending order
+    List<Long> tagIds;
+}
@@ -0,0 +1,16 @@
+package com.epam.esm.entity;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import of gift certificates.
+ */
+@Value
+public class ImportResult {
+    // number of gift certificates inserted
+    long imported;
+    // tags that did not exist before the import, with their IDs
+    List<Tag> createdTags;
+}
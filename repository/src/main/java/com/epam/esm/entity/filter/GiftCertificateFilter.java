@@ -0,0 +1,20 @@
+package com.epam.esm.entity.filter;
+
+import com.epam.esm.entity.filter.search.SearchFilter;
+import com.epam.esm.entity.filter.sort.SortFilter;
+import com.epam.esm.entity.filter.tag.TagFilter;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Tag, search and sort filters of a gift certificate query, applied together; any of them may be absent.
+ * Without a sort filter the certificates are ordered by ID.
+ */
+@Data
+@Builder
+public class GiftCertificateFilter {
+    private TagFilter tagFilter;
+    // LIKE search of a name or description; full-text searches order by relevance and are not combined
+    private SearchFilter searchFilter;
+    private SortFilter sortFilter;
+}
@@ -0,0 +1,17 @@
+package com.epam.esm.entity.filter.page;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Keyset page of a certificate query: the rows following the last row of the previous page.
+ * The first page has no last ID and no last value.
+ */
+@Data
+@Builder(toBuilder = true)
+public class PageFilter {
+    private int limit;
+    private Long lastId;
+    // Sort column value of the last row: String for names, LocalDateTime for dates
+    private Object lastValue;
+}
@@ -9,4 +9,5 @@ public class SearchFilter {
     private String searchValue;
     private SearchPlace searchPlace;
     private SearchType searchType;
+    private boolean caseInsensitive;
 }
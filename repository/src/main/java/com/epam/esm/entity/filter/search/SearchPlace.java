@@ -1,9 +1,9 @@
 package com.epam.esm.entity.filter.search;
 
 public enum SearchPlace {
-    STARTS_WITH("' %'"),
-    CONTAINS("'% %'"),
-    ENDS_WITH("'% '");
+    STARTS_WITH("%s%%"),
+    CONTAINS("%%%s%%"),
+    ENDS_WITH("%%%s");
 
     private final String pattern;
 
@@ -11,8 +11,13 @@ public enum SearchPlace {
         this.pattern = pattern;
     }
 
+    // LIKE pattern to be bound as a parameter, wildcards in the search value match literally
     public String getFormattedValue(String searchValue) {
-        return pattern.replace(" ", searchValue);
+        String escapedValue = searchValue
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return String.format(pattern, escapedValue);
     }
 }
 
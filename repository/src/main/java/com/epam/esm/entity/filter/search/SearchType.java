@@ -2,7 +2,9 @@ package com.epam.esm.entity.filter.search;
 
 public enum SearchType {
     DESC("description"),
-    TITLE("name");
+    TITLE("name"),
+    // searches name and description together, ranking the results by relevance
+    FULL_TEXT("search_vector");
 
     private final String fieldName;
 
@@ -1,17 +1,23 @@
 package com.epam.esm.entity.filter.sort;
 
 public enum SortOrder {
-    ASCENDING("asc"),
-    DESCENDING("desc");
+    ASCENDING("asc", ">"),
+    DESCENDING("desc", "<");
 
     private final String orderValue;
+    private final String keysetOperator;
 
-    SortOrder(String orderValue) {
+    SortOrder(String orderValue, String keysetOperator) {
         this.orderValue = orderValue;
+        this.keysetOperator = keysetOperator;
     }
 
     public String getOrderValue() {
         return orderValue;
     }
+
+    public String getKeysetOperator() {
+        return keysetOperator;
+    }
 }
 
@@ -0,0 +1,18 @@
+package com.epam.esm.entity.filter.tag;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Set;
+
+/**
+ * Tags a gift certificate must have and must not have, by name.
+ * A filter without included tags matches every certificate having none of the excluded tags.
+ */
+@Data
+@Builder
+public class TagFilter {
+    private Set<String> includedTags;
+    private Set<String> excludedTags;
+    private TagMatch tagMatch;
+}
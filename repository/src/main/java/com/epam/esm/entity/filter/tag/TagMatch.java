@@ -0,0 +1,11 @@
+package com.epam.esm.entity.filter.tag;
+
+/**
+ * How many of the included tags a gift certificate must have to match a tag filter.
+ */
+public enum TagMatch {
+    // every included tag
+    ALL,
+    // at least one included tag
+    ANY
+}
@@ -0,0 +1,197 @@
+package com.epam.esm.generator;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.BitSet;
+import java.util.Random;
+
+/**
+ * Generates a synthetic catalog of certificates, tags and their assignments as CSV rows, which
+ * {@link CatalogLoader} copies into the database and {@link #writeCsv(Path)} writes to files.
+ * The rows are streamed, so the size of the catalog is not bounded by memory.
+ * <p>
+ * IDs are numbered from 1 in every table. Tag popularity follows a Zipf distribution by tag ID, so tag 1 is assigned
+ * most often. Names are built from small vocabularies and the ID, e.g. {@code Relaxing spa day 17} and
+ * {@code wellness}, {@code wellness-2}. Dates lie in the three years before {@link #REFERENCE_DATE}, so a catalog
+ * does not depend on when it was generated.
+ */
+@RequiredArgsConstructor
+public class CatalogGenerator {
+
+    public static final LocalDateTime REFERENCE_DATE = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private static final long DATE_RANGE_SECONDS = 3L * 365 * 24 * 60 * 60;
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final String[] ADJECTIVES = {
+            "Relaxing", "Exclusive", "Weekend", "Romantic", "Family", "Premium",
+            "Classic", "Adventure", "Gourmet", "Luxury", "Express", "Seasonal"};
+    private static final String[] ACTIVITIES = {
+            "spa day", "massage", "wine tasting", "cooking class", "balloon flight", "city tour",
+            "yoga retreat", "kayak trip", "dinner for two", "photo session", "concert", "climbing course",
+            "horse riding", "boat cruise", "pottery workshop", "escape room"};
+    private static final String[] CITIES = {
+            "Paris", "Berlin", "Lisbon", "Prague", "Vienna", "Budapest",
+            "Warsaw", "Tallinn", "Madrid", "Rome", "Oslo", "Dublin"};
+    private static final String[] TAG_WORDS = {
+            "wellness", "travel", "food", "sport", "music", "art", "outdoor", "family",
+            "romance", "adventure", "culture", "relax", "education", "nightlife", "nature", "luxury",
+            "wine", "beauty", "water", "winter", "summer", "kids", "city", "crafts"};
+
+    @Getter
+    private final CatalogSettings settings;
+
+    /**
+     * Tables of the catalog in the order they are loaded, with the columns of their CSV rows.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public enum Table {
+        TAG("tag", "id,name"),
+        GIFT_CERTIFICATE("gift_certificate", "id,name,description,price,duration,create_date,last_update_date"),
+        TAG_GIFT_CERTIFICATE("tag_gift_certificate", "gift_certificate_id,tag_id");
+
+        private final String name;
+        private final String columns;
+    }
+
+    /**
+     * Writes the rows of a table as CSV without a header.
+     *
+     * @param table  The table.
+     * @param writer The writer to write to; it is neither flushed nor closed.
+     * @throws IOException If writing fails.
+     */
+    public void write(Table table, Writer writer) throws IOException {
+        switch (table) {
+            case TAG -> writeTags(writer);
+            case GIFT_CERTIFICATE -> writeCertificates(writer);
+            case TAG_GIFT_CERTIFICATE -> writeCertificateTags(writer);
+        }
+    }
+
+    /**
+     * Writes every table to a CSV file named after the table, e.g. {@code tag.csv}, with a header of its columns.
+     * The files load with {@code COPY <table> (<columns>) FROM '<file>' WITH (FORMAT csv, HEADER)}.
+     *
+     * @param directory The directory to write to, created if absent.
+     * @throws IOException If writing fails.
+     */
+    public void writeCsv(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Table table : Table.values()) {
+            try (BufferedWriter writer = Files.newBufferedWriter(directory.resolve(table.getName() + ".csv"), StandardCharsets.UTF_8)) {
+                writer.write(table.getColumns());
+                writer.write('\n');
+                write(table, writer);
+            }
+        }
+    }
+
+    /**
+     * Returns the name of a generated tag.
+     *
+     * @param id The ID of the tag.
+     * @return The name of the tag.
+     */
+    public String tagName(long id) {
+        String word = TAG_WORDS[(int) ((id - 1) % TAG_WORDS.length)];
+        long round = (id - 1) / TAG_WORDS.length;
+        return round == 0 ? word : word + "-" + (round + 1);
+    }
+
+    /**
+     * Returns the name of a generated certificate.
+     *
+     * @param id The ID of the certificate.
+     * @return The name of the certificate.
+     */
+    public String certificateName(long id) {
+        long hash = hash(id);
+        return ADJECTIVES[pick(hash, ADJECTIVES.length)] + " " + activity(hash) + " " + id;
+    }
+
+    private void writeTags(Writer writer) throws IOException {
+        for (int id = 1; id <= settings.tags(); id++) {
+            writer.write(id + "," + tagName(id) + "\n");
+        }
+    }
+
+    private void writeCertificates(Writer writer) throws IOException {
+        Random random = new Random(settings.seed());
+        StringBuilder row = new StringBuilder(256);
+        for (int id = 1; id <= settings.certificates(); id++) {
+            long hash = hash(id);
+            LocalDateTime createDate = REFERENCE_DATE.minusSeconds(1 + random.nextLong(DATE_RANGE_SECONDS));
+            long secondsSinceCreation = Duration.between(createDate, REFERENCE_DATE).getSeconds();
+            LocalDateTime lastUpdateDate = createDate.plusSeconds(random.nextLong(secondsSinceCreation));
+            row.setLength(0);
+            row.append(id).append(',')
+                    .append(certificateName(id)).append(',')
+                    // the description has commas, so it is quoted
+                    .append("\"Gift certificate for a ").append(activity(hash)).append(" in ")
+                    .append(CITIES[pick(hash >>> 16, CITIES.length)]).append(", number ").append(id).append("\",")
+                    .append(BigDecimal.valueOf(1_000 + random.nextInt(49_000), 2).toPlainString()).append(',')
+                    .append(1 + random.nextInt(365)).append(',')
+                    .append(DATE_FORMAT.format(createDate)).append(',')
+                    .append(DATE_FORMAT.format(lastUpdateDate)).append('\n');
+            writer.append(row);
+        }
+    }
+
+    private void writeCertificateTags(Writer writer) throws IOException {
+        Random random = new Random(settings.seed() + 1);
+        ZipfDistribution popularity = new ZipfDistribution(settings.tags(), settings.zipfExponent());
+        BitSet assigned = new BitSet(settings.tags() + 1);
+        int[] tagIds = new int[settings.maxTagsPerCertificate()];
+        for (int id = 1; id <= settings.certificates(); id++) {
+            int count = 1 + random.nextInt(settings.maxTagsPerCertificate());
+            for (int i = 0; i < count; i++) {
+                tagIds[i] = distinctTag(popularity, random, assigned);
+                assigned.set(tagIds[i]);
+            }
+            for (int i = 0; i < count; i++) {
+                writer.write(id + "," + tagIds[i] + "\n");
+                assigned.clear(tagIds[i]);
+            }
+        }
+    }
+
+    // redraws popular tags already assigned to the certificate, and falls back to the first unassigned tag
+    // when a steep distribution keeps drawing them
+    private static int distinctTag(ZipfDistribution popularity, Random random, BitSet assigned) {
+        for (int attempt = 0; attempt < 64; attempt++) {
+            int tagId = popularity.sample(random);
+            if (!assigned.get(tagId)) {
+                return tagId;
+            }
+        }
+        return assigned.nextClearBit(1);
+    }
+
+    private static String activity(long hash) {
+        return ACTIVITIES[pick(hash >>> 8, ACTIVITIES.length)];
+    }
+
+    private long hash(long id) {
+        // the finalizer of SplitMix64
+        long hash = (id + settings.seed()) * 0x9E3779B97F4A7C15L;
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        return hash ^ (hash >>> 31);
+    }
+
+    private static int pick(long hash, int length) {
+        return (int) Math.floorMod(hash, (long) length);
+    }
+}
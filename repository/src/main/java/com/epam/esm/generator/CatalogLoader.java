@@ -0,0 +1,120 @@
+package com.epam.esm.generator;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the catalog in the database with a generated one, streaming the rows of the generator into
+ * Postgres {@code COPY}. The secondary indexes of the catalog tables are dropped before the copy and rebuilt
+ * from their definitions afterwards, which is much faster than maintaining them row by row; primary keys
+ * and unique constraints stay in place. Everything happens in one transaction, so readers see either
+ * the old or the new catalog.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class CatalogLoader {
+
+    private static final String FIND_SECONDARY_INDEXES =
+            "SELECT indexname, indexdef FROM pg_indexes WHERE schemaname = current_schema() " +
+            "AND tablename IN ('tag', 'gift_certificate', 'tag_gift_certificate') " +
+            "AND indexname NOT IN (SELECT conname FROM pg_constraint);";
+    private static final String DROP_INDEX = "DROP INDEX %s;";
+    private static final String TRUNCATE_CATALOG =
+            "TRUNCATE tag_gift_certificate, gift_certificate, tag RESTART IDENTITY CASCADE;";
+    private static final String COPY_TABLE = "COPY %s (%s) FROM STDIN WITH (FORMAT csv)";
+    private static final String RESET_SEQUENCE =
+            "SELECT setval(pg_get_serial_sequence('%1$s', 'id'), COALESCE(MAX(id), 0) + 1, false) FROM %1$s;";
+    private static final String INDEX_MEMORY = "SET LOCAL maintenance_work_mem = '256MB';";
+    private static final int COPY_BUFFER_SIZE = 1 << 16;
+
+    private final CatalogGenerator generator;
+
+    /**
+     * Replaces the catalog in a transaction of its own.
+     *
+     * @param dataSource The data source of the database.
+     * @throws SQLException If a statement fails; the catalog is left as it was.
+     * @throws IOException  If streaming the rows fails; the catalog is left as it was.
+     */
+    public void load(DataSource dataSource) throws SQLException, IOException {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                load(connection);
+                connection.commit();
+            } catch (SQLException | IOException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    /**
+     * Replaces the catalog within the current transaction of the connection, which the caller commits or rolls back.
+     *
+     * @param connection A connection to the database with auto-commit disabled.
+     * @throws SQLException If a statement fails.
+     * @throws IOException  If streaming the rows fails.
+     */
+    public void load(Connection connection) throws SQLException, IOException {
+        CatalogSettings settings = generator.getSettings();
+        log.info("Loading catalog of {} certificates and {} tags...", settings.certificates(), settings.tags());
+        long start = System.nanoTime();
+        try (Statement statement = connection.createStatement()) {
+            List<String> indexDefinitions = dropSecondaryIndexes(statement);
+            statement.execute(TRUNCATE_CATALOG);
+            for (CatalogGenerator.Table table : CatalogGenerator.Table.values()) {
+                copy(connection, table);
+            }
+            statement.executeQuery(String.format(RESET_SEQUENCE, CatalogGenerator.Table.TAG.getName())).close();
+            statement.executeQuery(String.format(RESET_SEQUENCE, CatalogGenerator.Table.GIFT_CERTIFICATE.getName())).close();
+            statement.execute(INDEX_MEMORY);
+            for (String indexDefinition : indexDefinitions) {
+                statement.execute(indexDefinition);
+            }
+            statement.execute("ANALYZE tag, gift_certificate, tag_gift_certificate;");
+        }
+        log.info("Loaded catalog in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private List<String> dropSecondaryIndexes(Statement statement) throws SQLException {
+        List<String> indexNames = new ArrayList<>();
+        List<String> indexDefinitions = new ArrayList<>();
+        try (ResultSet resultSet = statement.executeQuery(FIND_SECONDARY_INDEXES)) {
+            while (resultSet.next()) {
+                indexNames.add(resultSet.getString("indexname"));
+                indexDefinitions.add(resultSet.getString("indexdef"));
+            }
+        }
+        for (String indexName : indexNames) {
+            statement.execute(String.format(DROP_INDEX, indexName));
+        }
+        return indexDefinitions;
+    }
+
+    private void copy(Connection connection, CatalogGenerator.Table table) throws SQLException, IOException {
+        String sql = String.format(COPY_TABLE, table.getName(), table.getColumns());
+        PGCopyOutputStream copy = new PGCopyOutputStream(connection.unwrap(PGConnection.class), sql, COPY_BUFFER_SIZE);
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(copy, StandardCharsets.UTF_8), COPY_BUFFER_SIZE)) {
+            generator.write(table, writer);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.epam.esm.generator;
+
+/**
+ * Shape of a generated catalog. The same settings always generate the same catalog.
+ *
+ * @param certificates          Number of certificates.
+ * @param tags                  Number of tags.
+ * @param maxTagsPerCertificate Largest number of tags of a certificate; every certificate has between one and this many.
+ * @param zipfExponent          Exponent of the Zipf distribution of tag popularity; 0 makes all tags equally popular,
+ *                              larger values concentrate the assignments on the first tags.
+ * @param seed                  Seed of the random values.
+ */
+public record CatalogSettings(int certificates, int tags, int maxTagsPerCertificate, double zipfExponent, long seed) {
+
+    public static final double DEFAULT_ZIPF_EXPONENT = 1.0;
+    public static final long DEFAULT_SEED = 42;
+
+    /**
+     * @throws IllegalArgumentException If a setting is out of range.
+     */
+    public CatalogSettings {
+        if (certificates < 0 || tags < 1) {
+            throw new IllegalArgumentException("The catalog needs at least one tag and no negative number of certificates");
+        }
+        if (maxTagsPerCertificate < 1 || maxTagsPerCertificate > tags) {
+            throw new IllegalArgumentException("maxTagsPerCertificate must be between 1 and the number of tags");
+        }
+        if (zipfExponent < 0 || Double.isNaN(zipfExponent)) {
+            throw new IllegalArgumentException("zipfExponent must not be negative");
+        }
+    }
+}
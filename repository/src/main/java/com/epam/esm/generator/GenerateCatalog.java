@@ -0,0 +1,62 @@
+package com.epam.esm.generator;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Command line entry point of the catalog generator, run with {@code gradle :repository:generateCatalog}.
+ * Options are given as {@code --name=value}:
+ * <ul>
+ *     <li>{@code --certificates}, {@code --tags}, {@code --max-tags-per-certificate}: size of the catalog;</li>
+ *     <li>{@code --zipf-exponent}, {@code --seed}: distribution of the tag assignments and the random values;</li>
+ *     <li>{@code --csv=<directory>}: writes the catalog as CSV files to the directory, or, if absent,</li>
+ *     <li>{@code --url}, {@code --username}, {@code --password}: replaces the catalog of this database.</li>
+ * </ul>
+ */
+@Slf4j
+public class GenerateCatalog {
+
+    private static final Set<String> OPTIONS = Set.of("certificates", "tags", "max-tags-per-certificate",
+            "zipf-exponent", "seed", "csv", "url", "username", "password");
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        CatalogSettings settings = new CatalogSettings(
+                Integer.parseInt(options.getOrDefault("certificates", "100000")),
+                Integer.parseInt(options.getOrDefault("tags", "1000")),
+                Integer.parseInt(options.getOrDefault("max-tags-per-certificate", "5")),
+                Double.parseDouble(options.getOrDefault("zipf-exponent", String.valueOf(CatalogSettings.DEFAULT_ZIPF_EXPONENT))),
+                Long.parseLong(options.getOrDefault("seed", String.valueOf(CatalogSettings.DEFAULT_SEED))));
+        CatalogGenerator generator = new CatalogGenerator(settings);
+
+        if (options.containsKey("csv")) {
+            Path directory = Path.of(options.get("csv"));
+            generator.writeCsv(directory);
+            log.info("Catalog written to {}", directory.toAbsolutePath());
+        } else {
+            if (!options.containsKey("url")) {
+                throw new IllegalArgumentException("Either --csv or --url must be given");
+            }
+            DriverManagerDataSource dataSource = new DriverManagerDataSource(options.get("url"),
+                    options.getOrDefault("username", "postgres"), options.getOrDefault("password", ""));
+            new CatalogLoader(generator).load(dataSource);
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0 || !OPTIONS.contains(arg.substring(2, separator))) {
+                throw new IllegalArgumentException("Unknown option: " + arg + ", expected one of --" + String.join(", --", OPTIONS));
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+}
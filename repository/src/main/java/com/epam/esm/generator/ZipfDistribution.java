@@ -0,0 +1,50 @@
+package com.epam.esm.generator;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Zipf distribution over the ranks 1 to n, where rank k is drawn with a probability proportional to 1 / k^s.
+ * Sampling is a binary search over the precomputed cumulative weights.
+ */
+public class ZipfDistribution {
+
+    private final double[] cumulativeWeights;
+
+    /**
+     * @param n        Number of ranks.
+     * @param exponent Exponent s of the distribution.
+     * @throws IllegalArgumentException If n is not positive or the exponent is negative.
+     */
+    public ZipfDistribution(int n, double exponent) {
+        if (n < 1 || exponent < 0) {
+            throw new IllegalArgumentException("Invalid Zipf distribution of " + n + " ranks with exponent " + exponent);
+        }
+        cumulativeWeights = new double[n];
+        double total = 0;
+        for (int rank = 1; rank <= n; rank++) {
+            total += 1 / Math.pow(rank, exponent);
+            cumulativeWeights[rank - 1] = total;
+        }
+    }
+
+    /**
+     * Draws a rank.
+     *
+     * @param random The source of randomness.
+     * @return A rank between 1 and n.
+     */
+    public int sample(Random random) {
+        double value = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+        int index = Arrays.binarySearch(cumulativeWeights, value);
+        // a missed search returns the insertion point, the first rank whose cumulative weight exceeds the value
+        return Math.min(index >= 0 ? index + 1 : -index, cumulativeWeights.length);
+    }
+
+    /**
+     * @return The number of ranks.
+     */
+    public int size() {
+        return cumulativeWeights.length;
+    }
+}
@@ -0,0 +1,90 @@
+package com.epam.esm.metrics;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the metrics of the connection pools it is registered with: connection counts,
+ * threads waiting for a connection, acquisition timeouts, and histograms of how long a connection
+ * took to acquire and how long it was held.
+ * A pool shows up once it has started, which happens on its first connection request.
+ */
+@Component
+public class ConnectionPoolMetrics {
+
+    private final Map<String, PoolMetrics> pools = new ConcurrentSkipListMap<>();
+
+    /**
+     * Returns the factory to set on a pool, through which the pool registers with these metrics when it starts.
+     *
+     * @return The metrics tracker factory.
+     */
+    public MetricsTrackerFactory trackerFactory() {
+        return this::register;
+    }
+
+    private IMetricsTracker register(String poolName, PoolStats poolStats) {
+        PoolMetrics poolMetrics = new PoolMetrics(poolName, poolStats);
+        pools.put(poolName, poolMetrics);
+        return poolMetrics;
+    }
+
+    /**
+     * Takes a snapshot of the metrics of every started pool. Connection counts are refreshed by the pool
+     * at most once per second.
+     *
+     * @return The metrics of the pools ordered by pool name.
+     */
+    public List<ConnectionPoolStats> stats() {
+        return pools.values().stream().map(PoolMetrics::stats).toList();
+    }
+
+    private static class PoolMetrics implements IMetricsTracker {
+        private final String name;
+        private final PoolStats poolStats;
+        private final LatencyHistogram acquireLatency = new LatencyHistogram();
+        private final LatencyHistogram usageLatency = new LatencyHistogram();
+        private final LongAdder timeoutCount = new LongAdder();
+
+        private PoolMetrics(String name, PoolStats poolStats) {
+            this.name = name;
+            this.poolStats = poolStats;
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            acquireLatency.record(elapsedAcquiredNanos);
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            usageLatency.record(TimeUnit.MILLISECONDS.toNanos(elapsedBorrowedMillis));
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            timeoutCount.increment();
+        }
+
+        private ConnectionPoolStats stats() {
+            return new ConnectionPoolStats(name,
+                    poolStats.getActiveConnections(),
+                    poolStats.getIdleConnections(),
+                    poolStats.getTotalConnections(),
+                    poolStats.getPendingThreads(),
+                    poolStats.getMaxConnections(),
+                    poolStats.getMinConnections(),
+                    timeoutCount.sum(),
+                    acquireLatency.snapshot(),
+                    usageLatency.snapshot());
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.epam.esm.metrics;
+
+/**
+ * Snapshot of the metrics of a connection pool.
+ *
+ * @param name           Name of the pool.
+ * @param active         Connections in use.
+ * @param idle           Connections waiting in the pool.
+ * @param total          All open connections.
+ * @param waiting        Threads waiting for a connection.
+ * @param maximumSize    Largest number of connections the pool opens.
+ * @param minimumIdle    Number of idle connections the pool keeps open.
+ * @param timeoutCount   Connection requests that timed out.
+ * @param acquireLatency Time taken to acquire a connection.
+ * @param usageLatency   Time a connection was held before it was returned.
+ */
+public record ConnectionPoolStats(String name, int active, int idle, int total, int waiting,
+                                  int maximumSize, int minimumIdle, long timeoutCount,
+                                  LatencyHistogram.Snapshot acquireLatency,
+                                  LatencyHistogram.Snapshot usageLatency) {
+}
@@ -0,0 +1,113 @@
+package com.epam.esm.metrics;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Lock-free latency histogram with buckets bounded by powers of two microseconds, up to about 17 seconds.
+ * Recording is a couple of atomic increments, so it can sit on the path of every call it measures.
+ * Percentiles are reported as the upper bound of the bucket they fall into, capped by the largest recorded value.
+ */
+public class LatencyHistogram {
+
+    private static final int BUCKETS = 26;
+    private static final List<Long> BUCKET_UPPER_BOUNDS = IntStream.range(0, BUCKETS - 1)
+            .mapToObj(LatencyHistogram::upperBoundOf)
+            .toList();
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder totalMicros = new LongAdder();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    /**
+     * Records one latency.
+     *
+     * @param nanos The latency in nanoseconds.
+     */
+    public void record(long nanos) {
+        long micros = Math.max(nanos, 0) / 1_000;
+        counts.incrementAndGet(bucketOf(micros));
+        totalMicros.add(micros);
+        maxMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    /**
+     * Takes a snapshot of the recorded latencies. Latencies recorded while the snapshot is taken
+     * may be reflected in some of its values and not in others.
+     *
+     * @return The snapshot of the histogram.
+     */
+    public Snapshot snapshot() {
+        long[] bucketCounts = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            bucketCounts[i] = counts.get(i);
+            count += bucketCounts[i];
+        }
+        long max = maxMicros.get();
+        SortedMap<Long, Long> countsByUpperBound = new TreeMap<>();
+        for (int i = 0; i < BUCKETS; i++) {
+            if (bucketCounts[i] > 0) {
+                countsByUpperBound.put(upperBoundOf(i), bucketCounts[i]);
+            }
+        }
+        long total = totalMicros.sum();
+        return new Snapshot(count, total, count == 0 ? 0 : total / count,
+                percentile(bucketCounts, count, max, 0.50),
+                percentile(bucketCounts, count, max, 0.95),
+                percentile(bucketCounts, count, max, 0.99),
+                max, Collections.unmodifiableSortedMap(countsByUpperBound));
+    }
+
+    /**
+     * Returns the inclusive upper bounds of all buckets but the last one, which holds the latencies beyond them.
+     *
+     * @return Upper bounds in microseconds in ascending order.
+     */
+    public static List<Long> bucketUpperBounds() {
+        return BUCKET_UPPER_BOUNDS;
+    }
+
+    private static long percentile(long[] bucketCounts, long count, long max, double quantile) {
+        long rank = (long) Math.ceil(count * quantile);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += bucketCounts[i];
+            if (seen >= rank && seen > 0) {
+                return Math.min(upperBoundOf(i), max);
+            }
+        }
+        return max;
+    }
+
+    private static int bucketOf(long micros) {
+        int bucket = micros <= 1 ? 0 : 64 - Long.numberOfLeadingZeros(micros - 1);
+        return Math.min(bucket, BUCKETS - 1);
+    }
+
+    private static long upperBoundOf(int bucket) {
+        return bucket == BUCKETS - 1 ? Long.MAX_VALUE : 1L << bucket;
+    }
+
+    /**
+     * Recorded latencies in microseconds.
+     *
+     * @param count              Number of recorded latencies.
+     * @param total              Sum of recorded latencies.
+     * @param mean               Mean latency.
+     * @param p50                Median latency.
+     * @param p95                95th percentile latency.
+     * @param p99                99th percentile latency.
+     * @param max                Largest recorded latency.
+     * @param countsByUpperBound Number of latencies of every non-empty bucket, by the inclusive upper bound of the bucket.
+     */
+    public record Snapshot(long count, long total, long mean, long p50, long p95, long p99, long max,
+                           SortedMap<Long, Long> countsByUpperBound) {
+    }
+}
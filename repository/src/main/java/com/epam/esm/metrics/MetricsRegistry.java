@@ -0,0 +1,87 @@
+package com.epam.esm.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Registry of the timer families of the application, written out in the Prometheus text format
+ * together with the metrics of the connection pools.
+ */
+@Component
+@RequiredArgsConstructor
+public class MetricsRegistry {
+    private static final List<String> POOL_STATE = List.of("pool", "state");
+
+    private final ConnectionPoolMetrics connectionPoolMetrics;
+    private final Map<String, TimerFamily> families = new ConcurrentSkipListMap<>();
+
+    /**
+     * Returns the timer family of the given name, creating it on first use.
+     * The latencies of a family are written as the histogram {@code <name>_seconds}
+     * and its failed calls as the counter {@code <name>_errors_total}.
+     *
+     * @param name       The name of the family.
+     * @param help       What the family times, in the plural, e.g. {@code HTTP requests}.
+     * @param labelNames The names of the labels telling the timers of the family apart.
+     * @return The timer family.
+     */
+    public TimerFamily family(String name, String help, String... labelNames) {
+        return families.computeIfAbsent(name, familyName -> new TimerFamily(familyName, help, List.of(labelNames)));
+    }
+
+    /**
+     * Writes all metrics in the Prometheus text format.
+     *
+     * @return The metrics text.
+     */
+    public String scrape() {
+        StringBuilder out = new StringBuilder();
+        for (TimerFamily family : families.values()) {
+            Map<Map<String, String>, Timer> timers = new LinkedHashMap<>();
+            family.getTimers().forEach((labelValues, timer) -> timers.put(labels(family.getLabelNames(), labelValues), timer));
+            PrometheusTextFormat.writeHeader(out, family.getName() + "_seconds", "Latency of " + family.getHelp() + ".", "histogram");
+            timers.forEach((labels, timer) ->
+                    PrometheusTextFormat.writeHistogram(out, family.getName() + "_seconds", labels, timer.snapshot()));
+            PrometheusTextFormat.writeHeader(out, family.getName() + "_errors_total",
+                    "Failed " + family.getHelp() + ".", "counter");
+            timers.forEach((labels, timer) ->
+                    PrometheusTextFormat.writeSample(out, family.getName() + "_errors_total", labels, timer.errorCount()));
+        }
+        writeConnectionPools(out, connectionPoolMetrics.stats());
+        return out.toString();
+    }
+
+    private static void writeConnectionPools(StringBuilder out, List<ConnectionPoolStats> pools) {
+        if (pools.isEmpty()) {
+            return;
+        }
+        PrometheusTextFormat.writeHeader(out, "db_pool_connections", "Connections of the pool by state.", "gauge");
+        for (ConnectionPoolStats pool : pools) {
+            PrometheusTextFormat.writeSample(out, "db_pool_connections", labels(POOL_STATE, List.of(pool.name(), "active")), pool.active());
+            PrometheusTextFormat.writeSample(out, "db_pool_connections", labels(POOL_STATE, List.of(pool.name(), "idle")), pool.idle());
+        }
+        PrometheusTextFormat.writeHeader(out, "db_pool_max_connections", "Largest number of connections of the pool.", "gauge");
+        pools.forEach(pool -> PrometheusTextFormat.writeSample(out, "db_pool_max_connections", Map.of("pool", pool.name()), pool.maximumSize()));
+        PrometheusTextFormat.writeHeader(out, "db_pool_waiting_threads", "Threads waiting for a connection.", "gauge");
+        pools.forEach(pool -> PrometheusTextFormat.writeSample(out, "db_pool_waiting_threads", Map.of("pool", pool.name()), pool.waiting()));
+        PrometheusTextFormat.writeHeader(out, "db_pool_timeouts_total", "Connection requests that timed out.", "counter");
+        pools.forEach(pool -> PrometheusTextFormat.writeSample(out, "db_pool_timeouts_total", Map.of("pool", pool.name()), pool.timeoutCount()));
+        PrometheusTextFormat.writeHeader(out, "db_pool_acquire_seconds", "Time taken to acquire a connection.", "histogram");
+        pools.forEach(pool -> PrometheusTextFormat.writeHistogram(out, "db_pool_acquire_seconds", Map.of("pool", pool.name()), pool.acquireLatency()));
+        PrometheusTextFormat.writeHeader(out, "db_pool_usage_seconds", "Time a connection was held.", "histogram");
+        pools.forEach(pool -> PrometheusTextFormat.writeHistogram(out, "db_pool_usage_seconds", Map.of("pool", pool.name()), pool.usageLatency()));
+    }
+
+    private static Map<String, String> labels(List<String> labelNames, List<String> labelValues) {
+        Map<String, String> labels = new LinkedHashMap<>();
+        for (int i = 0; i < labelNames.size(); i++) {
+            labels.put(labelNames.get(i), labelValues.get(i));
+        }
+        return labels;
+    }
+}
@@ -0,0 +1,98 @@
+package com.epam.esm.metrics;
+
+import lombok.experimental.UtilityClass;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes metrics in the Prometheus text exposition format, version 0.0.4.
+ * Latencies are written in seconds, the base unit of Prometheus.
+ */
+@UtilityClass
+public class PrometheusTextFormat {
+    private static final List<String> BUCKET_BOUNDS = LatencyHistogram.bucketUpperBounds().stream()
+            .map(PrometheusTextFormat::toSeconds)
+            .toList();
+
+    /**
+     * Writes the header of a metric family.
+     *
+     * @param out  The text to append to.
+     * @param name The name of the metric family.
+     * @param help The description of the metric family.
+     * @param type The type of the metric family: counter, gauge or histogram.
+     */
+    public static void writeHeader(StringBuilder out, String name, String help, String type) {
+        out.append("# HELP ").append(name).append(' ').append(help.replace("\\", "\\\\").replace("\n", "\\n")).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    /**
+     * Writes one sample of a counter or gauge.
+     *
+     * @param out    The text to append to.
+     * @param name   The name of the metric.
+     * @param labels The labels of the sample by name.
+     * @param value  The value of the sample.
+     */
+    public static void writeSample(StringBuilder out, String name, Map<String, String> labels, long value) {
+        out.append(name);
+        writeLabels(out, labels, null);
+        out.append(' ').append(value).append('\n');
+    }
+
+    /**
+     * Writes the cumulative buckets, sum and count of one histogram.
+     *
+     * @param out      The text to append to.
+     * @param name     The name of the histogram family.
+     * @param labels   The labels of the histogram by name.
+     * @param snapshot The recorded latencies.
+     */
+    public static void writeHistogram(StringBuilder out, String name, Map<String, String> labels,
+                                      LatencyHistogram.Snapshot snapshot) {
+        long cumulativeCount = 0;
+        List<Long> upperBounds = LatencyHistogram.bucketUpperBounds();
+        for (int i = 0; i < upperBounds.size(); i++) {
+            cumulativeCount += snapshot.countsByUpperBound().getOrDefault(upperBounds.get(i), 0L);
+            out.append(name).append("_bucket");
+            writeLabels(out, labels, BUCKET_BOUNDS.get(i));
+            out.append(' ').append(cumulativeCount).append('\n');
+        }
+        out.append(name).append("_bucket");
+        writeLabels(out, labels, "+Inf");
+        out.append(' ').append(snapshot.count()).append('\n');
+        out.append(name).append("_sum");
+        writeLabels(out, labels, null);
+        out.append(' ').append(toSeconds(snapshot.total())).append('\n');
+        out.append(name).append("_count");
+        writeLabels(out, labels, null);
+        out.append(' ').append(snapshot.count()).append('\n');
+    }
+
+    private static void writeLabels(StringBuilder out, Map<String, String> labels, String upperBound) {
+        if (labels.isEmpty() && upperBound == null) {
+            return;
+        }
+        out.append('{');
+        String separator = "";
+        for (Map.Entry<String, String> label : labels.entrySet()) {
+            out.append(separator).append(label.getKey()).append("=\"").append(escape(label.getValue())).append('"');
+            separator = ",";
+        }
+        if (upperBound != null) {
+            out.append(separator).append("le=\"").append(upperBound).append('"');
+        }
+        out.append('}');
+    }
+
+    private static String escape(String labelValue) {
+        return labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String toSeconds(long micros) {
+        return BigDecimal.valueOf(micros, 6).stripTrailingZeros().toPlainString();
+    }
+}
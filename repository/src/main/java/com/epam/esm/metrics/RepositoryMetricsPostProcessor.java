@@ -0,0 +1,58 @@
+package com.epam.esm.metrics;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Repository;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times every call of the public methods of the repositories, reported by repository and method name.
+ * Repository beans are wrapped in a proxy of their interfaces, which the services are injected with.
+ */
+@Component
+public class RepositoryMetricsPostProcessor implements BeanPostProcessor {
+    private final ObjectProvider<MetricsRegistry> metricsRegistry;
+
+    // the registry is looked up lazily, so that it is not created early as a dependency of a post-processor
+    public RepositoryMetricsPostProcessor(ObjectProvider<MetricsRegistry> metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (AnnotationUtils.findAnnotation(bean.getClass(), Repository.class) == null) {
+            return bean;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.addAdvice(timingInterceptor(bean.getClass().getSimpleName()));
+        return proxyFactory.getProxy(bean.getClass().getClassLoader());
+    }
+
+    private MethodInterceptor timingInterceptor(String repository) {
+        Map<Method, Timer> timers = new ConcurrentHashMap<>();
+        return invocation -> {
+            Timer timer = timers.get(invocation.getMethod());
+            if (timer == null) {
+                timer = timers.computeIfAbsent(invocation.getMethod(), method -> metricsRegistry.getObject()
+                        .family("repository_calls", "repository calls", "repository", "method")
+                        .timer(repository, method.getName()));
+            }
+            long start = System.nanoTime();
+            boolean error = true;
+            try {
+                Object result = invocation.proceed();
+                error = false;
+                return result;
+            } finally {
+                timer.record(System.nanoTime() - start, error);
+            }
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package com.epam.esm.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram of a timed operation together with the number of its calls that failed.
+ */
+public class Timer {
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder errorCount = new LongAdder();
+
+    /**
+     * Records one call of the operation.
+     *
+     * @param nanos The latency of the call in nanoseconds.
+     * @param error Whether the call failed.
+     */
+    public void record(long nanos, boolean error) {
+        latency.record(nanos);
+        if (error) {
+            errorCount.increment();
+        }
+    }
+
+    public LatencyHistogram.Snapshot snapshot() {
+        return latency.snapshot();
+    }
+
+    public long errorCount() {
+        return errorCount.sum();
+    }
+}
@@ -0,0 +1,40 @@
+package com.epam.esm.metrics;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Named set of timers told apart by the values of a fixed list of labels, e.g. the method and URI of a request.
+ * Once created, a timer is found again with one hash lookup, so resolving it on every call is cheap.
+ */
+@Getter
+public class TimerFamily {
+    private final String name;
+    private final String help;
+    private final List<String> labelNames;
+    private final Map<List<String>, Timer> timers = new ConcurrentHashMap<>();
+
+    TimerFamily(String name, String help, List<String> labelNames) {
+        this.name = name;
+        this.help = help;
+        this.labelNames = labelNames;
+    }
+
+    /**
+     * Returns the timer of the given label values, creating it on first use.
+     *
+     * @param labelValues The label values, in the order of the label names of the family.
+     * @return The timer of the label values.
+     */
+    public Timer timer(String... labelValues) {
+        if (labelValues.length != labelNames.size()) {
+            throw new IllegalArgumentException("Expected values of labels " + labelNames + " of " + name);
+        }
+        List<String> key = List.of(labelValues);
+        Timer timer = timers.get(key);
+        return timer != null ? timer : timers.computeIfAbsent(key, values -> new Timer());
+    }
+}
@@ -9,9 +9,9 @@ public interface BaseRepository<T> {
 
     Optional<T> findById(Long id);
 
-    void update(T entity);
+    boolean update(T entity);
 
     Long insert(T entity);
 
-    void delete(Long id);
+    boolean delete(Long id);
 }
@@ -0,0 +1,176 @@
+package com.epam.esm.repository;
+
+import com.epam.esm.entity.filter.GiftCertificateFilter;
+import com.epam.esm.entity.filter.search.SearchFilter;
+import com.epam.esm.entity.filter.search.SearchType;
+import com.epam.esm.entity.filter.sort.SortFilter;
+import com.epam.esm.entity.filter.sort.SortOrder;
+import com.epam.esm.entity.filter.sort.SortType;
+import com.epam.esm.entity.filter.tag.TagFilter;
+import lombok.experimental.UtilityClass;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.epam.esm.util.DatabaseQueryConstants.SELECT_GIFT_CERTIFICATES;
+
+/**
+ * Builds the gift certificate queries whose shape depends on a tag, search or sort filter.
+ * Every query is built once per filter combination and takes all values as bound parameters,
+ * so the set of statement texts is fixed and the driver can reuse server-side prepared statements.
+ */
+@UtilityClass
+public class GiftCertificateQueryBuilder {
+
+    private static final String SEARCH_CONDITION = " WHERE %s %s ? ESCAPE '\\' AND id > ? ORDER BY id LIMIT ?;";
+    private static final String FULL_TEXT_SEARCH =
+            " c, websearch_to_tsquery('english', ?) query WHERE c.search_vector @@ query%s" +
+            " ORDER BY ts_rank(c.search_vector, query) DESC, c.id DESC LIMIT ?;";
+    // the rank of the last row is recomputed from its ID, so that the page cursor carries only the ID;
+    // once that row is deleted the rank is NULL and no row follows it, which the repository reports
+    private static final String FULL_TEXT_NEXT_PAGE = " AND (ts_rank(c.search_vector, query), c.id)" +
+            " < (SELECT ts_rank(l.search_vector, query), l.id FROM gift_certificate l WHERE l.id = ?)";
+    private static final String FULL_TEXT_SEARCH_FIRST_PAGE = SELECT_GIFT_CERTIFICATES + String.format(FULL_TEXT_SEARCH, "");
+    private static final String FULL_TEXT_SEARCH_NEXT_PAGE =
+            SELECT_GIFT_CERTIFICATES + String.format(FULL_TEXT_SEARCH, FULL_TEXT_NEXT_PAGE);
+    private static final String SORT_FIRST_PAGE = " ORDER BY %1$s %2$s, id %2$s LIMIT ?;";
+    private static final String SORT_NEXT_PAGE = " WHERE (%1$s, id) %3$s (?, ?) ORDER BY %1$s %2$s, id %2$s LIMIT ?;";
+    private static final String FILTER_SEARCH_CONDITION = "c.%s %s ? ESCAPE '\\'";
+    private static final String FILTER_INCLUDED_TAGS_CONDITION = "(SELECT count(*) FROM tag_gift_certificate a" +
+            " WHERE a.gift_certificate_id = c.id AND a.tag_id = ANY(ARRAY(SELECT id FROM tag WHERE name = ANY(?)))) >= ?";
+    private static final String FILTER_EXCLUDED_TAGS_CONDITION = "NOT EXISTS (SELECT 1 FROM tag_gift_certificate e" +
+            " WHERE e.gift_certificate_id = c.id AND e.tag_id = ANY(ARRAY(SELECT id FROM tag WHERE name = ANY(?))))";
+    private static final String FILTER_ID_KEYSET_CONDITION = "c.id > ?";
+    private static final String FILTER_SORT_KEYSET_CONDITION = "(c.%s, c.id) %s (?, ?)";
+    private static final String FILTER_ORDER_BY_ID = " ORDER BY c.id LIMIT ?;";
+    private static final String FILTER_ORDER_BY_SORT = " ORDER BY c.%1$s %2$s, c.id %2$s LIMIT ?;";
+
+    private static final Map<SearchType, String> SEARCH_QUERIES = new EnumMap<>(SearchType.class);
+    private static final Map<SearchType, String> CASE_INSENSITIVE_SEARCH_QUERIES = new EnumMap<>(SearchType.class);
+    private static final Map<SortType, Map<SortOrder, String>> SORT_FIRST_PAGE_QUERIES = new EnumMap<>(SortType.class);
+    private static final Map<SortType, Map<SortOrder, String>> SORT_NEXT_PAGE_QUERIES = new EnumMap<>(SortType.class);
+    // built on first use, as there are a few hundred combinations of the filters
+    private static final Map<FilterQuery, String> FILTER_QUERIES = new ConcurrentHashMap<>();
+
+    static {
+        for (SearchType searchType : EnumSet.complementOf(EnumSet.of(SearchType.FULL_TEXT))) {
+            SEARCH_QUERIES.put(searchType,
+                    SELECT_GIFT_CERTIFICATES + String.format(SEARCH_CONDITION, searchType.getFieldName(), "LIKE"));
+            CASE_INSENSITIVE_SEARCH_QUERIES.put(searchType,
+                    SELECT_GIFT_CERTIFICATES + String.format(SEARCH_CONDITION, searchType.getFieldName(), "ILIKE"));
+        }
+        for (SortType sortType : SortType.values()) {
+            Map<SortOrder, String> firstPageQueries = new EnumMap<>(SortOrder.class);
+            Map<SortOrder, String> nextPageQueries = new EnumMap<>(SortOrder.class);
+            for (SortOrder sortOrder : SortOrder.values()) {
+                firstPageQueries.put(sortOrder, SELECT_GIFT_CERTIFICATES + String.format(SORT_FIRST_PAGE,
+                        sortType.getFieldType(), sortOrder.getOrderValue()));
+                nextPageQueries.put(sortOrder, SELECT_GIFT_CERTIFICATES + String.format(SORT_NEXT_PAGE,
+                        sortType.getFieldType(), sortOrder.getOrderValue(), sortOrder.getKeysetOperator()));
+            }
+            SORT_FIRST_PAGE_QUERIES.put(sortType, firstPageQueries);
+            SORT_NEXT_PAGE_QUERIES.put(sortType, nextPageQueries);
+        }
+    }
+
+    /**
+     * Returns the query of a page of gift certificates matching a search pattern.
+     * Parameters: the LIKE pattern, the ID after which the page starts and the page size.
+     * The patterns are served by the trigram indexes of the searched fields wherever the wildcards are.
+     *
+     * @param searchType      The field to search in.
+     * @param caseInsensitive Whether the pattern matches regardless of case.
+     * @return Parameterized query text.
+     */
+    public static String search(SearchType searchType, boolean caseInsensitive) {
+        return (caseInsensitive ? CASE_INSENSITIVE_SEARCH_QUERIES : SEARCH_QUERIES).get(searchType);
+    }
+
+    /**
+     * Returns the query of a page of gift certificates matching a full-text search, the most relevant first.
+     * Parameters of the first page: the search text and the page size.
+     * Parameters of the next pages: the search text, the ID of the last row of the previous page and the page size.
+     *
+     * @param firstPage Whether the query is for the first page.
+     * @return Parameterized query text.
+     */
+    public static String fullTextSearch(boolean firstPage) {
+        return firstPage ? FULL_TEXT_SEARCH_FIRST_PAGE : FULL_TEXT_SEARCH_NEXT_PAGE;
+    }
+
+    /**
+     * Returns the query of a page of sorted gift certificates.
+     * Parameters of the first page: the page size.
+     * Parameters of the next pages: the sort value and the ID of the last row of the previous page, and the page size.
+     *
+     * @param sortType  The field to sort by.
+     * @param sortOrder The order to sort in.
+     * @param firstPage Whether the query is for the first page.
+     * @return Parameterized query text.
+     */
+    public static String sort(SortType sortType, SortOrder sortOrder, boolean firstPage) {
+        return (firstPage ? SORT_FIRST_PAGE_QUERIES : SORT_NEXT_PAGE_QUERIES).get(sortType).get(sortOrder);
+    }
+
+    /**
+     * Returns the query of a page of gift certificates matching all the given filters, ordered by the sort filter,
+     * ties broken by ID, or by ID without one.
+     * Parameters, each present only with its filter: the LIKE pattern of the search, the included tag names and
+     * the number of them a certificate must have (all of them or one), the excluded tag names; then the sort value
+     * and the ID of the last row of the previous page for the next pages of sorted queries, or the ID after which
+     * the page starts for queries ordered by ID; and the page size.
+     * The certificates are read in the order of the page from the (sort column, id) index or the primary key,
+     * or found by the trigram index of the searched field, and every one is checked for its tags by primary key.
+     *
+     * @param filter    The filters to apply; full-text searches are not supported.
+     * @param firstPage Whether the query is for the first page.
+     * @return Parameterized query text.
+     */
+    public static String filter(GiftCertificateFilter filter, boolean firstPage) {
+        SearchFilter searchFilter = filter.getSearchFilter();
+        TagFilter tagFilter = filter.getTagFilter();
+        SortFilter sortFilter = filter.getSortFilter();
+        FilterQuery query = new FilterQuery(
+                searchFilter == null ? null : searchFilter.getSearchType(),
+                searchFilter != null && searchFilter.isCaseInsensitive(),
+                tagFilter != null && !tagFilter.getIncludedTags().isEmpty(),
+                tagFilter != null && !tagFilter.getExcludedTags().isEmpty(),
+                sortFilter == null ? null : sortFilter.getSortType(),
+                sortFilter == null ? null : sortFilter.getSortOrder(),
+                sortFilter == null || !firstPage);
+        return FILTER_QUERIES.computeIfAbsent(query, GiftCertificateQueryBuilder::buildFilterQuery);
+    }
+
+    private static String buildFilterQuery(FilterQuery query) {
+        List<String> conditions = new ArrayList<>();
+        if (query.searchType() != null) {
+            if (query.searchType() == SearchType.FULL_TEXT) {
+                throw new IllegalArgumentException("Full-text searches cannot be combined with other filters");
+            }
+            conditions.add(String.format(FILTER_SEARCH_CONDITION, query.searchType().getFieldName(),
+                    query.caseInsensitive() ? "ILIKE" : "LIKE"));
+        }
+        if (query.includedTags()) {
+            conditions.add(FILTER_INCLUDED_TAGS_CONDITION);
+        }
+        if (query.excludedTags()) {
+            conditions.add(FILTER_EXCLUDED_TAGS_CONDITION);
+        }
+        if (query.keyset()) {
+            conditions.add(query.sortType() == null ? FILTER_ID_KEYSET_CONDITION : String.format(
+                    FILTER_SORT_KEYSET_CONDITION, query.sortType().getFieldType(), query.sortOrder().getKeysetOperator()));
+        }
+        return SELECT_GIFT_CERTIFICATES + " c"
+                + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+                + (query.sortType() == null ? FILTER_ORDER_BY_ID : String.format(FILTER_ORDER_BY_SORT,
+                query.sortType().getFieldType(), query.sortOrder().getOrderValue()));
+    }
+
+    private record FilterQuery(SearchType searchType, boolean caseInsensitive, boolean includedTags,
+                               boolean excludedTags, SortType sortType, SortOrder sortOrder, boolean keyset) {
+    }
+}
@@ -1,20 +1,56 @@
 package com.epam.esm.repository.impl;
 
+import com.epam.esm.entity.CatalogVersion;
 import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.entity.GiftCertificateVersion;
+import com.epam.esm.entity.ImportResult;
 import com.epam.esm.entity.Tag;
+import com.epam.esm.entity.filter.GiftCertificateFilter;
+import com.epam.esm.entity.filter.page.PageFilter;
 import com.epam.esm.entity.filter.search.SearchFilter;
+import com.epam.esm.entity.filter.search.SearchType;
 import com.epam.esm.entity.filter.sort.SortFilter;
+import com.epam.esm.entity.filter.tag.TagFilter;
+import com.epam.esm.entity.filter.tag.TagMatch;
+import com.epam.esm.repository.GiftCertificateQueryBuilder;
 import com.epam.esm.repository.repository.GiftCertificateRepository;
+import com.epam.esm.repository.repository.SearchTextConsumer;
+import com.epam.esm.repository.repository.TagAssociationConsumer;
 import com.epam.esm.util.mapper.GiftCertificateRowMapper;
 import com.epam.esm.util.mapper.TagRowMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Repository;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static com.epam.esm.util.DatabaseQueryConstants.*;
 
@@ -25,6 +61,7 @@ import static com.epam.esm.util.DatabaseQueryConstants.*;
 @Repository
 @RequiredArgsConstructor
 public class GiftCertificateRepositoryImpl implements GiftCertificateRepository {
+    private static final int COPY_BUFFER_SIZE = 1 << 16;
 
     private final JdbcTemplate jdbcTemplate;
     private final TagRowMapper tagRowMapper;
@@ -39,7 +76,7 @@ public class GiftCertificateRepositoryImpl implements GiftCertificateRepository
     public List<GiftCertificate> findAll() {
         log.info("Querying all rows from gift certificate table...");
         List<GiftCertificate> giftCertificates = jdbcTemplate.query(FIND_ALL_GIFT_CERTIFICATES, giftCertificateRowMapper);
-        giftCertificates.forEach(this::setAllTags);
+        setAllTags(giftCertificates);
         return giftCertificates;
     }
 
@@ -61,51 +98,322 @@ public class GiftCertificateRepositoryImpl implements GiftCertificateRepository
     }
 
     /**
-     * Finds Gift Certificates associated with a specific tag.
+     * Retrieves a page of Gift Certificates ordered by ID.
      *
-     * @param tag The tag for which Gift Certificates are to be found.
+     * @param pageFilter The page to retrieve.
+     * @return List of GiftCertificate objects on the page.
+     */
+    @Override
+    public List<GiftCertificate> findAll(PageFilter pageFilter) {
+        log.info("Querying a page of rows from gift certificate table...");
+        List<GiftCertificate> giftCertificates = jdbcTemplate.query(FIND_GIFT_CERTIFICATES_PAGE, giftCertificateRowMapper,
+                getLastId(pageFilter), pageFilter.getLimit());
+        setAllTags(giftCertificates);
+        return giftCertificates;
+    }
+
+    /**
+     * Finds the Gift Certificates with the given IDs, ordered by ID. IDs of missing certificates are ignored.
+     *
+     * @param ids The IDs of the Gift Certificates to find.
+     * @return List of the GiftCertificate objects found.
+     */
+    @Override
+    public List<GiftCertificate> findByIds(List<Long> ids) {
+        log.info("Querying rows from gift certificate table by ids...");
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<GiftCertificate> giftCertificates = jdbcTemplate.query(FIND_GIFT_CERTIFICATES_BY_IDS,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids.toArray())), giftCertificateRowMapper);
+        setAllTags(giftCertificates);
+        return giftCertificates;
+    }
+
+    /**
+     * Finds the version of a Gift Certificate by its ID: its last update date and the IDs of its tags,
+     * without reading the rest of the row or the tags themselves.
+     *
+     * @param id The ID of the Gift Certificate.
+     * @return Optional containing the version if the certificate was found, otherwise empty.
+     */
+    @Override
+    public Optional<GiftCertificateVersion> findVersion(Long id) {
+        log.info("Querying the version from gift certificate table by id...");
+        return jdbcTemplate.query(FIND_GIFT_CERTIFICATE_VERSION_BY_ID,
+                (rs, rowNum) -> new GiftCertificateVersion(
+                        rs.getTimestamp(GIFT_CERTIFICATE_LAST_UPDATE_DATE).toLocalDateTime(),
+                        List.of((Long[]) rs.getArray(GIFT_CERTIFICATE_TAG_IDS).getArray())), id)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Finds the version of all Gift Certificates, counted by triggers for every statement writing certificates
+     * or their tags and read in the transaction of the caller, so that it matches the certificates it reads.
+     *
+     * @return The number of changes of the catalog and the time of the last one.
+     */
+    @Override
+    public CatalogVersion findCatalogVersion() {
+        log.info("Querying the version of gift certificate catalog...");
+        return jdbcTemplate.queryForObject(FIND_CATALOG_VERSION, (rs, rowNum) -> new CatalogVersion(
+                rs.getLong(CATALOG_VERSION_CHANGES),
+                rs.getTimestamp(CATALOG_VERSION_LAST_UPDATE_DATE).toLocalDateTime()));
+    }
+
+    /**
+     * Finds a page of Gift Certificates associated with a specific tag, ordered by ID.
+     *
+     * @param tag        The tag for which Gift Certificates are to be found.
+     * @param pageFilter The page to retrieve.
      * @return List of GiftCertificate objects associated with the tag.
      */
     @Override
-    public List<GiftCertificate> findByTag(Tag tag) {
+    public List<GiftCertificate> findByTag(Tag tag, PageFilter pageFilter) {
         log.info("Querying rows from gift certificate table by tag...");
-        List<GiftCertificate> giftCertificates = jdbcTemplate.query(FIND_GIFT_CERTIFICATES_BY_TAG, giftCertificateRowMapper, tag.getName());
-        giftCertificates.forEach(this::setAllTags);
+        List<GiftCertificate> giftCertificates = jdbcTemplate.query(FIND_GIFT_CERTIFICATES_BY_TAG, giftCertificateRowMapper,
+                tag.getName(), getLastId(pageFilter), pageFilter.getLimit());
+        setAllTags(giftCertificates);
+        return giftCertificates;
+    }
+
+    /**
+     * Finds a page of Gift Certificates having all or any of the included tags and none of the excluded ones,
+     * ordered by ID. The certificates are read in ID order from the (tag_id, gift_certificate_id) index, so that
+     * a page stops after its last certificate however many certificates the tags have.
+     * For any of the included tags, the range of every one of them is read.
+     * For all of them, only the range of the one with the fewest certificates among the next IDs is read,
+     * and every certificate in it is checked for the other tags by primary key.
+     * The excluded tags are checked by primary key too. Names of tags that do not exist match no certificate.
+     *
+     * @param tagFilter  The included and excluded tag names and how the included ones must match.
+     * @param pageFilter The page to retrieve.
+     * @return List of GiftCertificate objects matching the tag filter.
+     */
+    @Override
+    public List<GiftCertificate> findByTags(TagFilter tagFilter, PageFilter pageFilter) {
+        log.info("Querying rows from gift certificate table by tags...");
+        String[] included = tagFilter.getIncludedTags().toArray(String[]::new);
+        String[] excluded = tagFilter.getExcludedTags().toArray(String[]::new);
+        long lastId = getLastId(pageFilter);
+        List<GiftCertificate> giftCertificates;
+        if (included.length == 0) {
+            giftCertificates = jdbcTemplate.query(FIND_GIFT_CERTIFICATES_WITHOUT_TAGS, ps -> {
+                ps.setLong(1, lastId);
+                ps.setArray(2, ps.getConnection().createArrayOf("varchar", excluded));
+                ps.setInt(3, pageFilter.getLimit());
+            }, giftCertificateRowMapper);
+        } else if (tagFilter.getTagMatch() == TagMatch.ANY) {
+            giftCertificates = jdbcTemplate.query(FIND_GIFT_CERTIFICATES_BY_ANY_TAG, ps -> {
+                ps.setLong(1, lastId);
+                ps.setArray(2, ps.getConnection().createArrayOf("varchar", excluded));
+                ps.setInt(3, pageFilter.getLimit());
+                ps.setArray(4, ps.getConnection().createArrayOf("varchar", included));
+                ps.setInt(5, pageFilter.getLimit());
+            }, giftCertificateRowMapper);
+        } else {
+            giftCertificates = jdbcTemplate.query(FIND_GIFT_CERTIFICATES_BY_ALL_TAGS, ps -> {
+                ps.setArray(1, ps.getConnection().createArrayOf("varchar", included));
+                // the window in which the driving tag is picked
+                ps.setLong(2, lastId);
+                ps.setLong(3, lastId);
+                // the page of the driving tag
+                ps.setLong(4, lastId);
+                ps.setInt(5, included.length);
+                ps.setArray(6, ps.getConnection().createArrayOf("varchar", excluded));
+                ps.setInt(7, pageFilter.getLimit());
+                ps.setInt(8, pageFilter.getLimit());
+            }, giftCertificateRowMapper);
+        }
+        setAllTags(giftCertificates);
         return giftCertificates;
     }
 
     /**
-     * Finds Gift Certificates based on a specified search filter.
+     * Finds a page of Gift Certificates based on a specified search filter, ordered by ID.
+     * Full-text searches ignore the search place and are ordered by relevance, then by ID descending.
+     * Their next pages start after the rank of the last row of the previous page, read from that row; a next page
+     * found empty is checked for that row, so that a deleted one is not taken for the end of the results.
      *
      * @param searchFilter The search filter to apply.
+     * @param pageFilter   The page to retrieve.
      * @return List of GiftCertificate objects matching the search filter.
+     * @throws EmptyResultDataAccessException If the last row of the previous full-text page no longer exists.
      */
     @Override
-    public List<GiftCertificate> findBySearchFilter(SearchFilter searchFilter) {
+    public List<GiftCertificate> findBySearchFilter(SearchFilter searchFilter, PageFilter pageFilter) {
         log.info("Querying rows from gift certificate table by search filter...");
-        String searchType = searchFilter.getSearchType().getFieldName();
-        String searchValue = searchFilter.getSearchPlace().getFormattedValue(searchFilter.getSearchValue());
-        List<GiftCertificate> giftCertificates = jdbcTemplate.query(String.format(FIND_GIFT_CERTIFICATES_BY_TYPE, searchType, searchValue), giftCertificateRowMapper);
-        giftCertificates.forEach(this::setAllTags);
+        List<GiftCertificate> giftCertificates;
+        if (searchFilter.getSearchType() == SearchType.FULL_TEXT) {
+            boolean firstPage = pageFilter.getLastId() == null;
+            String query = GiftCertificateQueryBuilder.fullTextSearch(firstPage);
+            giftCertificates = firstPage
+                    ? jdbcTemplate.query(query, giftCertificateRowMapper, searchFilter.getSearchValue(), pageFilter.getLimit())
+                    : jdbcTemplate.query(query, giftCertificateRowMapper, searchFilter.getSearchValue(), pageFilter.getLastId(), pageFilter.getLimit());
+            if (!firstPage && giftCertificates.isEmpty() && findVersion(pageFilter.getLastId()).isEmpty()) {
+                throw new EmptyResultDataAccessException("Last certificate of the previous page not found by ID: "
+                        + pageFilter.getLastId(), 1);
+            }
+        } else {
+            String searchValue = searchFilter.getSearchPlace().getFormattedValue(searchFilter.getSearchValue());
+            giftCertificates = jdbcTemplate.query(GiftCertificateQueryBuilder.search(searchFilter.getSearchType(), searchFilter.isCaseInsensitive()),
+                    giftCertificateRowMapper, searchValue, getLastId(pageFilter), pageFilter.getLimit());
+        }
+        setAllTags(giftCertificates);
         return giftCertificates;
     }
 
     /**
-     * Finds Gift Certificates based on a specified sort filter.
+     * Finds a page of Gift Certificates based on a specified sort filter.
+     * Rows with equal sort values are ordered by ID, so that the page boundary is always unique.
      *
      * @param sortFilter The sort filter to apply.
+     * @param pageFilter The page to retrieve.
      * @return List of GiftCertificate objects sorted according to the sort filter.
      */
     @Override
-    public List<GiftCertificate> findBySortFilter(SortFilter sortFilter) {
+    public List<GiftCertificate> findBySortFilter(SortFilter sortFilter, PageFilter pageFilter) {
         log.info("Querying rows from gift certificate table by sort filter...");
-        String sortType = sortFilter.getSortType().getFieldType();
-        String sortOrder = sortFilter.getSortOrder().getOrderValue();
-        List<GiftCertificate> giftCertificates = jdbcTemplate.query(String.format(FIND_ALL_GIFT_CERTIFICATES_SORT_BY_TYPE_AND_VALUE, sortType, sortOrder), giftCertificateRowMapper);
-        giftCertificates.forEach(this::setAllTags);
+        boolean firstPage = pageFilter.getLastId() == null;
+        String query = GiftCertificateQueryBuilder.sort(sortFilter.getSortType(), sortFilter.getSortOrder(), firstPage);
+        List<GiftCertificate> giftCertificates = firstPage
+                ? jdbcTemplate.query(query, giftCertificateRowMapper, pageFilter.getLimit())
+                : jdbcTemplate.query(query, giftCertificateRowMapper, pageFilter.getLastValue(), pageFilter.getLastId(), pageFilter.getLimit());
+        setAllTags(giftCertificates);
+        return giftCertificates;
+    }
+
+    /**
+     * Finds a page of Gift Certificates matching a tag filter, a search filter and a sort filter at once,
+     * with a single query; any of the filters may be absent. Without a sort filter the certificates are ordered by ID.
+     * Names of included tags that do not exist match no certificate if all of them are required.
+     *
+     * @param filter     The filters to apply; the search must not be a full-text search.
+     * @param pageFilter The page to retrieve.
+     * @return List of GiftCertificate objects matching the filters.
+     */
+    @Override
+    public List<GiftCertificate> findByFilter(GiftCertificateFilter filter, PageFilter pageFilter) {
+        log.info("Querying rows from gift certificate table by combined filter...");
+        SearchFilter searchFilter = filter.getSearchFilter();
+        TagFilter tagFilter = filter.getTagFilter();
+        boolean sorted = filter.getSortFilter() != null;
+        boolean firstPage = pageFilter.getLastId() == null;
+        List<GiftCertificate> giftCertificates = jdbcTemplate.query(GiftCertificateQueryBuilder.filter(filter, firstPage), ps -> {
+            int index = 1;
+            if (searchFilter != null) {
+                ps.setString(index++, searchFilter.getSearchPlace().getFormattedValue(searchFilter.getSearchValue()));
+            }
+            if (tagFilter != null && !tagFilter.getIncludedTags().isEmpty()) {
+                ps.setArray(index++, ps.getConnection().createArrayOf("varchar", tagFilter.getIncludedTags().toArray()));
+                ps.setInt(index++, tagFilter.getTagMatch() == TagMatch.ANY ? 1 : tagFilter.getIncludedTags().size());
+            }
+            if (tagFilter != null && !tagFilter.getExcludedTags().isEmpty()) {
+                ps.setArray(index++, ps.getConnection().createArrayOf("varchar", tagFilter.getExcludedTags().toArray()));
+            }
+            if (!sorted) {
+                ps.setLong(index++, getLastId(pageFilter));
+            } else if (!firstPage) {
+                ps.setObject(index++, pageFilter.getLastValue());
+                ps.setLong(index++, pageFilter.getLastId());
+            }
+            ps.setInt(index, pageFilter.getLimit());
+        }, giftCertificateRowMapper);
+        setAllTags(giftCertificates);
         return giftCertificates;
     }
 
+    /**
+     * Streams all Gift Certificates ordered by ID in chunks, without loading the whole table into memory.
+     * The rows are fetched through a cursor of the chunk size, which requires an active transaction,
+     * and the tags of every chunk are set with a single query.
+     *
+     * @param chunkSize     The number of rows fetched and passed to the consumer at a time.
+     * @param chunkConsumer The consumer of every chunk of GiftCertificate objects.
+     */
+    @Override
+    public void streamAll(int chunkSize, Consumer<List<GiftCertificate>> chunkConsumer) {
+        log.info("Streaming all rows from gift certificate table...");
+        PreparedStatementCreator statementCreator = connection -> {
+            PreparedStatement statement = connection.prepareStatement(FIND_ALL_GIFT_CERTIFICATES_ORDER_BY_ID);
+            statement.setFetchSize(chunkSize);
+            return statement;
+        };
+        try (Stream<GiftCertificate> giftCertificates = jdbcTemplate.queryForStream(statementCreator, giftCertificateRowMapper)) {
+            List<GiftCertificate> chunk = new ArrayList<>(chunkSize);
+            Iterator<GiftCertificate> iterator = giftCertificates.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == chunkSize || !iterator.hasNext()) {
+                    setAllTags(chunk);
+                    chunkConsumer.accept(chunk);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the IDs of the tags of a Gift Certificate.
+     *
+     * @param id The ID of the Gift Certificate.
+     * @return IDs of its tags, empty if the certificate has no tags or does not exist.
+     */
+    @Override
+    public List<Long> findTagIds(Long id) {
+        log.info("Querying tag ids of gift certificate...");
+        return jdbcTemplate.queryForList(FIND_GIFT_CERTIFICATE_TAG_IDS, Long.class, id);
+    }
+
+    /**
+     * Passes all associations between tags and Gift Certificates to the consumer, ordered by tag ID, then by
+     * certificate ID. The associations are read in chunks following the last one read, so that neither
+     * a transaction nor memory for the whole table is needed; associations changed during the scan may or may not
+     * be passed.
+     *
+     * @param chunkSize The number of associations read at a time.
+     * @param consumer  The consumer of every association.
+     */
+    @Override
+    public void streamTagAssociations(int chunkSize, TagAssociationConsumer consumer) {
+        log.info("Streaming all rows from tag gift certificate table...");
+        long[] last = new long[2];
+        int[] read = new int[1];
+        do {
+            read[0] = 0;
+            jdbcTemplate.query(FIND_TAG_GIFT_CERTIFICATES_PAGE, (RowCallbackHandler) rs -> {
+                last[0] = rs.getLong(TAG_GIFT_CERTIFICATE_TAG_ID);
+                last[1] = rs.getLong(TAG_GIFT_CERTIFICATE_GIFT_CERTIFICATE_ID);
+                consumer.accept(last[0], last[1]);
+                read[0]++;
+            }, last[0], last[1], chunkSize);
+        } while (read[0] == chunkSize);
+    }
+
+    /**
+     * Passes the ID, name and description of all Gift Certificates to the consumer, ordered by ID.
+     * The rows are read in chunks following the last ID read, like the tag associations, so that neither
+     * a transaction nor memory for the whole table is needed.
+     *
+     * @param chunkSize The number of rows read at a time.
+     * @param consumer  The consumer of the texts of every certificate.
+     */
+    @Override
+    public void streamSearchTexts(int chunkSize, SearchTextConsumer consumer) {
+        log.info("Streaming texts of all rows from gift certificate table...");
+        long[] lastId = new long[1];
+        int[] read = new int[1];
+        do {
+            read[0] = 0;
+            jdbcTemplate.query(FIND_GIFT_CERTIFICATE_TEXTS_PAGE, (RowCallbackHandler) rs -> {
+                lastId[0] = rs.getLong(GIFT_CERTIFICATE_ID);
+                consumer.accept(lastId[0], rs.getString(GIFT_CERTIFICATE_NAME), rs.getString(GIFT_CERTIFICATE_DESCRIPTION));
+                read[0]++;
+            }, lastId[0], chunkSize);
+        } while (read[0] == chunkSize);
+    }
+
     /**
      * Inserts a new Gift Certificate into the database.
      *
@@ -123,43 +431,229 @@ public class GiftCertificateRepositoryImpl implements GiftCertificateRepository
     }
 
     /**
-     * Updates an existing Gift Certificate in the database.
+     * Updates the fields of an existing Gift Certificate in the database, leaving its tags untouched.
      *
      * @param giftCertificate The Gift Certificate to be updated.
+     * @return Whether the Gift Certificate exists.
      */
     @Override
-    public void update(GiftCertificate giftCertificate) {
+    public boolean update(GiftCertificate giftCertificate) {
         log.info("Updating row in gift certificate table...");
-        jdbcTemplate.update(UPDATE_GIFT_CERTIFICATE,
+        return jdbcTemplate.update(UPDATE_GIFT_CERTIFICATE,
                 giftCertificate.getName(),
                 giftCertificate.getDescription(),
                 giftCertificate.getPrice(),
                 giftCertificate.getDuration(),
-                giftCertificate.getId());
-        jdbcTemplate.update(DELETE_ALL_GIFT_CERTIFICATE_TAGS, giftCertificate.getId());
+                giftCertificate.getId()) > 0;
     }
 
     /**
-     * Inserts tags associated with a Gift Certificate into the database.
+     * Associates the tags of a Gift Certificate with it using a single statement, whatever the number of tags.
+     * Tags already associated with the certificate are skipped. The tags must already carry their IDs.
      *
      * @param giftCertificate The Gift Certificate to which tags will be associated.
      */
     @Override
     public void insertTags(GiftCertificate giftCertificate) {
+        if (giftCertificate.getTags().isEmpty()) {
+            return;
+        }
         log.info("Adding new rows into gift certificate_tag table...");
-        giftCertificate.getTags().forEach(tag -> jdbcTemplate.update(INSERT_TAG_TO_GIFT_CERTIFICATE, giftCertificate.getId(), tag.getId()));
-        setAllTags(giftCertificate);
+        Long[] tagIds = getTagIds(giftCertificate);
+        jdbcTemplate.update(INSERT_TAGS_TO_GIFT_CERTIFICATE, ps -> {
+            ps.setLong(1, giftCertificate.getId());
+            ps.setArray(2, ps.getConnection().createArrayOf("bigint", tagIds));
+        });
+    }
+
+    /**
+     * Makes the tags of a Gift Certificate the only ones associated with it.
+     * Only the associations of removed tags are deleted and only those of added tags inserted,
+     * the difference being computed by the database, so unchanged tags cost no writes.
+     * The tags must already carry their IDs.
+     *
+     * @param giftCertificate The Gift Certificate whose tags will be replaced.
+     */
+    @Override
+    public void updateTags(GiftCertificate giftCertificate) {
+        log.info("Updating rows in gift certificate_tag table...");
+        Long[] tagIds = getTagIds(giftCertificate);
+        jdbcTemplate.update(DELETE_GIFT_CERTIFICATE_TAGS_EXCEPT, ps -> {
+            ps.setLong(1, giftCertificate.getId());
+            ps.setArray(2, ps.getConnection().createArrayOf("bigint", tagIds));
+        });
+        insertTags(giftCertificate);
+    }
+
+    /**
+     * Inserts Gift Certificates in bulk with their tags, creating the tags that do not exist yet.
+     * The certificates are streamed into a staging table with Postgres COPY as they are iterated,
+     * then merged into the tag, gift certificate and association tables with two set-based statements.
+     * All statements run on one connection, which must be in a transaction for the import to be atomic.
+     * Certificates get new IDs in iteration order; their IDs and dates are ignored, and tags are identified by name.
+     *
+     * @param certificates The Gift Certificates to insert, iterated once.
+     * @return The number of inserted certificates and the created tags.
+     */
+    @Override
+    public ImportResult importAll(Iterator<GiftCertificate> certificates) {
+        log.info("Importing rows into gift certificate table...");
+        return jdbcTemplate.execute((ConnectionCallback<ImportResult>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(SET_IMPORT_WORK_MEM);
+                statement.execute(CREATE_GIFT_CERTIFICATE_IMPORT);
+                statement.execute(TRUNCATE_GIFT_CERTIFICATE_IMPORT);
+                long imported = copyToStaging(connection, certificates);
+                statement.execute(ANALYZE_GIFT_CERTIFICATE_IMPORT);
+                List<Tag> createdTags = new ArrayList<>();
+                try (ResultSet resultSet = statement.executeQuery(INSERT_IMPORTED_TAGS)) {
+                    while (resultSet.next()) {
+                        createdTags.add(tagRowMapper.mapRow(resultSet, resultSet.getRow()));
+                    }
+                }
+                mergeImported(statement);
+                statement.execute(TRUNCATE_GIFT_CERTIFICATE_IMPORT);
+                return new ImportResult(imported, createdTags);
+            }
+        });
+    }
+
+    /**
+     * Inserts the staged certificates and their tag associations. Every association would otherwise be checked
+     * against its certificate and its tag by a row trigger of each foreign key, two queries per association that
+     * take half the time of the merge. When the user may skip them, the associations are checked as a set instead:
+     * their certificates are inserted by the same statement and their tags are joined by name, and the tags are locked
+     * once each against deletion, as the checks would. The skipped change count of the catalog is then made by hand.
+     *
+     * @param statement The statement of the import connection.
+     * @throws SQLException If the merge fails.
+     */
+    private void mergeImported(Statement statement) throws SQLException {
+        boolean superuser;
+        try (ResultSet resultSet = statement.executeQuery(FIND_IMPORT_SUPERUSER)) {
+            superuser = resultSet.next() && resultSet.getBoolean(1);
+        }
+        if (!superuser) {
+            statement.execute(INSERT_IMPORTED_GIFT_CERTIFICATES);
+            return;
+        }
+        statement.executeQuery(LOCK_IMPORTED_TAGS).close();
+        statement.execute(SKIP_IMPORT_TRIGGERS);
+        statement.execute(INSERT_IMPORTED_GIFT_CERTIFICATES);
+        statement.execute(RESTORE_IMPORT_TRIGGERS);
+        statement.execute(COUNT_IMPORT_CATALOG_CHANGE);
+    }
+
+    /**
+     * Streams Gift Certificates into the staging table as CSV rows.
+     *
+     * @param connection   The connection to copy through.
+     * @param certificates The Gift Certificates to copy.
+     * @return The number of copied rows.
+     * @throws SQLException If the copy fails.
+     */
+    private long copyToStaging(Connection connection, Iterator<GiftCertificate> certificates) throws SQLException {
+        PGCopyOutputStream copy = new PGCopyOutputStream(connection.unwrap(PGConnection.class), COPY_GIFT_CERTIFICATE_IMPORT, COPY_BUFFER_SIZE);
+        long rows = 0;
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(copy, StandardCharsets.UTF_8), COPY_BUFFER_SIZE)) {
+            StringBuilder row = new StringBuilder(256);
+            while (certificates.hasNext()) {
+                GiftCertificate certificate = certificates.next();
+                row.setLength(0);
+                appendCsvField(row, certificate.getName()).append(',');
+                appendCsvField(row, certificate.getDescription()).append(',');
+                row.append(certificate.getPrice()).append(',').append(certificate.getDuration()).append(',');
+                appendCsvField(row, toArrayLiteral(certificate.getTags())).append('\n');
+                writer.append(row);
+                rows++;
+            }
+        } catch (IOException ex) {
+            throw new SQLException("Failed to copy gift certificates: " + ex.getMessage(), ex);
+        }
+        return rows;
+    }
+
+    /**
+     * Appends a value to a CSV row, quoted and with its quotes doubled.
+     *
+     * @param row   The row to append to.
+     * @param value The value to append.
+     * @return The row.
+     */
+    private static StringBuilder appendCsvField(StringBuilder row, String value) {
+        row.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            row.append(c);
+            if (c == '"') {
+                row.append('"');
+            }
+        }
+        return row.append('"');
+    }
+
+    /**
+     * Formats the distinct names of tags as a Postgres array literal, with every element quoted and its quotes and
+     * backslashes escaped.
+     *
+     * @param tags The tags, or null for none.
+     * @return The array literal, e.g. {"spa","travel"}.
+     */
+    private static String toArrayLiteral(Set<Tag> tags) {
+        StringBuilder literal = new StringBuilder("{");
+        if (tags != null) {
+            Set<String> names = new HashSet<>();
+            for (Tag tag : tags) {
+                if (!names.add(tag.getName())) {
+                    continue;
+                }
+                if (literal.length() > 1) {
+                    literal.append(',');
+                }
+                literal.append('"');
+                for (int i = 0; i < tag.getName().length(); i++) {
+                    char c = tag.getName().charAt(i);
+                    if (c == '"' || c == '\\') {
+                        literal.append('\\');
+                    }
+                    literal.append(c);
+                }
+                literal.append('"');
+            }
+        }
+        return literal.append('}').toString();
     }
 
     /**
      * Deletes a Gift Certificate from the database based on its ID.
      *
      * @param id The ID of the Gift Certificate to delete.
+     * @return Whether the Gift Certificate existed.
      */
     @Override
-    public void delete(Long id) {
+    public boolean delete(Long id) {
         log.info("Deleting row from gift certificate table...");
-        jdbcTemplate.update(DELETE_GIFT_CERTIFICATE, id);
+        return jdbcTemplate.update(DELETE_GIFT_CERTIFICATE, id) > 0;
+    }
+
+    /**
+     * Returns the IDs of the tags of a Gift Certificate.
+     *
+     * @param giftCertificate The Gift Certificate.
+     * @return Array of the tag IDs.
+     */
+    private Long[] getTagIds(GiftCertificate giftCertificate) {
+        return giftCertificate.getTags().stream().map(Tag::getId).toArray(Long[]::new);
+    }
+
+    /**
+     * Returns the ID after which the page starts, IDs being positive.
+     *
+     * @param pageFilter The page to retrieve.
+     * @return ID of the last row of the previous page, or 0 for the first page.
+     */
+    private long getLastId(PageFilter pageFilter) {
+        return pageFilter.getLastId() == null ? 0 : pageFilter.getLastId();
     }
 
     /**
@@ -170,4 +664,27 @@ public class GiftCertificateRepositoryImpl implements GiftCertificateRepository
     private void setAllTags(GiftCertificate giftCertificate) {
         giftCertificate.setTags(new TreeSet<>(jdbcTemplate.query(FIND_ALL_GIFT_CERTIFICATE_TAGS, tagRowMapper, giftCertificate.getId())));
     }
+
+    /**
+     * Sets all associated tags for a list of Gift Certificates using a single query,
+     * instead of querying the tags of every certificate separately.
+     *
+     * @param giftCertificates The GiftCertificate objects to which tags will be associated.
+     */
+    private void setAllTags(List<GiftCertificate> giftCertificates) {
+        if (giftCertificates.isEmpty()) {
+            return;
+        }
+        Long[] ids = giftCertificates.stream().map(GiftCertificate::getId).distinct().toArray(Long[]::new);
+        Map<Long, Set<Tag>> tagsByCertificateId = new HashMap<>();
+        jdbcTemplate.query(FIND_ALL_GIFT_CERTIFICATES_TAGS,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids)),
+                rs -> {
+                    tagsByCertificateId
+                            .computeIfAbsent(rs.getLong(TAG_GIFT_CERTIFICATE_GIFT_CERTIFICATE_ID), id -> new TreeSet<>())
+                            .add(tagRowMapper.mapRow(rs, rs.getRow()));
+                });
+        giftCertificates.forEach(giftCertificate -> giftCertificate.setTags(
+                tagsByCertificateId.getOrDefault(giftCertificate.getId(), new TreeSet<>())));
+    }
 }
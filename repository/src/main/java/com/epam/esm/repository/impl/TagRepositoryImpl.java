@@ -6,9 +6,13 @@ import com.epam.esm.util.mapper.TagRowMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static com.epam.esm.util.DatabaseQueryConstants.*;
@@ -49,6 +53,7 @@ public class TagRepositoryImpl implements TagRepository {
 
     /**
      * Inserts a new Tag into the database.
+     * Fails if a tag with the same name exists, use {@link #upsertAll(Collection)} to resolve names to IDs.
      *
      * @param giftTag The Tag to be inserted.
      * @return The ID of the newly inserted Tag.
@@ -59,24 +64,60 @@ public class TagRepositoryImpl implements TagRepository {
         return jdbcTemplate.queryForObject(INSERT_TAG, Long.class, giftTag.getName());
     }
 
+    /**
+     * Inserts the tags with the given names that do not exist yet and returns all of them with their IDs,
+     * using a single statement. Duplicate names are inserted once.
+     *
+     * @param names The names of the tags.
+     * @return The Tags with the given names, in no particular order.
+     */
+    @Override
+    public List<Tag> upsertAll(Collection<String> names) {
+        log.info("Upserting rows into gift tag table...");
+        String[] tagNames = names.toArray(String[]::new);
+        return jdbcTemplate.query(UPSERT_TAGS,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("varchar", tagNames)),
+                giftTagRowMapper);
+    }
+
+    /**
+     * Counts the certificates of each of the tags with a single grouped query.
+     *
+     * @param tagIds The IDs of the tags.
+     * @return The number of certificates by tag ID, without the tags that have none.
+     */
+    @Override
+    public Map<Long, Long> countCertificates(Collection<Long> tagIds) {
+        log.info("Counting rows of tag gift certificate table by tag...");
+        Map<Long, Long> certificates = new HashMap<>();
+        jdbcTemplate.query(COUNT_TAG_GIFT_CERTIFICATES,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", tagIds.toArray())),
+                (RowCallbackHandler) rs -> certificates.put(rs.getLong(TAG_GIFT_CERTIFICATE_TAG_ID),
+                        rs.getLong(TAG_GIFT_CERTIFICATE_CERTIFICATES)));
+        return certificates;
+    }
+
     /**
      * Updates an existing Tag in the database.
      *
      * @param giftTag The Tag to be updated.
+     * @return Always false, no Tag is updated.
      */
     @Override
-    public void update(Tag giftTag) {
+    public boolean update(Tag giftTag) {
         // Task requirement does not include update for tags
+        return false;
     }
 
     /**
      * Deletes a Tag from the database based on its ID.
      *
      * @param id The ID of the Tag to delete.
+     * @return Whether the Tag existed.
      */
     @Override
-    public void delete(Long id) {
+    public boolean delete(Long id) {
         log.info("Deleting row from gift tag table...");
-        jdbcTemplate.update(DELETE_TAG, id);
+        return jdbcTemplate.update(DELETE_TAG, id) > 0;
     }
 }
@@ -1,13 +1,21 @@
 package com.epam.esm.repository.repository;
 
+import com.epam.esm.entity.CatalogVersion;
 import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.entity.GiftCertificateVersion;
+import com.epam.esm.entity.ImportResult;
 import com.epam.esm.entity.Tag;
+import com.epam.esm.entity.filter.GiftCertificateFilter;
+import com.epam.esm.entity.filter.page.PageFilter;
 import com.epam.esm.entity.filter.search.SearchFilter;
 import com.epam.esm.entity.filter.sort.SortFilter;
+import com.epam.esm.entity.filter.tag.TagFilter;
 import com.epam.esm.repository.BaseRepository;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface GiftCertificateRepository extends BaseRepository<GiftCertificate> {
     @Override
@@ -16,20 +24,44 @@ public interface GiftCertificateRepository extends BaseRepository<GiftCertificat
     @Override
     Optional<GiftCertificate> findById(Long id);
 
-    List<GiftCertificate> findByTag(Tag tag);
+    List<GiftCertificate> findAll(PageFilter pageFilter);
 
-    List<GiftCertificate> findBySearchFilter(SearchFilter searchFilter);
+    List<GiftCertificate> findByIds(List<Long> ids);
 
-    List<GiftCertificate> findBySortFilter(SortFilter sortFilter);
+    Optional<GiftCertificateVersion> findVersion(Long id);
+
+    CatalogVersion findCatalogVersion();
+
+    List<GiftCertificate> findByTag(Tag tag, PageFilter pageFilter);
+
+    List<GiftCertificate> findByTags(TagFilter tagFilter, PageFilter pageFilter);
+
+    List<GiftCertificate> findBySearchFilter(SearchFilter searchFilter, PageFilter pageFilter);
+
+    List<GiftCertificate> findBySortFilter(SortFilter sortFilter, PageFilter pageFilter);
+
+    List<GiftCertificate> findByFilter(GiftCertificateFilter filter, PageFilter pageFilter);
+
+    void streamAll(int chunkSize, Consumer<List<GiftCertificate>> chunkConsumer);
+
+    List<Long> findTagIds(Long id);
+
+    void streamTagAssociations(int chunkSize, TagAssociationConsumer consumer);
+
+    void streamSearchTexts(int chunkSize, SearchTextConsumer consumer);
 
     @Override
     Long insert(GiftCertificate certificate);
 
     @Override
-    void update(GiftCertificate certificate);
+    boolean update(GiftCertificate certificate);
 
     void insertTags(GiftCertificate certificate);
 
+    void updateTags(GiftCertificate certificate);
+
+    ImportResult importAll(Iterator<GiftCertificate> certificates);
+
     @Override
-    void delete(Long id);
+    boolean delete(Long id);
 }
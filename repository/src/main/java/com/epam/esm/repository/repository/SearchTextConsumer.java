@@ -0,0 +1,9 @@
+package com.epam.esm.repository.repository;
+
+/**
+ * Consumer of the searchable texts of gift certificates, taking the ID without boxing it.
+ */
+@FunctionalInterface
+public interface SearchTextConsumer {
+    void accept(long giftCertificateId, String name, String description);
+}
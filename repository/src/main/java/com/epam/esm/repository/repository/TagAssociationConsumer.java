@@ -0,0 +1,9 @@
+package com.epam.esm.repository.repository;
+
+/**
+ * Consumer of the associations between tags and gift certificates, taking their IDs without boxing them.
+ */
+@FunctionalInterface
+public interface TagAssociationConsumer {
+    void accept(long tagId, long giftCertificateId);
+}
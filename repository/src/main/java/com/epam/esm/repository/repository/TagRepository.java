@@ -3,7 +3,9 @@ package com.epam.esm.repository.repository;
 import com.epam.esm.entity.Tag;
 import com.epam.esm.repository.BaseRepository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface TagRepository extends BaseRepository<Tag> {
@@ -16,9 +18,13 @@ public interface TagRepository extends BaseRepository<Tag> {
     @Override
     Long insert(Tag tag);
 
+    List<Tag> upsertAll(Collection<String> names);
+
+    Map<Long, Long> countCertificates(Collection<Long> tagIds);
+
     @Override
-    void update(Tag tag);
+    boolean update(Tag tag);
 
     @Override
-    void delete(Long id);
+    boolean delete(Long id);
 }
@@ -17,25 +17,99 @@ public class DatabaseQueryConstants {
     public static final String GIFT_CERTIFICATE_DURATION = "duration";
     public static final String GIFT_CERTIFICATE_CREATE_DATE = "create_date";
     public static final String GIFT_CERTIFICATE_LAST_UPDATE_DATE = "last_update_date";
+    public static final String GIFT_CERTIFICATE_TAG_IDS = "tag_ids";
+
+    // tag_gift_certificate table columns
+    public static final String TAG_GIFT_CERTIFICATE_GIFT_CERTIFICATE_ID = "gift_certificate_id";
+    public static final String TAG_GIFT_CERTIFICATE_TAG_ID = "tag_id";
+    public static final String TAG_GIFT_CERTIFICATE_CERTIFICATES = "certificates";
+
+    // catalog_version table columns
+    public static final String CATALOG_VERSION_CHANGES = "changes";
+    public static final String CATALOG_VERSION_LAST_UPDATE_DATE = "last_update_date";
 
     // tag table queries
     public static final String FIND_ALL_TAGS = "SELECT * FROM tag;";
     public static final String FIND_TAG_BY_ID = "SELECT * FROM tag WHERE id = ?;";
     public static final String INSERT_TAG = "INSERT INTO tag (name) VALUES (?) ON CONFLICT DO NOTHING RETURNING id;";
+    // the no-op update returns existing tags too, including those committed concurrently; sorted names lock rows in a fixed order
+    public static final String UPSERT_TAGS = "WITH names AS (SELECT DISTINCT unnest(?::varchar[]) AS name ORDER BY name) INSERT INTO tag (name) SELECT name FROM names ON CONFLICT (name) DO UPDATE SET name = EXCLUDED.name RETURNING id, name;";
     public static final String DELETE_TAG = "DELETE FROM tag WHERE id = ?;";
 
     // gift_certificate table queries
-    public static final String FIND_ALL_GIFT_CERTIFICATES = "SELECT * FROM gift_certificate;";
-    public static final String FIND_GIFT_CERTIFICATE_BY_ID = "SELECT * FROM gift_certificate WHERE id = ?;";
-    public static final String FIND_GIFT_CERTIFICATES_BY_TYPE = "SELECT * FROM gift_certificate WHERE %s LIKE %s;";
-    public static final String FIND_ALL_GIFT_CERTIFICATES_SORT_BY_TYPE_AND_VALUE = "SELECT * FROM gift_certificate ORDER BY %s %s;";
+    public static final String SELECT_GIFT_CERTIFICATES = "SELECT id, name, description, price, duration, create_date, last_update_date FROM gift_certificate";
+    public static final String FIND_ALL_GIFT_CERTIFICATES = SELECT_GIFT_CERTIFICATES + ";";
+    public static final String FIND_ALL_GIFT_CERTIFICATES_ORDER_BY_ID = SELECT_GIFT_CERTIFICATES + " ORDER BY id;";
+    public static final String FIND_GIFT_CERTIFICATES_PAGE = SELECT_GIFT_CERTIFICATES + " WHERE id > ? ORDER BY id LIMIT ?;";
+    public static final String FIND_GIFT_CERTIFICATE_BY_ID = SELECT_GIFT_CERTIFICATES + " WHERE id = ?;";
+    // the tag IDs are sorted, so that the version does not depend on the order the associations were written in
+    public static final String FIND_GIFT_CERTIFICATE_VERSION_BY_ID = "SELECT last_update_date, ARRAY(SELECT tag_id::bigint FROM tag_gift_certificate WHERE gift_certificate_id = c.id ORDER BY tag_id) AS tag_ids FROM gift_certificate c WHERE id = ?;";
+    public static final String FIND_CATALOG_VERSION = "SELECT sum(changes) AS changes, max(last_update_date) AS last_update_date FROM catalog_version;";
+    public static final String FIND_GIFT_CERTIFICATE_TEXTS_PAGE = "SELECT id, name, description FROM gift_certificate WHERE id > ? ORDER BY id LIMIT ?;";
+    public static final String FIND_GIFT_CERTIFICATES_BY_IDS = SELECT_GIFT_CERTIFICATES + " WHERE id = ANY(?) ORDER BY id;";
     public static final String UPDATE_GIFT_CERTIFICATE = "UPDATE gift_certificate SET name = COALESCE(?, name), description = COALESCE(?, description), price = COALESCE(?, price), duration = COALESCE(?, duration), last_update_date = NOW() WHERE id = ?;";
     public static final String INSERT_GIFT_CERTIFICATE = "INSERT INTO gift_certificate (name, description, price, duration, create_date, last_update_date) VALUES (?, ?, ?, ?, NOW(), NOW()) ON CONFLICT DO NOTHING RETURNING id;";
     public static final String DELETE_GIFT_CERTIFICATE = "DELETE FROM gift_certificate WHERE id = ?;";
 
+    // gift certificate import queries, run on one connection; the staging table lives as long as the connection
+    // sorts and hashes of a whole import stay in memory; reset at the end of the transaction
+    public static final String SET_IMPORT_WORK_MEM = "SET LOCAL work_mem = '64MB';";
+    public static final String CREATE_GIFT_CERTIFICATE_IMPORT = "CREATE TEMP TABLE IF NOT EXISTS gift_certificate_import (ordinal BIGINT GENERATED ALWAYS AS IDENTITY, name VARCHAR NOT NULL, description VARCHAR NOT NULL, price DOUBLE PRECISION NOT NULL, duration INTEGER NOT NULL, tags VARCHAR[] NOT NULL);";
+    public static final String TRUNCATE_GIFT_CERTIFICATE_IMPORT = "TRUNCATE gift_certificate_import;";
+    public static final String COPY_GIFT_CERTIFICATE_IMPORT = "COPY gift_certificate_import (name, description, price, duration, tags) FROM STDIN WITH (FORMAT csv)";
+    public static final String ANALYZE_GIFT_CERTIFICATE_IMPORT = "ANALYZE gift_certificate_import;";
+    // sorted names lock rows in a fixed order, like the tag upsert
+    public static final String INSERT_IMPORTED_TAGS = "INSERT INTO tag (name) SELECT DISTINCT unnest(tags) FROM gift_certificate_import ORDER BY 1 ON CONFLICT (name) DO NOTHING RETURNING id, name;";
+    // IDs are drawn in input order before the certificates and their tag associations are inserted by one statement;
+    // the tag names of a row are distinct
+    public static final String INSERT_IMPORTED_GIFT_CERTIFICATES = "WITH imported AS MATERIALIZED (SELECT nextval(pg_get_serial_sequence('gift_certificate', 'id')) AS id, name, description, price, duration, tags FROM gift_certificate_import ORDER BY ordinal), certificates AS (INSERT INTO gift_certificate (id, name, description, price, duration, create_date, last_update_date) SELECT id, name, description, price, duration, NOW(), NOW() FROM imported) INSERT INTO tag_gift_certificate (gift_certificate_id, tag_id) SELECT i.id, t.id FROM imported i CROSS JOIN LATERAL unnest(i.tags) AS n(name) INNER JOIN tag t ON t.name = n.name;";
+    // the row triggers checking the foreign keys of the associations can only be skipped by a superuser
+    public static final String FIND_IMPORT_SUPERUSER = "SELECT current_setting('is_superuser') = 'on';";
+    // the lock the foreign key checks would take on every associated tag, taken once per tag, so that a tag cannot be
+    // deleted before the associations made with it commit
+    public static final String LOCK_IMPORTED_TAGS = "SELECT id FROM tag WHERE name IN (SELECT unnest(tags) FROM gift_certificate_import) ORDER BY id FOR KEY SHARE;";
+    // skips the row triggers, foreign key checks included, and the statement triggers counting catalog changes;
+    // reset at the end of the transaction
+    public static final String SKIP_IMPORT_TRIGGERS = "SET LOCAL session_replication_role = replica;";
+    public static final String RESTORE_IMPORT_TRIGGERS = "SET LOCAL session_replication_role = DEFAULT;";
+    // the change the skipped triggers of the catalog_version table would have counted
+    public static final String COUNT_IMPORT_CATALOG_CHANGE = "UPDATE catalog_version SET changes = changes + 1, last_update_date = clock_timestamp() WHERE slot = pg_backend_pid() % 64;";
+
     // tag_gift_certificate table queries
-    public static final String INSERT_TAG_TO_GIFT_CERTIFICATE = "INSERT INTO tag_gift_certificate (gift_certificate_id, tag_id) VALUES (?, ?);";
-    public static final String DELETE_ALL_GIFT_CERTIFICATE_TAGS = "DELETE FROM tag_gift_certificate WHERE gift_certificate_id = ?;";
+    public static final String INSERT_TAGS_TO_GIFT_CERTIFICATE = "INSERT INTO tag_gift_certificate (gift_certificate_id, tag_id) SELECT ?, unnest(?) ON CONFLICT DO NOTHING;";
+    public static final String DELETE_GIFT_CERTIFICATE_TAGS_EXCEPT = "DELETE FROM tag_gift_certificate WHERE gift_certificate_id = ? AND tag_id <> ALL(?);";
+    public static final String FIND_GIFT_CERTIFICATE_TAG_IDS = "SELECT tag_id FROM tag_gift_certificate WHERE gift_certificate_id = ?;";
+    public static final String COUNT_TAG_GIFT_CERTIFICATES = "SELECT tag_id, count(*) AS certificates FROM tag_gift_certificate WHERE tag_id = ANY(?) GROUP BY tag_id;";
+    // a chunk of the associations after the given one, read in the order of the (tag_id, gift_certificate_id) index
+    public static final String FIND_TAG_GIFT_CERTIFICATES_PAGE = "SELECT tag_id, gift_certificate_id FROM tag_gift_certificate WHERE (tag_id, gift_certificate_id) > (?, ?) ORDER BY tag_id, gift_certificate_id LIMIT ?;";
     public static final String FIND_ALL_GIFT_CERTIFICATE_TAGS = "SELECT * FROM tag_gift_certificate INNER JOIN tag t ON t.id = tag_gift_certificate.tag_id WHERE gift_certificate_id = ?";
-    public static final String FIND_GIFT_CERTIFICATES_BY_TAG = "SELECT c.id, c.name, description, price, duration, create_date, last_update_date FROM gift_certificate c INNER JOIN tag_gift_certificate ct ON c.id = ct.gift_certificate_id INNER JOIN tag t ON t.id = ct.tag_id WHERE t.name = ?;";
+    public static final String FIND_ALL_GIFT_CERTIFICATES_TAGS = "SELECT tgc.gift_certificate_id, t.id, t.name FROM tag_gift_certificate tgc INNER JOIN tag t ON t.id = tgc.tag_id WHERE tgc.gift_certificate_id = ANY(?);";
+    public static final String FIND_GIFT_CERTIFICATES_BY_TAG = "SELECT c.id, c.name, description, price, duration, create_date, last_update_date FROM gift_certificate c INNER JOIN tag_gift_certificate ct ON c.id = ct.gift_certificate_id INNER JOIN tag t ON t.id = ct.tag_id WHERE t.name = ? AND c.id > ? ORDER BY c.id LIMIT ?;";
+    // number of certificate IDs after the previous page in which the associations of every included tag are counted
+    // to pick the rarest one as the driving tag: enough IDs to tell a rare tag from a popular one, few enough to count
+    // them in a short index range whatever the number of certificates of the tag
+    private static final int DRIVING_TAG_WINDOW = 1000;
+    // parameters: the included tag names
+    private static final String INCLUDED_TAGS = "included AS MATERIALIZED (SELECT id FROM tag WHERE name = ANY(?))";
+    // parameters: the ID after which the page starts, twice
+    private static final String DRIVING_TAG = "driving AS (SELECT i.id FROM included i ORDER BY (SELECT count(*)"
+            + " FROM tag_gift_certificate s WHERE s.tag_id = i.id AND s.gift_certificate_id > ?"
+            + " AND s.gift_certificate_id <= ? + " + DRIVING_TAG_WINDOW + ") LIMIT 1)";
+    // parameters: the ID after which the page starts, the number of included tags a certificate must have,
+    // the excluded tag names and the page size
+    private static final String DRIVING_TAG_CERTIFICATES = "SELECT ct.gift_certificate_id FROM tag_gift_certificate ct"
+            + " WHERE ct.tag_id = (SELECT id FROM driving) AND ct.gift_certificate_id > ?"
+            + " AND (SELECT count(*) FROM tag_gift_certificate a WHERE a.gift_certificate_id = ct.gift_certificate_id"
+            + " AND a.tag_id = ANY(ARRAY(SELECT id FROM included))) >= ?"
+            + " AND NOT EXISTS (SELECT 1 FROM tag_gift_certificate e"
+            + " WHERE e.gift_certificate_id = ct.gift_certificate_id"
+            + " AND e.tag_id = ANY(ARRAY(SELECT id FROM tag WHERE name = ANY(?))))"
+            + " ORDER BY ct.gift_certificate_id LIMIT ?";
+    // certificates having at least the given number of the included tags, read in ID order through the
+    // (tag_id, gift_certificate_id) index range of the driving tag; parameters: those of the parts in their order,
+    // then the page size again
+    public static final String FIND_GIFT_CERTIFICATES_BY_ALL_TAGS = "WITH " + INCLUDED_TAGS + ", " + DRIVING_TAG + " "
+            + SELECT_GIFT_CERTIFICATES + " c WHERE c.id IN (" + DRIVING_TAG_CERTIFICATES + ") ORDER BY c.id LIMIT ?;";
+    public static final String FIND_GIFT_CERTIFICATES_BY_ANY_TAG = SELECT_GIFT_CERTIFICATES + " c WHERE c.id IN (SELECT m.gift_certificate_id FROM tag t CROSS JOIN LATERAL (SELECT ct.gift_certificate_id FROM tag_gift_certificate ct WHERE ct.tag_id = t.id AND ct.gift_certificate_id > ? AND NOT EXISTS (SELECT 1 FROM tag_gift_certificate e WHERE e.gift_certificate_id = ct.gift_certificate_id AND e.tag_id = ANY(ARRAY(SELECT id FROM tag WHERE name = ANY(?)))) ORDER BY ct.gift_certificate_id LIMIT ?) m WHERE t.name = ANY(?)) ORDER BY c.id LIMIT ?;";
+    public static final String FIND_GIFT_CERTIFICATES_WITHOUT_TAGS = SELECT_GIFT_CERTIFICATES + " c WHERE c.id > ? AND NOT EXISTS (SELECT 1 FROM tag_gift_certificate e WHERE e.gift_certificate_id = c.id AND e.tag_id = ANY(ARRAY(SELECT id FROM tag WHERE name = ANY(?)))) ORDER BY c.id LIMIT ?;";
 }
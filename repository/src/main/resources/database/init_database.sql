@@ -1,7 +1,11 @@
+-- Trigram operator classes backing substring search
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
 -- Drop tables if they exist
 DROP TABLE IF EXISTS tag;
 DROP TABLE IF EXISTS gift_certificate;
 DROP TABLE IF EXISTS tag_gift_certificate;
+DROP TABLE IF EXISTS catalog_version;
 
 -- Create the gift_certificate table
 CREATE TABLE gift_certificate (
@@ -10,10 +14,26 @@ CREATE TABLE gift_certificate (
                                   description          VARCHAR NOT NULL,
                                   price                DOUBLE PRECISION NOT NULL,
                                   duration             INTEGER NOT NULL,
-                                  create_date          TIMESTAMP,
-                                  last_update_date     TIMESTAMP
+                                  create_date          TIMESTAMP NOT NULL,
+                                  last_update_date     TIMESTAMP NOT NULL,
+                                  search_vector        TSVECTOR GENERATED ALWAYS AS (
+                                      setweight(to_tsvector('english', name), 'A') ||
+                                      setweight(to_tsvector('english', description), 'B')
+                                  ) STORED
 );
 
+-- Indexes backing keyset pagination of sorted certificate queries
+CREATE INDEX gift_certificate_name_id_idx ON gift_certificate (name, id);
+CREATE INDEX gift_certificate_create_date_id_idx ON gift_certificate (create_date, id);
+CREATE INDEX gift_certificate_last_update_date_id_idx ON gift_certificate (last_update_date, id);
+
+-- Trigram indexes serving LIKE and ILIKE searches with leading wildcards
+CREATE INDEX gift_certificate_name_trgm_idx ON gift_certificate USING GIN (name gin_trgm_ops);
+CREATE INDEX gift_certificate_description_trgm_idx ON gift_certificate USING GIN (description gin_trgm_ops);
+
+-- Full-text index over name and description
+CREATE INDEX gift_certificate_search_vector_idx ON gift_certificate USING GIN (search_vector);
+
 -- Create the tag table
 CREATE TABLE tag (
                      id                  SERIAL PRIMARY KEY,
@@ -23,5 +43,33 @@ CREATE TABLE tag (
 -- Create the join table for gift_certificate and tag
 CREATE TABLE tag_gift_certificate (
                                       gift_certificate_id  INTEGER NOT NULL REFERENCES gift_certificate(id) ON UPDATE CASCADE ON DELETE CASCADE,
-                                      tag_id              INTEGER NOT NULL REFERENCES tag(id) ON UPDATE CASCADE ON DELETE CASCADE
+                                      tag_id              INTEGER NOT NULL REFERENCES tag(id) ON UPDATE CASCADE ON DELETE CASCADE,
+                                      -- also used to load the tags of certificates by their IDs
+                                      PRIMARY KEY (gift_certificate_id, tag_id)
+);
+
+-- finds the certificates of tags in ID order, and the associations to remove when a tag is deleted
+CREATE INDEX tag_gift_certificate_tag_id_gift_certificate_id_idx ON tag_gift_certificate (tag_id, gift_certificate_id);
+
+-- Version of the certificates as they are listed. Every statement writing certificates or their tags counts a change
+-- in the slot of its connection, so that concurrent writers rarely wait for each other; the version is the sum
+CREATE TABLE catalog_version (
+                                 slot                INTEGER PRIMARY KEY,
+                                 changes             BIGINT NOT NULL,
+                                 last_update_date    TIMESTAMP NOT NULL
 );
+
+INSERT INTO catalog_version (slot, changes, last_update_date)
+SELECT slot, 0, CURRENT_TIMESTAMP FROM generate_series(0, 63) AS slot;
+
+CREATE OR REPLACE FUNCTION count_catalog_change() RETURNS TRIGGER LANGUAGE plpgsql AS '
+    BEGIN
+        UPDATE catalog_version SET changes = changes + 1, last_update_date = clock_timestamp() WHERE slot = pg_backend_pid() % 64;
+        RETURN NULL;
+    END
+';
+
+CREATE TRIGGER gift_certificate_catalog_version AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON gift_certificate
+    FOR EACH STATEMENT EXECUTE FUNCTION count_catalog_change();
+CREATE TRIGGER tag_gift_certificate_catalog_version AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON tag_gift_certificate
+    FOR EACH STATEMENT EXECUTE FUNCTION count_catalog_change();
@@ -0,0 +1,45 @@
+package com.epam.esm.benchmark;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Seeds a synthetic catalog for benchmarks directly in the database with set-based SQL.
+ * Every call replaces the whole catalog, so benchmarks must not share data with the integration tests.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class BenchmarkCatalog {
+
+    private static final String TRUNCATE_CATALOG =
+            "TRUNCATE tag_gift_certificate, gift_certificate, tag RESTART IDENTITY CASCADE;";
+    private static final String INSERT_TAGS =
+            "INSERT INTO tag (name) SELECT 'benchmark-tag-' || g FROM generate_series(1, ?) g;";
+    private static final String INSERT_GIFT_CERTIFICATES =
+            "INSERT INTO gift_certificate (name, description, price, duration, create_date, last_update_date) " +
+            "SELECT 'Certificate ' || g, 'Benchmark certificate number ' || g, 10 + g % 490, 1 + g % 365, " +
+            "NOW() - g * INTERVAL '1 minute', NOW() - g * INTERVAL '1 second' FROM generate_series(1, ?) g;";
+    private static final String INSERT_TAG_GIFT_CERTIFICATES =
+            "INSERT INTO tag_gift_certificate (gift_certificate_id, tag_id) " +
+            "SELECT c, 1 + (c * 7 + t * ?) % ? FROM generate_series(1, ?) c, generate_series(1, ?) t;";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Replaces the catalog with the given number of certificates and tags.
+     *
+     * @param certificates       Number of certificates to create.
+     * @param tags               Number of tags to create.
+     * @param tagsPerCertificate Number of distinct tags assigned to every certificate (must not exceed tags).
+     */
+    public void seed(int certificates, int tags, int tagsPerCertificate) {
+        log.info("Seeding benchmark catalog with {} certificates and {} tags...", certificates, tags);
+        jdbcTemplate.execute(TRUNCATE_CATALOG);
+        jdbcTemplate.update(INSERT_TAGS, tags);
+        jdbcTemplate.update(INSERT_GIFT_CERTIFICATES, certificates);
+        // spreading the tags of one certificate by a fixed step keeps them distinct
+        jdbcTemplate.update(INSERT_TAG_GIFT_CERTIFICATES, tags / tagsPerCertificate, tags, certificates, tagsPerCertificate);
+        jdbcTemplate.execute("ANALYZE;");
+    }
+}
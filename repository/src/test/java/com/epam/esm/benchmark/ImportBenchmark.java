@@ -0,0 +1,107 @@
+package com.epam.esm.benchmark;
+
+import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.entity.ImportResult;
+import com.epam.esm.entity.Tag;
+import com.epam.esm.repository.impl.AbstractIntegrationTest;
+import com.epam.esm.repository.impl.GiftCertificateRepositoryImpl;
+import com.epam.esm.repository.repository.GiftCertificateRepository;
+import com.epam.esm.util.mapper.GiftCertificateRowMapper;
+import com.epam.esm.util.mapper.TagRowMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Measures the bulk import of certificates through COPY and the set-based merge, in one transaction per import.
+ * A tenth of the tags of every import are new, the others exist already.
+ * Run with {@code gradle :repository:benchmark}.
+ */
+@Slf4j
+@org.junit.jupiter.api.Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ImportBenchmark extends AbstractIntegrationTest {
+
+    private static final int CERTIFICATES = 10_000;
+    private static final int TAGS = 10_000;
+    private static final int TAGS_PER_CERTIFICATE = 3;
+    private static final int ROUNDS = 3;
+
+    private BasicDataSource dataSource;
+    private TransactionTemplate transactionTemplate;
+    private GiftCertificateRepository giftCertificateRepository;
+
+    @BeforeAll
+    void setUp() {
+        dataSource = new BasicDataSource();
+        dataSource.setUrl(System.getProperty("db.url"));
+        dataSource.setUsername(System.getProperty("db.username"));
+        dataSource.setPassword(System.getProperty("db.password"));
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        giftCertificateRepository = new GiftCertificateRepositoryImpl(jdbcTemplate, new TagRowMapper(), new GiftCertificateRowMapper());
+        new BenchmarkCatalog(jdbcTemplate).seed(CERTIFICATES, TAGS, TAGS_PER_CERTIFICATE);
+    }
+
+    @AfterAll
+    void tearDown() throws SQLException {
+        dataSource.close();
+    }
+
+    @ParameterizedTest(name = "{0} certificates per import")
+    @ValueSource(ints = {10_000, 100_000})
+    void importTest(int certificates) {
+        importCertificates("warm-up-" + certificates, certificates);
+        long millis = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            millis += importCertificates("round-" + round + "-" + certificates, certificates);
+        }
+        log.info("{} imports of {} certificates: {} ms per import, {} certificates per second",
+                ROUNDS, certificates, millis / ROUNDS, (long) ROUNDS * certificates * 1000 / Math.max(millis, 1));
+    }
+
+    private long importCertificates(String prefix, int certificates) {
+        long start = System.nanoTime();
+        ImportResult result = transactionTemplate.execute(status ->
+                giftCertificateRepository.importAll(certificates(prefix, certificates)));
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        assertEquals(certificates, result.getImported());
+        return millis;
+    }
+
+    private static Iterator<GiftCertificate> certificates(String prefix, int count) {
+        return IntStream.range(0, count).mapToObj(i -> GiftCertificate.builder()
+                .name("Imported " + i)
+                .description("Certificate " + i + " of import " + prefix)
+                .price(10.0 + i % 490)
+                .duration(1 + i % 365)
+                .tags(tags(prefix, i))
+                .build()).iterator();
+    }
+
+    private static Set<Tag> tags(String prefix, int i) {
+        return IntStream.range(0, TAGS_PER_CERTIFICATE)
+                .mapToObj(t -> {
+                    int tag = (i * 7 + t * 997) % TAGS;
+                    // every tenth tag is new to the import
+                    String name = tag % 10 == 0 ? prefix + "-tag-" + tag : "benchmark-tag-" + (tag + 1);
+                    return Tag.builder().name(name).build();
+                })
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,113 @@
+package com.epam.esm.benchmark;
+
+import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.entity.filter.search.SearchPlace;
+import com.epam.esm.entity.filter.search.SearchType;
+import com.epam.esm.repository.GiftCertificateQueryBuilder;
+import com.epam.esm.repository.impl.AbstractIntegrationTest;
+import com.epam.esm.util.mapper.GiftCertificateRowMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares search queries with the search value inlined into the statement text, as the repository built them
+ * with {@code String.format}, against the parameterized statements of {@link GiftCertificateQueryBuilder}.
+ * Every query searches for a different term, so the inlined variant never repeats a statement text.
+ * Run with {@code gradle :repository:benchmark}.
+ */
+@Slf4j
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SearchQueryBenchmark extends AbstractIntegrationTest {
+
+    private static final int CERTIFICATES = 10_000;
+    private static final int TAGS = 100;
+    private static final int TAGS_PER_CERTIFICATE = 3;
+    private static final int PAGE_SIZE = 21;
+    private static final int WARM_UP_TERMS = 500;
+    private static final String INLINED_SEARCH =
+            "SELECT * FROM gift_certificate WHERE name LIKE '%s' AND id > ? ORDER BY id LIMIT ?;";
+    private static final String COUNT_PREPARED_STATEMENTS = "SELECT count(*) FROM pg_prepared_statements;";
+
+    private BasicDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private GiftCertificateRowMapper giftCertificateRowMapper;
+
+    @BeforeAll
+    void setUp() {
+        dataSource = new BasicDataSource();
+        dataSource.setUrl(System.getProperty("db.url"));
+        dataSource.setUsername(System.getProperty("db.username"));
+        dataSource.setPassword(System.getProperty("db.password"));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        giftCertificateRowMapper = new GiftCertificateRowMapper();
+        new BenchmarkCatalog(jdbcTemplate).seed(CERTIFICATES, TAGS, TAGS_PER_CERTIFICATE);
+    }
+
+    @AfterAll
+    void tearDown() throws SQLException {
+        dataSource.close();
+    }
+
+    @ParameterizedTest(name = "{0} distinct terms")
+    @ValueSource(ints = {1_000, 10_000})
+    void searchTest(int terms) {
+        List<String> searchValues = new Random(terms).ints(terms, 1, CERTIFICATES + 1)
+                .mapToObj(number -> "Certificate " + number)
+                .toList();
+
+        Function<String, List<GiftCertificate>> inlinedSearch = searchValue -> jdbcTemplate.query(
+                String.format(INLINED_SEARCH, SearchPlace.STARTS_WITH.getFormattedValue(searchValue)),
+                giftCertificateRowMapper, 0, PAGE_SIZE);
+        Function<String, List<GiftCertificate>> parameterizedSearch = searchValue -> jdbcTemplate.query(
+                GiftCertificateQueryBuilder.search(SearchType.TITLE, false),
+                giftCertificateRowMapper, SearchPlace.STARTS_WITH.getFormattedValue(searchValue), 0, PAGE_SIZE);
+        measure(searchValues.subList(0, WARM_UP_TERMS), inlinedSearch);
+        measure(searchValues.subList(0, WARM_UP_TERMS), parameterizedSearch);
+
+        Result inlined = measure(searchValues, inlinedSearch);
+        Result parameterized = measure(searchValues, parameterizedSearch);
+
+        log.info("search, {} distinct terms: inlined {} ms ({} server-side statements); parameterized {} ms ({} server-side statements)",
+                terms, inlined.millis(), inlined.preparedStatements(), parameterized.millis(), parameterized.preparedStatements());
+        assertEquals(inlined.rows(), parameterized.rows());
+    }
+
+    /**
+     * Runs one search per value on a single connection and returns the total latency,
+     * the number of returned rows and the number of statements the server keeps prepared for the connection.
+     */
+    private Result measure(List<String> searchValues, Function<String, List<GiftCertificate>> search) {
+        return transactionTemplate.execute(status -> {
+            long rows = 0;
+            long start = System.nanoTime();
+            for (String searchValue : searchValues) {
+                rows += search.apply(searchValue).size();
+            }
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            Long preparedStatements = jdbcTemplate.queryForObject(COUNT_PREPARED_STATEMENTS, Long.class);
+            return new Result(rows, millis, preparedStatements == null ? 0 : preparedStatements);
+        });
+    }
+
+    private record Result(long rows, long millis, long preparedStatements) {
+    }
+}
@@ -0,0 +1,104 @@
+package com.epam.esm.benchmark;
+
+import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.repository.impl.AbstractIntegrationTest;
+import com.epam.esm.repository.impl.GiftCertificateRepositoryImpl;
+import com.epam.esm.repository.repository.GiftCertificateRepository;
+import com.epam.esm.util.mapper.GiftCertificateRowMapper;
+import com.epam.esm.util.mapper.TagRowMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the heap retained while exporting the whole catalog with {@link GiftCertificateRepository#findAll()}
+ * against {@link GiftCertificateRepository#streamAll(int, java.util.function.Consumer)}.
+ * Run with {@code gradle :repository:benchmark}.
+ */
+@Slf4j
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class StreamingExportBenchmark extends AbstractIntegrationTest {
+
+    private static final int TAGS = 100;
+    private static final int TAGS_PER_CERTIFICATE = 3;
+    private static final int CHUNK_SIZE = 500;
+    // sampling the heap after every chunk would make the run dominated by garbage collections
+    private static final int CHUNKS_PER_SAMPLE = 20;
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    private BasicDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private GiftCertificateRepository giftCertificateRepository;
+
+    @BeforeAll
+    void setUp() {
+        dataSource = new BasicDataSource();
+        dataSource.setUrl(System.getProperty("db.url"));
+        dataSource.setUsername(System.getProperty("db.username"));
+        dataSource.setPassword(System.getProperty("db.password"));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        giftCertificateRepository = new GiftCertificateRepositoryImpl(jdbcTemplate, new TagRowMapper(), new GiftCertificateRowMapper());
+    }
+
+    @AfterAll
+    void tearDown() throws SQLException {
+        dataSource.close();
+    }
+
+    @ParameterizedTest(name = "{0} certificates")
+    @ValueSource(ints = {50_000, 100_000, 200_000})
+    void exportTest(int certificates) {
+        new BenchmarkCatalog(jdbcTemplate).seed(certificates, TAGS, TAGS_PER_CERTIFICATE);
+
+        long baseline = retainedHeap();
+        long materialized = transactionTemplate.execute(status -> {
+            List<GiftCertificate> giftCertificates = giftCertificateRepository.findAll();
+            long retained = retainedHeap();
+            assertEquals(certificates, giftCertificates.size());
+            return retained;
+        }) - baseline;
+
+        AtomicLong rows = new AtomicLong();
+        AtomicLong chunks = new AtomicLong();
+        AtomicLong peak = new AtomicLong();
+        transactionTemplate.executeWithoutResult(status -> giftCertificateRepository.streamAll(CHUNK_SIZE, chunk -> {
+            rows.addAndGet(chunk.size());
+            if (chunks.incrementAndGet() % CHUNKS_PER_SAMPLE == 0) {
+                peak.accumulateAndGet(retainedHeap(), Math::max);
+            }
+        }));
+        long streamed = peak.get() - baseline;
+
+        log.info("export, {} certificates: findAll retains {} KB, streamAll retains at most {} KB",
+                certificates, materialized / 1024, streamed / 1024);
+        assertEquals(certificates, rows.get());
+    }
+
+    /**
+     * Returns the heap still in use after a full garbage collection.
+     */
+    private long retainedHeap() {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
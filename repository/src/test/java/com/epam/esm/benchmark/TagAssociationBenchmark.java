@@ -0,0 +1,137 @@
+package com.epam.esm.benchmark;
+
+import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.entity.Tag;
+import com.epam.esm.repository.impl.AbstractIntegrationTest;
+import com.epam.esm.repository.impl.GiftCertificateRepositoryImpl;
+import com.epam.esm.repository.impl.TagRepositoryImpl;
+import com.epam.esm.repository.repository.GiftCertificateRepository;
+import com.epam.esm.repository.repository.TagRepository;
+import com.epam.esm.util.mapper.GiftCertificateRowMapper;
+import com.epam.esm.util.mapper.TagRowMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.BiConsumer;
+import java.util.stream.IntStream;
+
+import static com.epam.esm.util.DatabaseQueryConstants.FIND_ALL_GIFT_CERTIFICATE_TAGS;
+import static com.epam.esm.util.DatabaseQueryConstants.INSERT_TAG;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares writing the new tags of certificates one statement per tag, as the service and repository did
+ * (one tag insert and one association insert per tag, then a re-read of the tags),
+ * against the set-based statements inserting all tags and all associations of a certificate at once.
+ * Every certificate is written in its own transaction with tags that do not exist yet.
+ * Run with {@code gradle :repository:benchmark}.
+ */
+@Slf4j
+@org.junit.jupiter.api.Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TagAssociationBenchmark extends AbstractIntegrationTest {
+
+    private static final int CERTIFICATES = 1_000;
+    // enough tags for the planner to check the tag foreign keys by index as the tag table grows
+    private static final int TAGS = 10_000;
+    private static final int TAGS_PER_CERTIFICATE = 3;
+    private static final int ROUNDS = 5;
+    private static final int WRITES_PER_ROUND = 100;
+    // commits are not flushed, so that the latency is the one of the statements rather than of the disk
+    private static final String ASYNCHRONOUS_COMMIT = "SET synchronous_commit = off";
+    private static final String INSERT_TAG_TO_GIFT_CERTIFICATE =
+            "INSERT INTO tag_gift_certificate (gift_certificate_id, tag_id) VALUES (?, ?);";
+    private static final String COUNT_ASSOCIATIONS = "SELECT count(*) FROM tag_gift_certificate;";
+
+    private BasicDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private TagRowMapper tagRowMapper;
+    private TagRepository tagRepository;
+    private GiftCertificateRepository giftCertificateRepository;
+
+    @BeforeAll
+    void setUp() {
+        dataSource = new BasicDataSource();
+        dataSource.setUrl(System.getProperty("db.url"));
+        dataSource.setUsername(System.getProperty("db.username"));
+        dataSource.setPassword(System.getProperty("db.password"));
+        dataSource.setConnectionInitSqls(List.of(ASYNCHRONOUS_COMMIT));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        tagRowMapper = new TagRowMapper();
+        tagRepository = new TagRepositoryImpl(jdbcTemplate, tagRowMapper);
+        giftCertificateRepository = new GiftCertificateRepositoryImpl(jdbcTemplate, tagRowMapper, new GiftCertificateRowMapper());
+        new BenchmarkCatalog(jdbcTemplate).seed(CERTIFICATES, TAGS, TAGS_PER_CERTIFICATE);
+    }
+
+    @AfterAll
+    void tearDown() throws SQLException {
+        dataSource.close();
+    }
+
+    @ParameterizedTest(name = "{0} tags per certificate")
+    @ValueSource(ints = {5, 20})
+    void insertTagsTest(int tagsPerCertificate) {
+        BiConsumer<Long, List<String>> perTag = (id, names) -> {
+            Set<Tag> tags = new HashSet<>();
+            names.forEach(name -> tags.add(Tag.builder()
+                    .id(jdbcTemplate.queryForObject(INSERT_TAG, Long.class, name))
+                    .name(name)
+                    .build()));
+            tags.forEach(tag -> jdbcTemplate.update(INSERT_TAG_TO_GIFT_CERTIFICATE, id, tag.getId()));
+            new TreeSet<>(jdbcTemplate.query(FIND_ALL_GIFT_CERTIFICATE_TAGS, tagRowMapper, id));
+        };
+        BiConsumer<Long, List<String>> setBased = (id, names) -> giftCertificateRepository.insertTags(
+                GiftCertificate.builder().id(id).tags(new HashSet<>(tagRepository.upsertAll(names))).build());
+
+        long warmUpId = (long) ROUNDS * WRITES_PER_ROUND + 1;
+        measure("warm-up-per-tag-" + tagsPerCertificate, warmUpId, tagsPerCertificate, perTag);
+        measure("warm-up-set-based-" + tagsPerCertificate, warmUpId, tagsPerCertificate, setBased);
+
+        // the variants alternate in rounds, so that both see the tables growing alike
+        long perTagMillis = 0;
+        long setBasedMillis = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long firstId = (long) round * WRITES_PER_ROUND + 1;
+            perTagMillis += measure("per-tag-" + tagsPerCertificate, firstId, tagsPerCertificate, perTag);
+            setBasedMillis += measure("set-based-" + tagsPerCertificate, firstId, tagsPerCertificate, setBased);
+        }
+
+        log.info("{} writes of {} new tags: per tag {} ms ({} statements each); set-based {} ms (2 statements each)",
+                ROUNDS * WRITES_PER_ROUND, tagsPerCertificate, perTagMillis, 2 * tagsPerCertificate + 1, setBasedMillis);
+    }
+
+    /**
+     * Writes new tags for a round of certificates, one transaction per certificate, and returns the total latency.
+     * The tag names are prefixed so that every variant inserts tags of its own.
+     */
+    private long measure(String prefix, long firstId, int tagsPerCertificate, BiConsumer<Long, List<String>> insertTags) {
+        Long associationsBefore = jdbcTemplate.queryForObject(COUNT_ASSOCIATIONS, Long.class);
+        long start = System.nanoTime();
+        for (long id = firstId; id < firstId + WRITES_PER_ROUND; id++) {
+            long certificateId = id;
+            List<String> names = IntStream.range(0, tagsPerCertificate)
+                    .mapToObj(tag -> prefix + "-" + certificateId + "-" + tag)
+                    .toList();
+            transactionTemplate.executeWithoutResult(status -> insertTags.accept(certificateId, names));
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        Long associationsAfter = jdbcTemplate.queryForObject(COUNT_ASSOCIATIONS, Long.class);
+        assertEquals((long) WRITES_PER_ROUND * tagsPerCertificate, associationsAfter - associationsBefore);
+        return millis;
+    }
+}
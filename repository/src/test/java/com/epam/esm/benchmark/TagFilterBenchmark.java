@@ -0,0 +1,173 @@
+package com.epam.esm.benchmark;
+
+import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.entity.filter.page.PageFilter;
+import com.epam.esm.entity.filter.tag.TagFilter;
+import com.epam.esm.entity.filter.tag.TagMatch;
+import com.epam.esm.generator.CatalogGenerator;
+import com.epam.esm.generator.CatalogLoader;
+import com.epam.esm.generator.CatalogSettings;
+import com.epam.esm.repository.impl.AbstractIntegrationTest;
+import com.epam.esm.repository.impl.GiftCertificateRepositoryImpl;
+import com.epam.esm.repository.repository.GiftCertificateRepository;
+import com.epam.esm.util.mapper.GiftCertificateRowMapper;
+import com.epam.esm.util.mapper.TagRowMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares ways of finding the certificates having all or any of several tags and none of others on a catalog
+ * whose tag popularity follows a Zipf distribution, so that the most popular tags have a high fan-out:
+ * the repository query reading the certificates of the tags in ID order from the (tag_id, gift_certificate_id)
+ * index, the same query without that index, a count of the matching associations grouped by certificate,
+ * a probe of the associations of every certificate in ID order, and the array containment of the aggregated
+ * tag IDs of every certificate.
+ * Every variant reads the first page and a page from the middle of the ID range.
+ * Run with {@code gradle :repository:benchmark}.
+ */
+@Slf4j
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TagFilterBenchmark extends AbstractIntegrationTest {
+
+    private static final CatalogSettings CATALOG = new CatalogSettings(200_000, 1_000, 8, 1.0, 42);
+    private static final int PAGE_SIZE = 21;
+    private static final int QUERIES = 20;
+    private static final String DROP_TAG_INDEX = "DROP INDEX tag_gift_certificate_tag_id_gift_certificate_id_idx;";
+    private static final String EXCLUDED_CONDITION = " AND NOT EXISTS (SELECT 1 FROM tag_gift_certificate e"
+            + " WHERE e.gift_certificate_id = c.id AND e.tag_id = ANY(ARRAY(SELECT id FROM tag WHERE name = ANY(?))))";
+    private static final String GROUPED = "SELECT c.id FROM gift_certificate c WHERE c.id > ?"
+            + " AND c.id IN (SELECT ct.gift_certificate_id FROM tag_gift_certificate ct"
+            + " WHERE ct.tag_id = ANY(ARRAY(SELECT id FROM tag WHERE name = ANY(?)))"
+            + " GROUP BY ct.gift_certificate_id HAVING count(*) >= ?)"
+            + EXCLUDED_CONDITION + " ORDER BY c.id LIMIT ?;";
+    private static final String PROBE = "SELECT c.id FROM gift_certificate c WHERE c.id > ?"
+            + " AND (SELECT count(*) FROM tag_gift_certificate ct WHERE ct.gift_certificate_id = c.id"
+            + " AND ct.tag_id = ANY(ARRAY(SELECT id FROM tag WHERE name = ANY(?)))) >= ?"
+            + EXCLUDED_CONDITION + " ORDER BY c.id LIMIT ?;";
+    private static final String CONTAINMENT = "SELECT c.id FROM gift_certificate c WHERE c.id > ?"
+            + " AND (SELECT array_agg(ct.tag_id) FROM tag_gift_certificate ct WHERE ct.gift_certificate_id = c.id)"
+            + " %s ARRAY(SELECT id FROM tag WHERE name = ANY(?)) AND ? > 0"
+            + EXCLUDED_CONDITION + " ORDER BY c.id LIMIT ?;";
+
+    private BasicDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private GiftCertificateRepository giftCertificateRepository;
+    private CatalogGenerator generator;
+
+    @BeforeAll
+    void setUp() throws SQLException, IOException {
+        dataSource = new BasicDataSource();
+        dataSource.setUrl(System.getProperty("db.url"));
+        dataSource.setUsername(System.getProperty("db.username"));
+        dataSource.setPassword(System.getProperty("db.password"));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        giftCertificateRepository = new GiftCertificateRepositoryImpl(jdbcTemplate, new TagRowMapper(), new GiftCertificateRowMapper());
+        generator = new CatalogGenerator(CATALOG);
+        new CatalogLoader(generator).load(dataSource);
+    }
+
+    @AfterAll
+    void tearDown() throws SQLException {
+        dataSource.close();
+    }
+
+    /**
+     * @param match    ALL or ANY.
+     * @param included Popularity ranks of the included tags, 1 being the most popular.
+     * @param excluded Popularity ranks of the excluded tags.
+     */
+    @ParameterizedTest(name = "{0} of {1} excluding {2}")
+    @CsvSource(delimiter = ';', value = {
+            "ALL; 1 2; 3",
+            "ALL; 1 2 3 4 5; ''",
+            "ALL; 1 500; ''",
+            "ANY; 1 2; 3",
+            "ANY; 400 500; ''"})
+    void findByTagsTest(TagMatch match, String included, String excluded) {
+        TagFilter tagFilter = TagFilter.builder()
+                .includedTags(tagNames(included))
+                .excludedTags(tagNames(excluded))
+                .tagMatch(match)
+                .build();
+        Map<String, BiFunction<TagFilter, Long, List<Long>>> variants = new LinkedHashMap<>();
+        variants.put("index range", this::findByTags);
+        variants.put("without index", (filter, lastId) -> transactionTemplate.execute(status -> {
+            jdbcTemplate.execute(DROP_TAG_INDEX);
+            List<Long> ids = findByTags(filter, lastId);
+            status.setRollbackOnly();
+            return ids;
+        }));
+        variants.put("grouped count", (filter, lastId) -> query(GROUPED, filter, lastId));
+        variants.put("probe per certificate", (filter, lastId) -> query(PROBE, filter, lastId));
+        variants.put("array containment", (filter, lastId) ->
+                query(String.format(CONTAINMENT, filter.getTagMatch() == TagMatch.ALL ? "@>" : "&&"), filter, lastId));
+
+        long middleId = CATALOG.certificates() / 2;
+        List<Long> firstPage = findByTags(tagFilter, 0L);
+        List<Long> middlePage = findByTags(tagFilter, middleId);
+        StringBuilder results = new StringBuilder();
+        variants.forEach((name, variant) -> {
+            assertEquals(firstPage, variant.apply(tagFilter, 0L), name);
+            assertEquals(middlePage, variant.apply(tagFilter, middleId), name);
+            results.append(String.format("%n  %-22s first page %6.2f ms, middle page %6.2f ms", name,
+                    measure(() -> variant.apply(tagFilter, 0L)), measure(() -> variant.apply(tagFilter, middleId))));
+        });
+        log.info("{} of {} excluding {} ({} certificates on the first page):{}",
+                match, tagFilter.getIncludedTags(), tagFilter.getExcludedTags(), firstPage.size(), results);
+    }
+
+    private List<Long> findByTags(TagFilter tagFilter, Long lastId) {
+        PageFilter pageFilter = PageFilter.builder().limit(PAGE_SIZE).lastId(lastId).build();
+        return giftCertificateRepository.findByTags(tagFilter, pageFilter).stream().map(GiftCertificate::getId).toList();
+    }
+
+    private List<Long> query(String sql, TagFilter tagFilter, long lastId) {
+        return jdbcTemplate.query(sql, ps -> {
+            ps.setLong(1, lastId);
+            ps.setArray(2, ps.getConnection().createArrayOf("varchar", tagFilter.getIncludedTags().toArray()));
+            ps.setInt(3, tagFilter.getTagMatch() == TagMatch.ALL ? tagFilter.getIncludedTags().size() : 1);
+            ps.setArray(4, ps.getConnection().createArrayOf("varchar", tagFilter.getExcludedTags().toArray()));
+            ps.setInt(5, PAGE_SIZE);
+        }, (resultSet, row) -> resultSet.getLong(1));
+    }
+
+    private static double measure(Runnable query) {
+        query.run();
+        long start = System.nanoTime();
+        for (int i = 0; i < QUERIES; i++) {
+            query.run();
+        }
+        return (System.nanoTime() - start) / 1e6 / QUERIES;
+    }
+
+    private Set<String> tagNames(String ranks) {
+        return Arrays.stream(ranks.split(" "))
+                .filter(rank -> !rank.isBlank())
+                .map(rank -> generator.tagName(Long.parseLong(rank)))
+                .collect(Collectors.toSet());
+    }
+}
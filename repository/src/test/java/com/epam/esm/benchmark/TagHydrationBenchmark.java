@@ -0,0 +1,116 @@
+package com.epam.esm.benchmark;
+
+import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.repository.impl.AbstractIntegrationTest;
+import com.epam.esm.repository.impl.GiftCertificateRepositoryImpl;
+import com.epam.esm.repository.repository.GiftCertificateRepository;
+import com.epam.esm.util.StatementCountingDataSource;
+import com.epam.esm.util.mapper.GiftCertificateRowMapper;
+import com.epam.esm.util.mapper.TagRowMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+import static com.epam.esm.util.DatabaseQueryConstants.FIND_ALL_GIFT_CERTIFICATES;
+import static com.epam.esm.util.DatabaseQueryConstants.FIND_ALL_GIFT_CERTIFICATE_TAGS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares loading the whole catalog with per-certificate tag queries (N+1)
+ * against the batched tag hydration of {@link GiftCertificateRepository#findAll()}.
+ * Run with {@code gradle :repository:benchmark}.
+ */
+@Slf4j
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TagHydrationBenchmark extends AbstractIntegrationTest {
+
+    private static final int TAGS = 100;
+    private static final int TAGS_PER_CERTIFICATE = 3;
+    private static final int ITERATIONS = 3;
+
+    private BasicDataSource dataSource;
+    private StatementCountingDataSource countingDataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private TagRowMapper tagRowMapper;
+    private GiftCertificateRowMapper giftCertificateRowMapper;
+    private GiftCertificateRepository giftCertificateRepository;
+
+    @BeforeAll
+    void setUp() {
+        dataSource = new BasicDataSource();
+        dataSource.setUrl(System.getProperty("db.url"));
+        dataSource.setUsername(System.getProperty("db.username"));
+        dataSource.setPassword(System.getProperty("db.password"));
+        countingDataSource = new StatementCountingDataSource(dataSource);
+        jdbcTemplate = new JdbcTemplate(countingDataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(countingDataSource));
+        tagRowMapper = new TagRowMapper();
+        giftCertificateRowMapper = new GiftCertificateRowMapper();
+        giftCertificateRepository = new GiftCertificateRepositoryImpl(jdbcTemplate, tagRowMapper, giftCertificateRowMapper);
+    }
+
+    @AfterAll
+    void tearDown() throws SQLException {
+        dataSource.close();
+    }
+
+    @ParameterizedTest(name = "{0} certificates")
+    @ValueSource(ints = {1_000, 10_000, 100_000})
+    void findAllTest(int certificates) {
+        new BenchmarkCatalog(jdbcTemplate).seed(certificates, TAGS, TAGS_PER_CERTIFICATE);
+
+        Result perRow = measure(this::findAllWithPerRowTags);
+        Result batched = measure(giftCertificateRepository::findAll);
+
+        log.info("findAll, {} certificates: per-row {} round trips, {} ms; batched {} round trips, {} ms",
+                certificates, perRow.roundTrips(), perRow.millis(), batched.roundTrips(), batched.millis());
+        assertEquals(certificates + 1, perRow.roundTrips());
+        assertEquals(2, batched.roundTrips());
+    }
+
+    /**
+     * Loads the catalog the way the repository did before batching: one tag query per certificate.
+     */
+    private List<GiftCertificate> findAllWithPerRowTags() {
+        List<GiftCertificate> giftCertificates = jdbcTemplate.query(FIND_ALL_GIFT_CERTIFICATES, giftCertificateRowMapper);
+        giftCertificates.forEach(giftCertificate -> giftCertificate.setTags(new TreeSet<>(
+                jdbcTemplate.query(FIND_ALL_GIFT_CERTIFICATE_TAGS, tagRowMapper, giftCertificate.getId()))));
+        return giftCertificates;
+    }
+
+    /**
+     * Runs a warm-up call followed by the measured iterations and returns the best latency.
+     * Every call runs in its own transaction, as it does behind the service layer.
+     */
+    private Result measure(Supplier<List<GiftCertificate>> query) {
+        transactionTemplate.execute(status -> query.get());
+        long best = Long.MAX_VALUE;
+        long roundTrips = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            countingDataSource.reset();
+            long start = System.nanoTime();
+            transactionTemplate.execute(status -> query.get());
+            best = Math.min(best, System.nanoTime() - start);
+            roundTrips = countingDataSource.getStatementCount();
+        }
+        return new Result(roundTrips, best / 1_000_000);
+    }
+
+    private record Result(long roundTrips, long millis) {
+    }
+}
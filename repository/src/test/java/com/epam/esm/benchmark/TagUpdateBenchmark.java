@@ -0,0 +1,173 @@
+package com.epam.esm.benchmark;
+
+import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.entity.Tag;
+import com.epam.esm.repository.impl.AbstractIntegrationTest;
+import com.epam.esm.repository.impl.GiftCertificateRepositoryImpl;
+import com.epam.esm.repository.repository.GiftCertificateRepository;
+import com.epam.esm.util.mapper.GiftCertificateRowMapper;
+import com.epam.esm.util.mapper.TagRowMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.epam.esm.util.DatabaseQueryConstants.TAG_GIFT_CERTIFICATE_GIFT_CERTIFICATE_ID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Measures the throughput of certificate updates (PATCH) with unchanged, partly changed and fully changed tag sets,
+ * deleting all tag associations and inserting them again, as the repository did, against applying only the difference.
+ * Every update runs in its own transaction; the volume of write-ahead log written is reported alongside.
+ * Run with {@code gradle :repository:benchmark}.
+ */
+@Slf4j
+@org.junit.jupiter.api.Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TagUpdateBenchmark extends AbstractIntegrationTest {
+
+    private static final int TAGS = 10_000;
+    private static final int TAGS_PER_CERTIFICATE = 20;
+    private static final int ROUNDS = 5;
+    private static final int UPDATES_PER_ROUND = 200;
+    private static final int UPDATES = ROUNDS * UPDATES_PER_ROUND;
+    // every scenario updates certificates of its own with each variant
+    private static final int CERTIFICATES = TagChange.values().length * 2 * UPDATES;
+    // the tags of a certificate are spread TAGS / TAGS_PER_CERTIFICATE apart, so shifting by half of that never collides
+    private static final int TAG_SHIFT = TAGS / TAGS_PER_CERTIFICATE / 2;
+    private static final String ASYNCHRONOUS_COMMIT = "SET synchronous_commit = off";
+    private static final String UPDATE_GIFT_CERTIFICATE_PRICE =
+            "UPDATE gift_certificate SET price = price + 1, last_update_date = NOW() WHERE id = ?;";
+    private static final String DELETE_ALL_GIFT_CERTIFICATE_TAGS = "DELETE FROM tag_gift_certificate WHERE gift_certificate_id = ?;";
+    private static final String TAG_ID_COLUMN = "tag_id";
+    private static final String FIND_TAG_IDS = "SELECT gift_certificate_id, tag_id FROM tag_gift_certificate;";
+    private static final String CURRENT_WAL_POSITION = "SELECT pg_current_wal_insert_lsn()::text;";
+    private static final String WAL_BYTES = "SELECT pg_wal_lsn_diff(?::pg_lsn, ?::pg_lsn)::bigint;";
+    private static final String COUNT_ASSOCIATIONS = "SELECT count(*) FROM tag_gift_certificate WHERE gift_certificate_id BETWEEN ? AND ?;";
+
+    private BasicDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private GiftCertificateRepository giftCertificateRepository;
+    private final Map<Long, List<Long>> tagIds = new HashMap<>();
+
+    private enum TagChange {
+        UNCHANGED(0), PARTLY_CHANGED(5), FULLY_CHANGED(TAGS_PER_CERTIFICATE);
+
+        private final int changedTags;
+
+        TagChange(int changedTags) {
+            this.changedTags = changedTags;
+        }
+    }
+
+    @BeforeAll
+    void setUp() {
+        dataSource = new BasicDataSource();
+        dataSource.setUrl(System.getProperty("db.url"));
+        dataSource.setUsername(System.getProperty("db.username"));
+        dataSource.setPassword(System.getProperty("db.password"));
+        dataSource.setConnectionInitSqls(List.of(ASYNCHRONOUS_COMMIT));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        giftCertificateRepository = new GiftCertificateRepositoryImpl(jdbcTemplate, new TagRowMapper(), new GiftCertificateRowMapper());
+        new BenchmarkCatalog(jdbcTemplate).seed(CERTIFICATES, TAGS, TAGS_PER_CERTIFICATE);
+        jdbcTemplate.query(FIND_TAG_IDS, rs -> {
+            tagIds.computeIfAbsent(rs.getLong(TAG_GIFT_CERTIFICATE_GIFT_CERTIFICATE_ID), id -> new ArrayList<>())
+                    .add(rs.getLong(TAG_ID_COLUMN));
+        });
+    }
+
+    @AfterAll
+    void tearDown() throws SQLException {
+        dataSource.close();
+    }
+
+    @ParameterizedTest
+    @EnumSource(TagChange.class)
+    void updateTest(TagChange tagChange) {
+        long firstId = (long) tagChange.ordinal() * 2 * UPDATES + 1;
+        Consumer<GiftCertificate> deleteAllAndInsert = certificate -> {
+            jdbcTemplate.update(UPDATE_GIFT_CERTIFICATE_PRICE, certificate.getId());
+            jdbcTemplate.update(DELETE_ALL_GIFT_CERTIFICATE_TAGS, certificate.getId());
+            giftCertificateRepository.insertTags(certificate);
+        };
+        Consumer<GiftCertificate> difference = certificate -> {
+            jdbcTemplate.update(UPDATE_GIFT_CERTIFICATE_PRICE, certificate.getId());
+            giftCertificateRepository.updateTags(certificate);
+        };
+
+        // the variants alternate in rounds, so that both see the same state of the server
+        Result deleteAll = new Result(0, 0);
+        Result diff = new Result(0, 0);
+        for (int round = 0; round < ROUNDS; round++) {
+            long roundFirstId = firstId + (long) round * UPDATES_PER_ROUND;
+            deleteAll = deleteAll.plus(measure(roundFirstId, tagChange, deleteAllAndInsert));
+            diff = diff.plus(measure(roundFirstId + UPDATES, tagChange, difference));
+        }
+
+        log.info("{} updates, {} of {} tags changed: delete all and insert {} updates/s, {} bytes of WAL each; " +
+                        "difference {} updates/s, {} bytes of WAL each",
+                UPDATES, tagChange.changedTags, TAGS_PER_CERTIFICATE,
+                deleteAll.throughput(), deleteAll.walBytes() / UPDATES, diff.throughput(), diff.walBytes() / UPDATES);
+        assertEquals((long) UPDATES * 2 * TAGS_PER_CERTIFICATE,
+                jdbcTemplate.queryForObject(COUNT_ASSOCIATIONS, Long.class, firstId, firstId + 2L * UPDATES - 1));
+    }
+
+    /**
+     * Updates a round of certificates, one transaction each, and returns the total latency and volume of WAL written.
+     */
+    private Result measure(long firstId, TagChange tagChange, Consumer<GiftCertificate> update) {
+        List<GiftCertificate> certificates = new ArrayList<>();
+        for (long id = firstId; id < firstId + UPDATES_PER_ROUND; id++) {
+            certificates.add(GiftCertificate.builder().id(id).tags(changeTags(tagIds.get(id), tagChange)).build());
+        }
+        String walStart = jdbcTemplate.queryForObject(CURRENT_WAL_POSITION, String.class);
+        long start = System.nanoTime();
+        certificates.forEach(certificate -> transactionTemplate.executeWithoutResult(status -> update.accept(certificate)));
+        long nanos = System.nanoTime() - start;
+        String walEnd = jdbcTemplate.queryForObject(CURRENT_WAL_POSITION, String.class);
+        Long walBytes = jdbcTemplate.queryForObject(WAL_BYTES, Long.class, walEnd, walStart);
+        return new Result(nanos, walBytes == null ? 0 : walBytes);
+    }
+
+    /**
+     * Returns the tags of a certificate with the given number of them replaced by tags it does not have.
+     */
+    private Set<Tag> changeTags(List<Long> ids, TagChange tagChange) {
+        List<Long> sortedIds = ids.stream().sorted().toList();
+        return IntStream.range(0, sortedIds.size())
+                .mapToObj(index -> index < tagChange.changedTags
+                        ? (sortedIds.get(index) - 1 + TAG_SHIFT) % TAGS + 1
+                        : sortedIds.get(index))
+                .map(id -> Tag.builder().id(id).name("benchmark-tag-" + id).build())
+                .collect(Collectors.toSet());
+    }
+
+    private record Result(long nanos, long walBytes) {
+
+        Result plus(Result result) {
+            return new Result(nanos + result.nanos, walBytes + result.walBytes);
+        }
+
+        long throughput() {
+            return nanos == 0 ? 0 : UPDATES * 1_000_000_000L / nanos;
+        }
+    }
+}
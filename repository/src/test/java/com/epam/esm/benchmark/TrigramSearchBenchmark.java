@@ -0,0 +1,136 @@
+package com.epam.esm.benchmark;
+
+import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.entity.filter.page.PageFilter;
+import com.epam.esm.entity.filter.search.SearchFilter;
+import com.epam.esm.entity.filter.search.SearchPlace;
+import com.epam.esm.entity.filter.search.SearchType;
+import com.epam.esm.repository.GiftCertificateQueryBuilder;
+import com.epam.esm.repository.impl.AbstractIntegrationTest;
+import com.epam.esm.repository.impl.GiftCertificateRepositoryImpl;
+import com.epam.esm.repository.repository.GiftCertificateRepository;
+import com.epam.esm.util.mapper.GiftCertificateRowMapper;
+import com.epam.esm.util.mapper.TagRowMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Measures searches with leading wildcards on a catalog of one million certificates,
+ * with the trigram indexes disabled for the planner and enabled.
+ * The trigram indexes are only scanned through bitmap scans, so disabling those leaves a scan of the whole table.
+ * Run with {@code gradle :repository:benchmark}.
+ */
+@Slf4j
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TrigramSearchBenchmark extends AbstractIntegrationTest {
+
+    private static final int CERTIFICATES = 1_000_000;
+    private static final int TAGS = 100;
+    private static final int TAGS_PER_CERTIFICATE = 3;
+    private static final int PAGE_SIZE = 21;
+    private static final int ITERATIONS = 5;
+    private static final String DISABLE_BITMAP_SCANS = "SET LOCAL enable_bitmapscan = off;";
+    // a plan cached by the server while the index was disabled would otherwise be reused once it is enabled
+    private static final String FORCE_CUSTOM_PLANS = "SET LOCAL plan_cache_mode = force_custom_plan;";
+    private static final String EXPLAIN = "EXPLAIN ";
+
+    private BasicDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private GiftCertificateRepository giftCertificateRepository;
+
+    @BeforeAll
+    void setUp() {
+        dataSource = new BasicDataSource();
+        dataSource.setUrl(System.getProperty("db.url"));
+        dataSource.setUsername(System.getProperty("db.username"));
+        dataSource.setPassword(System.getProperty("db.password"));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        giftCertificateRepository = new GiftCertificateRepositoryImpl(jdbcTemplate, new TagRowMapper(), new GiftCertificateRowMapper());
+        new BenchmarkCatalog(jdbcTemplate).seed(CERTIFICATES, TAGS, TAGS_PER_CERTIFICATE);
+    }
+
+    @AfterAll
+    void tearDown() throws SQLException {
+        dataSource.close();
+    }
+
+    @ParameterizedTest(name = "{0} {1} ''{2}'', case-insensitive: {3}")
+    @CsvSource({
+            "TITLE, CONTAINS, ficate 123456, false",
+            "TITLE, ENDS_WITH, 654321, false",
+            "DESC, CONTAINS, number 777777, false",
+            "DESC, CONTAINS, NUMBER 424242, true",
+    })
+    void searchTest(SearchType searchType, SearchPlace searchPlace, String searchValue, boolean caseInsensitive) {
+        SearchFilter searchFilter = SearchFilter.builder()
+                .searchType(searchType)
+                .searchPlace(searchPlace)
+                .searchValue(searchValue)
+                .caseInsensitive(caseInsensitive)
+                .build();
+
+        Result withoutIndex = measure(searchFilter, true);
+        Result trigramIndex = measure(searchFilter, false);
+
+        log.info("search {} {} '{}': without trigram index {} ms [{}]; trigram index {} ms [{}]",
+                searchType, searchPlace, searchValue, withoutIndex.millis(), withoutIndex.plan(),
+                trigramIndex.millis(), trigramIndex.plan());
+        assertEquals(withoutIndex.rows(), trigramIndex.rows());
+    }
+
+    /**
+     * Runs the search with a warm-up call followed by the measured iterations and returns the best latency
+     * together with the top node of the scan part of the plan.
+     */
+    private Result measure(SearchFilter searchFilter, boolean disableIndex) {
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.execute(FORCE_CUSTOM_PLANS);
+            if (disableIndex) {
+                jdbcTemplate.execute(DISABLE_BITMAP_SCANS);
+            }
+            PageFilter pageFilter = PageFilter.builder().limit(PAGE_SIZE).build();
+            List<GiftCertificate> giftCertificates = giftCertificateRepository.findBySearchFilter(searchFilter, pageFilter);
+            long best = Long.MAX_VALUE;
+            for (int i = 0; i < ITERATIONS; i++) {
+                long start = System.nanoTime();
+                giftCertificateRepository.findBySearchFilter(searchFilter, pageFilter);
+                best = Math.min(best, System.nanoTime() - start);
+            }
+            return new Result(giftCertificates.size(), best / 1_000_000, explain(searchFilter, pageFilter));
+        });
+    }
+
+    private String explain(SearchFilter searchFilter, PageFilter pageFilter) {
+        List<String> plan = jdbcTemplate.queryForList(
+                EXPLAIN + GiftCertificateQueryBuilder.search(searchFilter.getSearchType(), searchFilter.isCaseInsensitive()),
+                String.class,
+                searchFilter.getSearchPlace().getFormattedValue(searchFilter.getSearchValue()), 0, pageFilter.getLimit());
+        return plan.stream()
+                .map(String::trim)
+                .filter(line -> line.contains("Scan"))
+                .map(line -> line.replaceFirst("^->\\s*", "").replaceFirst("\\s+\\(cost.*", ""))
+                .reduce((outer, inner) -> outer + " <- " + inner)
+                .orElse(Arrays.toString(plan.toArray()));
+    }
+
+    private record Result(long rows, long millis, String plan) {
+    }
+}
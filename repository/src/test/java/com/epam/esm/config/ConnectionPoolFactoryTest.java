@@ -0,0 +1,72 @@
+package com.epam.esm.config;
+
+import com.epam.esm.metrics.ConnectionPoolMetrics;
+import com.epam.esm.metrics.ConnectionPoolStats;
+import com.epam.esm.repository.impl.AbstractIntegrationTest;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConnectionPoolFactoryTest extends AbstractIntegrationTest {
+
+    private ConnectionPoolMetrics connectionPoolMetrics;
+    private ConnectionPoolFactory connectionPoolFactory;
+
+    @BeforeEach
+    void setUp() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("db.driver", "org.postgresql.Driver")
+                .withProperty("db.url", System.getProperty("db.url"))
+                .withProperty("db.username", System.getProperty("db.username"))
+                .withProperty("db.password", System.getProperty("db.password"))
+                .withProperty("db.pool.maximum-size", "4")
+                .withProperty("db.pool.minimum-idle", "1")
+                .withProperty("db.pool.connection-timeout-ms", "3000")
+                .withProperty("db.pool.validation-timeout-ms", "1000")
+                .withProperty("db.pool.idle-timeout-ms", "600000")
+                .withProperty("db.pool.max-lifetime-ms", "1800000")
+                .withProperty("db.pool.leak-detection-threshold-ms", "60000")
+                .withProperty("db.pool.statement-cache.prepare-threshold", "5")
+                .withProperty("db.pool.statement-cache.queries", "256")
+                .withProperty("db.pool.statement-cache.size-mib", "5")
+                .withProperty("db.replica.pool.maximum-size", "2");
+        connectionPoolMetrics = new ConnectionPoolMetrics();
+        connectionPoolFactory = new ConnectionPoolFactory(environment, connectionPoolMetrics);
+    }
+
+    @Test
+    void shouldFallBackToPrimarySettingsForReplicaTest() {
+        try (HikariDataSource primary = connectionPoolFactory.create("primary", ConnectionPoolFactory.PRIMARY, false);
+             HikariDataSource replica = connectionPoolFactory.create("replica", ConnectionPoolFactory.REPLICA, true)) {
+            assertEquals(4, primary.getMaximumPoolSize());
+            assertEquals(2, replica.getMaximumPoolSize());
+            assertEquals(primary.getJdbcUrl(), replica.getJdbcUrl());
+            assertTrue(replica.isReadOnly());
+        }
+    }
+
+    @Test
+    void shouldRecordAcquiredConnectionsOfStartedPoolTest() {
+        try (HikariDataSource primary = connectionPoolFactory.create("primary", ConnectionPoolFactory.PRIMARY, false)) {
+            assertEquals(List.of(), connectionPoolMetrics.stats());
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(primary);
+            for (int i = 0; i < 3; i++) {
+                jdbcTemplate.queryForObject("SELECT 1;", Integer.class);
+            }
+            List<ConnectionPoolStats> stats = connectionPoolMetrics.stats();
+            assertEquals(1, stats.size());
+            assertEquals("primary", stats.get(0).name());
+            assertEquals(4, stats.get(0).maximumSize());
+            assertEquals(3, stats.get(0).acquireLatency().count());
+            assertEquals(3, stats.get(0).usageLatency().count());
+            assertEquals(0, stats.get(0).timeoutCount());
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.epam.esm.config;
+
+import com.epam.esm.repository.impl.AbstractIntegrationTest;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Uses two pools on the same database as stand-ins for the primary and the replica,
+ * telling them apart by their application names.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReadWriteRoutingDataSourceTest extends AbstractIntegrationTest {
+
+    private static final String APPLICATION_NAME = "SELECT current_setting('application_name');";
+    private static final String READ_ONLY = "SELECT current_setting('transaction_read_only');";
+
+    private BasicDataSource primaryDataSource;
+    private BasicDataSource replicaDataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeAll
+    void setUp() {
+        primaryDataSource = pool("primary");
+        replicaDataSource = pool("replica");
+        DataSource dataSource = ReadWriteRoutingDataSource.of(primaryDataSource, replicaDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @AfterAll
+    void tearDown() throws SQLException {
+        primaryDataSource.close();
+        replicaDataSource.close();
+    }
+
+    @Test
+    void shouldRouteReadOnlyTransactionToReplicaTest() {
+        transactionTemplate.setReadOnly(true);
+        assertEquals("replica", transactionTemplate.execute(status ->
+                jdbcTemplate.queryForObject(APPLICATION_NAME, String.class)));
+        assertEquals("on", transactionTemplate.execute(status ->
+                jdbcTemplate.queryForObject(READ_ONLY, String.class)));
+    }
+
+    @Test
+    void shouldRouteReadWriteTransactionToPrimaryTest() {
+        transactionTemplate.setReadOnly(false);
+        assertEquals("primary", transactionTemplate.execute(status ->
+                jdbcTemplate.queryForObject(APPLICATION_NAME, String.class)));
+        assertEquals("off", transactionTemplate.execute(status ->
+                jdbcTemplate.queryForObject(READ_ONLY, String.class)));
+    }
+
+    @Test
+    void shouldRouteStatementOutsideTransactionToPrimaryTest() {
+        assertEquals("primary", jdbcTemplate.queryForObject(APPLICATION_NAME, String.class));
+    }
+
+    private BasicDataSource pool(String name) {
+        BasicDataSource dataSource = new BasicDataSource();
+        dataSource.setUrl(System.getProperty("db.url"));
+        dataSource.setUsername(System.getProperty("db.username"));
+        dataSource.setPassword(System.getProperty("db.password"));
+        dataSource.setConnectionProperties("ApplicationName=" + name);
+        return dataSource;
+    }
+}
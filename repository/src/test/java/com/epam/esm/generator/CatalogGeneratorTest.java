@@ -0,0 +1,95 @@
+package com.epam.esm.generator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CatalogGeneratorTest {
+
+    private final CatalogGenerator generator = new CatalogGenerator(new CatalogSettings(200, 50, 4, 1.0, 7));
+
+    @Test
+    void shouldWriteTagRowsNumberedFromOneTest() throws IOException {
+        List<String> rows = rows(generator, CatalogGenerator.Table.TAG);
+        assertEquals(50, rows.size());
+        assertEquals("1,wellness", rows.get(0));
+        assertEquals("25,wellness-2", rows.get(24));
+    }
+
+    @Test
+    void shouldWriteCertificateRowsWithGeneratedNamesTest() throws IOException {
+        List<String> rows = rows(generator, CatalogGenerator.Table.GIFT_CERTIFICATE);
+        assertEquals(200, rows.size());
+        String[] columns = rows.get(16).split(",(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)");
+        assertEquals(7, columns.length);
+        assertEquals("17", columns[0]);
+        assertEquals(generator.certificateName(17), columns[1]);
+        assertTrue(columns[2].startsWith("\"Gift certificate for a ") && columns[2].endsWith(", number 17\""));
+        assertTrue(columns[5].compareTo(columns[6]) <= 0);
+        assertTrue(columns[6].compareTo(CatalogGenerator.REFERENCE_DATE.toString()) < 0);
+    }
+
+    @Test
+    void shouldAssignDistinctTagsFavouringThePopularOnesTest() throws IOException {
+        List<String> rows = rows(generator, CatalogGenerator.Table.TAG_GIFT_CERTIFICATE);
+        Map<String, List<String>> tagsByCertificate = rows.stream()
+                .map(row -> row.split(","))
+                .collect(Collectors.groupingBy(row -> row[0], Collectors.mapping(row -> row[1], Collectors.toList())));
+        assertEquals(200, tagsByCertificate.size());
+        tagsByCertificate.values().forEach(tags -> {
+            assertTrue(tags.size() >= 1 && tags.size() <= 4);
+            assertEquals(tags.size(), new HashSet<>(tags).size());
+        });
+        Map<String, Long> certificatesByTag = rows.stream()
+                .collect(Collectors.groupingBy(row -> row.split(",")[1], Collectors.counting()));
+        assertTrue(certificatesByTag.get("1") > certificatesByTag.getOrDefault("50", 0L) * 5);
+    }
+
+    @Test
+    void shouldFallBackToUnassignedTagsIfTheDistributionIsSteepTest() throws IOException {
+        CatalogGenerator steepGenerator = new CatalogGenerator(new CatalogSettings(50, 3, 3, 30.0, 7));
+        List<String> rows = rows(steepGenerator, CatalogGenerator.Table.TAG_GIFT_CERTIFICATE);
+        assertEquals(rows.size(), new HashSet<>(rows).size());
+        assertTrue(rows.stream().allMatch(row -> Set.of("1", "2", "3").contains(row.split(",")[1])));
+        assertTrue(rows.stream().anyMatch(row -> row.endsWith(",3")));
+    }
+
+    @Test
+    void shouldGenerateTheSameCatalogForTheSameSettingsTest() throws IOException {
+        CatalogGenerator sameGenerator = new CatalogGenerator(new CatalogSettings(200, 50, 4, 1.0, 7));
+        CatalogGenerator otherSeedGenerator = new CatalogGenerator(new CatalogSettings(200, 50, 4, 1.0, 8));
+        for (CatalogGenerator.Table table : List.of(CatalogGenerator.Table.GIFT_CERTIFICATE, CatalogGenerator.Table.TAG_GIFT_CERTIFICATE)) {
+            assertEquals(rows(generator, table), rows(sameGenerator, table));
+            assertNotEquals(rows(generator, table), rows(otherSeedGenerator, table));
+        }
+    }
+
+    @Test
+    void shouldWriteCsvFilesWithHeadersTest(@TempDir Path directory) throws IOException {
+        generator.writeCsv(directory);
+        for (CatalogGenerator.Table table : CatalogGenerator.Table.values()) {
+            List<String> lines = Files.readAllLines(directory.resolve(table.getName() + ".csv"));
+            assertEquals(table.getColumns(), lines.get(0));
+            assertEquals(rows(generator, table), lines.subList(1, lines.size()));
+        }
+    }
+
+    private static List<String> rows(CatalogGenerator generator, CatalogGenerator.Table table) throws IOException {
+        StringWriter writer = new StringWriter();
+        generator.write(table, writer);
+        return writer.toString().lines().toList();
+    }
+}
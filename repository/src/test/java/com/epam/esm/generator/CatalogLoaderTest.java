@@ -0,0 +1,70 @@
+package com.epam.esm.generator;
+
+import com.epam.esm.repository.impl.AbstractIntegrationTest;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Loads a generated catalog in a transaction that is rolled back, so the data of the other integration tests is kept.
+ */
+class CatalogLoaderTest extends AbstractIntegrationTest {
+
+    private static final String COUNT_SECONDARY_INDEXES =
+            "SELECT COUNT(*) FROM pg_indexes WHERE tablename = 'gift_certificate' AND indexname NOT LIKE '%pkey';";
+
+    private BasicDataSource dataSource;
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = new BasicDataSource();
+        dataSource.setUrl(System.getProperty("db.url"));
+        dataSource.setUsername(System.getProperty("db.username"));
+        dataSource.setPassword(System.getProperty("db.password"));
+        connection = dataSource.getConnection();
+        connection.setAutoCommit(false);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.rollback();
+        connection.close();
+        dataSource.close();
+    }
+
+    @Test
+    void shouldReplaceCatalogWithGeneratedRowsTest() throws SQLException, IOException {
+        long indexes = query(COUNT_SECONDARY_INDEXES);
+        CatalogGenerator generator = new CatalogGenerator(new CatalogSettings(300, 40, 3, 1.0, 1));
+
+        new CatalogLoader(generator).load(connection);
+
+        assertEquals(300, query("SELECT COUNT(*) FROM gift_certificate;"));
+        assertEquals(40, query("SELECT COUNT(*) FROM tag;"));
+        assertEquals(0, query("SELECT COUNT(*) FROM gift_certificate WHERE search_vector IS NULL;"));
+        assertEquals(indexes, query(COUNT_SECONDARY_INDEXES));
+        assertEquals(1, query("SELECT COUNT(*) FROM gift_certificate WHERE id = 17 AND name = '"
+                + generator.certificateName(17) + "';"));
+        // new rows continue after the generated IDs
+        assertEquals(301, query("INSERT INTO gift_certificate (name, description, price, duration, create_date, "
+                + "last_update_date) VALUES ('Inserted', 'Inserted after loading', 1, 1, NOW(), NOW()) RETURNING id;"));
+        assertEquals(41, query("INSERT INTO tag (name) VALUES ('inserted') RETURNING id;"));
+    }
+
+    private long query(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.epam.esm.generator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ZipfDistributionTest {
+
+    private static final int SAMPLES = 100_000;
+
+    @Test
+    void shouldDrawRanksInProportionToInversePowerTest() {
+        ZipfDistribution distribution = new ZipfDistribution(10, 1.0);
+        int[] counts = draw(distribution);
+        // the weights of the first ranks are 1, 1/2, 1/3 over a harmonic number of about 2.93
+        assertEquals(0.341, counts[1] / (double) SAMPLES, 0.01);
+        assertEquals(0.171, counts[2] / (double) SAMPLES, 0.01);
+        assertEquals(0.114, counts[3] / (double) SAMPLES, 0.01);
+        assertEquals(0.034, counts[10] / (double) SAMPLES, 0.01);
+    }
+
+    @Test
+    void shouldDrawRanksUniformlyIfExponentIsZeroTest() {
+        int[] counts = draw(new ZipfDistribution(4, 0));
+        for (int rank = 1; rank <= 4; rank++) {
+            assertEquals(0.25, counts[rank] / (double) SAMPLES, 0.01);
+        }
+    }
+
+    @Test
+    void shouldOnlyDrawRanksWithinRangeTest() {
+        int[] counts = draw(new ZipfDistribution(3, 2.0));
+        assertEquals(0, counts[0]);
+        assertTrue(counts[3] > 0);
+        assertEquals(SAMPLES, counts[1] + counts[2] + counts[3]);
+    }
+
+    @Test
+    void shouldRejectInvalidParametersTest() {
+        assertThrows(IllegalArgumentException.class, () -> new ZipfDistribution(0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new ZipfDistribution(10, -1.0));
+    }
+
+    private static int[] draw(ZipfDistribution distribution) {
+        Random random = new Random(1);
+        int[] counts = new int[distribution.size() + 1];
+        for (int i = 0; i < SAMPLES; i++) {
+            counts[distribution.sample(random)]++;
+        }
+        return counts;
+    }
+}
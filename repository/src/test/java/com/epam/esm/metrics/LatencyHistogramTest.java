@@ -0,0 +1,58 @@
+package com.epam.esm.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LatencyHistogramTest {
+
+    @Test
+    void shouldReportEmptySnapshotIfNothingWasRecordedTest() {
+        LatencyHistogram.Snapshot snapshot = new LatencyHistogram().snapshot();
+        assertEquals(0, snapshot.count());
+        assertEquals(0, snapshot.mean());
+        assertEquals(0, snapshot.p99());
+        assertEquals(Map.of(), snapshot.countsByUpperBound());
+    }
+
+    @Test
+    void shouldCountLatenciesInPowerOfTwoBucketsTest() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(500);
+        histogram.record(1_000);
+        histogram.record(3_000);
+        histogram.record(4_000);
+        histogram.record(100_000);
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(5, snapshot.count());
+        assertEquals(21, snapshot.mean());
+        assertEquals(100, snapshot.max());
+        assertEquals(Map.of(1L, 2L, 4L, 2L, 128L, 1L), snapshot.countsByUpperBound());
+    }
+
+    @Test
+    void shouldReportPercentilesAsBucketUpperBoundsCappedByMaxTest() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 98; i++) {
+            histogram.record(10_000);
+        }
+        histogram.record(1_000_000);
+        histogram.record(3_000_000);
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(16, snapshot.p50());
+        assertEquals(16, snapshot.p95());
+        assertEquals(1024, snapshot.p99());
+        assertEquals(3_000, snapshot.max());
+    }
+
+    @Test
+    void shouldReportLatenciesBeyondLastBucketByMaxTest() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(60_000_000_000L);
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(60_000_000, snapshot.p50());
+        assertEquals(60_000_000, snapshot.max());
+    }
+}
@@ -0,0 +1,52 @@
+package com.epam.esm.metrics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MetricsRegistryTest {
+
+    private MetricsRegistry metricsRegistry;
+
+    @BeforeEach
+    void setUp() {
+        metricsRegistry = new MetricsRegistry(new ConnectionPoolMetrics());
+    }
+
+    @Test
+    void shouldReturnSameTimerForSameLabelValuesTest() {
+        TimerFamily family = metricsRegistry.family("http_server_requests", "HTTP requests", "method", "uri");
+        assertSame(family, metricsRegistry.family("http_server_requests", "HTTP requests", "method", "uri"));
+        assertSame(family.timer("GET", "/tags"), family.timer("GET", "/tags"));
+    }
+
+    @Test
+    void shouldThrowIllegalArgumentExceptionIfLabelValuesDoNotMatchLabelNamesTest() {
+        TimerFamily family = metricsRegistry.family("http_server_requests", "HTTP requests", "method", "uri");
+        assertThrows(IllegalArgumentException.class, () -> family.timer("GET"));
+    }
+
+    @Test
+    void shouldWriteTimersInPrometheusTextFormatTest() {
+        TimerFamily family = metricsRegistry.family("http_server_requests", "HTTP requests", "method", "uri");
+        family.timer("GET", "/tags/{id}").record(3_000, false);
+        family.timer("GET", "/tags/{id}").record(1_500_000, true);
+        family.timer("GET", "/say \"hi\"").record(1_000, false);
+
+        String metrics = metricsRegistry.scrape();
+        assertTrue(metrics.contains("# HELP http_server_requests_seconds Latency of HTTP requests.\n"
+                + "# TYPE http_server_requests_seconds histogram\n"));
+        assertTrue(metrics.contains("http_server_requests_seconds_bucket{method=\"GET\",uri=\"/tags/{id}\",le=\"0.000002\"} 0\n"));
+        assertTrue(metrics.contains("http_server_requests_seconds_bucket{method=\"GET\",uri=\"/tags/{id}\",le=\"0.000004\"} 1\n"));
+        assertTrue(metrics.contains("http_server_requests_seconds_bucket{method=\"GET\",uri=\"/tags/{id}\",le=\"0.002048\"} 2\n"));
+        assertTrue(metrics.contains("http_server_requests_seconds_bucket{method=\"GET\",uri=\"/tags/{id}\",le=\"+Inf\"} 2\n"));
+        assertTrue(metrics.contains("http_server_requests_seconds_sum{method=\"GET\",uri=\"/tags/{id}\"} 0.001503\n"));
+        assertTrue(metrics.contains("http_server_requests_seconds_count{method=\"GET\",uri=\"/tags/{id}\"} 2\n"));
+        assertTrue(metrics.contains("# TYPE http_server_requests_errors_total counter\n"));
+        assertTrue(metrics.contains("http_server_requests_errors_total{method=\"GET\",uri=\"/tags/{id}\"} 1\n"));
+        assertTrue(metrics.contains("http_server_requests_errors_total{method=\"GET\",uri=\"/say \\\"hi\\\"\"} 0\n"));
+    }
+}
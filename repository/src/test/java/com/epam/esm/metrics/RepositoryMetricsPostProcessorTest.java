@@ -0,0 +1,62 @@
+package com.epam.esm.metrics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.stereotype.Repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RepositoryMetricsPostProcessorTest {
+
+    private MetricsRegistry metricsRegistry;
+    private RepositoryMetricsPostProcessor postProcessor;
+
+    @BeforeEach
+    void setUp() {
+        metricsRegistry = new MetricsRegistry(new ConnectionPoolMetrics());
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("metricsRegistry", metricsRegistry);
+        postProcessor = new RepositoryMetricsPostProcessor(beanFactory.getBeanProvider(MetricsRegistry.class));
+    }
+
+    @Test
+    void shouldTimeCallsAndFailuresOfRepositoryTest() {
+        Object bean = new SampleRepositoryImpl();
+        SampleRepository repository = (SampleRepository) postProcessor.postProcessAfterInitialization(bean, "sampleRepository");
+        assertNotSame(bean, repository);
+
+        assertEquals(2, repository.find(2));
+        assertEquals(3, repository.find(3));
+        assertThrows(IllegalStateException.class, () -> repository.find(-1));
+
+        Timer timer = metricsRegistry.family("repository_calls", "repository calls", "repository", "method")
+                .timer("SampleRepositoryImpl", "find");
+        assertEquals(3, timer.snapshot().count());
+        assertEquals(1, timer.errorCount());
+    }
+
+    @Test
+    void shouldLeaveOtherBeansUnchangedTest() {
+        Object bean = new Object();
+        assertSame(bean, postProcessor.postProcessAfterInitialization(bean, "bean"));
+    }
+
+    interface SampleRepository {
+        int find(int id);
+    }
+
+    @Repository
+    static class SampleRepositoryImpl implements SampleRepository {
+        @Override
+        public int find(int id) {
+            if (id < 0) {
+                throw new IllegalStateException();
+            }
+            return id;
+        }
+    }
+}
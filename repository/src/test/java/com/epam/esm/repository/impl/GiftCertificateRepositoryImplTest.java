@@ -1,21 +1,39 @@
 package com.epam.esm.repository.impl;
 
 import com.epam.esm.config.RepositoryTestConfig;
+import com.epam.esm.entity.CatalogVersion;
 import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.entity.GiftCertificateVersion;
+import com.epam.esm.entity.ImportResult;
+import com.epam.esm.entity.Tag;
+import com.epam.esm.entity.filter.GiftCertificateFilter;
+import com.epam.esm.entity.filter.page.PageFilter;
 import com.epam.esm.entity.filter.search.SearchFilter;
 import com.epam.esm.entity.filter.search.SearchPlace;
 import com.epam.esm.entity.filter.search.SearchType;
+import com.epam.esm.entity.filter.sort.SortFilter;
+import com.epam.esm.entity.filter.sort.SortOrder;
+import com.epam.esm.entity.filter.sort.SortType;
+import com.epam.esm.entity.filter.tag.TagFilter;
+import com.epam.esm.entity.filter.tag.TagMatch;
 import com.epam.esm.repository.repository.GiftCertificateRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
 
 import static com.epam.esm.util.RepositoryTestEntityHolder.giftCertificate;
 import static com.epam.esm.util.RepositoryTestEntityHolder.tag;
@@ -29,11 +47,15 @@ import static org.junit.jupiter.api.Assertions.*;
 @ContextConfiguration(classes = {RepositoryTestConfig.class})
 class GiftCertificateRepositoryImplTest extends AbstractIntegrationTest {
 
+    private static final PageFilter allRows = PageFilter.builder().limit(100).build();
+
     private final GiftCertificateRepository giftCertificateRepository;
+    private final JdbcTemplate jdbcTemplate;
 
     @Autowired
-    public GiftCertificateRepositoryImplTest(GiftCertificateRepository giftCertificateRepository) {
+    public GiftCertificateRepositoryImplTest(GiftCertificateRepository giftCertificateRepository, JdbcTemplate jdbcTemplate) {
         this.giftCertificateRepository = giftCertificateRepository;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     @Test
@@ -43,6 +65,176 @@ class GiftCertificateRepositoryImplTest extends AbstractIntegrationTest {
         assertEquals(12, certificates.size());
     }
 
+    @Test
+    void shouldReturnCertificatesWithTheirTagsTest() {
+        List<GiftCertificate> certificates = giftCertificateRepository.findAll();
+        certificates.forEach(certificate -> assertEquals(1, certificate.getTags().size()));
+        GiftCertificate certificate = certificates.stream()
+                .filter(c -> c.getId() == 1L)
+                .findFirst()
+                .orElseThrow();
+        assertEquals("Spa", certificate.getTags().iterator().next().getName());
+    }
+
+    @Test
+    void shouldReturnPagesOfCertificatesAfterLastIdTest() {
+        PageFilter pageFilter = PageFilter.builder().limit(5).build();
+        List<GiftCertificate> firstPage = giftCertificateRepository.findAll(pageFilter);
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), firstPage.stream().map(GiftCertificate::getId).toList());
+
+        pageFilter.setLastId(10L);
+        List<GiftCertificate> lastPage = giftCertificateRepository.findAll(pageFilter);
+        assertEquals(List.of(11L, 12L), lastPage.stream().map(GiftCertificate::getId).toList());
+        lastPage.forEach(certificate -> assertEquals(1, certificate.getTags().size()));
+    }
+
+    @Test
+    void shouldReturnSortedPagesOfCertificatesAfterLastSortValueTest() {
+        SortFilter sortFilter = SortFilter
+                .builder()
+                .sortType(SortType.BY_NAME)
+                .sortOrder(SortOrder.DESCENDING)
+                .build();
+        List<GiftCertificate> certificates = new ArrayList<>();
+        PageFilter pageFilter = PageFilter.builder().limit(5).build();
+        List<GiftCertificate> page = giftCertificateRepository.findBySortFilter(sortFilter, pageFilter);
+        while (!page.isEmpty()) {
+            certificates.addAll(page);
+            GiftCertificate last = page.get(page.size() - 1);
+            pageFilter.setLastId(last.getId());
+            pageFilter.setLastValue(last.getName());
+            page = giftCertificateRepository.findBySortFilter(sortFilter, pageFilter);
+        }
+
+        List<GiftCertificate> expected = new ArrayList<>(giftCertificateRepository.findAll());
+        expected.sort(Comparator.comparing(GiftCertificate::getName).reversed());
+        assertEquals(expected.stream().map(GiftCertificate::getId).toList(),
+                certificates.stream().map(GiftCertificate::getId).toList());
+    }
+
+    @Test
+    void shouldBreakSortValueTiesByIdTest() {
+        SortFilter sortFilter = SortFilter
+                .builder()
+                .sortType(SortType.BY_CREATE_DATE)
+                .sortOrder(SortOrder.ASCENDING)
+                .build();
+        List<GiftCertificate> firstPage = giftCertificateRepository
+                .findBySortFilter(sortFilter, PageFilter.builder().limit(6).build());
+        GiftCertificate last = firstPage.get(firstPage.size() - 1);
+        List<GiftCertificate> secondPage = giftCertificateRepository.findBySortFilter(sortFilter, PageFilter
+                .builder()
+                .limit(6)
+                .lastId(last.getId())
+                .lastValue(last.getCreateDate())
+                .build());
+        assertEquals(List.of(7L, 8L, 9L, 10L, 11L, 12L), secondPage.stream().map(GiftCertificate::getId).toList());
+    }
+
+    @Test
+    void shouldStreamAllCertificatesInChunksTest() {
+        List<List<GiftCertificate>> chunks = new ArrayList<>();
+        giftCertificateRepository.streamAll(5, chunks::add);
+        assertEquals(List.of(5, 5, 2), chunks.stream().map(List::size).toList());
+        List<GiftCertificate> certificates = chunks.stream().flatMap(List::stream).toList();
+        assertEquals(LongStream.rangeClosed(1, 12).boxed().toList(),
+                certificates.stream().map(GiftCertificate::getId).toList());
+        certificates.forEach(certificate -> assertEquals(1, certificate.getTags().size()));
+    }
+
+    @Test
+    void shouldIgnoreCaseOfSearchValueIfCaseInsensitiveTest() {
+        SearchFilter searchFilter = SearchFilter
+                .builder()
+                .searchValue("gift voucher")
+                .searchType(SearchType.TITLE)
+                .searchPlace(SearchPlace.CONTAINS)
+                .build();
+
+        assertEquals(0, giftCertificateRepository.findBySearchFilter(searchFilter, allRows).size());
+        searchFilter.setCaseInsensitive(true);
+        assertEquals(4, giftCertificateRepository.findBySearchFilter(searchFilter, allRows).size());
+    }
+
+    @Test
+    void shouldRankFullTextSearchResultsTest() {
+        SearchFilter searchFilter = SearchFilter
+                .builder()
+                .searchValue("spa")
+                .searchType(SearchType.FULL_TEXT)
+                .searchPlace(SearchPlace.CONTAINS)
+                .build();
+
+        assertEquals(List.of(8L, 2L), giftCertificateRepository.findBySearchFilter(searchFilter, allRows)
+                .stream().map(GiftCertificate::getId).toList());
+        // words are matched across name and description, in any inflection
+        searchFilter.setSearchValue("shopping gift stores");
+        assertEquals(List.of(11L), giftCertificateRepository.findBySearchFilter(searchFilter, allRows)
+                .stream().map(GiftCertificate::getId).toList());
+        searchFilter.setSearchValue("spa -wellness");
+        assertEquals(List.of(2L), giftCertificateRepository.findBySearchFilter(searchFilter, allRows)
+                .stream().map(GiftCertificate::getId).toList());
+    }
+
+    @Test
+    void shouldReturnFullTextSearchPagesAfterLastIdTest() {
+        SearchFilter searchFilter = SearchFilter
+                .builder()
+                .searchValue("gift voucher")
+                .searchType(SearchType.FULL_TEXT)
+                .searchPlace(SearchPlace.CONTAINS)
+                .build();
+        List<GiftCertificate> expected = giftCertificateRepository.findBySearchFilter(searchFilter, allRows);
+
+        List<GiftCertificate> certificates = new ArrayList<>();
+        PageFilter pageFilter = PageFilter.builder().limit(2).build();
+        List<GiftCertificate> page = giftCertificateRepository.findBySearchFilter(searchFilter, pageFilter);
+        while (!page.isEmpty()) {
+            certificates.addAll(page);
+            pageFilter.setLastId(page.get(page.size() - 1).getId());
+            page = giftCertificateRepository.findBySearchFilter(searchFilter, pageFilter);
+        }
+        assertTrue(expected.size() > 2);
+        assertEquals(expected.stream().map(GiftCertificate::getId).toList(),
+                certificates.stream().map(GiftCertificate::getId).toList());
+    }
+
+    @Test
+    void shouldRejectFullTextSearchPageAfterDeletedCertificateTest() {
+        SearchFilter searchFilter = SearchFilter
+                .builder()
+                .searchValue("gift voucher")
+                .searchType(SearchType.FULL_TEXT)
+                .searchPlace(SearchPlace.CONTAINS)
+                .build();
+        PageFilter pageFilter = PageFilter.builder().limit(1).build();
+        Long lastId = giftCertificateRepository.findBySearchFilter(searchFilter, pageFilter).get(0).getId();
+        pageFilter.setLastId(lastId);
+        assertFalse(giftCertificateRepository.findBySearchFilter(searchFilter, pageFilter).isEmpty());
+
+        assertTrue(giftCertificateRepository.delete(lastId));
+        assertThrows(EmptyResultDataAccessException.class,
+                () -> giftCertificateRepository.findBySearchFilter(searchFilter, pageFilter));
+    }
+
+    @Test
+    void shouldMatchSearchValueLiterallyTest() {
+        SearchFilter searchFilter = SearchFilter
+                .builder()
+                .searchValue("%")
+                .searchType(SearchType.TITLE)
+                .searchPlace(SearchPlace.CONTAINS)
+                .build();
+
+        assertEquals(0, giftCertificateRepository.findBySearchFilter(searchFilter, allRows).size());
+        searchFilter.setSearchValue("_");
+        assertEquals(0, giftCertificateRepository.findBySearchFilter(searchFilter, allRows).size());
+        searchFilter.setSearchValue("' OR ''='");
+        assertEquals(0, giftCertificateRepository.findBySearchFilter(searchFilter, allRows).size());
+        searchFilter.setSearchValue("$50");
+        assertEquals(2, giftCertificateRepository.findBySearchFilter(searchFilter, allRows).size());
+    }
+
     @Test
     void shouldReturnCorrectOptionalIfCertificateWasFoundTest() {
         Optional<GiftCertificate> optionalCertificate = giftCertificateRepository.findById(1L);
@@ -61,9 +253,69 @@ class GiftCertificateRepositoryImplTest extends AbstractIntegrationTest {
                 () -> giftCertificateRepository.findById(0L));
     }
 
+    @Test
+    void shouldFindCertificatesByIdsInIdOrderTest() {
+        List<GiftCertificate> certificates = giftCertificateRepository.findByIds(List.of(5L, 2L, 0L));
+        assertEquals(List.of(2L, 5L), certificates.stream().map(GiftCertificate::getId).toList());
+        certificates.forEach(certificate -> assertEquals(1, certificate.getTags().size()));
+        assertTrue(giftCertificateRepository.findByIds(List.of()).isEmpty());
+    }
+
+    @Test
+    void shouldFindVersionOfCertificateTest() {
+        GiftCertificate certificate = giftCertificateRepository.findById(1L).orElseThrow();
+        GiftCertificateVersion version = giftCertificateRepository.findVersion(1L).orElseThrow();
+        assertEquals(certificate.getLastUpdateDate(), version.getLastUpdateDate());
+        assertEquals(certificate.getTags().stream().map(Tag::getId).sorted().toList(), version.getTagIds());
+        assertTrue(giftCertificateRepository.findVersion(0L).isEmpty());
+    }
+
+    @Test
+    void shouldCountCatalogChangesOfWritesOnlyTest() {
+        CatalogVersion version = giftCertificateRepository.findCatalogVersion();
+        giftCertificateRepository.findById(1L);
+        giftCertificateRepository.findAll();
+        assertEquals(version, giftCertificateRepository.findCatalogVersion());
+
+        addBooksToFirstCertificate();
+        CatalogVersion tagged = giftCertificateRepository.findCatalogVersion();
+        assertTrue(tagged.getChanges() > version.getChanges());
+        assertFalse(tagged.getLastUpdateDate().isBefore(version.getLastUpdateDate()));
+
+        assertTrue(giftCertificateRepository.delete(2L));
+        assertTrue(giftCertificateRepository.findCatalogVersion().getChanges() > tagged.getChanges());
+    }
+
+    @Test
+    void shouldStreamAllTagAssociationsInChunksTest() {
+        addBooksToFirstCertificate();
+        assertEquals(Set.of(1L, 12L), Set.copyOf(giftCertificateRepository.findTagIds(1L)));
+
+        List<List<Long>> associations = new ArrayList<>();
+        giftCertificateRepository.streamTagAssociations(5, (tagId, certificateId) -> associations.add(List.of(tagId, certificateId)));
+        List<List<Long>> expected = new ArrayList<>();
+        LongStream.rangeClosed(1, 11).forEach(id -> expected.add(List.of(id, id)));
+        expected.add(List.of(12L, 1L));
+        expected.add(List.of(12L, 12L));
+        assertEquals(expected, associations);
+    }
+
+    @Test
+    void shouldStreamTextsOfAllCertificatesInChunksTest() {
+        List<Long> ids = new ArrayList<>();
+        Map<Long, String> names = new HashMap<>();
+        giftCertificateRepository.streamSearchTexts(5, (id, name, description) -> {
+            ids.add(id);
+            names.put(id, name);
+            assertFalse(description.isEmpty());
+        });
+        assertEquals(LongStream.rangeClosed(1, 12).boxed().toList(), ids);
+        assertEquals("$50 Gift Voucher", names.get(1L));
+    }
+
     @Test
     void shouldReturnCorrectListOfCertificatesByTagTest() {
-        List<GiftCertificate> certificates = giftCertificateRepository.findByTag(tag);
+        List<GiftCertificate> certificates = giftCertificateRepository.findByTag(tag, allRows);
         assertEquals(0, certificates.size());
     }
 
@@ -76,11 +328,11 @@ class GiftCertificateRepositoryImplTest extends AbstractIntegrationTest {
                 .searchPlace(SearchPlace.ENDS_WITH)
                 .build();
 
-        assertEquals(5, giftCertificateRepository.findBySearchFilter(searchFilter).size());
+        assertEquals(5, giftCertificateRepository.findBySearchFilter(searchFilter, allRows).size());
         searchFilter.setSearchPlace(SearchPlace.STARTS_WITH);
-        assertEquals(0, giftCertificateRepository.findBySearchFilter(searchFilter).size());
+        assertEquals(0, giftCertificateRepository.findBySearchFilter(searchFilter, allRows).size());
         searchFilter.setSearchValue("name");
-        assertEquals(0, giftCertificateRepository.findBySearchFilter(searchFilter).size());
+        assertEquals(0, giftCertificateRepository.findBySearchFilter(searchFilter, allRows).size());
 
         searchFilter = SearchFilter
                 .builder()
@@ -89,11 +341,11 @@ class GiftCertificateRepositoryImplTest extends AbstractIntegrationTest {
                 .searchPlace(SearchPlace.ENDS_WITH)
                 .build();
 
-        assertEquals(0, giftCertificateRepository.findBySearchFilter(searchFilter).size());
+        assertEquals(0, giftCertificateRepository.findBySearchFilter(searchFilter, allRows).size());
         searchFilter.setSearchPlace(SearchPlace.STARTS_WITH);
-        assertEquals(0, giftCertificateRepository.findBySearchFilter(searchFilter).size());
+        assertEquals(0, giftCertificateRepository.findBySearchFilter(searchFilter, allRows).size());
         searchFilter.setSearchValue("Shop");
-        assertEquals(2, giftCertificateRepository.findBySearchFilter(searchFilter).size());
+        assertEquals(2, giftCertificateRepository.findBySearchFilter(searchFilter, allRows).size());
     }
 
     @Test
@@ -114,21 +366,246 @@ class GiftCertificateRepositoryImplTest extends AbstractIntegrationTest {
         Optional<GiftCertificate> optionalCertificate = giftCertificateRepository.findById(1L);
         assertTrue(optionalCertificate.isPresent());
         optionalCertificate.get().setPrice(10.0);
-        giftCertificateRepository.update(optionalCertificate.get());
+        assertTrue(giftCertificateRepository.update(optionalCertificate.get()));
         optionalCertificate = giftCertificateRepository.findById(1L);
         assertTrue(optionalCertificate.isPresent());
         assertEquals(10.0, optionalCertificate.get().getPrice());
     }
 
+    @Test
+    void shouldReturnFalseIfNoCertificateWasUpdatedTest() {
+        GiftCertificate certificate = GiftCertificate.builder()
+                .id(999L)
+                .price(10.0)
+                .build();
+        assertFalse(giftCertificateRepository.update(certificate));
+    }
+
+    @Test
+    void shouldAddTagsToCertificateAndSkipAssociatedOnesTest() {
+        GiftCertificate certificate = GiftCertificate.builder()
+                .id(1L)
+                .tags(Set.of(
+                        Tag.builder().id(1L).name("Spa").build(),
+                        Tag.builder().id(12L).name("Books").build()))
+                .build();
+        giftCertificateRepository.insertTags(certificate);
+        Optional<GiftCertificate> optionalCertificate = giftCertificateRepository.findById(1L);
+        assertTrue(optionalCertificate.isPresent());
+        assertEquals(List.of(1L, 12L), optionalCertificate.get().getTags().stream().map(Tag::getId).sorted().toList());
+    }
+
+    @Test
+    void shouldReplaceTagsOfCertificateTest() {
+        GiftCertificate certificate = GiftCertificate.builder()
+                .id(1L)
+                .tags(Set.of(
+                        Tag.builder().id(5L).name("Travel").build(),
+                        Tag.builder().id(12L).name("Books").build()))
+                .build();
+        giftCertificateRepository.insertTags(certificate);
+        certificate.setTags(Set.of(
+                Tag.builder().id(1L).name("Spa").build(),
+                Tag.builder().id(12L).name("Books").build()));
+        giftCertificateRepository.updateTags(certificate);
+        Optional<GiftCertificate> optionalCertificate = giftCertificateRepository.findById(1L);
+        assertTrue(optionalCertificate.isPresent());
+        assertEquals(List.of(1L, 12L), optionalCertificate.get().getTags().stream().map(Tag::getId).sorted().toList());
+
+        certificate.setTags(Set.of());
+        giftCertificateRepository.updateTags(certificate);
+        optionalCertificate = giftCertificateRepository.findById(1L);
+        assertTrue(optionalCertificate.isPresent());
+        assertTrue(optionalCertificate.get().getTags().isEmpty());
+    }
+
+    @Test
+    void shouldKeepTagsOfCertificateIfCertificateWasUpdatedTest() {
+        Optional<GiftCertificate> optionalCertificate = giftCertificateRepository.findById(1L);
+        assertTrue(optionalCertificate.isPresent());
+        Set<Tag> tags = optionalCertificate.get().getTags();
+        optionalCertificate.get().setName("Renamed voucher");
+        giftCertificateRepository.update(optionalCertificate.get());
+        optionalCertificate = giftCertificateRepository.findById(1L);
+        assertTrue(optionalCertificate.isPresent());
+        assertEquals(tags, optionalCertificate.get().getTags());
+    }
+
     @Test
     void shouldNotThrowAnythingIfCertificateWasDeletedTest() {
         Optional<GiftCertificate> optionalCertificate = giftCertificateRepository.findById(1L);
         assertTrue(optionalCertificate.isPresent());
 
         int size = giftCertificateRepository.findAll().size();
-        giftCertificateRepository.delete(1L);
+        assertTrue(giftCertificateRepository.delete(1L));
         assertEquals(--size, giftCertificateRepository.findAll().size());
         assertThrows(EmptyResultDataAccessException.class,
                 () -> giftCertificateRepository.findById(1L));
     }
+
+    @Test
+    void shouldReturnFalseIfNoCertificateWasDeletedTest() {
+        assertFalse(giftCertificateRepository.delete(999L));
+    }
+
+    @Test
+    void shouldFindCertificatesHavingAllIncludedTagsTest() {
+        addBooksToFirstCertificate();
+        assertEquals(List.of(1L), findIdsByTags(Set.of("Spa", "Books"), Set.of(), TagMatch.ALL, allRows));
+        assertEquals(List.of(), findIdsByTags(Set.of("Spa", "Unknown"), Set.of(), TagMatch.ALL, allRows));
+    }
+
+    @Test
+    void shouldFindCertificatesHavingAnyIncludedTagTest() {
+        addBooksToFirstCertificate();
+        assertEquals(List.of(1L, 12L), findIdsByTags(Set.of("Spa", "Books", "Unknown"), Set.of(), TagMatch.ANY, allRows));
+        PageFilter secondPage = PageFilter.builder().limit(1).lastId(1L).build();
+        assertEquals(List.of(12L), findIdsByTags(Set.of("Spa", "Books"), Set.of(), TagMatch.ANY, secondPage));
+    }
+
+    @Test
+    void shouldSkipCertificatesHavingExcludedTagsTest() {
+        addBooksToFirstCertificate();
+        assertEquals(List.of(2L), findIdsByTags(Set.of("Spa", "Dining"), Set.of("Books"), TagMatch.ANY, allRows));
+        assertEquals(List.of(2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L, 11L),
+                findIdsByTags(Set.of(), Set.of("Books", "Unknown"), TagMatch.ALL, allRows));
+    }
+
+    @Test
+    void shouldCombineTagSearchAndSortFiltersTest() {
+        addBooksToFirstCertificate();
+        GiftCertificateFilter filter = GiftCertificateFilter.builder()
+                .tagFilter(TagFilter.builder()
+                        .includedTags(Set.of("Books", "Dining"))
+                        .excludedTags(Set.of("Spa"))
+                        .tagMatch(TagMatch.ANY)
+                        .build())
+                .searchFilter(SearchFilter.builder()
+                        .searchValue("GIFT")
+                        .searchType(SearchType.TITLE)
+                        .searchPlace(SearchPlace.CONTAINS)
+                        .caseInsensitive(true)
+                        .build())
+                .sortFilter(SortFilter.builder().sortType(SortType.BY_NAME).sortOrder(SortOrder.DESCENDING).build())
+                .build();
+        assertEquals(List.of(12L, 2L), findIdsByFilter(filter, allRows));
+
+        GiftCertificate first = giftCertificateRepository.findByFilter(filter, PageFilter.builder().limit(1).build()).get(0);
+        PageFilter secondPage = PageFilter.builder().limit(1).lastId(first.getId()).lastValue(first.getName()).build();
+        assertEquals(List.of(2L), findIdsByFilter(filter, secondPage));
+    }
+
+    @Test
+    void shouldOrderCombinedFilterByIdWithoutSortFilterTest() {
+        addBooksToFirstCertificate();
+        GiftCertificateFilter filter = GiftCertificateFilter.builder()
+                .tagFilter(TagFilter.builder()
+                        .includedTags(Set.of("Spa", "Books"))
+                        .excludedTags(Set.of())
+                        .tagMatch(TagMatch.ALL)
+                        .build())
+                .build();
+        assertEquals(List.of(1L), findIdsByFilter(filter, allRows));
+
+        GiftCertificateFilter unfiltered = GiftCertificateFilter.builder().build();
+        assertEquals(List.of(11L, 12L), findIdsByFilter(unfiltered, PageFilter.builder().limit(5).lastId(10L).build()));
+    }
+
+    @Test
+    void shouldImportCertificatesWithExistingAndNewTagsTest() {
+        GiftCertificate quoted = GiftCertificate.builder()
+                .name("Say \"cheese\", please")
+                .description("Line one\nline two, with \\ and \"quotes\"")
+                .price(12.5)
+                .duration(30)
+                .tags(Set.of(
+                        Tag.builder().name("Spa").build(),
+                        Tag.builder().id(1L).name("Spa").build(),
+                        Tag.builder().name("Back\\slash \"and\", comma").build()))
+                .build();
+        GiftCertificate untagged = GiftCertificate.builder()
+                .name("Untagged voucher")
+                .description("Certificate without tags")
+                .price(1.0)
+                .duration(1)
+                .tags(Set.of())
+                .build();
+
+        CatalogVersion version = giftCertificateRepository.findCatalogVersion();
+        ImportResult result = giftCertificateRepository.importAll(List.of(quoted, untagged).iterator());
+
+        assertEquals(2, result.getImported());
+        assertTrue(giftCertificateRepository.findCatalogVersion().getChanges() > version.getChanges());
+        assertEquals(List.of("Back\\slash \"and\", comma"), result.getCreatedTags().stream().map(Tag::getName).toList());
+        List<GiftCertificate> certificates = giftCertificateRepository.findAll();
+        assertEquals(14, certificates.size());
+        GiftCertificate imported = certificates.stream()
+                .filter(certificate -> certificate.getName().equals(quoted.getName()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(quoted.getName(), imported.getName());
+        assertEquals(quoted.getDescription(), imported.getDescription());
+        assertEquals(12.5, imported.getPrice());
+        assertNotNull(imported.getCreateDate());
+        assertEquals(List.of(1L, result.getCreatedTags().get(0).getId()),
+                imported.getTags().stream().map(Tag::getId).sorted().toList());
+        assertTrue(certificates.stream()
+                .filter(certificate -> certificate.getName().equals(untagged.getName()))
+                .allMatch(certificate -> certificate.getTags().isEmpty() && certificate.getId() > imported.getId()));
+    }
+
+    @Test
+    void shouldImportWithForeignKeyChecksIfNotSuperuserTest() {
+        jdbcTemplate.execute("CREATE ROLE gift_certificate_importer");
+        jdbcTemplate.execute("GRANT SELECT, INSERT, UPDATE ON ALL TABLES IN SCHEMA public TO gift_certificate_importer");
+        jdbcTemplate.execute("GRANT USAGE ON ALL SEQUENCES IN SCHEMA public TO gift_certificate_importer");
+        jdbcTemplate.execute("SET LOCAL ROLE gift_certificate_importer");
+        CatalogVersion version = giftCertificateRepository.findCatalogVersion();
+        GiftCertificate certificate = GiftCertificate.builder()
+                .name("Imported without superuser")
+                .description("Certificate checked row by row")
+                .price(5.0)
+                .duration(7)
+                .tags(Set.of(Tag.builder().name("Spa").build(), Tag.builder().name("Imported tag").build()))
+                .build();
+
+        ImportResult result = giftCertificateRepository.importAll(List.of(certificate).iterator());
+
+        assertEquals(1, result.getImported());
+        assertTrue(giftCertificateRepository.findCatalogVersion().getChanges() > version.getChanges());
+        GiftCertificate imported = giftCertificateRepository.findAll().stream()
+                .filter(found -> found.getName().equals(certificate.getName()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(List.of(1L, result.getCreatedTags().get(0).getId()),
+                imported.getTags().stream().map(Tag::getId).sorted().toList());
+    }
+
+    @Test
+    void shouldImportNothingFromEmptyIteratorTest() {
+        ImportResult result = giftCertificateRepository.importAll(List.<GiftCertificate>of().iterator());
+        assertEquals(0, result.getImported());
+        assertTrue(result.getCreatedTags().isEmpty());
+        assertEquals(12, giftCertificateRepository.findAll().size());
+    }
+
+    private void addBooksToFirstCertificate() {
+        giftCertificateRepository.insertTags(GiftCertificate.builder()
+                .id(1L)
+                .tags(Set.of(Tag.builder().id(12L).name("Books").build()))
+                .build());
+    }
+
+    private List<Long> findIdsByTags(Set<String> included, Set<String> excluded, TagMatch tagMatch, PageFilter pageFilter) {
+        TagFilter tagFilter = TagFilter.builder()
+                .includedTags(included)
+                .excludedTags(excluded)
+                .tagMatch(tagMatch)
+                .build();
+        return giftCertificateRepository.findByTags(tagFilter, pageFilter).stream().map(GiftCertificate::getId).toList();
+    }
+
+    private List<Long> findIdsByFilter(GiftCertificateFilter filter, PageFilter pageFilter) {
+        return giftCertificateRepository.findByFilter(filter, pageFilter).stream().map(GiftCertificate::getId).toList();
+    }
 }
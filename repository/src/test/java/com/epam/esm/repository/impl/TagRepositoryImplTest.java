@@ -1,7 +1,10 @@
 package com.epam.esm.repository.impl;
 
 import com.epam.esm.config.RepositoryTestConfig;
+import com.epam.esm.entity.CatalogVersion;
+import com.epam.esm.entity.GiftCertificateVersion;
 import com.epam.esm.entity.Tag;
+import com.epam.esm.repository.repository.GiftCertificateRepository;
 import com.epam.esm.repository.repository.TagRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,7 +15,9 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static com.epam.esm.util.RepositoryTestEntityHolder.tag;
@@ -27,10 +32,12 @@ import static org.junit.jupiter.api.Assertions.*;
 class TagRepositoryImplTest extends AbstractIntegrationTest {
 
     private final TagRepository tagRepository;
+    private final GiftCertificateRepository giftCertificateRepository;
 
     @Autowired
-    public TagRepositoryImplTest(TagRepository tagRepository) {
+    public TagRepositoryImplTest(TagRepository tagRepository, GiftCertificateRepository giftCertificateRepository) {
         this.tagRepository = tagRepository;
+        this.giftCertificateRepository = giftCertificateRepository;
     }
 
     @Test
@@ -77,14 +84,54 @@ class TagRepositoryImplTest extends AbstractIntegrationTest {
         assertEquals(size, tagRepository.findAll().size());
     }
 
+    @Test
+    public void shouldReturnIdsOfExistingAndInsertedTagsTest() {
+        int size = tagRepository.findAll().size();
+        List<Tag> tags = tagRepository.upsertAll(List.of("Hotel", "Music", "Cinema", "Music"));
+        assertEquals(List.of("Cinema", "Hotel", "Music"), tags.stream().map(Tag::getName).sorted().toList());
+        assertTrue(tags.contains(Tag.builder().id(8L).name("Hotel").build()));
+        tags.forEach(upsertedTag -> assertEquals(Optional.of(upsertedTag), tagRepository.findById(upsertedTag.getId())));
+        assertEquals(size + 2, tagRepository.findAll().size());
+        assertEquals(tags.stream().sorted(Comparator.comparing(Tag::getId)).toList(),
+                tagRepository.upsertAll(List.of("Music", "Cinema", "Hotel")).stream()
+                        .sorted(Comparator.comparing(Tag::getId)).toList());
+    }
+
+    @Test
+    public void shouldCountCertificatesOfTagsHavingAnyTest() {
+        Long id = tagRepository.insert(tag);
+        assertEquals(Map.of(1L, 1L, 2L, 1L), tagRepository.countCertificates(List.of(1L, 2L, id)));
+        assertTrue(tagRepository.countCertificates(List.of()).isEmpty());
+    }
+
     @Test
     public void shouldNotThrowAnythingIfTagWasDeletedTest() {
         assertTrue(tagRepository.findById(1L).isPresent());
         int size = tagRepository.findAll().size();
 
-        tagRepository.delete(1L);
+        assertTrue(tagRepository.delete(1L));
         assertThrows(EmptyResultDataAccessException.class,
                 () -> tagRepository.findById(1L));
         assertEquals(--size, tagRepository.findAll().size());
     }
+
+    @Test
+    public void shouldChangeVersionsOfCertificatesOfDeletedTagTest() {
+        CatalogVersion catalog = giftCertificateRepository.findCatalogVersion();
+        GiftCertificateVersion carrying = giftCertificateRepository.findVersion(1L).orElseThrow();
+        GiftCertificateVersion other = giftCertificateRepository.findVersion(2L).orElseThrow();
+        assertTrue(carrying.getTagIds().contains(1L));
+
+        assertTrue(tagRepository.delete(1L));
+        GiftCertificateVersion detached = giftCertificateRepository.findVersion(1L).orElseThrow();
+        assertFalse(detached.getTagIds().contains(1L));
+        assertEquals(carrying.getLastUpdateDate(), detached.getLastUpdateDate());
+        assertEquals(other, giftCertificateRepository.findVersion(2L).orElseThrow());
+        assertTrue(giftCertificateRepository.findCatalogVersion().getChanges() > catalog.getChanges());
+    }
+
+    @Test
+    public void shouldReturnFalseIfNoTagWasDeletedTest() {
+        assertFalse(tagRepository.delete(999L));
+    }
 }
@@ -0,0 +1,134 @@
+package com.epam.esm.cache;
+
+import com.epam.esm.dto.VersionDTO;
+import com.epam.esm.repository.repository.GiftCertificateRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Base of the in-memory indexes of the gift certificates, loaded at startup when enabled.
+ * Changes made through this instance are applied by the subclasses after they commit. Changes made through other
+ * instances are caught up by reconciliation: every reconcile period the change counter kept by the database is
+ * compared with the one read before the index was last loaded, and the index is reloaded on a background thread
+ * if it moved. Imports are caught up the same way, right after they commit.
+ * Every load or applied change gives the index a new version, unique to this instance, so that the versions of
+ * the pages read from the index change whenever the index does.
+ */
+@Slf4j
+public abstract class CatalogIndex implements InitializingBean, DisposableBean {
+    private final GiftCertificateRepository giftCertificateRepository;
+    private final boolean enabled;
+    private final long reconcileSeconds;
+    private final String origin = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private final AtomicLong changes = new AtomicLong();
+    private ScheduledExecutorService reconciler;
+    private volatile long loadedCatalogChanges = -1;
+    private volatile VersionDTO version = new VersionDTO(origin + "-0", 0);
+
+    protected CatalogIndex(GiftCertificateRepository giftCertificateRepository, boolean enabled, long reconcileSeconds) {
+        this.giftCertificateRepository = giftCertificateRepository;
+        this.enabled = enabled;
+        this.reconcileSeconds = reconcileSeconds;
+    }
+
+    /**
+     * Loads the index from the database and starts its reconciliation if the index is enabled.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        if (!enabled) {
+            return;
+        }
+        reload();
+        reconciler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, getClass().getSimpleName() + "-reconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reconciler.scheduleWithFixedDelay(this::reconcile, reconcileSeconds, reconcileSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops the reconciliation.
+     */
+    @Override
+    public void destroy() {
+        if (reconciler != null) {
+            reconciler.shutdownNow();
+        }
+    }
+
+    /**
+     * Tells whether the index is enabled.
+     *
+     * @return True if the index is loaded and answers the queries it covers.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the version of the index, which changes with every load and every applied change.
+     *
+     * @return The entity tag of the index, unique to this instance, and the time of its last change.
+     */
+    public VersionDTO version() {
+        return version;
+    }
+
+    /**
+     * Replaces the index with the current content of the database. The change counter of the database is read
+     * first, so that the index is at least as recent as the counter it is reconciled against.
+     */
+    public synchronized void reload() {
+        long catalogChanges = giftCertificateRepository.findCatalogVersion().getChanges();
+        load();
+        loadedCatalogChanges = catalogChanges;
+        changed();
+    }
+
+    /**
+     * Reloads the index if the change counter of the database moved since the index was last loaded.
+     * Errors are logged, so that the next reconciliation runs.
+     */
+    public void reconcile() {
+        try {
+            if (giftCertificateRepository.findCatalogVersion().getChanges() != loadedCatalogChanges) {
+                log.info("Reconciling {} with the database...", getClass().getSimpleName());
+                reload();
+            }
+        } catch (RuntimeException ex) {
+            log.error("Failed to reconcile {}, cause: {}", getClass().getSimpleName(), ex.getMessage());
+        }
+    }
+
+    /**
+     * Reconciles the index on the background thread as soon as possible, or at once if it has none.
+     */
+    protected void reconcileSoon() {
+        if (reconciler == null) {
+            reconcile();
+        } else {
+            reconciler.execute(this::reconcile);
+        }
+    }
+
+    /**
+     * Gives the index a new version, once a change is applied.
+     */
+    protected void changed() {
+        version = new VersionDTO(origin + "-" + Long.toHexString(changes.incrementAndGet()), System.currentTimeMillis());
+    }
+
+    /**
+     * Replaces the content of the index with the current content of the database.
+     */
+    protected abstract void load();
+}
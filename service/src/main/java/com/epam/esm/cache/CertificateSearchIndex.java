@@ -0,0 +1,305 @@
+package com.epam.esm.cache;
+
+import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.entity.filter.search.SearchFilter;
+import com.epam.esm.entity.filter.search.SearchPlace;
+import com.epam.esm.entity.filter.search.SearchType;
+import com.epam.esm.event.GiftCertificateChangedEvent;
+import com.epam.esm.event.GiftCertificatesImportedEvent;
+import com.epam.esm.repository.repository.GiftCertificateRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * In-memory n-gram index over the names, and optionally the descriptions, of the gift certificates, answering
+ * the starts with, contains and ends with searches of the repository without a database query.
+ * Every text is folded to one case and split into the grams of one to three characters of the text between
+ * a start and an end mark, so that values of one or two characters, anywhere or next to a mark, have a gram too.
+ * The IDs of the certificates having a gram are kept in a compressed bitmap.
+ * A search intersects the bitmaps of the trigrams of the value, or takes the bitmap of the whole value when it is
+ * shorter, then checks the text of every candidate in ID order until the page is full; only an empty value
+ * checks every certificate.
+ * The index is only loaded when search.index.enabled is set; descriptions only when search.index.description is set.
+ * Readers do not lock. A change replaces the text first, then swaps in modified copies of the bitmaps it changes,
+ * so that a concurrent search may miss the changed certificate but never returns one that does not match.
+ * Changes are applied after the transaction that made them commits, by reading the committed certificate;
+ * changes made through other instances are caught up by reconciliation every search.index.reconcile-seconds.
+ */
+@Slf4j
+@Component
+public class CertificateSearchIndex extends CatalogIndex {
+    private static final int LOAD_CHUNK_SIZE = 10_000;
+    private static final int GRAM_LENGTH = 3;
+    private static final char START = '\u0002';
+    private static final char END = '\u0003';
+    private static final Map<SearchType, Function<GiftCertificate, String>> TEXTS = Map.of(
+            SearchType.TITLE, GiftCertificate::getName,
+            SearchType.DESC, GiftCertificate::getDescription);
+
+    private final GiftCertificateRepository giftCertificateRepository;
+    private final Set<SearchType> searchTypes;
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), new RoaringBitmap());
+
+    public CertificateSearchIndex(GiftCertificateRepository giftCertificateRepository,
+                                  @Value("${search.index.enabled:false}") boolean enabled,
+                                  @Value("${search.index.description:false}") boolean description,
+                                  @Value("${search.index.reconcile-seconds:60}") long reconcileSeconds) {
+        super(giftCertificateRepository, enabled, reconcileSeconds);
+        this.giftCertificateRepository = giftCertificateRepository;
+        this.searchTypes = !enabled ? Set.of()
+                : description ? Set.of(SearchType.TITLE, SearchType.DESC)
+                : Set.of(SearchType.TITLE);
+    }
+
+    /**
+     * Loads the current texts of all certificates from the database into a new index and swaps it in.
+     */
+    @Override
+    protected void load() {
+        log.info("Loading search index of {}...", searchTypes);
+        Map<SearchType, FieldIndex> fields = new EnumMap<>(SearchType.class);
+        searchTypes.forEach(searchType -> fields.put(searchType, new FieldIndex()));
+        RoaringBitmap ids = new RoaringBitmap();
+        giftCertificateRepository.streamSearchTexts(LOAD_CHUNK_SIZE, (giftCertificateId, name, description) -> {
+            int id = toIndexId(giftCertificateId);
+            ids.add(id);
+            fields.forEach((searchType, field) -> field.load(id, searchType == SearchType.TITLE ? name : description));
+        });
+        fields.values().forEach(FieldIndex::optimize);
+        snapshot = new Snapshot(Map.copyOf(fields), ids);
+        log.info("Loaded search index of {} certificates", ids.getLongCardinality());
+    }
+
+    /**
+     * Tells whether the index answers the search: it is enabled and indexes the searched field.
+     *
+     * @param searchFilter The search.
+     * @return True if the search can be passed to {@link #findIds}.
+     */
+    public boolean covers(SearchFilter searchFilter) {
+        return searchTypes.contains(searchFilter.getSearchType());
+    }
+
+    /**
+     * Finds the IDs of the certificates whose searched field starts with, contains or ends with the search value,
+     * like the LIKE and ILIKE patterns of the repository.
+     *
+     * @param searchFilter The search, which the index must cover.
+     * @param lastId       The ID the certificates must follow, or null for the first ones.
+     * @param limit        The maximum number of IDs to return.
+     * @return IDs of the matching certificates in ascending order.
+     */
+    public List<Long> findIds(SearchFilter searchFilter, Long lastId, int limit) {
+        Snapshot current = snapshot;
+        FieldIndex field = current.fields().get(searchFilter.getSearchType());
+        String value = searchFilter.getSearchValue();
+        SearchPlace searchPlace = searchFilter.getSearchPlace();
+        String folded = fold(value);
+        String anchored = switch (searchPlace) {
+            case STARTS_WITH -> START + folded;
+            case CONTAINS -> folded;
+            case ENDS_WITH -> folded + END;
+        };
+        List<RoaringBitmap> postings = new ArrayList<>();
+        for (long gram : queryGrams(anchored, folded)) {
+            RoaringBitmap certificates = field.postings().get(gram);
+            if (certificates == null) {
+                return List.of();
+            }
+            postings.add(certificates);
+        }
+        RoaringBitmap candidates = postings.isEmpty() ? current.ids() : FastAggregation.and(postings.iterator());
+
+        List<Long> ids = new ArrayList<>(limit);
+        PeekableIntIterator iterator = candidates.getIntIterator();
+        iterator.advanceIfNeeded(lastId == null ? 0 : toIndexId(lastId + 1));
+        while (iterator.hasNext() && ids.size() < limit) {
+            int id = iterator.next();
+            String text = field.texts().get(id);
+            if (text != null && matches(text, value, searchPlace, searchFilter.isCaseInsensitive())) {
+                ids.add((long) id);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Reads the changed certificate once the change is committed, or immediately outside a transaction,
+     * and replaces its texts and grams, removing them if the certificate was deleted.
+     *
+     * @param event The change of the certificate.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onGiftCertificateChanged(GiftCertificateChangedEvent event) {
+        if (!isEnabled()) {
+            return;
+        }
+        int id = toIndexId(event.getId());
+        Optional<GiftCertificate> certificate = findCertificate(event.getId());
+        Snapshot current = snapshot;
+        current.fields().forEach((searchType, field) ->
+                field.replace(id, certificate.map(TEXTS.get(searchType)).orElse(null)));
+        if (certificate.isPresent() != current.ids().contains(id)) {
+            RoaringBitmap ids = current.ids().clone();
+            if (certificate.isPresent()) {
+                ids.add(id);
+            } else {
+                ids.remove(id);
+            }
+            snapshot = new Snapshot(current.fields(), ids);
+        }
+        changed();
+    }
+
+    /**
+     * Reconciles the index on its background thread once an import is committed, or immediately outside
+     * a transaction.
+     *
+     * @param event The import of the certificates.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGiftCertificatesImported(GiftCertificatesImportedEvent event) {
+        if (isEnabled()) {
+            reconcileSoon();
+        }
+    }
+
+    private Optional<GiftCertificate> findCertificate(Long id) {
+        try {
+            return giftCertificateRepository.findById(id);
+        } catch (EmptyResultDataAccessException ex) {
+            return Optional.empty();
+        }
+    }
+
+    private static boolean matches(String text, String value, SearchPlace searchPlace, boolean caseInsensitive) {
+        return switch (searchPlace) {
+            case STARTS_WITH -> text.regionMatches(caseInsensitive, 0, value, 0, value.length());
+            case ENDS_WITH -> text.regionMatches(caseInsensitive, text.length() - value.length(), value, 0, value.length());
+            case CONTAINS -> {
+                for (int offset = 0; offset <= text.length() - value.length(); offset++) {
+                    if (text.regionMatches(caseInsensitive, offset, value, 0, value.length())) {
+                        yield true;
+                    }
+                }
+                yield false;
+            }
+        };
+    }
+
+    // the case folding of String.regionMatches ignoring case, so that every match ignoring case shares the grams
+    private static String fold(String text) {
+        StringBuilder folded = new StringBuilder(text.length());
+        text.codePoints().forEach(codePoint ->
+                folded.appendCodePoint(Character.toLowerCase(Character.toUpperCase(codePoint))));
+        return folded.toString();
+    }
+
+    private static Set<Long> textGrams(String text) {
+        Set<Long> grams = new HashSet<>();
+        if (text == null || text.isEmpty()) {
+            return grams;
+        }
+        String padded = START + fold(text) + END;
+        for (int length = 1; length <= GRAM_LENGTH; length++) {
+            for (int i = 0; i + length <= padded.length(); i++) {
+                grams.add(gram(padded, i, length));
+            }
+        }
+        return grams;
+    }
+
+    // the trigrams of the value, or the value as one shorter gram; none for an empty value
+    private static Set<Long> queryGrams(String anchored, String folded) {
+        Set<Long> grams = new HashSet<>();
+        if (folded.isEmpty()) {
+            return grams;
+        }
+        if (anchored.length() < GRAM_LENGTH) {
+            grams.add(gram(anchored, 0, anchored.length()));
+            return grams;
+        }
+        for (int i = 0; i + GRAM_LENGTH <= anchored.length(); i++) {
+            grams.add(gram(anchored, i, GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    // the characters of the gram in 16 bits each, above them its length
+    private static long gram(String text, int from, int length) {
+        long gram = length;
+        for (int i = from; i < from + length; i++) {
+            gram = gram << Character.SIZE | text.charAt(i);
+        }
+        return gram;
+    }
+
+    // certificate IDs are positive 32-bit serials
+    private static int toIndexId(long giftCertificateId) {
+        return Math.toIntExact(giftCertificateId);
+    }
+
+    private record Snapshot(Map<SearchType, FieldIndex> fields, RoaringBitmap ids) {
+    }
+
+    private record FieldIndex(Map<Integer, String> texts, Map<Long, RoaringBitmap> postings) {
+
+        FieldIndex() {
+            this(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+        }
+
+        // fills an index that is not read yet, changing the bitmaps in place
+        void load(int id, String text) {
+            texts.put(id, text);
+            textGrams(text).forEach(gram -> postings.computeIfAbsent(gram, key -> new RoaringBitmap()).add(id));
+        }
+
+        void optimize() {
+            postings.values().forEach(RoaringBitmap::runOptimize);
+        }
+
+        void replace(int id, String text) {
+            String previous = texts.get(id);
+            if (text == null) {
+                texts.remove(id);
+            } else if (!text.equals(previous)) {
+                texts.put(id, text);
+            } else {
+                return;
+            }
+            Set<Long> grams = textGrams(text);
+            Set<Long> previousGrams = textGrams(previous);
+            grams.stream().filter(gram -> !previousGrams.contains(gram)).forEach(gram -> {
+                RoaringBitmap certificates = postings.get(gram);
+                RoaringBitmap changed = certificates == null ? new RoaringBitmap() : certificates.clone();
+                changed.add(id);
+                postings.put(gram, changed);
+            });
+            previousGrams.stream().filter(gram -> !grams.contains(gram)).forEach(gram -> {
+                RoaringBitmap changed = postings.get(gram).clone();
+                changed.remove(id);
+                if (changed.isEmpty()) {
+                    postings.remove(gram);
+                } else {
+                    postings.put(gram, changed);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.epam.esm.cache;
+
+import com.epam.esm.dto.stats.CacheStatsDTO;
+import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.event.GiftCertificateChangedEvent;
+import com.epam.esm.event.TagDeletedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Bounded in-memory cache of gift certificates with their tags by ID.
+ * Entries are admitted and evicted by the W-TinyLFU policy once the maximum size is reached,
+ * and expire a fixed time after they were loaded.
+ * Entries are invalidated after the transaction that changed the certificate or deleted one of its tags commits,
+ * so that a concurrent read cannot load the uncommitted state back into the cache.
+ */
+@Slf4j
+@Component
+public class GiftCertificateCache {
+    private final long maximumSize;
+    private final Cache<Long, GiftCertificate> certificates;
+
+    public GiftCertificateCache(@Value("${cache.certificates.maximum-size:10000}") long maximumSize,
+                                @Value("${cache.certificates.expire-after-write-seconds:600}") long expireAfterWriteSeconds) {
+        this.maximumSize = maximumSize;
+        this.certificates = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached certificate, loading it on a miss. Missing certificates are not cached.
+     *
+     * @param id     The ID of the certificate.
+     * @param loader The function loading the certificate by ID.
+     * @return The certificate, or empty if the loader did not find it.
+     */
+    public Optional<GiftCertificate> get(Long id, Function<Long, Optional<GiftCertificate>> loader) {
+        return Optional.ofNullable(certificates.get(id, key -> loader.apply(key).orElse(null)));
+    }
+
+    /**
+     * Returns the cached certificate without loading it on a miss.
+     *
+     * @param id The ID of the certificate.
+     * @return The certificate, or empty if it is not cached.
+     */
+    public Optional<GiftCertificate> getIfPresent(Long id) {
+        return Optional.ofNullable(certificates.getIfPresent(id));
+    }
+
+    /**
+     * Returns the cached certificates and loads all the missing ones with one call of the loader.
+     * Loaded certificates are not cached, since the loader may read a replica lagging behind the primary database.
+     *
+     * @param ids    The IDs of the certificates in the order to return them.
+     * @param loader The function loading the certificates by ID, given in ascending order.
+     * @return The certificates found, in the order of their IDs.
+     */
+    public List<GiftCertificate> getAll(List<Long> ids, Function<List<Long>, List<GiftCertificate>> loader) {
+        Map<Long, GiftCertificate> found = new HashMap<>(certificates.getAllPresent(ids));
+        List<Long> missing = ids.stream().filter(id -> !found.containsKey(id)).sorted().toList();
+        if (!missing.isEmpty()) {
+            loader.apply(missing).forEach(certificate -> found.put(certificate.getId(), certificate));
+        }
+        return ids.stream().map(found::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Evicts the changed certificate once the change is committed, or immediately outside a transaction.
+     *
+     * @param event The change of the certificate.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGiftCertificateChanged(GiftCertificateChangedEvent event) {
+        log.info("Evicting cached certificate with ID: {}", event.getId());
+        certificates.invalidate(event.getId());
+    }
+
+    /**
+     * Evicts all certificates once the deletion of a tag is committed, since any of them may have carried the tag.
+     *
+     * @param event The deletion of the tag.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTagDeleted(TagDeletedEvent event) {
+        log.info("Evicting all cached certificates after deletion of tag with ID: {}", event.getId());
+        certificates.invalidateAll();
+    }
+
+    /**
+     * Returns the counters of the cache since it was created.
+     *
+     * @return The cache statistics.
+     */
+    public CacheStatsDTO stats() {
+        CacheStats stats = certificates.stats();
+        return CacheStatsDTO.builder()
+                .size(certificates.estimatedSize())
+                .maximumSize(maximumSize)
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .build();
+    }
+}
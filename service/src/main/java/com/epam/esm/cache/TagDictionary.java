@@ -0,0 +1,188 @@
+package com.epam.esm.cache;
+
+import com.epam.esm.entity.Tag;
+import com.epam.esm.event.TagCreatedEvent;
+import com.epam.esm.event.TagDeletedEvent;
+import com.epam.esm.event.TagsCreatedEvent;
+import com.epam.esm.repository.repository.TagRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-memory copy of the whole tag table, loaded at startup.
+ * Readers see an immutable snapshot without locking; every change builds a new snapshot and swaps it in.
+ * Changes are applied after the transaction that made them commits, so rolled back tags never become visible.
+ * The dictionary assumes that tags are only changed through this application.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TagDictionary implements InitializingBean {
+    private final TagRepository tagRepository;
+    private volatile Snapshot snapshot = Snapshot.of(List.of());
+
+    /**
+     * Loads all tags from the database.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        reload();
+    }
+
+    /**
+     * Replaces the dictionary with the current content of the tag table.
+     */
+    public synchronized void reload() {
+        log.info("Loading tag dictionary...");
+        snapshot = Snapshot.of(tagRepository.findAll());
+    }
+
+    /**
+     * Returns all tags ordered by ID.
+     *
+     * @return Unmodifiable list of all tags.
+     */
+    public List<Tag> findAll() {
+        return snapshot.tags();
+    }
+
+    /**
+     * Finds a tag by its ID.
+     *
+     * @param id The ID of the tag.
+     * @return The tag, or empty if there is no such tag.
+     */
+    public Optional<Tag> findById(Long id) {
+        return Optional.ofNullable(snapshot.tagsById().get(id));
+    }
+
+    /**
+     * Finds the ID of a tag by its name.
+     *
+     * @param name The name of the tag.
+     * @return The ID of the tag, or empty if there is no such tag.
+     */
+    public Optional<Long> findIdByName(String name) {
+        return Optional.ofNullable(snapshot.idsByName().get(name));
+    }
+
+    /**
+     * Finds the tags whose names start with the prefix, ignoring case, by a binary search of the names
+     * sorted ignoring case.
+     *
+     * @param prefix The prefix of the names; an empty prefix matches every tag.
+     * @return Unmodifiable list of the matching tags ordered by name ignoring case.
+     */
+    public List<Tag> findByNamePrefix(String prefix) {
+        List<Tag> tagsByName = snapshot.tagsByName();
+        int from = firstAtOrAfter(tagsByName, prefix, false);
+        int to = firstAtOrAfter(tagsByName, prefix, true);
+        return tagsByName.subList(from, to);
+    }
+
+    /**
+     * Adds the created tag once its creation is committed, or immediately outside a transaction.
+     * Tags already in the dictionary are ignored.
+     *
+     * @param event The creation of the tag.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onTagCreated(TagCreatedEvent event) {
+        if (snapshot.tagsById().containsKey(event.getId())) {
+            return;
+        }
+        List<Tag> tags = new ArrayList<>(snapshot.tags());
+        tags.add(Tag.builder().id(event.getId()).name(event.getName()).build());
+        snapshot = Snapshot.of(tags);
+    }
+
+    /**
+     * Adds the created tags with one new snapshot once their creation is committed, or immediately outside
+     * a transaction. Tags already in the dictionary are ignored.
+     *
+     * @param event The creation of the tags.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onTagsCreated(TagsCreatedEvent event) {
+        List<Tag> createdTags = event.getTags().stream()
+                .filter(tag -> !snapshot.tagsById().containsKey(tag.getId()))
+                .toList();
+        if (createdTags.isEmpty()) {
+            return;
+        }
+        List<Tag> tags = new ArrayList<>(snapshot.tags());
+        tags.addAll(createdTags);
+        snapshot = Snapshot.of(tags);
+    }
+
+    /**
+     * Removes the deleted tag once its deletion is committed, or immediately outside a transaction.
+     *
+     * @param event The deletion of the tag.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onTagDeleted(TagDeletedEvent event) {
+        snapshot = Snapshot.of(snapshot.tags().stream()
+                .filter(tag -> !tag.getId().equals(event.getId()))
+                .toList());
+    }
+
+    /**
+     * Tells whether the name of the tag starts with the prefix, ignoring case the way the names are sorted.
+     *
+     * @param tag    The tag.
+     * @param prefix The prefix.
+     * @return True if the name starts with the prefix.
+     */
+    public static boolean hasNamePrefix(Tag tag, String prefix) {
+        return tag.getName().regionMatches(true, 0, prefix, 0, prefix.length());
+    }
+
+    // index of the first tag whose name is not before the prefix, or after every name having the prefix
+    private static int firstAtOrAfter(List<Tag> tagsByName, String prefix, boolean afterPrefixed) {
+        int low = 0;
+        int high = tagsByName.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            Tag tag = tagsByName.get(middle);
+            boolean before = hasNamePrefix(tag, prefix)
+                    ? afterPrefixed
+                    : String.CASE_INSENSITIVE_ORDER.compare(tag.getName(), prefix) < 0;
+            if (before) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private record Snapshot(List<Tag> tags, Map<Long, Tag> tagsById, Map<String, Long> idsByName,
+                            List<Tag> tagsByName) {
+
+        static Snapshot of(Collection<Tag> tags) {
+            List<Tag> sortedTags = tags.stream().sorted(Comparator.comparing(Tag::getId)).toList();
+            Map<Long, Tag> tagsById = new HashMap<>();
+            Map<String, Long> idsByName = new HashMap<>();
+            sortedTags.forEach(tag -> {
+                tagsById.put(tag.getId(), tag);
+                idsByName.put(tag.getName(), tag.getId());
+            });
+            List<Tag> tagsByName = sortedTags.stream()
+                    .sorted(Comparator.comparing(Tag::getName, String.CASE_INSENSITIVE_ORDER).thenComparing(Tag::getName))
+                    .toList();
+            return new Snapshot(sortedTags, Map.copyOf(tagsById), Map.copyOf(idsByName), tagsByName);
+        }
+    }
+}
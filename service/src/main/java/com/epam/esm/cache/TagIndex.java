@@ -0,0 +1,307 @@
+package com.epam.esm.cache;
+
+import com.epam.esm.dto.stats.TagIndexStatsDTO;
+import com.epam.esm.entity.filter.tag.TagFilter;
+import com.epam.esm.entity.filter.tag.TagMatch;
+import com.epam.esm.event.GiftCertificateChangedEvent;
+import com.epam.esm.event.GiftCertificatesImportedEvent;
+import com.epam.esm.event.TagDeletedEvent;
+import com.epam.esm.repository.repository.GiftCertificateRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
+
+/**
+ * In-memory inverted index from every tag to the compressed bitmap of the IDs of its gift certificates,
+ * loaded at startup from the tag associations when tag.index.enabled is set.
+ * Readers do not lock. A change replaces only the bitmaps of the tags the certificate leaves or joins with modified
+ * copies, removals first, so that a concurrent search may see the certificate with only the tags it keeps, and
+ * moves those tags in the ranking by certificate count. The tags of every certificate are kept too, so that
+ * a change never looks at the bitmaps of other tags.
+ * Changes are applied after the transaction that made them commits, by reading the committed tags of the changed
+ * certificate, so that the last change applied wins whatever the order the commits are reported in; changes made
+ * through other instances are caught up by reconciliation every tag.index.reconcile-seconds.
+ */
+@Slf4j
+@Component
+public class TagIndex extends CatalogIndex {
+    private static final int LOAD_CHUNK_SIZE = 10_000;
+    private static final Comparator<Ranked> BY_RANK = Comparator.comparingLong(Ranked::certificates).reversed()
+            .thenComparingLong(Ranked::tagId);
+
+    private final GiftCertificateRepository giftCertificateRepository;
+    private final TagDictionary tagDictionary;
+    private volatile Index index = new Index(new ConcurrentHashMap<>(), new ConcurrentSkipListSet<>(BY_RANK),
+            new CertificateTags());
+
+    public TagIndex(GiftCertificateRepository giftCertificateRepository, TagDictionary tagDictionary,
+                    @Value("${tag.index.enabled:false}") boolean enabled,
+                    @Value("${tag.index.reconcile-seconds:60}") long reconcileSeconds) {
+        super(giftCertificateRepository, enabled, reconcileSeconds);
+        this.giftCertificateRepository = giftCertificateRepository;
+        this.tagDictionary = tagDictionary;
+    }
+
+    /**
+     * Loads all tag associations from the database into a new index and swaps it in.
+     */
+    @Override
+    protected void load() {
+        log.info("Loading tag index...");
+        Map<Long, RoaringBitmap> certificatesByTag = new HashMap<>();
+        CertificateTags certificateTags = new CertificateTags();
+        giftCertificateRepository.streamTagAssociations(LOAD_CHUNK_SIZE, (tagId, giftCertificateId) -> {
+            int id = toIndexId(giftCertificateId);
+            certificatesByTag.computeIfAbsent(tagId, key -> new RoaringBitmap()).add(id);
+            certificateTags.add(id, tagId);
+        });
+        certificatesByTag.values().forEach(RoaringBitmap::runOptimize);
+        NavigableSet<Ranked> ranking = new ConcurrentSkipListSet<>(BY_RANK);
+        certificatesByTag.forEach((tagId, certificates) -> ranking.add(new Ranked(certificates.getLongCardinality(), tagId)));
+        index = new Index(new ConcurrentHashMap<>(certificatesByTag), ranking, certificateTags);
+        log.info("Loaded tag index of {} tags and {} associations", certificatesByTag.size(),
+                associations(certificatesByTag));
+    }
+
+    /**
+     * Tells whether the index answers the tag filter: it is enabled and the filter includes tags.
+     *
+     * @param tagFilter The tag filter.
+     * @return True if the tag filter can be passed to {@link #findIds}.
+     */
+    public boolean covers(TagFilter tagFilter) {
+        return isEnabled() && !tagFilter.getIncludedTags().isEmpty();
+    }
+
+    /**
+     * Finds the IDs of the certificates having all or any of the included tags and none of the excluded ones.
+     * Names of tags that do not exist match no certificate.
+     *
+     * @param tagFilter The included and excluded tag names and how the included ones must match;
+     *                  at least one tag must be included.
+     * @param lastId    The ID the certificates must follow, or null for the first ones.
+     * @param limit     The maximum number of IDs to return.
+     * @return IDs of the matching certificates in ascending order.
+     */
+    public List<Long> findIds(TagFilter tagFilter, Long lastId, int limit) {
+        Map<Long, RoaringBitmap> index = this.index.certificatesByTag();
+        List<RoaringBitmap> included = new ArrayList<>();
+        for (String name : tagFilter.getIncludedTags()) {
+            Optional<RoaringBitmap> certificates = tagDictionary.findIdByName(name).map(index::get);
+            if (certificates.isPresent()) {
+                included.add(certificates.get());
+            } else if (tagFilter.getTagMatch() == TagMatch.ALL) {
+                return List.of();
+            }
+        }
+        if (included.isEmpty()) {
+            return List.of();
+        }
+        RoaringBitmap matching = tagFilter.getTagMatch() == TagMatch.ALL
+                ? FastAggregation.and(included.iterator())
+                : FastAggregation.or(included.iterator());
+        List<RoaringBitmap> excluded = tagFilter.getExcludedTags().stream()
+                .flatMap(name -> tagDictionary.findIdByName(name).map(index::get).stream())
+                .toList();
+        if (!excluded.isEmpty()) {
+            // andNot returns a new bitmap, the aggregations may return one of the indexed bitmaps
+            matching = RoaringBitmap.andNot(matching, FastAggregation.or(excluded.iterator()));
+        }
+
+        List<Long> ids = new ArrayList<>(limit);
+        PeekableIntIterator iterator = matching.getIntIterator();
+        iterator.advanceIfNeeded(lastId == null ? 0 : toIndexId(lastId + 1));
+        while (iterator.hasNext() && ids.size() < limit) {
+            ids.add((long) iterator.next());
+        }
+        return ids;
+    }
+
+    /**
+     * Counts the certificates having the tag.
+     *
+     * @param tagId The ID of the tag.
+     * @return The number of certificates having the tag, 0 for a tag without certificates.
+     */
+    public long countCertificates(Long tagId) {
+        RoaringBitmap certificates = index.certificatesByTag().get(tagId);
+        return certificates == null ? 0 : certificates.getLongCardinality();
+    }
+
+    /**
+     * Counts the tags having certificates.
+     *
+     * @return The number of tags in the ranking by certificate count.
+     */
+    public int countRankedTags() {
+        return index.certificatesByTag().size();
+    }
+
+    /**
+     * Returns the IDs of the tags having certificates, most used first and then by ID.
+     * The ranking is kept with the index, so that it costs nothing to read; a change moves only the tags it changes.
+     *
+     * @return The ranked tag IDs, read lazily from the current ranking.
+     */
+    public Iterable<Long> findTagIdsByCount() {
+        NavigableSet<Ranked> ranking = index.ranking();
+        return () -> ranking.stream().map(Ranked::tagId).iterator();
+    }
+
+    /**
+     * Reads the tags of the changed certificate once the change is committed, or immediately outside
+     * a transaction, and moves the certificate from the bitmaps of the tags it left to those of the tags it joined.
+     *
+     * @param event The change of the certificate.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onGiftCertificateChanged(GiftCertificateChangedEvent event) {
+        if (!isEnabled()) {
+            return;
+        }
+        int giftCertificateId = toIndexId(event.getId());
+        long[] tagIds = giftCertificateRepository.findTagIds(event.getId()).stream().mapToLong(Long::longValue).toArray();
+        Index current = index;
+        long[] previousTagIds = current.certificateTags().get(giftCertificateId);
+        for (long tagId : previousTagIds) {
+            if (!contains(tagIds, tagId)) {
+                current.replace(tagId, certificates -> certificates.remove(giftCertificateId));
+            }
+        }
+        for (long tagId : tagIds) {
+            if (!contains(previousTagIds, tagId)) {
+                current.replace(tagId, certificates -> certificates.add(giftCertificateId));
+            }
+        }
+        current.certificateTags().set(giftCertificateId, tagIds);
+        changed();
+    }
+
+    /**
+     * Reconciles the index on the background thread once an import is committed, or immediately outside
+     * a transaction, since an import changes too many certificates to apply them one by one.
+     *
+     * @param event The import of the certificates.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGiftCertificatesImported(GiftCertificatesImportedEvent event) {
+        if (isEnabled()) {
+            reconcileSoon();
+        }
+    }
+
+    /**
+     * Removes the bitmap of the deleted tag once its deletion is committed, or immediately outside a transaction.
+     * The deleted tag is left in the tags of its certificates, where it no longer matches any bitmap.
+     *
+     * @param event The deletion of the tag.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onTagDeleted(TagDeletedEvent event) {
+        if (!isEnabled()) {
+            return;
+        }
+        index.replace(event.getId(), RoaringBitmap::clear);
+        changed();
+    }
+
+    /**
+     * Returns the number of indexed tags and associations and the estimated size of their bitmaps.
+     *
+     * @return The index statistics.
+     */
+    public TagIndexStatsDTO stats() {
+        Map<Long, RoaringBitmap> certificatesByTag = index.certificatesByTag();
+        long associations = associations(certificatesByTag);
+        long sizeInBytes = certificatesByTag.values().stream().mapToLong(RoaringBitmap::getLongSizeInBytes).sum();
+        return TagIndexStatsDTO.builder()
+                .tags(certificatesByTag.size())
+                .associations(associations)
+                .sizeInBytes(sizeInBytes)
+                .bytesPerMillionAssociations(associations == 0 ? 0 : Math.round(sizeInBytes * 1e6 / associations))
+                .build();
+    }
+
+    // the bitmaps of the tags, without empty ones, and their ranking, changed in place; the tags of the
+    // certificates are only read and changed under the lock of the index
+    private record Index(Map<Long, RoaringBitmap> certificatesByTag, NavigableSet<Ranked> ranking,
+                         CertificateTags certificateTags) {
+
+        // swaps in a modified copy of the bitmap of the tag and moves the tag in the ranking
+        void replace(long tagId, Consumer<RoaringBitmap> change) {
+            RoaringBitmap current = certificatesByTag.get(tagId);
+            RoaringBitmap changed = current == null ? new RoaringBitmap() : current.clone();
+            change.accept(changed);
+            if (current != null) {
+                ranking.remove(new Ranked(current.getLongCardinality(), tagId));
+            }
+            if (changed.isEmpty()) {
+                certificatesByTag.remove(tagId);
+            } else {
+                certificatesByTag.put(tagId, changed);
+                ranking.add(new Ranked(changed.getLongCardinality(), tagId));
+            }
+        }
+    }
+
+    private record Ranked(long certificates, long tagId) {
+    }
+
+    // the tag IDs of every certificate, in an array indexed by certificate ID that grows as needed
+    private static final class CertificateTags {
+        private static final long[] NONE = {};
+        private long[][] tagIds = new long[0][];
+
+        long[] get(int giftCertificateId) {
+            return giftCertificateId < tagIds.length && tagIds[giftCertificateId] != null ? tagIds[giftCertificateId] : NONE;
+        }
+
+        void set(int giftCertificateId, long[] certificateTagIds) {
+            if (giftCertificateId >= tagIds.length) {
+                tagIds = Arrays.copyOf(tagIds, Math.max(giftCertificateId + 1, tagIds.length * 2));
+            }
+            tagIds[giftCertificateId] = certificateTagIds.length == 0 ? null : certificateTagIds;
+        }
+
+        void add(int giftCertificateId, long tagId) {
+            long[] current = get(giftCertificateId);
+            long[] added = Arrays.copyOf(current, current.length + 1);
+            added[current.length] = tagId;
+            set(giftCertificateId, added);
+        }
+    }
+
+    private static boolean contains(long[] tagIds, long tagId) {
+        for (long id : tagIds) {
+            if (id == tagId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long associations(Map<Long, RoaringBitmap> certificatesByTag) {
+        return certificatesByTag.values().stream().mapToLong(RoaringBitmap::getLongCardinality).sum();
+    }
+
+    // certificate IDs are positive 32-bit serials
+    private static int toIndexId(long giftCertificateId) {
+        return Math.toIntExact(giftCertificateId);
+    }
+}
@@ -0,0 +1,17 @@
+package com.epam.esm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TagSuggestionDTO {
+    private Long id;
+    private String name;
+    // number of certificates having the tag
+    private long certificates;
+}
@@ -0,0 +1,17 @@
+package com.epam.esm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VersionDTO {
+    // Strong entity tag, without the quotes
+    private String etag;
+    // Milliseconds since the epoch
+    private long lastModified;
+}
@@ -0,0 +1,51 @@
+package com.epam.esm.dto.filter;
+
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GiftCertificateFilterDTO {
+    // optional, names of the tags the certificates must have
+    @Size(max = 20, message = "tag must contain at most 20 tag names")
+    private List<String> tag;
+
+    // optional, names of the tags the certificates must not have
+    @Size(max = 20, message = "excludedTag must contain at most 20 tag names")
+    private List<String> excludedTag;
+
+    // optional, the certificates must have all tags if absent
+    @Pattern(regexp = "all|any", message = "tagMatch must be either all or any")
+    private String tagMatch;
+
+    // optional, no search if absent
+    @Size(min = 5, max = 100, message = "search must be between 5 and 100 characters")
+    private String search;
+
+    // optional, names are searched if absent; full-text searches are only available on their own
+    @Pattern(regexp = "desc|title", message = "searchType must be either desc or title")
+    private String searchType;
+
+    // optional, the search value may be anywhere if absent
+    @Pattern(regexp = "starts_with|contains|ends_with", message = "searchPlace must be either starts_with, contains or ends_with")
+    private String searchPlace;
+
+    // optional, the search matches case-sensitively if absent
+    private Boolean caseInsensitive;
+
+    // optional, the certificates are ordered by ID if absent
+    @Pattern(regexp = "by_name|by_create_date|by_last_update_date", message = "sort must be either by_name, by_create_date or by_last_update_date")
+    private String sort;
+
+    // optional, ascending if absent
+    @Pattern(regexp = "ascending|descending", message = "order must be either ascending or descending")
+    private String order;
+}
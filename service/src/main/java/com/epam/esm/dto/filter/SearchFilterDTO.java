@@ -21,11 +21,15 @@ public class SearchFilterDTO {
 
     @NotNull(message = "search type should not be null")
     @NotEmpty(message = "search type should not be empty")
-    @Pattern(regexp = "desc|title", message = "searchType must be either desc or title")
+    @Pattern(regexp = "desc|title|full_text", message = "searchType must be either desc, title or full_text")
     private String searchType;
 
+    // ignored by full_text searches
     @NotNull(message = "search place should not be null")
     @NotEmpty(message = "search place should not be empty")
     @Pattern(regexp = "starts_with|contains|ends_with", message = "searchPlace must be either starts_with, contains or ends_with")
     private String searchPlace;
+
+    // optional, the search matches case-sensitively if absent
+    private Boolean caseInsensitive;
 }
@@ -3,11 +3,15 @@ package com.epam.esm.dto.filter;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Getter;
+import lombok.Data;
+import lombok.NoArgsConstructor;
 
-@Getter
+@Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class SortFilterDTO {
     @NotNull(message = "sort type should not be null")
     @NotEmpty(message = "sort type should not be empty")
@@ -0,0 +1,28 @@
+package com.epam.esm.dto.filter;
+
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TagFilterDTO {
+    // optional, all certificates match if absent
+    @Size(max = 20, message = "includedTags must contain at most 20 tag names")
+    private List<String> includedTags;
+
+    // optional
+    @Size(max = 20, message = "excludedTags must contain at most 20 tag names")
+    private List<String> excludedTags;
+
+    // optional, the certificates must have all included tags if absent
+    @Pattern(regexp = "all|any", message = "tagMatch must be either all or any")
+    private String tagMatch;
+}
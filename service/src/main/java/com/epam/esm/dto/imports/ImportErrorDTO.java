@@ -0,0 +1,18 @@
+package com.epam.esm.dto.imports;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportErrorDTO {
+    // line the rejected row starts at, counted from 1
+    private long line;
+    private List<String> messages;
+}
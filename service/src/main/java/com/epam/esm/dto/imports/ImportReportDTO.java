@@ -0,0 +1,19 @@
+package com.epam.esm.dto.imports;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportReportDTO {
+    private long imported;
+    private long rejected;
+    // errors of the first 1000 rejected rows, in the order of the import
+    private List<ImportErrorDTO> errors;
+}
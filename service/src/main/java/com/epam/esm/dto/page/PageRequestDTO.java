@@ -0,0 +1,23 @@
+package com.epam.esm.dto.page;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageRequestDTO {
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    private String cursor;
+
+    @Min(value = 1, message = "size must be at least 1")
+    @Max(value = MAX_SIZE, message = "size must be at most " + MAX_SIZE)
+    private Integer size;
+}
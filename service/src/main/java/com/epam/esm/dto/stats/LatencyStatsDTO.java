@@ -0,0 +1,26 @@
+package com.epam.esm.dto.stats;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Latency distribution in microseconds. The buckets map the inclusive upper bound of every non-empty bucket
+ * to the number of latencies in it.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LatencyStatsDTO {
+    private long count;
+    private long mean;
+    private long p50;
+    private long p95;
+    private long p99;
+    private long max;
+    private Map<Long, Long> countsByUpperBound;
+}
@@ -0,0 +1,23 @@
+package com.epam.esm.dto.stats;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PoolStatsDTO {
+    private String name;
+    private int active;
+    private int idle;
+    private int total;
+    private int waiting;
+    private int maximumSize;
+    private int minimumIdle;
+    private long timeoutCount;
+    private LatencyStatsDTO acquireLatency;
+    private LatencyStatsDTO usageLatency;
+}
@@ -0,0 +1,17 @@
+package com.epam.esm.dto.stats;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TagIndexStatsDTO {
+    private long tags;
+    private long associations;
+    private long sizeInBytes;
+    private long bytesPerMillionAssociations;
+}
@@ -0,0 +1,12 @@
+package com.epam.esm.event;
+
+import lombok.Value;
+
+/**
+ * Published when a gift certificate is created, when it or its set of tags is updated,
+ * or when the certificate is deleted.
+ */
+@Value
+public class GiftCertificateChangedEvent {
+    Long id;
+}
@@ -0,0 +1,11 @@
+package com.epam.esm.event;
+
+import lombok.Value;
+
+/**
+ * Published when gift certificates are created in bulk by an import.
+ */
+@Value
+public class GiftCertificatesImportedEvent {
+    long imported;
+}
@@ -0,0 +1,12 @@
+package com.epam.esm.event;
+
+import lombok.Value;
+
+/**
+ * Published when a tag is created, either directly or as part of a gift certificate write.
+ */
+@Value
+public class TagCreatedEvent {
+    Long id;
+    String name;
+}
@@ -0,0 +1,11 @@
+package com.epam.esm.event;
+
+import lombok.Value;
+
+/**
+ * Published when a tag is deleted, which also detaches it from every gift certificate.
+ */
+@Value
+public class TagDeletedEvent {
+    Long id;
+}
@@ -0,0 +1,14 @@
+package com.epam.esm.event;
+
+import com.epam.esm.entity.Tag;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Published when tags are created in bulk, by an import or by a write of a gift certificate.
+ */
+@Value
+public class TagsCreatedEvent {
+    List<Tag> tags;
+}
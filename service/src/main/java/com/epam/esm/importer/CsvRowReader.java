@@ -0,0 +1,225 @@
+package com.epam.esm.importer;
+
+import com.epam.esm.dto.GiftCertificateDTO;
+import com.epam.esm.dto.TagDTO;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Reads gift certificates written as comma-separated values with RFC 4180 quoting.
+ * The first line is a header naming the columns, in any order and case: name, description, price, duration
+ * and optionally tags, whose value lists tag names separated by '|'. Other columns are ignored, and so are blank lines.
+ * A header missing a column is reported as an invalid row at line 1, and no certificate is read after it.
+ */
+public class CsvRowReader implements ImportRowReader {
+    private static final List<String> REQUIRED_COLUMNS = List.of("name", "description", "price", "duration");
+    private static final String TAGS_COLUMN = "tags";
+    private static final Pattern TAG_SEPARATOR = Pattern.compile("\\|");
+    private static final String BYTE_ORDER_MARK = "\uFEFF";
+
+    private final Reader reader;
+    private final char[] buffer = new char[8192];
+    private final StringBuilder field = new StringBuilder();
+    private int position;
+    private int limit;
+    // line of the next character, counted from 1
+    private long line = 1;
+    private String recordError;
+    private boolean finished;
+    // position of every column in a record, -1 for the tags column if absent
+    private int[] columns;
+    private int columnCount;
+
+    public CsvRowReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        if (finished) {
+            return null;
+        }
+        if (columns == null) {
+            ImportRow headerError = readHeader();
+            if (headerError != null || columns == null) {
+                finished = true;
+                return headerError;
+            }
+        }
+        List<String> fields;
+        long start;
+        do {
+            start = line;
+            fields = readRecord();
+            if (fields == null) {
+                finished = true;
+                return null;
+            }
+        } while (fields.size() == 1 && fields.get(0).isBlank() && recordError == null);
+        return toRow(start, fields);
+    }
+
+    /**
+     * Reads the header and finds the position of every column.
+     *
+     * @return The errors of the header as a row, or null if it is valid or the import is empty.
+     * @throws IOException If the import could not be read.
+     */
+    private ImportRow readHeader() throws IOException {
+        List<String> header = readRecord();
+        if (header == null) {
+            return null;
+        }
+        if (recordError != null) {
+            return ImportRow.invalid(1, List.of(recordError));
+        }
+        header.set(0, header.get(0).replace(BYTE_ORDER_MARK, ""));
+        List<String> names = header.stream().map(name -> name.strip().toLowerCase(Locale.ROOT)).toList();
+        List<String> errors = new ArrayList<>();
+        int[] positions = new int[REQUIRED_COLUMNS.size() + 1];
+        for (int i = 0; i < REQUIRED_COLUMNS.size(); i++) {
+            positions[i] = names.indexOf(REQUIRED_COLUMNS.get(i));
+            if (positions[i] < 0) {
+                errors.add("header should contain the column " + REQUIRED_COLUMNS.get(i));
+            }
+        }
+        positions[REQUIRED_COLUMNS.size()] = names.indexOf(TAGS_COLUMN);
+        if (!errors.isEmpty()) {
+            return ImportRow.invalid(1, errors);
+        }
+        columns = positions;
+        columnCount = header.size();
+        return null;
+    }
+
+    private ImportRow toRow(long start, List<String> fields) {
+        if (recordError != null) {
+            return ImportRow.invalid(start, List.of(recordError));
+        }
+        if (fields.size() != columnCount) {
+            return ImportRow.invalid(start,
+                    List.of("row should have " + columnCount + " fields but has " + fields.size()));
+        }
+        List<String> errors = new ArrayList<>();
+        GiftCertificateDTO certificate = GiftCertificateDTO.builder()
+                .name(fields.get(columns[0]))
+                .description(fields.get(columns[1]))
+                .price(parse(fields.get(columns[2]), "price", Double::valueOf, errors))
+                .duration(parse(fields.get(columns[3]), "duration", Integer::valueOf, errors))
+                .tags(columns[4] < 0 ? List.of() : parseTags(fields.get(columns[4])))
+                .build();
+        errors.addAll(ImportValidator.validate(certificate));
+        return errors.isEmpty() ? ImportRow.valid(start, certificate) : ImportRow.invalid(start, errors);
+    }
+
+    private static <T extends Number> T parse(String value, String column, Function<String, T> parser,
+                                              List<String> errors) {
+        if (value.isBlank()) {
+            return null;
+        }
+        try {
+            return parser.apply(value.strip());
+        } catch (NumberFormatException ex) {
+            errors.add(column + " should be a number");
+            return null;
+        }
+    }
+
+    private static List<TagDTO> parseTags(String value) {
+        if (value.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(TAG_SEPARATOR.split(value))
+                .map(name -> TagDTO.builder().name(name.strip()).build())
+                .toList();
+    }
+
+    /**
+     * Reads the fields of the next record, which spans several lines if a quoted field contains line breaks.
+     * Sets the record error if the record is malformed.
+     *
+     * @return The fields of the record, or null at the end of the import.
+     * @throws IOException If the import could not be read.
+     */
+    private List<String> readRecord() throws IOException {
+        recordError = null;
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>(Math.max(columnCount, 1));
+        field.setLength(0);
+        boolean fieldStart = true;
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    recordError = "quoted field is not closed";
+                    fields.add(field.toString());
+                    return fields;
+                }
+                if (c != '"') {
+                    field.append((char) c);
+                } else if (peek() == '"') {
+                    read();
+                    field.append('"');
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"' && fieldStart) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                fieldStart = true;
+                c = read();
+                continue;
+            } else if (c == '\n' || c == '\r' || c == -1) {
+                if (c == '\r' && peek() == '\n') {
+                    read();
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            fieldStart = false;
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        char c = buffer[position++];
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        int read = reader.read(buffer);
+        if (read <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+}
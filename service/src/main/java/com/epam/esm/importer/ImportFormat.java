@@ -0,0 +1,26 @@
+package com.epam.esm.importer;
+
+import java.io.Reader;
+
+/**
+ * Formats gift certificates can be imported from.
+ */
+public enum ImportFormat {
+    // one JSON gift certificate per line, as written by the export
+    NDJSON,
+    // a header naming the columns name, description, price, duration and optionally tags, separated by '|'
+    CSV;
+
+    /**
+     * Opens a reader of the rows of an import in this format.
+     *
+     * @param reader The characters of the import.
+     * @return The reader of the rows.
+     */
+    public ImportRowReader open(Reader reader) {
+        return switch (this) {
+            case NDJSON -> new NdjsonRowReader(reader);
+            case CSV -> new CsvRowReader(reader);
+        };
+    }
+}
@@ -0,0 +1,27 @@
+package com.epam.esm.importer;
+
+import com.epam.esm.dto.GiftCertificateDTO;
+
+import java.util.List;
+
+/**
+ * A gift certificate read from an import, or the reasons it could not be read.
+ *
+ * @param line        The line the row starts at, counted from 1.
+ * @param certificate The gift certificate, or null if the row is invalid.
+ * @param errors      The reasons the row is invalid, empty if it is valid.
+ */
+public record ImportRow(long line, GiftCertificateDTO certificate, List<String> errors) {
+
+    public static ImportRow valid(long line, GiftCertificateDTO certificate) {
+        return new ImportRow(line, certificate, List.of());
+    }
+
+    public static ImportRow invalid(long line, List<String> errors) {
+        return new ImportRow(line, null, errors);
+    }
+
+    public boolean isValid() {
+        return errors.isEmpty();
+    }
+}
@@ -0,0 +1,17 @@
+package com.epam.esm.importer;
+
+import java.io.IOException;
+
+/**
+ * Reads the rows of an import one by one, so that an import of any size is never held in memory.
+ */
+public interface ImportRowReader {
+
+    /**
+     * Reads the next row.
+     *
+     * @return The next row, or null after the last one.
+     * @throws IOException If the import could not be read.
+     */
+    ImportRow next() throws IOException;
+}
@@ -0,0 +1,56 @@
+package com.epam.esm.importer;
+
+import com.epam.esm.dto.GiftCertificateDTO;
+import com.epam.esm.dto.TagDTO;
+import lombok.experimental.UtilityClass;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checks imported gift certificates against the constraints of {@link GiftCertificateDTO} and {@link TagDTO},
+ * with the same messages. Imports are not bound by Spring, so the constraint annotations are not evaluated for them.
+ */
+@UtilityClass
+public class ImportValidator {
+
+    /**
+     * Validates an imported gift certificate.
+     *
+     * @param certificate The gift certificate.
+     * @return The violated constraints, empty if the certificate is valid.
+     */
+    public static List<String> validate(GiftCertificateDTO certificate) {
+        List<String> errors = new ArrayList<>();
+        validateText(errors, "name", certificate.getName(), 5, 50);
+        validateText(errors, "description", certificate.getDescription(), 10, 200);
+        if (certificate.getPrice() == null) {
+            errors.add("price should not be null");
+        }
+        if (certificate.getDuration() == null) {
+            errors.add("duration should not be null");
+        }
+        if (certificate.getTags() == null) {
+            errors.add("tags should not be null");
+        } else {
+            for (TagDTO tag : certificate.getTags()) {
+                if (tag == null) {
+                    errors.add("tag should not be null");
+                } else {
+                    validateText(errors, "tag name", tag.getName(), 3, 30);
+                }
+            }
+        }
+        return errors;
+    }
+
+    private static void validateText(List<String> errors, String field, String value, int min, int max) {
+        if (value == null) {
+            errors.add(field + " should not be null");
+        } else if (value.isEmpty()) {
+            errors.add(field + " should not be empty");
+        } else if (value.length() < min || value.length() > max) {
+            errors.add(field + " must be between " + min + " and " + max + " characters");
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.epam.esm.importer;
+
+import com.epam.esm.dto.GiftCertificateDTO;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.List;
+
+/**
+ * Reads gift certificates written as one JSON object per line. Blank lines are skipped.
+ */
+public class NdjsonRowReader implements ImportRowReader {
+    private static final Gson GSON = new Gson();
+
+    private final BufferedReader reader;
+    private long line;
+
+    public NdjsonRowReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader bufferedReader ? bufferedReader : new BufferedReader(reader);
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            line++;
+        } while (text.isBlank());
+        try {
+            GiftCertificateDTO certificate = GSON.fromJson(text, GiftCertificateDTO.class);
+            if (certificate == null) {
+                return ImportRow.invalid(line, List.of("row should be a JSON object"));
+            }
+            List<String> errors = ImportValidator.validate(certificate);
+            return errors.isEmpty() ? ImportRow.valid(line, certificate) : ImportRow.invalid(line, errors);
+        } catch (JsonParseException ex) {
+            return ImportRow.invalid(line, List.of("row is not a valid gift certificate: " + ex.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.epam.esm.importer;
+
+import com.epam.esm.dto.GiftCertificateDTO;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * Iterates over the valid gift certificates of an import as its rows are read,
+ * passing the invalid rows to a consumer instead.
+ */
+public class ValidRowIterator implements Iterator<GiftCertificateDTO> {
+    private final ImportRowReader reader;
+    private final Consumer<ImportRow> rejected;
+    private GiftCertificateDTO next;
+    private boolean finished;
+
+    /**
+     * @param reader   The reader of the rows.
+     * @param rejected The consumer of the invalid rows.
+     */
+    public ValidRowIterator(ImportRowReader reader, Consumer<ImportRow> rejected) {
+        this.reader = reader;
+        this.rejected = rejected;
+    }
+
+    /**
+     * @throws UncheckedIOException If the import could not be read.
+     */
+    @Override
+    public boolean hasNext() {
+        while (next == null && !finished) {
+            ImportRow row = read();
+            if (row == null) {
+                finished = true;
+            } else if (row.isValid()) {
+                next = row.certificate();
+            } else {
+                rejected.accept(row);
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public GiftCertificateDTO next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        GiftCertificateDTO certificate = next;
+        next = null;
+        return certificate;
+    }
+
+    private ImportRow read() {
+        try {
+            return reader.next();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
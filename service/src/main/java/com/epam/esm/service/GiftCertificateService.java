@@ -2,26 +2,50 @@ package com.epam.esm.service;
 
 import com.epam.esm.dto.GiftCertificateDTO;
 import com.epam.esm.dto.TagDTO;
+import com.epam.esm.dto.VersionDTO;
+import com.epam.esm.dto.filter.GiftCertificateFilterDTO;
 import com.epam.esm.dto.filter.SearchFilterDTO;
+import com.epam.esm.dto.filter.TagFilterDTO;
 import com.epam.esm.dto.filter.SortFilterDTO;
+import com.epam.esm.dto.imports.ImportReportDTO;
+import com.epam.esm.dto.page.PageDTO;
+import com.epam.esm.dto.page.PageRequestDTO;
 import com.epam.esm.exception.DataModificationException;
 import com.epam.esm.exception.NotFoundException;
+import com.epam.esm.importer.ImportFormat;
 
-import java.util.List;
+import java.io.InputStream;
+import java.util.function.Consumer;
 
 public interface GiftCertificateService {
-    List<GiftCertificateDTO> findAll() throws NotFoundException;
+    PageDTO<GiftCertificateDTO> findAll(PageRequestDTO page) throws NotFoundException;
 
     GiftCertificateDTO findById(Long id) throws NotFoundException;
 
-    List<GiftCertificateDTO> findByTag(TagDTO tag) throws NotFoundException;
+    VersionDTO findVersionById(Long id) throws NotFoundException;
 
-    List<GiftCertificateDTO> findBySearchFilter(SearchFilterDTO searchFilter) throws NotFoundException;
+    VersionDTO findCatalogVersion() throws NotFoundException;
 
-    List<GiftCertificateDTO> findBySortFilter(SortFilterDTO sortFilter) throws NotFoundException;
+    VersionDTO findTagPagesVersion() throws NotFoundException;
+
+    VersionDTO findSearchPagesVersion() throws NotFoundException;
+
+    PageDTO<GiftCertificateDTO> findByTag(TagDTO tag, PageRequestDTO page) throws NotFoundException;
+
+    PageDTO<GiftCertificateDTO> findByTags(TagFilterDTO tagFilter, PageRequestDTO page) throws NotFoundException;
+
+    PageDTO<GiftCertificateDTO> findBySearchFilter(SearchFilterDTO searchFilter, PageRequestDTO page) throws NotFoundException;
+
+    PageDTO<GiftCertificateDTO> findBySortFilter(SortFilterDTO sortFilter, PageRequestDTO page) throws NotFoundException;
+
+    PageDTO<GiftCertificateDTO> findByFilter(GiftCertificateFilterDTO filter, PageRequestDTO page) throws NotFoundException;
+
+    void exportAll(Consumer<GiftCertificateDTO> consumer) throws NotFoundException;
 
     void create(GiftCertificateDTO certificate) throws DataModificationException;
 
+    ImportReportDTO importAll(InputStream inputStream, ImportFormat format) throws DataModificationException;
+
     void update(GiftCertificateDTO certificate) throws NotFoundException, DataModificationException;
 
     void delete(Long id) throws NotFoundException, DataModificationException;
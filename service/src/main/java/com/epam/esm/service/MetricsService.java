@@ -0,0 +1,7 @@
+package com.epam.esm.service;
+
+public interface MetricsService {
+    void recordRequest(String method, String uri, long nanos, boolean failed);
+
+    String scrape();
+}
@@ -0,0 +1,15 @@
+package com.epam.esm.service;
+
+import com.epam.esm.dto.stats.CacheStatsDTO;
+import com.epam.esm.dto.stats.PoolStatsDTO;
+import com.epam.esm.dto.stats.TagIndexStatsDTO;
+
+import java.util.List;
+
+public interface StatsService {
+    CacheStatsDTO getCertificateCacheStats();
+
+    List<PoolStatsDTO> getConnectionPoolStats();
+
+    TagIndexStatsDTO getTagIndexStats();
+}
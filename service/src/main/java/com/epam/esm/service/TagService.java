@@ -1,6 +1,7 @@
 package com.epam.esm.service;
 
 import com.epam.esm.dto.TagDTO;
+import com.epam.esm.dto.TagSuggestionDTO;
 import com.epam.esm.exception.DataModificationException;
 import com.epam.esm.exception.NotFoundException;
 
@@ -11,6 +12,8 @@ public interface TagService {
 
     TagDTO findById(Long id) throws NotFoundException;
 
+    List<TagSuggestionDTO> suggest(String prefix, int limit);
+
     void create(TagDTO tag) throws DataModificationException;
 
     void delete(Long id) throws NotFoundException, DataModificationException;
@@ -1,27 +1,72 @@
 package com.epam.esm.service.impl;
 
+import com.epam.esm.cache.CatalogIndex;
+import com.epam.esm.cache.CertificateSearchIndex;
+import com.epam.esm.cache.GiftCertificateCache;
+import com.epam.esm.cache.TagDictionary;
+import com.epam.esm.cache.TagIndex;
 import com.epam.esm.dto.GiftCertificateDTO;
 import com.epam.esm.dto.TagDTO;
+import com.epam.esm.dto.VersionDTO;
+import com.epam.esm.dto.filter.GiftCertificateFilterDTO;
 import com.epam.esm.dto.filter.SearchFilterDTO;
 import com.epam.esm.dto.filter.SortFilterDTO;
+import com.epam.esm.dto.filter.TagFilterDTO;
+import com.epam.esm.dto.imports.ImportErrorDTO;
+import com.epam.esm.dto.imports.ImportReportDTO;
+import com.epam.esm.dto.page.PageDTO;
+import com.epam.esm.dto.page.PageRequestDTO;
+import com.epam.esm.entity.CatalogVersion;
 import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.entity.GiftCertificateVersion;
+import com.epam.esm.entity.ImportResult;
+import com.epam.esm.entity.Tag;
+import com.epam.esm.entity.filter.GiftCertificateFilter;
+import com.epam.esm.entity.filter.page.PageFilter;
+import com.epam.esm.entity.filter.search.SearchFilter;
+import com.epam.esm.entity.filter.sort.SortFilter;
+import com.epam.esm.entity.filter.tag.TagFilter;
+import com.epam.esm.entity.filter.tag.TagMatch;
+import com.epam.esm.event.GiftCertificateChangedEvent;
+import com.epam.esm.event.GiftCertificatesImportedEvent;
+import com.epam.esm.event.TagsCreatedEvent;
 import com.epam.esm.exception.DataModificationException;
 import com.epam.esm.exception.NotFoundException;
+import com.epam.esm.importer.ImportFormat;
+import com.epam.esm.importer.ValidRowIterator;
 import com.epam.esm.repository.repository.GiftCertificateRepository;
 import com.epam.esm.repository.repository.TagRepository;
 import com.epam.esm.service.GiftCertificateService;
 import com.epam.esm.util.ExceptionMessage;
+import com.epam.esm.util.PageCursor;
 import com.epam.esm.util.mapper.GiftCertificateMapper;
 import com.epam.esm.util.mapper.FilterMapper;
-import com.epam.esm.util.mapper.TagMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of the GiftCertificateService interface that provides business logic related to gift certificates.
@@ -31,25 +76,32 @@ import java.util.List;
 @Transactional
 @RequiredArgsConstructor
 public class GiftCertificateServiceImpl implements GiftCertificateService {
+    private static final int EXPORT_CHUNK_SIZE = 500;
+    private static final int MAX_IMPORT_ERRORS = 1000;
+
     private final GiftCertificateRepository giftCertificateRepository;
     private final TagRepository tagRepository;
     private final GiftCertificateMapper giftCertificateMapper;
     private final FilterMapper filterMapper;
-    private final TagMapper tagMapper;
+    private final GiftCertificateCache giftCertificateCache;
+    private final TagDictionary tagDictionary;
+    private final TagIndex tagIndex;
+    private final CertificateSearchIndex certificateSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
-     * Retrieves all gift certificates.
+     * Retrieves a page of all gift certificates ordered by ID.
      *
-     * @return List of all gift certificates in DTO format.
-     * @throws NotFoundException If no certificates are found.
+     * @param page The page to retrieve.
+     * @return Page of gift certificates in DTO format.
+     * @throws NotFoundException If no certificates are found or the page cursor is invalid.
      */
     @Override
-    public List<GiftCertificateDTO> findAll() throws NotFoundException {
+    @Transactional(readOnly = true)
+    public PageDTO<GiftCertificateDTO> findAll(PageRequestDTO page) throws NotFoundException {
         try {
             log.info("Finding all certificates...");
-            return giftCertificateRepository.findAll().stream()
-                    .map(giftCertificateMapper::toGiftCertificateDTO)
-                    .toList();
+            return findPage(page, null, giftCertificateRepository::findAll);
         } catch (DataAccessException ex) {
             log.error("Failed to find certificates, cause: {}", ex.getMessage());
             throw new NotFoundException(ExceptionMessage.GIFT_CERTIFICATES_NOT_FOUND, ex);
@@ -57,7 +109,9 @@ public class GiftCertificateServiceImpl implements GiftCertificateService {
     }
 
     /**
-     * Retrieves a gift certificate by ID.
+     * Retrieves a gift certificate by ID, from the certificate cache if present.
+     * Cache misses are loaded from the primary database, so that a replica lagging behind
+     * a just-committed update never puts a stale certificate into the cache.
      *
      * @param id The ID of the gift certificate.
      * @return The gift certificate in DTO format.
@@ -67,7 +121,8 @@ public class GiftCertificateServiceImpl implements GiftCertificateService {
     public GiftCertificateDTO findById(Long id) throws NotFoundException {
         log.info("Finding certificate by ID: {}", id);
         try {
-            GiftCertificate certificate = giftCertificateRepository.findById(id).orElseThrow();
+            GiftCertificate certificate = giftCertificateCache.get(id, giftCertificateRepository::findById)
+                    .orElseThrow(() -> new EmptyResultDataAccessException("Certificate not found by ID: " + id, 1));
             return giftCertificateMapper.toGiftCertificateDTO(certificate);
         } catch (EmptyResultDataAccessException ex) {
             log.error("Failed to find certificate by ID: {}, cause: {}", id, ex.getMessage());
@@ -76,19 +131,109 @@ public class GiftCertificateServiceImpl implements GiftCertificateService {
     }
 
     /**
-     * Retrieves gift certificates by tag.
+     * Retrieves the version of a gift certificate for conditional requests without reading the whole certificate:
+     * its last update date and tag IDs are taken from the certificate cache if present, otherwise read alone from
+     * the primary database. The entity tag also carries the tag IDs, since deleting a tag detaches it from the
+     * certificate without changing its last update date.
+     *
+     * @param id The ID of the gift certificate.
+     * @return The entity tag and last modification time of the certificate.
+     * @throws NotFoundException If the certificate with the given ID is not found.
+     */
+    @Override
+    public VersionDTO findVersionById(Long id) throws NotFoundException {
+        log.info("Finding version of certificate by ID: {}", id);
+        GiftCertificateVersion version = giftCertificateCache.getIfPresent(id)
+                .map(certificate -> new GiftCertificateVersion(certificate.getLastUpdateDate(),
+                        Optional.ofNullable(certificate.getTags()).orElse(Set.of()).stream()
+                                .map(Tag::getId)
+                                .sorted()
+                                .toList()))
+                .or(() -> giftCertificateRepository.findVersion(id))
+                .orElseThrow(() -> new NotFoundException(ExceptionMessage.GIFT_CERTIFICATE_ID_NOT_FOUND, id));
+        Instant lastModified = version.getLastUpdateDate().atZone(ZoneId.systemDefault()).toInstant();
+        long micros = ChronoUnit.MICROS.between(Instant.EPOCH, lastModified);
+        String tags = Integer.toHexString(version.getTagIds().hashCode());
+        return new VersionDTO(id + "-" + Long.toHexString(micros) + "-" + tags, lastModified.toEpochMilli());
+    }
+
+    /**
+     * Retrieves the version of all gift certificates for conditional requests of pages: the number of changes
+     * counted by the database for every statement writing certificates or their tags, and the time of the last one.
+     * It is read from the same database as the pages read from the database, replica included, and before them,
+     * so that such a page is never older than the version it is sent with, whichever instance made the changes.
+     * Pages read from an in-memory index take the version of that index too, see {@link #findTagPagesVersion}.
+     *
+     * @return The entity tag and last modification time of the certificates.
+     * @throws NotFoundException If the version could not be read.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public VersionDTO findCatalogVersion() throws NotFoundException {
+        try {
+            CatalogVersion version = giftCertificateRepository.findCatalogVersion();
+            Instant lastModified = version.getLastUpdateDate().atZone(ZoneId.systemDefault()).toInstant();
+            long micros = ChronoUnit.MICROS.between(Instant.EPOCH, lastModified);
+            return new VersionDTO(Long.toHexString(version.getChanges()) + "-" + Long.toHexString(micros),
+                    lastModified.toEpochMilli());
+        } catch (DataAccessException ex) {
+            log.error("Failed to find version of certificates, cause: {}", ex.getMessage());
+            throw new NotFoundException(ExceptionMessage.GIFT_CERTIFICATES_NOT_FOUND, ex);
+        }
+    }
+
+    /**
+     * Retrieves the version of the pages of gift certificates by tags for conditional requests. With the tag index
+     * enabled, the pages are read from the index, which applies the changes made through this instance after they
+     * commit and catches up with the others on reconciliation, so the version of the index is added to the version
+     * of all gift certificates: a page sent before the index caught up with a change gets a version that changes
+     * again once it has.
+     *
+     * @return The entity tag and last modification time of the pages by tags.
+     * @throws NotFoundException If the version could not be read.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public VersionDTO findTagPagesVersion() throws NotFoundException {
+        return findPagesVersion(tagIndex);
+    }
+
+    /**
+     * Retrieves the version of the pages of gift certificates by search filters for conditional requests,
+     * which adds the version of the certificate search index when it is enabled, like {@link #findTagPagesVersion}.
      *
-     * @param tag The tag associated with the certificates.
-     * @return List of gift certificates in DTO format associated with the tag.
-     * @throws NotFoundException If no certificates are found for the given tag.
+     * @return The entity tag and last modification time of the pages by search filters.
+     * @throws NotFoundException If the version could not be read.
      */
     @Override
-    public List<GiftCertificateDTO> findByTag(TagDTO tag) throws NotFoundException {
+    @Transactional(readOnly = true)
+    public VersionDTO findSearchPagesVersion() throws NotFoundException {
+        return findPagesVersion(certificateSearchIndex);
+    }
+
+    /**
+     * Retrieves a page of gift certificates by tag, ordered by ID.
+     * With the tag index enabled, the IDs of the page are read from the index, then the certificates are fetched
+     * by ID; otherwise the certificates are read from the database.
+     *
+     * @param tag  The tag associated with the certificates.
+     * @param page The page to retrieve.
+     * @return Page of gift certificates in DTO format associated with the tag.
+     * @throws NotFoundException If no certificates are found for the given tag or the page cursor is invalid.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public PageDTO<GiftCertificateDTO> findByTag(TagDTO tag, PageRequestDTO page) throws NotFoundException {
         try {
             log.info("Finding certificates by tag...");
-            return giftCertificateRepository.findByTag(tagMapper.toTag(tag)).stream()
-                    .map(giftCertificateMapper::toGiftCertificateDTO)
-                    .toList();
+            TagFilter filter = TagFilter.builder()
+                    .includedTags(Set.of(tag.getName()))
+                    .excludedTags(Set.of())
+                    .tagMatch(TagMatch.ALL)
+                    .build();
+            return findPage(page, null, pageFilter -> tagIndex.covers(filter)
+                    ? findIndexed((lastId, limit) -> tagIndex.findIds(filter, lastId, limit), pageFilter)
+                    : giftCertificateRepository.findByTag(Tag.builder().name(tag.getName()).build(), pageFilter));
         } catch (DataAccessException ex) {
             log.error("Failed to find certificates by tag, cause: {}", ex.getMessage());
             throw new NotFoundException(ExceptionMessage.GIFT_CERTIFICATES_NOT_FOUND, ex);
@@ -96,19 +241,55 @@ public class GiftCertificateServiceImpl implements GiftCertificateService {
     }
 
     /**
-     * Retrieves gift certificates by search filters.
+     * Retrieves a page of gift certificates having all or any of the included tags and none of the excluded ones,
+     * ordered by ID. With the tag index enabled, the IDs of the page are computed from its bitmaps, then
+     * the certificates are fetched by ID; without the index or without included tags, the certificates are read
+     * from the database.
+     *
+     * @param tagFilter The included and excluded tag names and how the included ones must match.
+     * @param page      The page to retrieve.
+     * @return Page of gift certificates in DTO format matching the tag filter.
+     * @throws NotFoundException If no certificates are found for the tag filter or the page cursor is invalid.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public PageDTO<GiftCertificateDTO> findByTags(TagFilterDTO tagFilter, PageRequestDTO page) throws NotFoundException {
+        try {
+            log.info("Finding certificates by tags...");
+            TagFilter filter = filterMapper.toTagFilter(tagFilter);
+            return findPage(page, null, pageFilter -> tagIndex.covers(filter)
+                    ? findIndexed((lastId, limit) -> tagIndex.findIds(filter, lastId, limit), pageFilter)
+                    : giftCertificateRepository.findByTags(filter, pageFilter));
+        } catch (DataAccessException ex) {
+            log.error("Failed to find certificates by tags, cause: {}", ex.getMessage());
+            throw new NotFoundException(ExceptionMessage.GIFT_CERTIFICATES_NOT_FOUND, ex);
+        }
+    }
+
+    /**
+     * Retrieves a page of gift certificates by search filters, ordered by ID.
+     * Searches covered by the certificate search index read the IDs of the page from the index,
+     * then fetch the certificates by ID; the others are read from the database.
      *
      * @param searchFilter The search filters to apply.
-     * @return List of gift certificates in DTO format based on the search criteria.
-     * @throws NotFoundException If no certificates are found based on the search filters.
+     * @param page         The page to retrieve.
+     * @return Page of gift certificates in DTO format based on the search criteria.
+     * @throws NotFoundException If no certificates are found based on the search filters or the page cursor is invalid,
+     *                           which includes the cursor of a full-text search whose last certificate was deleted.
      */
     @Override
-    public List<GiftCertificateDTO> findBySearchFilter(SearchFilterDTO searchFilter) throws NotFoundException {
+    @Transactional(readOnly = true)
+    public PageDTO<GiftCertificateDTO> findBySearchFilter(SearchFilterDTO searchFilter, PageRequestDTO page)
+            throws NotFoundException {
         try {
             log.info("Finding certificates by search filter...");
-            return giftCertificateRepository.findBySearchFilter(filterMapper.toSearchFilter(searchFilter)).stream()
-                    .map(giftCertificateMapper::toGiftCertificateDTO)
-                    .toList();
+            SearchFilter filter = filterMapper.toSearchFilter(searchFilter);
+            return findPage(page, null, pageFilter -> certificateSearchIndex.covers(filter)
+                    ? findIndexed((lastId, limit) -> certificateSearchIndex.findIds(filter, lastId, limit), pageFilter)
+                    : giftCertificateRepository.findBySearchFilter(filter, pageFilter));
+        } catch (EmptyResultDataAccessException ex) {
+            log.error("Failed to find the next page of certificates by search filter, cause: {}", ex.getMessage());
+            throw new NotFoundException(ExceptionMessage.PAGE_CURSOR_INVALID, ex);
         } catch (DataAccessException ex) {
             log.error("Failed to find certificates by search filter, cause: {}", ex.getMessage());
             throw new NotFoundException(ExceptionMessage.GIFT_CERTIFICATES_NOT_FOUND, ex);
@@ -116,25 +297,149 @@ public class GiftCertificateServiceImpl implements GiftCertificateService {
     }
 
     /**
-     * Retrieves gift certificates by sort filters.
+     * Retrieves a page of gift certificates by sort filters.
      *
      * @param sortFilter The sort filters to apply.
-     * @return List of gift certificates in DTO format based on the sort criteria.
-     * @throws NotFoundException If no certificates are found based on the sort filters.
+     * @param page       The page to retrieve.
+     * @return Page of gift certificates in DTO format based on the sort criteria.
+     * @throws NotFoundException If no certificates are found based on the sort filters or the page cursor is invalid.
      */
     @Override
-    public List<GiftCertificateDTO> findBySortFilter(SortFilterDTO sortFilter) throws NotFoundException {
+    @Transactional(readOnly = true)
+    public PageDTO<GiftCertificateDTO> findBySortFilter(SortFilterDTO sortFilter, PageRequestDTO page)
+            throws NotFoundException {
         try {
             log.info("Finding certificates by sort filter...");
-            return giftCertificateRepository.findBySortFilter(filterMapper.toSortFilter(sortFilter)).stream()
-                    .map(giftCertificateMapper::toGiftCertificateDTO)
-                    .toList();
+            SortFilter filter = filterMapper.toSortFilter(sortFilter);
+            return findPage(page, filter, pageFilter -> giftCertificateRepository.findBySortFilter(filter, pageFilter));
         } catch (DataAccessException ex) {
             log.error("Failed to find certificates by sort filter, cause: {}", ex.getMessage());
             throw new NotFoundException(ExceptionMessage.GIFT_CERTIFICATES_NOT_FOUND, ex);
         }
     }
 
+    /**
+     * Retrieves a page of gift certificates matching the tag, search and sort filters given together,
+     * read from the database with a single query; without a sort filter they are ordered by ID.
+     * Without any filter, this is the page of all certificates.
+     *
+     * @param filter The tag, search and sort filters to apply, any of them absent.
+     * @param page   The page to retrieve.
+     * @return Page of gift certificates in DTO format matching the filters.
+     * @throws NotFoundException If no certificates are found for the filters or the page cursor is invalid.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public PageDTO<GiftCertificateDTO> findByFilter(GiftCertificateFilterDTO filter, PageRequestDTO page)
+            throws NotFoundException {
+        try {
+            log.info("Finding certificates by combined filter...");
+            GiftCertificateFilter giftCertificateFilter = filterMapper.toGiftCertificateFilter(filter);
+            SortFilter sortFilter = giftCertificateFilter.getSortFilter();
+            if (giftCertificateFilter.getTagFilter() == null && giftCertificateFilter.getSearchFilter() == null && sortFilter == null) {
+                return findPage(page, null, giftCertificateRepository::findAll);
+            }
+            return findPage(page, sortFilter,
+                    pageFilter -> giftCertificateRepository.findByFilter(giftCertificateFilter, pageFilter));
+        } catch (DataAccessException ex) {
+            log.error("Failed to find certificates by combined filter, cause: {}", ex.getMessage());
+            throw new NotFoundException(ExceptionMessage.GIFT_CERTIFICATES_NOT_FOUND, ex);
+        }
+    }
+
+    /**
+     * Retrieves a page of gift certificates with the given query and encodes the cursor of the next page.
+     *
+     * @param page       The page to retrieve.
+     * @param sortFilter The sort filter of the query, or null for queries ordered by ID.
+     * @param query      The repository query returning the certificates of a page filter.
+     * @return Page of gift certificates in DTO format.
+     * @throws NotFoundException If the page cursor is invalid.
+     */
+    private PageDTO<GiftCertificateDTO> findPage(PageRequestDTO page, SortFilter sortFilter,
+                                                 Function<PageFilter, List<GiftCertificate>> query)
+            throws NotFoundException {
+        PageFilter pageFilter;
+        try {
+            pageFilter = filterMapper.toPageFilter(page, sortFilter);
+        } catch (IllegalArgumentException ex) {
+            log.error("Failed to decode page cursor, cause: {}", ex.getMessage());
+            throw new NotFoundException(ExceptionMessage.PAGE_CURSOR_INVALID, ex);
+        }
+        int size = pageFilter.getLimit();
+        // one row over the page size tells whether there is a next page
+        List<GiftCertificate> certificates = query.apply(pageFilter.toBuilder().limit(size + 1).build());
+        String next = null;
+        if (certificates.size() > size) {
+            certificates = certificates.subList(0, size);
+            next = PageCursor.encode(certificates.get(size - 1), sortFilter);
+        }
+        return new PageDTO<>(certificates.stream().map(giftCertificateMapper::toGiftCertificateDTO).toList(), next);
+    }
+
+    /**
+     * Combines the version of all gift certificates with the version of the index the pages are read from,
+     * if it is enabled. The version of the index is read first, so that it is never newer than the pages.
+     *
+     * @param index The in-memory index of the pages.
+     * @return The entity tag and last modification time of the pages.
+     * @throws NotFoundException If the version of all gift certificates could not be read.
+     */
+    private VersionDTO findPagesVersion(CatalogIndex index) throws NotFoundException {
+        if (!index.isEnabled()) {
+            return findCatalogVersion();
+        }
+        VersionDTO indexVersion = index.version();
+        VersionDTO catalogVersion = findCatalogVersion();
+        return new VersionDTO(catalogVersion.getEtag() + "-" + indexVersion.getEtag(),
+                Math.max(catalogVersion.getLastModified(), indexVersion.getLastModified()));
+    }
+
+    /**
+     * Fetches the certificates of a page of the IDs found in an in-memory index, from the certificate cache
+     * if present. IDs of certificates deleted since they were read from the index, or not yet visible to this
+     * transaction, are skipped and replaced by the next ones, so that the page is full whenever the index has
+     * enough certificates.
+     *
+     * @param idQuery    The index query returning at most the given number of IDs following the given one,
+     *                   or the first ones for null, in ascending order.
+     * @param pageFilter The page to retrieve.
+     * @return List of the certificates of the page, ordered by ID.
+     */
+    private List<GiftCertificate> findIndexed(BiFunction<Long, Integer, List<Long>> idQuery, PageFilter pageFilter) {
+        List<GiftCertificate> certificates = new ArrayList<>();
+        Long lastId = pageFilter.getLastId();
+        while (certificates.size() < pageFilter.getLimit()) {
+            List<Long> ids = idQuery.apply(lastId, pageFilter.getLimit() - certificates.size());
+            if (ids.isEmpty()) {
+                break;
+            }
+            certificates.addAll(giftCertificateCache.getAll(ids, giftCertificateRepository::findByIds));
+            lastId = ids.get(ids.size() - 1);
+        }
+        return certificates;
+    }
+
+    /**
+     * Passes all gift certificates ordered by ID to the consumer one by one,
+     * holding at most one chunk of certificates in memory at a time.
+     *
+     * @param consumer The consumer of every gift certificate in DTO format.
+     * @throws NotFoundException If the certificates could not be read.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<GiftCertificateDTO> consumer) throws NotFoundException {
+        try {
+            log.info("Exporting all certificates...");
+            giftCertificateRepository.streamAll(EXPORT_CHUNK_SIZE, certificates -> certificates
+                    .forEach(certificate -> consumer.accept(giftCertificateMapper.toGiftCertificateDTO(certificate))));
+        } catch (DataAccessException ex) {
+            log.error("Failed to export certificates, cause: {}", ex.getMessage());
+            throw new NotFoundException(ExceptionMessage.GIFT_CERTIFICATES_NOT_FOUND, ex);
+        }
+    }
+
     /**
      * Creates a new gift certificate.
      *
@@ -147,7 +452,9 @@ public class GiftCertificateServiceImpl implements GiftCertificateService {
         try {
             log.info("Creating new certificate...");
             certificate.setId(giftCertificateRepository.insert(certificate));
-            insertTags(certificate, giftCertificateDTO.getTags());
+            resolveTags(certificate);
+            giftCertificateRepository.insertTags(certificate);
+            eventPublisher.publishEvent(new GiftCertificateChangedEvent(certificate.getId()));
         } catch (DataAccessException ex) {
             log.error("Failed to create certificate, cause: {}", ex.getMessage());
             throw new DataModificationException(ExceptionMessage.GIFT_CERTIFICATE_CREATE_FAILED, ex);
@@ -155,18 +462,100 @@ public class GiftCertificateServiceImpl implements GiftCertificateService {
     }
 
     /**
-     * Inserts tags associated with a gift certificate into the database.
+     * Imports gift certificates in bulk, reading them from the input stream as they are inserted.
+     * Invalid rows are skipped and reported, with the errors of the first rows only; the valid ones are inserted
+     * all together or not at all. The IDs and dates of the imported certificates are ignored.
      *
-     * @param giftCertificate The gift certificate to associate tags with.
-     * @param tags            The list of tags to associate with the gift certificate.
+     * @param inputStream The import, encoded in UTF-8.
+     * @param format      The format of the import.
+     * @return The number of imported and rejected rows and the errors of the rejected ones.
+     * @throws DataModificationException If the import could not be read or inserted.
      */
-    private void insertTags(GiftCertificate giftCertificate, List<TagDTO> tags) {
-        tags.forEach(tag -> tag.setId(tagRepository.insert(tagMapper.toTag(tag))));
-        giftCertificateRepository.insertTags(giftCertificate);
+    @Override
+    public ImportReportDTO importAll(InputStream inputStream, ImportFormat format) throws DataModificationException {
+        ImportReportDTO report = ImportReportDTO.builder().errors(new ArrayList<>()).build();
+        Iterator<GiftCertificateDTO> rows = new ValidRowIterator(
+                format.open(new InputStreamReader(inputStream, StandardCharsets.UTF_8)),
+                row -> {
+                    report.setRejected(report.getRejected() + 1);
+                    if (report.getErrors().size() < MAX_IMPORT_ERRORS) {
+                        report.getErrors().add(new ImportErrorDTO(row.line(), row.errors()));
+                    }
+                });
+        try {
+            log.info("Importing certificates...");
+            ImportResult result = giftCertificateRepository.importAll(new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return rows.hasNext();
+                }
+
+                @Override
+                public GiftCertificate next() {
+                    GiftCertificateDTO certificate = rows.next();
+                    // exported dates may be imported again, but are not parsed
+                    certificate.setCreateDate(null);
+                    certificate.setLastUpdateDate(null);
+                    return giftCertificateMapper.toGiftCertificate(certificate);
+                }
+            });
+            if (!result.getCreatedTags().isEmpty()) {
+                eventPublisher.publishEvent(new TagsCreatedEvent(result.getCreatedTags()));
+            }
+            if (result.getImported() > 0) {
+                eventPublisher.publishEvent(new GiftCertificatesImportedEvent(result.getImported()));
+            }
+            report.setImported(result.getImported());
+            log.info("Imported {} certificates, rejected {} rows", report.getImported(), report.getRejected());
+            return report;
+        } catch (DataAccessException | UncheckedIOException ex) {
+            log.error("Failed to import certificates, cause: {}", ex.getMessage());
+            throw new DataModificationException(ExceptionMessage.GIFT_CERTIFICATE_IMPORT_FAILED, ex);
+        }
     }
 
     /**
-     * Updates an existing gift certificate.
+     * Sets the IDs of the tags of a gift certificate, creating the tags missing from the tag dictionary.
+     * The missing tags are inserted with one statement, whatever their number.
+     *
+     * @param giftCertificate The gift certificate whose tags to resolve.
+     */
+    private void resolveTags(GiftCertificate giftCertificate) {
+        Map<String, Long> tagIds = new HashMap<>();
+        List<String> missingNames = new ArrayList<>();
+        giftCertificate.getTags().forEach(tag -> tagDictionary.findIdByName(tag.getName()).ifPresentOrElse(
+                id -> tagIds.put(tag.getName(), id),
+                () -> missingNames.add(tag.getName())));
+        if (!missingNames.isEmpty()) {
+            insertTags(missingNames).forEach(tag -> tagIds.put(tag.getName(), tag.getId()));
+        }
+        giftCertificate.setTags(tagIds.entrySet().stream()
+                .map(tagId -> Tag.builder().id(tagId.getValue()).name(tagId.getKey()).build())
+                .collect(Collectors.toSet()));
+    }
+
+    /**
+     * Inserts the tags with the given names that do not exist yet and publishes the ones still missing from
+     * the tag dictionary as one event, so that the dictionary is rebuilt once. The upsert also returns tags
+     * created meanwhile by another transaction, which are not published again.
+     *
+     * @param names The names of the tags missing from the tag dictionary.
+     * @return The tags with their IDs.
+     */
+    private List<Tag> insertTags(List<String> names) {
+        List<Tag> tags = tagRepository.upsertAll(names);
+        List<Tag> createdTags = tags.stream()
+                .filter(tag -> tagDictionary.findIdByName(tag.getName()).isEmpty())
+                .toList();
+        if (!createdTags.isEmpty()) {
+            eventPublisher.publishEvent(new TagsCreatedEvent(createdTags));
+        }
+        return tags;
+    }
+
+    /**
+     * Updates an existing gift certificate. Whether it exists is told by the update itself,
+     * and only the tag associations that changed are written.
      *
      * @param giftCertificateDTO The gift certificate data to update.
      * @throws NotFoundException        If the certificate to update is not found.
@@ -177,11 +566,16 @@ public class GiftCertificateServiceImpl implements GiftCertificateService {
         Long id = giftCertificateDTO.getId();
         try {
             log.info("Editing certificate...");
-            giftCertificateRepository.findById(id);
             GiftCertificate certificate = giftCertificateMapper.toGiftCertificate(giftCertificateDTO);
-            giftCertificateRepository.update(certificate);
-            giftCertificateDTO.getTags().forEach(tag -> tag.setId(tagRepository.insert(tagMapper.toTag(tag))));
-            giftCertificateRepository.insertTags(certificate);
+            if (!giftCertificateRepository.update(certificate)) {
+                throw new EmptyResultDataAccessException("Certificate not found by ID: " + id, 1);
+            }
+            // tags absent from the request are left as they are
+            if (certificate.getTags() != null) {
+                resolveTags(certificate);
+                giftCertificateRepository.updateTags(certificate);
+            }
+            eventPublisher.publishEvent(new GiftCertificateChangedEvent(id));
         } catch (EmptyResultDataAccessException ex) {
             log.error("Failed to find certificate by id {}, cause {}", id, ex.getMessage());
             throw new NotFoundException(ExceptionMessage.GIFT_CERTIFICATE_ID_NOT_FOUND, id);
@@ -192,7 +586,7 @@ public class GiftCertificateServiceImpl implements GiftCertificateService {
     }
 
     /**
-     * Deletes a gift certificate by ID.
+     * Deletes a gift certificate by ID. Whether it exists is told by the deletion itself.
      *
      * @param id The ID of the certificate to delete.
      * @throws NotFoundException        If the certificate to delete is not found.
@@ -202,8 +596,10 @@ public class GiftCertificateServiceImpl implements GiftCertificateService {
     public void delete(Long id) throws NotFoundException, DataModificationException {
         try {
             log.info("Deleting certificate...");
-            giftCertificateRepository.findById(id);
-            giftCertificateRepository.delete(id);
+            if (!giftCertificateRepository.delete(id)) {
+                throw new EmptyResultDataAccessException("Certificate not found by ID: " + id, 1);
+            }
+            eventPublisher.publishEvent(new GiftCertificateChangedEvent(id));
         } catch (EmptyResultDataAccessException ex) {
             log.error("failed to find certificate by id {}, cause {}", id, ex.getMessage());
             throw new NotFoundException(ExceptionMessage.GIFT_CERTIFICATE_ID_NOT_FOUND, id);
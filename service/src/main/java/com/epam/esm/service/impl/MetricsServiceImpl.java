@@ -0,0 +1,44 @@
+package com.epam.esm.service.impl;
+
+import com.epam.esm.metrics.MetricsRegistry;
+import com.epam.esm.metrics.TimerFamily;
+import com.epam.esm.service.MetricsService;
+import org.springframework.stereotype.Service;
+
+/**
+ * Implementation of the MetricsService interface that records request metrics
+ * and writes all metrics of the application in the Prometheus text format.
+ */
+@Service
+public class MetricsServiceImpl implements MetricsService {
+    private final MetricsRegistry metricsRegistry;
+    private final TimerFamily requests;
+
+    public MetricsServiceImpl(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+        this.requests = metricsRegistry.family("http_server_requests", "HTTP requests", "method", "uri");
+    }
+
+    /**
+     * Records one handled request.
+     *
+     * @param method The HTTP method of the request.
+     * @param uri    The URI pattern of the handler of the request.
+     * @param nanos  The time taken to handle the request in nanoseconds.
+     * @param failed Whether the request failed.
+     */
+    @Override
+    public void recordRequest(String method, String uri, long nanos, boolean failed) {
+        requests.timer(method, uri).record(nanos, failed);
+    }
+
+    /**
+     * Writes the request, repository and connection pool metrics in the Prometheus text format.
+     *
+     * @return The metrics text.
+     */
+    @Override
+    public String scrape() {
+        return metricsRegistry.scrape();
+    }
+}
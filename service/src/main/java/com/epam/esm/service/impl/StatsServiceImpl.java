@@ -0,0 +1,62 @@
+package com.epam.esm.service.impl;
+
+import com.epam.esm.cache.GiftCertificateCache;
+import com.epam.esm.cache.TagIndex;
+import com.epam.esm.dto.stats.CacheStatsDTO;
+import com.epam.esm.dto.stats.PoolStatsDTO;
+import com.epam.esm.dto.stats.TagIndexStatsDTO;
+import com.epam.esm.metrics.ConnectionPoolMetrics;
+import com.epam.esm.service.StatsService;
+import com.epam.esm.util.mapper.StatsMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Implementation of the StatsService interface that reports runtime statistics of the service layer.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StatsServiceImpl implements StatsService {
+
+    private final GiftCertificateCache giftCertificateCache;
+    private final ConnectionPoolMetrics connectionPoolMetrics;
+    private final TagIndex tagIndex;
+    private final StatsMapper statsMapper;
+
+    /**
+     * Retrieves the counters of the gift certificate cache.
+     *
+     * @return The statistics of the gift certificate cache.
+     */
+    @Override
+    public CacheStatsDTO getCertificateCacheStats() {
+        log.info("Collecting certificate cache statistics...");
+        return giftCertificateCache.stats();
+    }
+
+    /**
+     * Retrieves the connection counts, waiting threads and latency histograms of the connection pools.
+     *
+     * @return The statistics of every started connection pool.
+     */
+    @Override
+    public List<PoolStatsDTO> getConnectionPoolStats() {
+        log.info("Collecting connection pool statistics...");
+        return connectionPoolMetrics.stats().stream().map(statsMapper::toPoolStatsDTO).toList();
+    }
+
+    /**
+     * Retrieves the size and the estimated memory footprint of the in-memory tag index.
+     *
+     * @return The statistics of the tag index.
+     */
+    @Override
+    public TagIndexStatsDTO getTagIndexStats() {
+        log.info("Collecting tag index statistics...");
+        return tagIndex.stats();
+    }
+}
@@ -1,19 +1,31 @@
 package com.epam.esm.service.impl;
 
+import com.epam.esm.cache.TagDictionary;
+import com.epam.esm.cache.TagIndex;
 import com.epam.esm.dto.TagDTO;
+import com.epam.esm.dto.TagSuggestionDTO;
+import com.epam.esm.entity.Tag;
 import com.epam.esm.exception.DataModificationException;
+import com.epam.esm.event.TagCreatedEvent;
+import com.epam.esm.event.TagDeletedEvent;
 import com.epam.esm.exception.NotFoundException;
 import com.epam.esm.repository.repository.TagRepository;
 import com.epam.esm.service.TagService;
 import com.epam.esm.util.mapper.TagMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessException;
-import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.ToLongFunction;
 
 import static com.epam.esm.util.ExceptionMessage.*;
 
@@ -25,44 +37,81 @@ import static com.epam.esm.util.ExceptionMessage.*;
 @Transactional
 @RequiredArgsConstructor
 public class TagServiceImpl implements TagService {
+    public static final int MAX_SUGGESTIONS = 50;
+    // most used first, then by ID like the ranking of the tag index
+    private static final Comparator<Suggestion> BY_RANK = Comparator.comparingLong(Suggestion::certificates).reversed()
+            .thenComparing(suggestion -> suggestion.tag().getId());
 
     private final TagRepository tagRepository;
     private final TagMapper tagMapper;
+    private final TagDictionary tagDictionary;
+    private final TagIndex tagIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
-     * Retrieves all tags.
+     * Retrieves all tags from the tag dictionary.
      *
      * @return List of all tags in DTO format.
-     * @throws NotFoundException If no tags are found.
      */
     @Override
-    public List<TagDTO> findAll() throws NotFoundException {
-        try {
-            log.info("Finding all tags...");
-            return tagRepository.findAll().stream().map(tagMapper::toTagDTO).toList();
-        } catch (DataAccessException ex) {
-            log.error("Failed to find tags: {}", ex.getMessage());
-            throw new NotFoundException(TAGS_NOT_FOUND, ex);
-        }
+    @Transactional(readOnly = true)
+    public List<TagDTO> findAll() {
+        log.info("Finding all tags...");
+        return tagDictionary.findAll().stream().map(tagMapper::toTagDTO).toList();
     }
 
     /**
-     * Retrieves a tag by ID.
+     * Retrieves a tag by ID from the tag dictionary.
      *
      * @param id The ID of the tag.
      * @return The tag in DTO format.
      * @throws NotFoundException If the tag with the given ID is not found.
      */
     @Override
+    @Transactional(readOnly = true)
     public TagDTO findById(Long id) throws NotFoundException {
-        try {
-            log.info("Finding tag by ID...");
-            return tagMapper.toTagDTO(tagRepository.findById(id).orElseThrow(() ->
-                    new EmptyResultDataAccessException("Tag not found by ID: " + id, 1)));
-        } catch (EmptyResultDataAccessException ex) {
-            log.error("Failed to find tag by ID: {}", ex.getMessage());
-            throw new NotFoundException(TAG_ID_NOT_FOUND, id);
+        log.info("Finding tag by ID...");
+        return tagMapper.toTagDTO(tagDictionary.findById(id).orElseThrow(() -> {
+            log.error("Failed to find tag by ID: {}", id);
+            return new NotFoundException(TAG_ID_NOT_FOUND, id);
+        }));
+    }
+
+    /**
+     * Suggests the tags whose names start with the prefix, ignoring case, most used first and then by ID.
+     * A prefix matching many tags walks the tags ranked by the tag index until enough of them match,
+     * which takes about limit * tags / matching steps; a prefix matching few tags ranks them all,
+     * keeping only the best ones. Either way no more than a few hundred tags are looked at
+     * for ten suggestions out of ten thousand tags.
+     * Without the tag index, the certificates of all matching tags are counted by the database.
+     *
+     * @param prefix The prefix of the names; an empty prefix suggests the most used tags.
+     * @param limit  The maximum number of suggestions, capped to between 1 and {@value #MAX_SUGGESTIONS}.
+     * @return List of the suggested tags with their certificate counts.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<TagSuggestionDTO> suggest(String prefix, int limit) {
+        log.info("Suggesting tags...");
+        int size = Math.max(1, Math.min(limit, MAX_SUGGESTIONS));
+        List<Tag> candidates = tagDictionary.findByNamePrefix(prefix);
+        List<Suggestion> suggestions;
+        if (!tagIndex.isEnabled()) {
+            Map<Long, Long> certificates = tagRepository.countCertificates(candidates.stream().map(Tag::getId).toList());
+            suggestions = rank(candidates, size, tagId -> certificates.getOrDefault(tagId, 0L));
+        } else {
+            suggestions = List.of();
+            if ((long) candidates.size() * candidates.size() > (long) size * tagIndex.countRankedTags()) {
+                suggestions = findRankedWithPrefix(prefix, size);
+            }
+            if (suggestions.size() < size) {
+                // few candidates, or too few of them are used for the tags without certificates to be left out
+                suggestions = rank(candidates, size, tagIndex::countCertificates);
+            }
         }
+        return suggestions.stream()
+                .map(suggestion -> tagMapper.toTagSuggestionDTO(suggestion.tag(), suggestion.certificates()))
+                .toList();
     }
 
     /**
@@ -75,7 +124,8 @@ public class TagServiceImpl implements TagService {
     public void create(TagDTO tagDTO) throws DataModificationException {
         try {
             log.info("Creating new tag...");
-            tagRepository.insert(tagMapper.toTag(tagDTO));
+            Tag tag = tagMapper.toTag(tagDTO);
+            eventPublisher.publishEvent(new TagCreatedEvent(tagRepository.insert(tag), tag.getName()));
         } catch (DataAccessException ex) {
             log.error("Failed to create tag: {}", ex.getMessage());
             throw new DataModificationException(TAG_CREATE_FAILED, ex);
@@ -83,7 +133,7 @@ public class TagServiceImpl implements TagService {
     }
 
     /**
-     * Deletes a tag by ID.
+     * Deletes a tag by ID. Whether it exists is told by the deletion itself.
      *
      * @param id The ID of the tag to delete.
      * @throws NotFoundException        If the tag to delete is not found.
@@ -93,12 +143,43 @@ public class TagServiceImpl implements TagService {
     public void delete(Long id) throws NotFoundException, DataModificationException {
         try {
             log.info("Deleting tag...");
-            tagRepository.findById(id).orElseThrow(() ->
-                    new NotFoundException(TAG_ID_NOT_FOUND, id));
-            tagRepository.delete(id);
+            if (!tagRepository.delete(id)) {
+                log.error("Failed to find tag by ID: {}", id);
+                throw new NotFoundException(TAG_ID_NOT_FOUND, id);
+            }
+            eventPublisher.publishEvent(new TagDeletedEvent(id));
         } catch (DataAccessException ex) {
             log.error("Failed to delete tag: {}", ex.getMessage());
             throw new DataModificationException(TAG_DELETE_FAILED, ex);
         }
     }
+
+    private List<Suggestion> findRankedWithPrefix(String prefix, int size) {
+        List<Suggestion> suggestions = new ArrayList<>(size);
+        Iterator<Long> ranked = tagIndex.findTagIdsByCount().iterator();
+        while (ranked.hasNext() && suggestions.size() < size) {
+            Long tagId = ranked.next();
+            tagDictionary.findById(tagId)
+                    .filter(tag -> TagDictionary.hasNamePrefix(tag, prefix))
+                    .ifPresent(tag -> suggestions.add(new Suggestion(tag, tagIndex.countCertificates(tagId))));
+        }
+        return suggestions;
+    }
+
+    private List<Suggestion> rank(List<Tag> candidates, int size, ToLongFunction<Long> certificates) {
+        // the weakest of the best suggestions so far on top
+        PriorityQueue<Suggestion> best = new PriorityQueue<>(size + 1, BY_RANK.reversed());
+        for (Tag tag : candidates) {
+            best.add(new Suggestion(tag, certificates.applyAsLong(tag.getId())));
+            if (best.size() > size) {
+                best.poll();
+            }
+        }
+        List<Suggestion> suggestions = new ArrayList<>(best);
+        suggestions.sort(BY_RANK);
+        return suggestions;
+    }
+
+    private record Suggestion(Tag tag, long certificates) {
+    }
 }
@@ -8,7 +8,9 @@ public enum ExceptionMessage {
     GIFT_CERTIFICATE_UPDATE_FAILED("Failed to update the gift certificate"),
     GIFT_CERTIFICATE_CREATE_FAILED("Failed to create the gift certificate"),
     GIFT_CERTIFICATE_DELETE_FAILED("Failed to delete the gift certificate"),
+    GIFT_CERTIFICATE_IMPORT_FAILED("Failed to import the gift certificates"),
     GIFT_CERTIFICATES_NOT_FOUND("No gift certificates found"),
+    PAGE_CURSOR_INVALID("Invalid page cursor"),
 
     TAG_ID_NOT_FOUND("Tag with ID %s not found"),
     TAG_CREATE_FAILED("Failed to create the tag"),
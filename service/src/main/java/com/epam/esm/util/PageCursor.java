@@ -0,0 +1,81 @@
+package com.epam.esm.util;
+
+import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.entity.filter.page.PageFilter;
+import com.epam.esm.entity.filter.sort.SortFilter;
+import com.epam.esm.entity.filter.sort.SortType;
+import lombok.experimental.UtilityClass;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Utility class encoding keyset page positions as opaque cursors.
+ * A cursor holds the ID of the last row of a page and, for sorted queries, the sort type and order it was
+ * issued for and the value of its sort column, so that it is rejected by a query sorted otherwise.
+ * The sorted columns are not nullable, so the last row of a page always has a sort value to encode.
+ */
+@UtilityClass
+public class PageCursor {
+
+    private static final String SEPARATOR = ":";
+
+    /**
+     * Encodes the position after the given certificate.
+     *
+     * @param certificate The last certificate of a page.
+     * @param sortFilter  The sort filter of the query, or null for queries ordered by ID.
+     * @return Opaque cursor of the next page.
+     */
+    public static String encode(GiftCertificate certificate, SortFilter sortFilter) {
+        String position = certificate.getId().toString();
+        if (sortFilter != null) {
+            position += SEPARATOR + sortFilter.getSortType() + SEPARATOR + sortFilter.getSortOrder()
+                    + SEPARATOR + switch (sortFilter.getSortType()) {
+                case BY_NAME -> certificate.getName();
+                case BY_CREATE_DATE -> certificate.getCreateDate();
+                case BY_LAST_UPDATE_DATE -> certificate.getLastUpdateDate();
+            };
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor into a page filter.
+     *
+     * @param cursor     The cursor to decode, or null for the first page.
+     * @param sortFilter The sort filter of the query, or null for queries ordered by ID.
+     * @param limit      The page size.
+     * @return PageFilter starting after the encoded position.
+     * @throws IllegalArgumentException If the cursor is malformed or was issued for another sort type or order.
+     */
+    public static PageFilter decode(String cursor, SortFilter sortFilter, int limit) {
+        PageFilter.PageFilterBuilder pageFilter = PageFilter.builder().limit(limit);
+        if (cursor == null) {
+            return pageFilter.build();
+        }
+        String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        String[] parts = position.split(SEPARATOR, 4);
+        pageFilter.lastId(Long.valueOf(parts[0]));
+        if (sortFilter == null) {
+            if (parts.length > 1) {
+                throw new IllegalArgumentException("Cursor was issued for a sorted query: " + cursor);
+            }
+            return pageFilter.build();
+        }
+        if (parts.length < 4) {
+            throw new IllegalArgumentException("Cursor has no sort value: " + cursor);
+        }
+        if (!parts[1].equals(sortFilter.getSortType().name()) || !parts[2].equals(sortFilter.getSortOrder().name())) {
+            throw new IllegalArgumentException("Cursor was issued for another sort: " + cursor);
+        }
+        try {
+            return pageFilter.lastValue(sortFilter.getSortType() == SortType.BY_NAME
+                    ? parts[3] : LocalDateTime.parse(parts[3])).build();
+        } catch (DateTimeException ex) {
+            throw new IllegalArgumentException("Cursor has no date sort value: " + cursor, ex);
+        }
+    }
+}
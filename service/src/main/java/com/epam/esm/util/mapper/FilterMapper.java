@@ -1,16 +1,30 @@
 package com.epam.esm.util.mapper;
 
+import com.epam.esm.dto.filter.GiftCertificateFilterDTO;
 import com.epam.esm.dto.filter.SearchFilterDTO;
 import com.epam.esm.dto.filter.SortFilterDTO;
+import com.epam.esm.dto.filter.TagFilterDTO;
+import com.epam.esm.dto.page.PageRequestDTO;
+import com.epam.esm.entity.filter.GiftCertificateFilter;
+import com.epam.esm.entity.filter.page.PageFilter;
 import com.epam.esm.entity.filter.search.SearchFilter;
 import com.epam.esm.entity.filter.search.SearchPlace;
 import com.epam.esm.entity.filter.search.SearchType;
 import com.epam.esm.entity.filter.sort.SortFilter;
 import com.epam.esm.entity.filter.sort.SortOrder;
 import com.epam.esm.entity.filter.sort.SortType;
+import com.epam.esm.entity.filter.tag.TagFilter;
+import com.epam.esm.entity.filter.tag.TagMatch;
+import com.epam.esm.util.PageCursor;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
 /**
  * Mapper to convert filter DTOs into filter entities
  */
@@ -39,4 +53,64 @@ public interface FilterMapper {
     default SearchPlace toSearchPlace(String searchPlace) {
         return searchPlace == null ? null : SearchPlace.valueOf(searchPlace.toUpperCase());
     }
+
+    /**
+     * Maps a tag filter, the absent tag lists being empty and the absent tag match requiring all included tags.
+     *
+     * @param tagFilterDTO The tag filter to map.
+     * @return TagFilter with the distinct included and excluded tag names.
+     */
+    default TagFilter toTagFilter(TagFilterDTO tagFilterDTO) {
+        return TagFilter.builder()
+                .includedTags(toTagNames(tagFilterDTO.getIncludedTags()))
+                .excludedTags(toTagNames(tagFilterDTO.getExcludedTags()))
+                .tagMatch(tagFilterDTO.getTagMatch() == null ? TagMatch.ALL : TagMatch.valueOf(tagFilterDTO.getTagMatch().toUpperCase()))
+                .build();
+    }
+
+    /**
+     * Maps the query parameters of a combined certificate query to its filters, leaving out the filters without
+     * parameters: the tag filter without tags, the search without value and the sort without sort type.
+     * Absent parameters of a present filter default to a case-sensitive search of names containing the value,
+     * an ascending sort and certificates having all tags.
+     *
+     * @param giftCertificateFilterDTO The query parameters to map.
+     * @return GiftCertificateFilter with the present filters.
+     */
+    default GiftCertificateFilter toGiftCertificateFilter(GiftCertificateFilterDTO giftCertificateFilterDTO) {
+        List<String> includedTags = giftCertificateFilterDTO.getTag();
+        List<String> excludedTags = giftCertificateFilterDTO.getExcludedTag();
+        boolean tags = includedTags != null && !includedTags.isEmpty() || excludedTags != null && !excludedTags.isEmpty();
+        String searchValue = giftCertificateFilterDTO.getSearch();
+        String sortType = giftCertificateFilterDTO.getSort();
+        return GiftCertificateFilter.builder()
+                .tagFilter(!tags ? null : toTagFilter(new TagFilterDTO(includedTags, excludedTags,
+                        giftCertificateFilterDTO.getTagMatch())))
+                .searchFilter(searchValue == null ? null : toSearchFilter(new SearchFilterDTO(searchValue,
+                        Objects.requireNonNullElse(giftCertificateFilterDTO.getSearchType(), "title"),
+                        Objects.requireNonNullElse(giftCertificateFilterDTO.getSearchPlace(), "contains"),
+                        giftCertificateFilterDTO.getCaseInsensitive())))
+                .sortFilter(sortType == null ? null : toSortFilter(new SortFilterDTO(sortType,
+                        Objects.requireNonNullElse(giftCertificateFilterDTO.getOrder(), "ascending"))))
+                .build();
+    }
+
+    default Set<String> toTagNames(Collection<String> tagNames) {
+        return tagNames == null ? Set.of() : new LinkedHashSet<>(tagNames);
+    }
+
+    /**
+     * Maps a page request to a page filter, limiting the page size to the allowed range.
+     *
+     * @param pageRequestDTO The requested page, or null for the first page of default size.
+     * @param sortFilter     The sort filter of the query, or null for queries ordered by ID.
+     * @return PageFilter of the requested page.
+     * @throws IllegalArgumentException If the cursor is invalid.
+     */
+    default PageFilter toPageFilter(PageRequestDTO pageRequestDTO, SortFilter sortFilter) {
+        Integer size = pageRequestDTO == null ? null : pageRequestDTO.getSize();
+        String cursor = pageRequestDTO == null ? null : pageRequestDTO.getCursor();
+        int limit = size == null ? PageRequestDTO.DEFAULT_SIZE : Math.max(1, Math.min(size, PageRequestDTO.MAX_SIZE));
+        return PageCursor.decode(cursor, sortFilter, limit);
+    }
 }
@@ -0,0 +1,17 @@
+package com.epam.esm.util.mapper;
+
+import com.epam.esm.dto.stats.LatencyStatsDTO;
+import com.epam.esm.dto.stats.PoolStatsDTO;
+import com.epam.esm.metrics.ConnectionPoolStats;
+import com.epam.esm.metrics.LatencyHistogram;
+import org.mapstruct.Mapper;
+
+/**
+ * Mapper to convert repository metrics into statistics DTOs
+ */
+@Mapper(componentModel = "spring")
+public interface StatsMapper {
+    PoolStatsDTO toPoolStatsDTO(ConnectionPoolStats connectionPoolStats);
+
+    LatencyStatsDTO toLatencyStatsDTO(LatencyHistogram.Snapshot snapshot);
+}
@@ -1,6 +1,7 @@
 package com.epam.esm.util.mapper;
 
 import com.epam.esm.dto.TagDTO;
+import com.epam.esm.dto.TagSuggestionDTO;
 import com.epam.esm.entity.Tag;
 import com.epam.esm.service.impl.GiftCertificateServiceImpl;
 import com.epam.esm.service.impl.TagServiceImpl;
@@ -13,4 +14,5 @@ import org.mapstruct.Mapper;
 public interface TagMapper {
     TagDTO toTagDTO(Tag tag);
     Tag toTag(TagDTO tagDTO);
+    TagSuggestionDTO toTagSuggestionDTO(Tag tag, long certificates);
 }
@@ -0,0 +1,187 @@
+package com.epam.esm.cache;
+
+import com.epam.esm.entity.CatalogVersion;
+import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.entity.filter.search.SearchFilter;
+import com.epam.esm.entity.filter.search.SearchPlace;
+import com.epam.esm.entity.filter.search.SearchType;
+import com.epam.esm.event.GiftCertificateChangedEvent;
+import com.epam.esm.event.GiftCertificatesImportedEvent;
+import com.epam.esm.repository.impl.GiftCertificateRepositoryImpl;
+import com.epam.esm.repository.repository.GiftCertificateRepository;
+import com.epam.esm.repository.repository.SearchTextConsumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.EmptyResultDataAccessException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Certificate search index tests
+ */
+public class CertificateSearchIndexTest {
+    private static final String[][] TEXTS = {
+            {"1", "Spa Day", "Relaxing spa"},
+            {"2", "Spanish Lessons", "Learn Spanish"},
+            {"3", "Day at the Spa", "A spa day"},
+            {"4", "Ski Pass", "Winter pass"},
+            {"5", "S", "Short"}};
+
+    private GiftCertificateRepository giftCertificateRepository;
+    private CertificateSearchIndex certificateSearchIndex;
+
+    @BeforeEach
+    public void setUp() {
+        giftCertificateRepository = mock(GiftCertificateRepositoryImpl.class);
+        doAnswer(invocation -> {
+            SearchTextConsumer consumer = invocation.getArgument(1);
+            for (String[] text : TEXTS) {
+                consumer.accept(Long.parseLong(text[0]), text[1], text[2]);
+            }
+            return null;
+        }).when(giftCertificateRepository).streamSearchTexts(anyInt(), any());
+        when(giftCertificateRepository.findCatalogVersion())
+                .thenReturn(new CatalogVersion(1, LocalDateTime.now()));
+        certificateSearchIndex = new CertificateSearchIndex(giftCertificateRepository, true, false, 3600);
+        certificateSearchIndex.afterPropertiesSet();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        certificateSearchIndex.destroy();
+    }
+
+    @Test
+    public void shouldFindNamesStartingWithValueTest() {
+        assertEquals(List.of(1L, 2L), certificateSearchIndex.findIds(title("Spa", SearchPlace.STARTS_WITH, false), null, 10));
+        assertEquals(List.of(1L, 2L, 4L, 5L), certificateSearchIndex.findIds(title("S", SearchPlace.STARTS_WITH, false), null, 10));
+        assertEquals(List.of(), certificateSearchIndex.findIds(title("spa", SearchPlace.STARTS_WITH, false), null, 10));
+    }
+
+    @Test
+    public void shouldFindNamesContainingValueIgnoringCaseTest() {
+        assertEquals(List.of(1L, 2L, 3L), certificateSearchIndex.findIds(title("SPA", SearchPlace.CONTAINS, true), null, 10));
+        assertEquals(List.of(1L), certificateSearchIndex.findIds(title("a d", SearchPlace.CONTAINS, true), null, 10));
+        assertEquals(List.of(2L, 4L), certificateSearchIndex.findIds(title("s", SearchPlace.CONTAINS, false), null, 10));
+    }
+
+    @Test
+    public void shouldFindNamesContainingValueShorterThanTrigramTest() {
+        assertEquals(List.of(1L, 2L, 3L, 4L), certificateSearchIndex.findIds(title("PA", SearchPlace.CONTAINS, true), null, 10));
+        assertEquals(List.of(4L), certificateSearchIndex.findIds(title("Pa", SearchPlace.CONTAINS, false), null, 10));
+        assertEquals(List.of(), certificateSearchIndex.findIds(title("xy", SearchPlace.CONTAINS, true), null, 10));
+        assertEquals(List.of(), certificateSearchIndex.findIds(title("x", SearchPlace.CONTAINS, true), null, 10));
+    }
+
+    @Test
+    public void shouldFindNamesEndingWithValueTest() {
+        assertEquals(List.of(3L), certificateSearchIndex.findIds(title("Spa", SearchPlace.ENDS_WITH, false), null, 10));
+        assertEquals(List.of(2L, 4L, 5L), certificateSearchIndex.findIds(title("S", SearchPlace.ENDS_WITH, true), null, 10));
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), certificateSearchIndex.findIds(title("", SearchPlace.ENDS_WITH, false), null, 10));
+    }
+
+    @Test
+    public void shouldReturnPageFollowingLastIdTest() {
+        assertEquals(List.of(2L), certificateSearchIndex.findIds(title("spa", SearchPlace.CONTAINS, true), 1L, 1));
+        assertEquals(List.of(4L, 5L), certificateSearchIndex.findIds(title("s", SearchPlace.STARTS_WITH, true), 2L, 10));
+    }
+
+    @Test
+    public void shouldCoverDescriptionsOnlyIfEnabledTest() {
+        assertTrue(certificateSearchIndex.covers(title("spa", SearchPlace.CONTAINS, true)));
+        assertFalse(certificateSearchIndex.covers(SearchFilter.builder().searchType(SearchType.DESC).build()));
+        assertFalse(certificateSearchIndex.covers(SearchFilter.builder().searchType(SearchType.FULL_TEXT).build()));
+        assertFalse(new CertificateSearchIndex(giftCertificateRepository, false, true, 3600).covers(title("spa", SearchPlace.CONTAINS, true)));
+
+        CertificateSearchIndex withDescriptions = new CertificateSearchIndex(giftCertificateRepository, true, true, 3600);
+        withDescriptions.afterPropertiesSet();
+        withDescriptions.destroy();
+        SearchFilter description = SearchFilter.builder()
+                .searchValue("spa")
+                .searchType(SearchType.DESC)
+                .searchPlace(SearchPlace.CONTAINS)
+                .build();
+        assertTrue(withDescriptions.covers(description));
+        assertEquals(List.of(1L, 3L), withDescriptions.findIds(description, null, 10));
+    }
+
+    @Test
+    public void shouldReplaceNameOfChangedCertificateTest() {
+        when(giftCertificateRepository.findById(2L))
+                .thenReturn(Optional.of(GiftCertificate.builder().id(2L).name("Wine Tasting").build()));
+        certificateSearchIndex.onGiftCertificateChanged(new GiftCertificateChangedEvent(2L));
+        assertEquals(List.of(1L), certificateSearchIndex.findIds(title("Spa", SearchPlace.STARTS_WITH, false), null, 10));
+        assertEquals(List.of(2L), certificateSearchIndex.findIds(title("tast", SearchPlace.CONTAINS, true), null, 10));
+    }
+
+    @Test
+    public void shouldAddCreatedAndRemoveDeletedCertificatesTest() {
+        when(giftCertificateRepository.findById(6L))
+                .thenReturn(Optional.of(GiftCertificate.builder().id(6L).name("Spa Weekend").build()));
+        when(giftCertificateRepository.findById(1L))
+                .thenThrow(new EmptyResultDataAccessException(1));
+        certificateSearchIndex.onGiftCertificateChanged(new GiftCertificateChangedEvent(6L));
+        certificateSearchIndex.onGiftCertificateChanged(new GiftCertificateChangedEvent(1L));
+        assertEquals(List.of(2L, 6L), certificateSearchIndex.findIds(title("Spa", SearchPlace.STARTS_WITH, false), null, 10));
+        assertEquals(List.of(2L, 3L, 4L, 5L, 6L), certificateSearchIndex.findIds(title("", SearchPlace.CONTAINS, false), null, 10));
+    }
+
+    @Test
+    public void shouldChangeVersionWithAppliedChangeTest() {
+        String version = certificateSearchIndex.version().getEtag();
+        when(giftCertificateRepository.findById(2L))
+                .thenReturn(Optional.of(GiftCertificate.builder().id(2L).name("Wine Tasting").build()));
+        certificateSearchIndex.onGiftCertificateChanged(new GiftCertificateChangedEvent(2L));
+        assertNotEquals(version, certificateSearchIndex.version().getEtag());
+    }
+
+    @Test
+    public void shouldReloadInBackgroundAfterImportTest() {
+        when(giftCertificateRepository.findCatalogVersion())
+                .thenReturn(new CatalogVersion(2, LocalDateTime.now()));
+        certificateSearchIndex.onGiftCertificatesImported(new GiftCertificatesImportedEvent(1));
+        verify(giftCertificateRepository, timeout(5000).times(2)).streamSearchTexts(anyInt(), any());
+    }
+
+    @Test
+    public void shouldReloadOnlyIfCatalogChangedSinceLoadTest() {
+        String version = certificateSearchIndex.version().getEtag();
+        certificateSearchIndex.reconcile();
+        verify(giftCertificateRepository, times(1)).streamSearchTexts(anyInt(), any());
+        when(giftCertificateRepository.findCatalogVersion())
+                .thenReturn(new CatalogVersion(2, LocalDateTime.now()));
+        certificateSearchIndex.reconcile();
+        verify(giftCertificateRepository, times(2)).streamSearchTexts(anyInt(), any());
+        assertNotEquals(version, certificateSearchIndex.version().getEtag());
+    }
+
+    @Test
+    public void shouldNotLoadIfDisabledTest() {
+        CertificateSearchIndex disabled = new CertificateSearchIndex(giftCertificateRepository, false, false, 3600);
+        disabled.afterPropertiesSet();
+        disabled.onGiftCertificateChanged(new GiftCertificateChangedEvent(1L));
+        disabled.onGiftCertificatesImported(new GiftCertificatesImportedEvent(1));
+        verify(giftCertificateRepository, times(1)).streamSearchTexts(anyInt(), any());
+        verify(giftCertificateRepository, never()).findById(any());
+    }
+
+    private static SearchFilter title(String value, SearchPlace searchPlace, boolean caseInsensitive) {
+        return SearchFilter.builder()
+                .searchValue(value)
+                .searchType(SearchType.TITLE)
+                .searchPlace(searchPlace)
+                .caseInsensitive(caseInsensitive)
+                .build();
+    }
+}
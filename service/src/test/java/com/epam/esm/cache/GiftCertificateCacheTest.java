@@ -0,0 +1,82 @@
+package com.epam.esm.cache;
+
+import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.event.GiftCertificateChangedEvent;
+import com.epam.esm.event.TagDeletedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.epam.esm.util.ServiceTestEntityHolder.giftCertificate;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Gift certificate cache tests
+ */
+public class GiftCertificateCacheTest {
+    private GiftCertificateCache giftCertificateCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    public void setUp() {
+        giftCertificateCache = new GiftCertificateCache(10, 60);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    public void shouldLoadCertificateOnlyOnceAndCountHitsAndMissesTest() {
+        assertEquals(Optional.of(giftCertificate), giftCertificateCache.get(0L, this::load));
+        assertEquals(Optional.of(giftCertificate), giftCertificateCache.get(0L, this::load));
+        assertEquals(1, loads.get());
+        assertEquals(1, giftCertificateCache.stats().getHitCount());
+        assertEquals(1, giftCertificateCache.stats().getMissCount());
+        assertEquals(1, giftCertificateCache.stats().getSize());
+    }
+
+    @Test
+    public void shouldNotCacheMissingCertificatesTest() {
+        assertTrue(giftCertificateCache.get(0L, id -> Optional.empty()).isEmpty());
+        assertEquals(Optional.of(giftCertificate), giftCertificateCache.get(0L, this::load));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void shouldLoadMissingCertificatesAtOnceWithoutCachingThemTest() {
+        GiftCertificate second = GiftCertificate.builder().id(2L).name("second").build();
+        GiftCertificate third = GiftCertificate.builder().id(3L).name("third").build();
+        giftCertificateCache.get(2L, id -> Optional.of(second));
+        List<List<Long>> loaded = new ArrayList<>();
+        assertEquals(List.of(third, second), giftCertificateCache.getAll(List.of(3L, 2L, 4L), ids -> {
+            loaded.add(ids);
+            return List.of(third);
+        }));
+        assertEquals(List.of(List.of(3L, 4L)), loaded);
+        assertEquals(List.of(second), giftCertificateCache.getAll(List.of(2L, 3L), ids -> List.of()));
+    }
+
+    @Test
+    public void shouldReloadCertificateAfterItWasChangedTest() {
+        giftCertificateCache.get(0L, this::load);
+        giftCertificateCache.onGiftCertificateChanged(new GiftCertificateChangedEvent(0L));
+        giftCertificateCache.get(0L, this::load);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void shouldReloadCertificatesAfterTagWasDeletedTest() {
+        giftCertificateCache.get(0L, this::load);
+        giftCertificateCache.onTagDeleted(new TagDeletedEvent(0L));
+        giftCertificateCache.get(0L, this::load);
+        assertEquals(2, loads.get());
+    }
+
+    private Optional<GiftCertificate> load(Long id) {
+        loads.incrementAndGet();
+        return Optional.of(giftCertificate);
+    }
+}
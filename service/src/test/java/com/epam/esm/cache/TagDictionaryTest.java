@@ -0,0 +1,87 @@
+package com.epam.esm.cache;
+
+import com.epam.esm.entity.Tag;
+import com.epam.esm.event.TagCreatedEvent;
+import com.epam.esm.event.TagDeletedEvent;
+import com.epam.esm.event.TagsCreatedEvent;
+import com.epam.esm.repository.impl.TagRepositoryImpl;
+import com.epam.esm.repository.repository.TagRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tag dictionary tests
+ */
+public class TagDictionaryTest {
+    private static final Tag first = Tag.builder().id(1L).name("first").build();
+    private static final Tag second = Tag.builder().id(2L).name("second").build();
+
+    private TagRepository tagRepository;
+    private TagDictionary tagDictionary;
+
+    @BeforeEach
+    public void setUp() {
+        tagRepository = mock(TagRepositoryImpl.class);
+        when(tagRepository.findAll())
+                .thenReturn(List.of(second, first));
+        tagDictionary = new TagDictionary(tagRepository);
+        tagDictionary.afterPropertiesSet();
+    }
+
+    @Test
+    public void shouldServeLoadedTagsWithoutQueryingRepositoryAgainTest() {
+        assertEquals(List.of(first, second), tagDictionary.findAll());
+        assertEquals(Optional.of(second), tagDictionary.findById(2L));
+        assertEquals(Optional.of(1L), tagDictionary.findIdByName("first"));
+        assertTrue(tagDictionary.findById(3L).isEmpty());
+        assertTrue(tagDictionary.findIdByName("third").isEmpty());
+        verify(tagRepository, times(1)).findAll();
+    }
+
+    @Test
+    public void shouldFindTagsByNamePrefixIgnoringCaseTest() {
+        Tag firstClass = Tag.builder().id(3L).name("First class").build();
+        Tag fire = Tag.builder().id(4L).name("fire").build();
+        tagDictionary.onTagsCreated(new TagsCreatedEvent(List.of(firstClass, fire)));
+        assertEquals(List.of(fire, first, firstClass), tagDictionary.findByNamePrefix("FI"));
+        assertEquals(List.of(first, firstClass), tagDictionary.findByNamePrefix("first"));
+        assertEquals(List.of(fire, first, firstClass, second), tagDictionary.findByNamePrefix(""));
+        assertTrue(tagDictionary.findByNamePrefix("firsts").isEmpty());
+        assertTrue(tagDictionary.findByNamePrefix("z").isEmpty());
+    }
+
+    @Test
+    public void shouldAddCreatedTagTest() {
+        tagDictionary.onTagCreated(new TagCreatedEvent(3L, "third"));
+        assertEquals(Optional.of(3L), tagDictionary.findIdByName("third"));
+        assertEquals(3, tagDictionary.findAll().size());
+    }
+
+    @Test
+    public void shouldIgnoreTagAlreadyInDictionaryTest() {
+        tagDictionary.onTagCreated(new TagCreatedEvent(1L, "first"));
+        assertEquals(List.of(first, second), tagDictionary.findAll());
+    }
+
+    @Test
+    public void shouldAddTagsCreatedInBulkIgnoringThoseAlreadyInDictionaryTest() {
+        Tag third = Tag.builder().id(3L).name("third").build();
+        tagDictionary.onTagsCreated(new TagsCreatedEvent(List.of(third, first)));
+        assertEquals(List.of(first, second, third), tagDictionary.findAll());
+        assertEquals(Optional.of(3L), tagDictionary.findIdByName("third"));
+    }
+
+    @Test
+    public void shouldRemoveDeletedTagTest() {
+        tagDictionary.onTagDeleted(new TagDeletedEvent(1L));
+        assertEquals(List.of(second), tagDictionary.findAll());
+        assertTrue(tagDictionary.findIdByName("first").isEmpty());
+    }
+}
@@ -0,0 +1,205 @@
+package com.epam.esm.cache;
+
+import com.epam.esm.dto.stats.TagIndexStatsDTO;
+import com.epam.esm.entity.CatalogVersion;
+import com.epam.esm.entity.filter.tag.TagFilter;
+import com.epam.esm.entity.filter.tag.TagMatch;
+import com.epam.esm.event.GiftCertificateChangedEvent;
+import com.epam.esm.event.GiftCertificatesImportedEvent;
+import com.epam.esm.event.TagDeletedEvent;
+import com.epam.esm.repository.impl.GiftCertificateRepositoryImpl;
+import com.epam.esm.repository.repository.GiftCertificateRepository;
+import com.epam.esm.repository.repository.TagAssociationConsumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tag index tests
+ */
+public class TagIndexTest {
+    // tag 1 is on certificates 1 to 6, tag 2 on the even ones, tag 3 on certificates 5 and 7
+    private static final long[][] ASSOCIATIONS = {
+            {1, 1}, {1, 2}, {1, 3}, {1, 4}, {1, 5}, {1, 6},
+            {2, 2}, {2, 4}, {2, 6}, {2, 8},
+            {3, 5}, {3, 7}};
+
+    private GiftCertificateRepository giftCertificateRepository;
+    private TagIndex tagIndex;
+
+    @BeforeEach
+    public void setUp() {
+        giftCertificateRepository = mock(GiftCertificateRepositoryImpl.class);
+        doAnswer(invocation -> {
+            TagAssociationConsumer consumer = invocation.getArgument(1);
+            for (long[] association : ASSOCIATIONS) {
+                consumer.accept(association[0], association[1]);
+            }
+            return null;
+        }).when(giftCertificateRepository).streamTagAssociations(anyInt(), any());
+        when(giftCertificateRepository.findCatalogVersion())
+                .thenReturn(new CatalogVersion(1, LocalDateTime.now()));
+        TagDictionary tagDictionary = mock(TagDictionary.class);
+        when(tagDictionary.findIdByName(any()))
+                .thenReturn(Optional.empty());
+        when(tagDictionary.findIdByName("first"))
+                .thenReturn(Optional.of(1L));
+        when(tagDictionary.findIdByName("second"))
+                .thenReturn(Optional.of(2L));
+        when(tagDictionary.findIdByName("third"))
+                .thenReturn(Optional.of(3L));
+        tagIndex = new TagIndex(giftCertificateRepository, tagDictionary, true, 3600);
+        tagIndex.afterPropertiesSet();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        tagIndex.destroy();
+    }
+
+    @Test
+    public void shouldFindCertificatesHavingAllIncludedTagsTest() {
+        assertEquals(List.of(2L, 4L, 6L), tagIndex.findIds(filter(TagMatch.ALL, Set.of("first", "second"), Set.of()), null, 10));
+    }
+
+    @Test
+    public void shouldFindCertificatesHavingAnyIncludedTagTest() {
+        assertEquals(List.of(2L, 4L, 5L, 6L, 7L, 8L),
+                tagIndex.findIds(filter(TagMatch.ANY, Set.of("second", "third", "unknown"), Set.of()), null, 10));
+    }
+
+    @Test
+    public void shouldSkipCertificatesHavingExcludedTagsTest() {
+        assertEquals(List.of(1L, 3L),
+                tagIndex.findIds(filter(TagMatch.ALL, Set.of("first"), Set.of("second", "third", "unknown")), null, 10));
+    }
+
+    @Test
+    public void shouldFindNothingIfAnyTagThatMustMatchIsUnknownTest() {
+        assertTrue(tagIndex.findIds(filter(TagMatch.ALL, Set.of("first", "unknown"), Set.of()), null, 10).isEmpty());
+    }
+
+    @Test
+    public void shouldReturnPageFollowingLastIdTest() {
+        TagFilter tagFilter = filter(TagMatch.ALL, Set.of("first"), Set.of());
+        assertEquals(List.of(1L, 2L), tagIndex.findIds(tagFilter, null, 2));
+        assertEquals(List.of(3L, 4L), tagIndex.findIds(tagFilter, 2L, 2));
+        assertEquals(List.of(6L), tagIndex.findIds(tagFilter, 5L, 2));
+        assertTrue(tagIndex.findIds(tagFilter, 6L, 2).isEmpty());
+    }
+
+    @Test
+    public void shouldCountCertificatesOfTagTest() {
+        assertEquals(4, tagIndex.countCertificates(2L));
+        assertEquals(0, tagIndex.countCertificates(9L));
+        assertEquals(List.of(1L, 2L, 3L), ranked());
+    }
+
+    @Test
+    public void shouldMoveChangedCertificateToBitmapsOfItsCommittedTagsTest() {
+        when(giftCertificateRepository.findTagIds(4L))
+                .thenReturn(List.of(3L, 9L));
+        tagIndex.onGiftCertificateChanged(new GiftCertificateChangedEvent(4L));
+        assertEquals(List.of(1L, 2L, 3L, 5L, 6L), tagIndex.findIds(filter(TagMatch.ALL, Set.of("first"), Set.of()), null, 10));
+        assertEquals(List.of(4L, 5L, 7L), tagIndex.findIds(filter(TagMatch.ALL, Set.of("third"), Set.of()), null, 10));
+        TagIndexStatsDTO stats = tagIndex.stats();
+        assertEquals(4, stats.getTags());
+        assertEquals(12, stats.getAssociations());
+        assertEquals(List.of(1L, 2L, 3L, 9L), ranked());
+    }
+
+    @Test
+    public void shouldRemoveDeletedCertificateFromAllBitmapsTest() {
+        when(giftCertificateRepository.findTagIds(2L))
+                .thenReturn(List.of());
+        tagIndex.onGiftCertificateChanged(new GiftCertificateChangedEvent(2L));
+        assertEquals(List.of(1L, 3L, 4L, 5L, 6L, 8L),
+                tagIndex.findIds(filter(TagMatch.ANY, Set.of("first", "second"), Set.of()), null, 10));
+        assertEquals(10, tagIndex.stats().getAssociations());
+        when(giftCertificateRepository.findTagIds(8L))
+                .thenReturn(List.of());
+        when(giftCertificateRepository.findTagIds(4L))
+                .thenReturn(List.of(1L));
+        tagIndex.onGiftCertificateChanged(new GiftCertificateChangedEvent(8L));
+        tagIndex.onGiftCertificateChanged(new GiftCertificateChangedEvent(4L));
+        assertEquals(List.of(1L, 3L, 2L), ranked());
+    }
+
+    @Test
+    public void shouldRemoveBitmapOfDeletedTagTest() {
+        tagIndex.onTagDeleted(new TagDeletedEvent(3L));
+        assertTrue(tagIndex.findIds(filter(TagMatch.ANY, Set.of("third"), Set.of()), null, 10).isEmpty());
+        assertEquals(2, tagIndex.stats().getTags());
+        assertEquals(List.of(1L, 2L), ranked());
+    }
+
+    @Test
+    public void shouldReloadAllAssociationsInBackgroundAfterImportTest() {
+        when(giftCertificateRepository.findCatalogVersion())
+                .thenReturn(new CatalogVersion(2, LocalDateTime.now()));
+        tagIndex.onGiftCertificatesImported(new GiftCertificatesImportedEvent(3));
+        verify(giftCertificateRepository, timeout(5000).times(2)).streamTagAssociations(anyInt(), any());
+        assertEquals(12, tagIndex.stats().getAssociations());
+    }
+
+    @Test
+    public void shouldReloadOnlyIfCatalogChangedSinceLoadTest() {
+        String version = tagIndex.version().getEtag();
+        tagIndex.reconcile();
+        verify(giftCertificateRepository, times(1)).streamTagAssociations(anyInt(), any());
+        assertEquals(version, tagIndex.version().getEtag());
+        when(giftCertificateRepository.findCatalogVersion())
+                .thenReturn(new CatalogVersion(2, LocalDateTime.now()));
+        tagIndex.reconcile();
+        verify(giftCertificateRepository, times(2)).streamTagAssociations(anyInt(), any());
+        assertNotEquals(version, tagIndex.version().getEtag());
+    }
+
+    @Test
+    public void shouldChangeOnlyBitmapsOfTagsCertificateLeftOrJoinedTest() {
+        when(giftCertificateRepository.findTagIds(5L))
+                .thenReturn(List.of(1L, 2L));
+        Map<Long, Long> counts = Map.of(1L, tagIndex.countCertificates(1L), 3L, tagIndex.countCertificates(3L));
+        tagIndex.onGiftCertificateChanged(new GiftCertificateChangedEvent(5L));
+        assertEquals(counts.get(1L), tagIndex.countCertificates(1L));
+        assertEquals(5, tagIndex.countCertificates(2L));
+        assertEquals(counts.get(3L) - 1, tagIndex.countCertificates(3L));
+    }
+
+    @Test
+    public void shouldNotLoadIfDisabledTest() {
+        TagIndex disabled = new TagIndex(giftCertificateRepository, mock(TagDictionary.class), false, 3600);
+        disabled.afterPropertiesSet();
+        assertFalse(disabled.covers(filter(TagMatch.ALL, Set.of("first"), Set.of())));
+        verify(giftCertificateRepository, times(1)).streamTagAssociations(anyInt(), any());
+    }
+
+    private List<Long> ranked() {
+        List<Long> ranked = new ArrayList<>();
+        tagIndex.findTagIdsByCount().forEach(ranked::add);
+        return ranked;
+    }
+
+    private static TagFilter filter(TagMatch tagMatch, Set<String> included, Set<String> excluded) {
+        return TagFilter.builder()
+                .includedTags(included)
+                .excludedTags(excluded)
+                .tagMatch(tagMatch)
+                .build();
+    }
+}
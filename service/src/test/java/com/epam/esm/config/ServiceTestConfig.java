@@ -2,6 +2,7 @@ package com.epam.esm.config;
 
 import com.epam.esm.util.mapper.GiftCertificateMapper;
 import com.epam.esm.util.mapper.FilterMapper;
+import com.epam.esm.util.mapper.StatsMapper;
 import com.epam.esm.util.mapper.TagMapper;
 import org.mapstruct.factory.Mappers;
 import org.springframework.context.annotation.Bean;
@@ -24,4 +25,9 @@ public class ServiceTestConfig {
     public TagMapper tagMapper() {
         return Mappers.getMapper(TagMapper.class);
     }
+
+    @Bean
+    public StatsMapper statsMapper() {
+        return Mappers.getMapper(StatsMapper.class);
+    }
 }
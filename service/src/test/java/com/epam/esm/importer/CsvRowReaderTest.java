@@ -0,0 +1,101 @@
+package com.epam.esm.importer;
+
+import com.epam.esm.dto.GiftCertificateDTO;
+import com.epam.esm.dto.TagDTO;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * CSV import reader tests
+ */
+public class CsvRowReaderTest {
+
+    @Test
+    public void shouldReadRowsWithColumnsInAnyOrderTest() throws IOException {
+        List<ImportRow> rows = read("""
+                Duration,tags,NAME,price,description
+                30,spa|wellness,Spa weekend,99.5,Two days at the spa
+                90,,Cinema night,20,Two tickets to the cinema
+                """);
+        assertEquals(2, rows.size());
+        assertEquals(ImportRow.valid(2, GiftCertificateDTO.builder()
+                .name("Spa weekend")
+                .description("Two days at the spa")
+                .price(99.5)
+                .duration(30)
+                .tags(List.of(new TagDTO(null, "spa"), new TagDTO(null, "wellness")))
+                .build()), rows.get(0));
+        assertEquals(3, rows.get(1).line());
+        assertEquals(List.of(), rows.get(1).certificate().getTags());
+    }
+
+    @Test
+    public void shouldReadQuotedFieldsSpanningLinesTest() throws IOException {
+        List<ImportRow> rows = read("name,description,price,duration\r\n" +
+                "\"Say \"\"cheese\"\", please\",\"First line,\nsecond line\",10,1\r\n" +
+                "\r\n" +
+                "Cinema night,Two tickets to the cinema,20,90");
+        assertEquals(2, rows.size());
+        assertEquals("Say \"cheese\", please", rows.get(0).certificate().getName());
+        assertEquals("First line,\nsecond line", rows.get(0).certificate().getDescription());
+        assertEquals(List.of(), rows.get(0).certificate().getTags());
+        assertEquals(5, rows.get(1).line());
+        assertTrue(rows.get(1).isValid());
+    }
+
+    @Test
+    public void shouldReportInvalidRowsAndGoOnReadingTest() throws IOException {
+        List<ImportRow> rows = read("""
+                name,description,price,duration,tags
+                Spa,Two days at the spa,cheap,,ok|spa
+                Spa weekend,Two days at the spa,99.5
+                Cinema night,Two tickets to the cinema,20,90,
+                """);
+        assertEquals(ImportRow.invalid(2, List.of("price should be a number", "name must be between 5 and 50 characters",
+                "price should not be null", "duration should not be null", "tag name must be between 3 and 30 characters")), rows.get(0));
+        assertEquals(ImportRow.invalid(3, List.of("row should have 5 fields but has 3")), rows.get(1));
+        assertTrue(rows.get(2).isValid());
+    }
+
+    @Test
+    public void shouldReportUnclosedQuoteTest() throws IOException {
+        List<ImportRow> rows = read("name,description,price,duration\n\"Spa weekend,Two days,10,1\n");
+        assertEquals(List.of(ImportRow.invalid(2, List.of("quoted field is not closed"))), rows);
+    }
+
+    @Test
+    public void shouldReportMissingColumnsAtFirstLineAndReadNothingElseTest() throws IOException {
+        List<ImportRow> rows = read("""
+                name,price
+                Spa weekend,99.5
+                """);
+        assertEquals(List.of(ImportRow.invalid(1, List.of("header should contain the column description",
+                "header should contain the column duration"))), rows);
+    }
+
+    @Test
+    public void shouldReadNothingFromEmptyImportTest() throws IOException {
+        assertNull(CsvRowReaderTest.reader("").next());
+    }
+
+    private static ImportRowReader reader(String csv) {
+        return ImportFormat.CSV.open(new StringReader(csv));
+    }
+
+    private static List<ImportRow> read(String csv) throws IOException {
+        ImportRowReader reader = reader(csv);
+        List<ImportRow> rows = new ArrayList<>();
+        for (ImportRow row = reader.next(); row != null; row = reader.next()) {
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,56 @@
+package com.epam.esm.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * NDJSON import reader tests
+ */
+public class NdjsonRowReaderTest {
+
+    @Test
+    public void shouldReadExportedCertificatesSkippingBlankLinesTest() throws IOException {
+        List<ImportRow> rows = read("""
+                {"id":4,"name":"Spa weekend","description":"Two days at the spa","price":99.5,"duration":30,"createDate":"2024-01-01T10:00:00.0","tags":[{"id":1,"name":"spa"}]}
+
+                {"name":"Cinema night","description":"Two tickets to the cinema","price":20,"duration":90,"tags":[]}
+                """);
+        assertEquals(2, rows.size());
+        assertTrue(rows.get(0).isValid());
+        assertEquals("Spa weekend", rows.get(0).certificate().getName());
+        assertEquals("spa", rows.get(0).certificate().getTags().get(0).getName());
+        assertEquals(3, rows.get(1).line());
+        assertTrue(rows.get(1).isValid());
+    }
+
+    @Test
+    public void shouldReportInvalidRowsAndGoOnReadingTest() throws IOException {
+        List<ImportRow> rows = read("""
+                {"name":"Spa weekend","description":"Two days at the spa","price":99.5}
+                {"name":"Spa weekend",
+                null
+                {"name":"Cinema night","description":"Two tickets to the cinema","price":20,"duration":90,"tags":[null,{"name":""}]}
+                """);
+        assertEquals(ImportRow.invalid(1, List.of("duration should not be null", "tags should not be null")), rows.get(0));
+        assertEquals(2, rows.get(1).line());
+        assertTrue(rows.get(1).errors().get(0).startsWith("row is not a valid gift certificate: "));
+        assertEquals(ImportRow.invalid(3, List.of("row should be a JSON object")), rows.get(2));
+        assertEquals(ImportRow.invalid(4, List.of("tag should not be null", "tag name should not be empty")), rows.get(3));
+    }
+
+    private static List<ImportRow> read(String ndjson) throws IOException {
+        ImportRowReader reader = ImportFormat.NDJSON.open(new StringReader(ndjson));
+        List<ImportRow> rows = new ArrayList<>();
+        for (ImportRow row = reader.next(); row != null; row = reader.next()) {
+            rows.add(row);
+        }
+        return rows;
+    }
+}
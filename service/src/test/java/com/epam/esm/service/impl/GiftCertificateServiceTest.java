@@ -1,33 +1,70 @@
 package com.epam.esm.service.impl;
 
+import com.epam.esm.cache.CertificateSearchIndex;
+import com.epam.esm.cache.GiftCertificateCache;
+import com.epam.esm.cache.TagDictionary;
+import com.epam.esm.cache.TagIndex;
 import com.epam.esm.config.ServiceTestConfig;
+import com.epam.esm.dto.GiftCertificateDTO;
+import com.epam.esm.dto.VersionDTO;
+import com.epam.esm.dto.filter.GiftCertificateFilterDTO;
+import com.epam.esm.dto.imports.ImportErrorDTO;
+import com.epam.esm.dto.imports.ImportReportDTO;
+import com.epam.esm.dto.page.PageDTO;
+import com.epam.esm.entity.CatalogVersion;
+import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.entity.GiftCertificateVersion;
+import com.epam.esm.entity.ImportResult;
+import com.epam.esm.entity.Tag;
+import com.epam.esm.entity.filter.GiftCertificateFilter;
+import com.epam.esm.entity.filter.page.PageFilter;
+import com.epam.esm.entity.filter.tag.TagFilter;
+import com.epam.esm.entity.filter.tag.TagMatch;
+import com.epam.esm.event.GiftCertificateChangedEvent;
+import com.epam.esm.event.GiftCertificatesImportedEvent;
+import com.epam.esm.event.TagsCreatedEvent;
 import com.epam.esm.exception.DataModificationException;
 import com.epam.esm.exception.NotFoundException;
+import com.epam.esm.importer.ImportFormat;
 import com.epam.esm.repository.impl.GiftCertificateRepositoryImpl;
 import com.epam.esm.repository.impl.TagRepositoryImpl;
 import com.epam.esm.repository.repository.GiftCertificateRepository;
 import com.epam.esm.repository.repository.TagRepository;
 import com.epam.esm.service.GiftCertificateService;
+import com.epam.esm.util.ExceptionMessage;
+import com.epam.esm.util.PageCursor;
 import com.epam.esm.util.mapper.GiftCertificateMapper;
 import com.epam.esm.util.mapper.FilterMapper;
-import com.epam.esm.util.mapper.TagMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import static com.epam.esm.util.ServiceTestEntityHolder.*;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 /**
@@ -46,7 +83,13 @@ public class GiftCertificateServiceTest {
     @Mock
     private FilterMapper filterMapper;
     @Mock
-    private TagMapper tagMapper;
+    private TagDictionary tagDictionary;
+    @Mock
+    private TagIndex tagIndex;
+    @Mock
+    private CertificateSearchIndex certificateSearchIndex;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
     @InjectMocks
     private GiftCertificateService giftCertificateService;
 
@@ -54,10 +97,19 @@ public class GiftCertificateServiceTest {
     public void setUp() {
         giftCertificateMapper = mock(GiftCertificateMapper.class);
         filterMapper = mock(FilterMapper.class);
-        tagMapper = mock(TagMapper.class);
         tagRepository = mock(TagRepositoryImpl.class);
         giftCertificateRepository = mock(GiftCertificateRepositoryImpl.class);
-        giftCertificateService = new GiftCertificateServiceImpl(giftCertificateRepository, tagRepository, giftCertificateMapper, filterMapper, tagMapper);
+        tagDictionary = mock(TagDictionary.class);
+        tagIndex = mock(TagIndex.class);
+        certificateSearchIndex = mock(CertificateSearchIndex.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        giftCertificateService = new GiftCertificateServiceImpl(giftCertificateRepository, tagRepository,
+                giftCertificateMapper, filterMapper, new GiftCertificateCache(10, 60), tagDictionary, tagIndex,
+                certificateSearchIndex, eventPublisher);
+        when(filterMapper.toPageFilter(any(), any()))
+                .thenReturn(pageFilter);
+        when(tagDictionary.findIdByName(tag.getName()))
+                .thenReturn(Optional.of(tag.getId()));
     }
 
     @Nested
@@ -65,19 +117,38 @@ public class GiftCertificateServiceTest {
         @Test
         public void shouldThrowNotFoundExceptionIfDataAccessExceptionWasThrownTest() {
             doThrow(new DataAccessException("") {})
-                    .when(giftCertificateRepository).findAll();
+                    .when(giftCertificateRepository).findAll(any(PageFilter.class));
+            assertThrows(NotFoundException.class, () ->
+                    giftCertificateService.findAll(pageRequestDTO));
+        }
+
+        @Test
+        public void shouldThrowNotFoundExceptionIfPageCursorIsInvalidTest() {
+            when(filterMapper.toPageFilter(pageRequestDTO, null))
+                    .thenThrow(IllegalArgumentException.class);
             assertThrows(NotFoundException.class, () ->
-                    giftCertificateService.findAll());
+                    giftCertificateService.findAll(pageRequestDTO));
         }
 
         @Test
         public void shouldReturnCorrectListOfCertificatesIfNoExceptionWasThrownTest() throws NotFoundException {
-            when(giftCertificateRepository.findAll())
+            when(giftCertificateRepository.findAll(any(PageFilter.class)))
                     .thenReturn(List.of(giftCertificate));
             when(giftCertificateMapper.toGiftCertificateDTO(giftCertificate))
                     .thenReturn(giftCertificateDTO);
-            assertEquals(List.of(giftCertificateDTO),
-                    giftCertificateService.findAll());
+            assertEquals(new PageDTO<>(List.of(giftCertificateDTO), null),
+                    giftCertificateService.findAll(pageRequestDTO));
+        }
+
+        @Test
+        public void shouldFetchOneRowOverPageSizeAndReturnNextCursorIfMoreRowsExistTest() throws NotFoundException {
+            GiftCertificate nextCertificate = GiftCertificate.builder().id(1L).build();
+            when(giftCertificateRepository.findAll(pageFilter.toBuilder().limit(2).build()))
+                    .thenReturn(List.of(giftCertificate, nextCertificate));
+            when(giftCertificateMapper.toGiftCertificateDTO(giftCertificate))
+                    .thenReturn(giftCertificateDTO);
+            assertEquals(new PageDTO<>(List.of(giftCertificateDTO), PageCursor.encode(giftCertificate, null)),
+                    giftCertificateService.findAll(pageRequestDTO));
         }
     }
 
@@ -101,41 +172,269 @@ public class GiftCertificateServiceTest {
             assertEquals(giftCertificateDTO,
                     giftCertificateService.findById(0L));
         }
+
+        @Test
+        public void shouldReadCertificateFromCacheIfCertificateWasAlreadyFoundTest() throws NotFoundException {
+            when(giftCertificateRepository.findById(0L))
+                    .thenReturn(Optional.of(giftCertificate));
+            when(giftCertificateMapper.toGiftCertificateDTO(giftCertificate))
+                    .thenReturn(giftCertificateDTO);
+            giftCertificateService.findById(0L);
+            assertEquals(giftCertificateDTO,
+                    giftCertificateService.findById(0L));
+            verify(giftCertificateRepository, times(1)).findById(0L);
+        }
+
+        @Test
+        public void shouldThrowNotFoundExceptionIfCertificateIsEmptyTest() {
+            when(giftCertificateRepository.findById(0L))
+                    .thenReturn(Optional.empty());
+            assertThrows(NotFoundException.class,
+                    () -> giftCertificateService.findById(0L));
+        }
+    }
+
+    @Nested
+    class FindVersionByIdTest {
+        private final LocalDateTime lastUpdateDate = LocalDateTime.of(2024, 1, 2, 3, 4, 5, 678_901_000);
+
+        @Test
+        public void shouldReadOnlyVersionIfCertificateIsNotCachedTest() throws NotFoundException {
+            when(giftCertificateRepository.findVersion(0L))
+                    .thenReturn(Optional.of(new GiftCertificateVersion(lastUpdateDate, List.of())));
+            VersionDTO version = giftCertificateService.findVersionById(0L);
+            assertEquals(lastUpdateDate.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(), version.getLastModified());
+            assertTrue(version.getEtag().startsWith("0-"));
+            verify(giftCertificateRepository, never()).findById(any());
+        }
+
+        @Test
+        public void shouldNotQueryDatabaseIfCertificateIsCachedTest() throws NotFoundException {
+            when(giftCertificateRepository.findVersion(0L))
+                    .thenReturn(Optional.of(new GiftCertificateVersion(lastUpdateDate, List.of(1L, 2L))));
+            when(giftCertificateRepository.findById(0L))
+                    .thenReturn(Optional.of(GiftCertificate.builder().id(0L).lastUpdateDate(lastUpdateDate)
+                            .tags(Set.of(Tag.builder().id(2L).build(), Tag.builder().id(1L).build())).build()));
+            VersionDTO uncached = giftCertificateService.findVersionById(0L);
+            giftCertificateService.findById(0L);
+            assertEquals(uncached, giftCertificateService.findVersionById(0L));
+            verify(giftCertificateRepository, times(1)).findVersion(0L);
+        }
+
+        @Test
+        public void shouldChangeEtagIfCertificateWasUpdatedTest() throws NotFoundException {
+            when(giftCertificateRepository.findVersion(0L))
+                    .thenReturn(Optional.of(new GiftCertificateVersion(lastUpdateDate, List.of())))
+                    .thenReturn(Optional.of(new GiftCertificateVersion(lastUpdateDate.plusNanos(1_000), List.of())));
+            String etag = giftCertificateService.findVersionById(0L).getEtag();
+            assertNotEquals(etag, giftCertificateService.findVersionById(0L).getEtag());
+        }
+
+        @Test
+        public void shouldChangeOnlyEtagIfTagWasDetachedTest() throws NotFoundException {
+            when(giftCertificateRepository.findVersion(0L))
+                    .thenReturn(Optional.of(new GiftCertificateVersion(lastUpdateDate, List.of(1L, 2L))))
+                    .thenReturn(Optional.of(new GiftCertificateVersion(lastUpdateDate, List.of(2L))));
+            VersionDTO version = giftCertificateService.findVersionById(0L);
+            VersionDTO detached = giftCertificateService.findVersionById(0L);
+            assertNotEquals(version.getEtag(), detached.getEtag());
+            assertEquals(version.getLastModified(), detached.getLastModified());
+        }
+
+        @Test
+        public void shouldThrowNotFoundExceptionIfCertificateWasNotFoundTest() {
+            when(giftCertificateRepository.findVersion(0L))
+                    .thenReturn(Optional.empty());
+            assertThrows(NotFoundException.class, () -> giftCertificateService.findVersionById(0L));
+        }
+    }
+
+    @Nested
+    class FindCatalogVersionTest {
+        private final LocalDateTime lastUpdateDate = LocalDateTime.of(2024, 1, 2, 3, 4, 5, 678_901_000);
+
+        @Test
+        public void shouldChangeVersionAfterCatalogChangedTest() throws NotFoundException {
+            when(giftCertificateRepository.findCatalogVersion())
+                    .thenReturn(new CatalogVersion(41, lastUpdateDate))
+                    .thenReturn(new CatalogVersion(41, lastUpdateDate))
+                    .thenReturn(new CatalogVersion(42, lastUpdateDate.plusNanos(1_000)));
+            VersionDTO version = giftCertificateService.findCatalogVersion();
+            assertEquals(version, giftCertificateService.findCatalogVersion());
+            assertEquals(lastUpdateDate.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(), version.getLastModified());
+            VersionDTO changed = giftCertificateService.findCatalogVersion();
+            assertNotEquals(version.getEtag(), changed.getEtag());
+            assertTrue(changed.getLastModified() >= version.getLastModified());
+        }
+
+        @Test
+        public void shouldThrowNotFoundExceptionIfVersionCouldNotBeReadTest() {
+            when(giftCertificateRepository.findCatalogVersion())
+                    .thenThrow(new DataAccessException("") {});
+            assertThrows(NotFoundException.class, () -> giftCertificateService.findCatalogVersion());
+        }
+
+        @Test
+        public void shouldTakeCatalogVersionForPagesIfIndexesAreDisabledTest() throws NotFoundException {
+            when(giftCertificateRepository.findCatalogVersion())
+                    .thenReturn(new CatalogVersion(41, lastUpdateDate));
+            VersionDTO version = giftCertificateService.findCatalogVersion();
+            assertEquals(version, giftCertificateService.findTagPagesVersion());
+            assertEquals(version, giftCertificateService.findSearchPagesVersion());
+            verify(tagIndex, never()).version();
+            verify(certificateSearchIndex, never()).version();
+        }
+
+        @Test
+        public void shouldChangePagesVersionWithIndexTest() throws NotFoundException {
+            long catalogLastModified = lastUpdateDate.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            when(giftCertificateRepository.findCatalogVersion())
+                    .thenReturn(new CatalogVersion(41, lastUpdateDate));
+            when(tagIndex.isEnabled())
+                    .thenReturn(true);
+            when(tagIndex.version())
+                    .thenReturn(new VersionDTO("a-1", catalogLastModified - 1))
+                    .thenReturn(new VersionDTO("a-2", catalogLastModified + 1));
+            VersionDTO version = giftCertificateService.findTagPagesVersion();
+            assertEquals(catalogLastModified, version.getLastModified());
+            VersionDTO changed = giftCertificateService.findTagPagesVersion();
+            assertNotEquals(version.getEtag(), changed.getEtag());
+            assertEquals(catalogLastModified + 1, changed.getLastModified());
+        }
     }
 
     @Nested
     class FindByTagTest {
+        private final TagFilter singleTagFilter = TagFilter.builder()
+                .includedTags(Set.of(tagDTO.getName()))
+                .excludedTags(Set.of())
+                .tagMatch(TagMatch.ALL)
+                .build();
+
+        @BeforeEach
+        public void setUp() {
+            when(tagIndex.covers(singleTagFilter))
+                    .thenReturn(true);
+        }
+
         @Test
         public void shouldThrowNotFoundExceptionIfEmptyResultDataAccessExceptionWasThrownTest() {
-            when(tagMapper.toTag(tagDTO))
-                    .thenReturn(tag);
+            when(tagIndex.findIds(eq(singleTagFilter), isNull(), anyInt()))
+                    .thenReturn(List.of(1L));
             doThrow(new DataAccessException("") {})
                     .when(giftCertificateRepository)
-                    .findByTag(tag);
+                    .findByIds(List.of(1L));
             assertThrows(NotFoundException.class, () ->
-                    giftCertificateService.findByTag(tagDTO));
+                    giftCertificateService.findByTag(tagDTO, pageRequestDTO));
         }
 
         @Test
         public void shouldReturnEmptyListIfCertificatesWithSuchTagWereNotFoundTest() throws NotFoundException {
-            when(tagMapper.toTag(tagDTO))
-                    .thenReturn(tag);
-            when(giftCertificateRepository.findByTag(tag))
-                    .thenReturn(new ArrayList<>());
-            assertEquals(new ArrayList<>(),
-                    giftCertificateService.findByTag(tagDTO));
+            when(tagIndex.findIds(eq(singleTagFilter), isNull(), anyInt()))
+                    .thenReturn(List.of());
+            assertEquals(new PageDTO<>(new ArrayList<>(), null),
+                    giftCertificateService.findByTag(tagDTO, pageRequestDTO));
+            verify(giftCertificateRepository, never()).findByIds(any());
         }
 
         @Test
         public void shouldReturnCorrectListIfCertificatesWithSuchTagWereFoundTest() throws NotFoundException {
-            when(tagMapper.toTag(tagDTO))
-                    .thenReturn(tag);
-            when(giftCertificateRepository.findByTag(tag))
+            when(tagIndex.findIds(eq(singleTagFilter), isNull(), eq(2)))
+                    .thenReturn(List.of(0L));
+            when(tagIndex.findIds(singleTagFilter, 0L, 1))
+                    .thenReturn(List.of());
+            when(giftCertificateRepository.findByIds(List.of(0L)))
                     .thenReturn(List.of(giftCertificate));
             when(giftCertificateMapper.toGiftCertificateDTO(giftCertificate))
                     .thenReturn(giftCertificateDTO);
-            assertEquals(List.of(giftCertificateDTO),
-                    giftCertificateService.findByTag(tagDTO));
+            assertEquals(new PageDTO<>(List.of(giftCertificateDTO), null),
+                    giftCertificateService.findByTag(tagDTO, pageRequestDTO));
+        }
+
+        @Test
+        public void shouldReplaceCertificatesMissingFromDatabaseByNextIndexedOnesTest() throws NotFoundException {
+            GiftCertificate next = GiftCertificate.builder().id(3L).name("next").build();
+            when(tagIndex.findIds(eq(singleTagFilter), isNull(), eq(2)))
+                    .thenReturn(List.of(0L, 2L));
+            when(tagIndex.findIds(singleTagFilter, 2L, 1))
+                    .thenReturn(List.of(3L));
+            when(giftCertificateRepository.findByIds(List.of(0L, 2L)))
+                    .thenReturn(List.of(giftCertificate));
+            when(giftCertificateRepository.findByIds(List.of(3L)))
+                    .thenReturn(List.of(next));
+            when(giftCertificateMapper.toGiftCertificateDTO(giftCertificate))
+                    .thenReturn(giftCertificateDTO);
+            PageDTO<GiftCertificateDTO> page = giftCertificateService.findByTag(tagDTO, pageRequestDTO);
+            assertEquals(List.of(giftCertificateDTO), page.getContent());
+            assertNotNull(page.getNext());
+        }
+
+        @Test
+        public void shouldQueryRepositoryIfTagIndexIsDisabledTest() throws NotFoundException {
+            when(tagIndex.covers(singleTagFilter))
+                    .thenReturn(false);
+            when(giftCertificateRepository.findByTag(eq(Tag.builder().name(tagDTO.getName()).build()), any(PageFilter.class)))
+                    .thenReturn(List.of(giftCertificate));
+            when(giftCertificateMapper.toGiftCertificateDTO(giftCertificate))
+                    .thenReturn(giftCertificateDTO);
+            assertEquals(new PageDTO<>(List.of(giftCertificateDTO), null),
+                    giftCertificateService.findByTag(tagDTO, pageRequestDTO));
+            verify(tagIndex, never()).findIds(any(), any(), anyInt());
+        }
+    }
+
+    @Nested
+    class FindByTagsTest {
+        @BeforeEach
+        public void setUp() {
+            when(tagIndex.covers(tagFilter))
+                    .thenReturn(true);
+        }
+
+        @Test
+        public void shouldThrowNotFoundExceptionIfDataAccessExceptionWasThrownTest() {
+            when(filterMapper.toTagFilter(tagFilterDTO))
+                    .thenReturn(tagFilter);
+            when(tagIndex.findIds(eq(tagFilter), isNull(), anyInt()))
+                    .thenReturn(List.of(1L));
+            doThrow(new DataAccessException("") {})
+                    .when(giftCertificateRepository)
+                    .findByIds(List.of(1L));
+            assertThrows(NotFoundException.class,
+                    () -> giftCertificateService.findByTags(tagFilterDTO, pageRequestDTO));
+        }
+
+        @Test
+        public void shouldReturnCorrectListIfCertificatesWithSuchTagsWereFoundTest() throws NotFoundException {
+            when(filterMapper.toTagFilter(tagFilterDTO))
+                    .thenReturn(tagFilter);
+            when(tagIndex.findIds(eq(tagFilter), isNull(), eq(2)))
+                    .thenReturn(List.of(0L));
+            when(giftCertificateRepository.findByIds(List.of(0L)))
+                    .thenReturn(List.of(giftCertificate));
+            when(giftCertificateMapper.toGiftCertificateDTO(giftCertificate))
+                    .thenReturn(giftCertificateDTO);
+            assertEquals(new PageDTO<>(List.of(giftCertificateDTO), null),
+                    giftCertificateService.findByTags(tagFilterDTO, pageRequestDTO));
+            verify(giftCertificateRepository, never()).findByTags(any(), any());
+        }
+
+        @Test
+        public void shouldQueryRepositoryIfNoTagIsIncludedTest() throws NotFoundException {
+            TagFilter excludingOnly = TagFilter.builder()
+                    .includedTags(Set.of())
+                    .excludedTags(Set.of("name"))
+                    .tagMatch(TagMatch.ALL)
+                    .build();
+            when(filterMapper.toTagFilter(tagFilterDTO))
+                    .thenReturn(excludingOnly);
+            when(giftCertificateRepository.findByTags(eq(excludingOnly), any(PageFilter.class)))
+                    .thenReturn(List.of(giftCertificate));
+            when(giftCertificateMapper.toGiftCertificateDTO(giftCertificate))
+                    .thenReturn(giftCertificateDTO);
+            assertEquals(new PageDTO<>(List.of(giftCertificateDTO), null),
+                    giftCertificateService.findByTags(tagFilterDTO, pageRequestDTO));
+            verify(tagIndex, never()).findIds(any(), any(), anyInt());
         }
     }
 
@@ -147,31 +446,79 @@ public class GiftCertificateServiceTest {
                     .thenReturn(searchFilter);
             doThrow(new DataAccessException("") {})
                     .when(giftCertificateRepository)
-                    .findBySearchFilter(searchFilter);
+                    .findBySearchFilter(eq(searchFilter), any(PageFilter.class));
             assertThrows(NotFoundException.class,
-                    () -> giftCertificateService.findBySearchFilter(searchFilterDTO));
+                    () -> giftCertificateService.findBySearchFilter(searchFilterDTO, pageRequestDTO));
+        }
+
+        @Test
+        public void shouldThrowNotFoundExceptionIfLastCertificateOfPreviousPageWasDeletedTest() {
+            when(filterMapper.toSearchFilter(searchFilterDTO))
+                    .thenReturn(searchFilter);
+            doThrow(new EmptyResultDataAccessException(1))
+                    .when(giftCertificateRepository)
+                    .findBySearchFilter(eq(searchFilter), any(PageFilter.class));
+            NotFoundException ex = assertThrows(NotFoundException.class,
+                    () -> giftCertificateService.findBySearchFilter(searchFilterDTO, pageRequestDTO));
+            assertEquals(ExceptionMessage.PAGE_CURSOR_INVALID.getMessage(), ex.getMessage());
         }
 
         @Test
         public void shouldReturnEmptyListIfCertificatesWithSuchSearchValueWereNotFoundTest() throws NotFoundException {
             when(filterMapper.toSearchFilter(searchFilterDTO))
                     .thenReturn(searchFilter);
-            when(giftCertificateRepository.findBySearchFilter(searchFilter))
+            when(giftCertificateRepository.findBySearchFilter(eq(searchFilter), any(PageFilter.class)))
                     .thenReturn(new ArrayList<>());
-            assertEquals(new ArrayList<>(),
-                    giftCertificateService.findBySearchFilter(searchFilterDTO));
+            assertEquals(new PageDTO<>(new ArrayList<>(), null),
+                    giftCertificateService.findBySearchFilter(searchFilterDTO, pageRequestDTO));
         }
 
         @Test
         public void shouldReturnCorrectListIfCertificatesWithSuchSearchValueWereFoundTest() throws NotFoundException {
             when(filterMapper.toSearchFilter(searchFilterDTO))
                     .thenReturn(searchFilter);
-            when(giftCertificateRepository.findBySearchFilter(searchFilter))
+            when(giftCertificateRepository.findBySearchFilter(eq(searchFilter), any(PageFilter.class)))
                     .thenReturn(List.of(giftCertificate));
             when(giftCertificateMapper.toGiftCertificateDTO(giftCertificate))
                     .thenReturn(giftCertificateDTO);
-            assertEquals(List.of(giftCertificateDTO),
-                    giftCertificateService.findBySearchFilter(searchFilterDTO));
+            assertEquals(new PageDTO<>(List.of(giftCertificateDTO), null),
+                    giftCertificateService.findBySearchFilter(searchFilterDTO, pageRequestDTO));
+            verify(certificateSearchIndex, never()).findIds(any(), any(), anyInt());
+        }
+
+        @Test
+        public void shouldReadIdsFromSearchIndexIfItCoversTheSearchTest() throws NotFoundException {
+            when(filterMapper.toSearchFilter(searchFilterDTO))
+                    .thenReturn(searchFilter);
+            when(certificateSearchIndex.covers(searchFilter))
+                    .thenReturn(true);
+            when(certificateSearchIndex.findIds(eq(searchFilter), isNull(), eq(2)))
+                    .thenReturn(List.of(0L));
+            when(giftCertificateRepository.findByIds(List.of(0L)))
+                    .thenReturn(List.of(giftCertificate));
+            when(giftCertificateMapper.toGiftCertificateDTO(giftCertificate))
+                    .thenReturn(giftCertificateDTO);
+            assertEquals(new PageDTO<>(List.of(giftCertificateDTO), null),
+                    giftCertificateService.findBySearchFilter(searchFilterDTO, pageRequestDTO));
+            verify(giftCertificateRepository, never()).findBySearchFilter(any(), any());
+        }
+
+        @Test
+        public void shouldNotQueryDatabaseForCertificatesInCacheTest() throws NotFoundException {
+            when(giftCertificateRepository.findById(0L))
+                    .thenReturn(Optional.of(giftCertificate));
+            giftCertificateService.findById(0L);
+            when(filterMapper.toSearchFilter(searchFilterDTO))
+                    .thenReturn(searchFilter);
+            when(certificateSearchIndex.covers(searchFilter))
+                    .thenReturn(true);
+            when(certificateSearchIndex.findIds(eq(searchFilter), isNull(), eq(2)))
+                    .thenReturn(List.of(0L));
+            when(giftCertificateMapper.toGiftCertificateDTO(giftCertificate))
+                    .thenReturn(giftCertificateDTO);
+            assertEquals(new PageDTO<>(List.of(giftCertificateDTO), null),
+                    giftCertificateService.findBySearchFilter(searchFilterDTO, pageRequestDTO));
+            verify(giftCertificateRepository, never()).findByIds(any());
         }
     }
 
@@ -183,49 +530,122 @@ public class GiftCertificateServiceTest {
                     .thenReturn(sortFilter);
             doThrow(new DataAccessException("") {})
                     .when(giftCertificateRepository)
-                    .findBySortFilter(sortFilter);
+                    .findBySortFilter(eq(sortFilter), any(PageFilter.class));
             assertThrows(NotFoundException.class,
-                    () -> giftCertificateService.findBySortFilter(sortFilterDTO));
+                    () -> giftCertificateService.findBySortFilter(sortFilterDTO, pageRequestDTO));
         }
 
         @Test
         public void shouldReturnEmptyListIfCertificatesWithSuchSortValueWereNotFoundTest() throws NotFoundException {
             when(filterMapper.toSortFilter(sortFilterDTO))
                     .thenReturn(sortFilter);
-            when(giftCertificateRepository.findBySortFilter(sortFilter))
+            when(giftCertificateRepository.findBySortFilter(eq(sortFilter), any(PageFilter.class)))
                     .thenReturn(new ArrayList<>());
-            assertEquals(new ArrayList<>(),
-                    giftCertificateService.findBySortFilter(sortFilterDTO));
+            assertEquals(new PageDTO<>(new ArrayList<>(), null),
+                    giftCertificateService.findBySortFilter(sortFilterDTO, pageRequestDTO));
         }
 
         @Test
         public void shouldReturnCorrectListIfCertificatesWithSuchSortValueWereFoundTest() throws NotFoundException {
             when(filterMapper.toSortFilter(sortFilterDTO))
                     .thenReturn(sortFilter);
-            when(giftCertificateRepository.findBySortFilter(sortFilter))
+            when(giftCertificateRepository.findBySortFilter(eq(sortFilter), any(PageFilter.class)))
                     .thenReturn(List.of(giftCertificate));
             when(giftCertificateMapper.toGiftCertificateDTO(giftCertificate))
                     .thenReturn(giftCertificateDTO);
-            assertEquals(List.of(giftCertificateDTO),
-                    giftCertificateService.findBySortFilter(sortFilterDTO));
+            assertEquals(new PageDTO<>(List.of(giftCertificateDTO), null),
+                    giftCertificateService.findBySortFilter(sortFilterDTO, pageRequestDTO));
         }
     }
 
     @Nested
-    class UpdateTest {
+    class FindByFilterTest {
+        private final GiftCertificateFilterDTO filterDTO = GiftCertificateFilterDTO.builder().tag(List.of(tag.getName())).sort("by_name").build();
+        private final GiftCertificateFilter filter = GiftCertificateFilter.builder().sortFilter(sortFilter).build();
+
         @Test
-        public void shouldThrowNotFoundExceptionIfEmptyResultDataAccessExceptionWasThrownTest() {
-            doThrow(EmptyResultDataAccessException.class)
+        public void shouldThrowNotFoundExceptionIfDataAccessExceptionWasThrownTest() {
+            when(filterMapper.toGiftCertificateFilter(filterDTO))
+                    .thenReturn(filter);
+            doThrow(new DataAccessException("") {})
                     .when(giftCertificateRepository)
-                    .findById(0L);
+                    .findByFilter(eq(filter), any(PageFilter.class));
+            assertThrows(NotFoundException.class,
+                    () -> giftCertificateService.findByFilter(filterDTO, pageRequestDTO));
+        }
+
+        @Test
+        public void shouldReturnNextCursorOfSortTypeIfMoreRowsExistTest() throws NotFoundException {
+            GiftCertificate nextCertificate = GiftCertificate.builder().id(1L).build();
+            when(filterMapper.toGiftCertificateFilter(filterDTO))
+                    .thenReturn(filter);
+            when(giftCertificateRepository.findByFilter(filter, pageFilter.toBuilder().limit(2).build()))
+                    .thenReturn(List.of(giftCertificate, nextCertificate));
+            when(giftCertificateMapper.toGiftCertificateDTO(giftCertificate))
+                    .thenReturn(giftCertificateDTO);
+            assertEquals(new PageDTO<>(List.of(giftCertificateDTO), PageCursor.encode(giftCertificate, sortFilter)),
+                    giftCertificateService.findByFilter(filterDTO, pageRequestDTO));
+            verify(filterMapper).toPageFilter(pageRequestDTO, sortFilter);
+        }
+
+        @Test
+        public void shouldReadAllCertificatesIfNoFilterIsGivenTest() throws NotFoundException {
+            GiftCertificateFilterDTO emptyFilterDTO = new GiftCertificateFilterDTO();
+            when(filterMapper.toGiftCertificateFilter(emptyFilterDTO))
+                    .thenReturn(GiftCertificateFilter.builder().build());
+            when(giftCertificateRepository.findAll(any(PageFilter.class)))
+                    .thenReturn(List.of(giftCertificate));
+            when(giftCertificateMapper.toGiftCertificateDTO(giftCertificate))
+                    .thenReturn(giftCertificateDTO);
+            assertEquals(new PageDTO<>(List.of(giftCertificateDTO), null),
+                    giftCertificateService.findByFilter(emptyFilterDTO, pageRequestDTO));
+            verify(giftCertificateRepository, never()).findByFilter(any(), any());
+        }
+    }
+
+    @Nested
+    class ExportAllTest {
+        @Test
+        public void shouldThrowNotFoundExceptionIfDataAccessExceptionWasThrownTest() {
+            doThrow(new DataAccessException("") {})
+                    .when(giftCertificateRepository)
+                    .streamAll(anyInt(), any());
+            assertThrows(NotFoundException.class,
+                    () -> giftCertificateService.exportAll(certificate -> {}));
+        }
+
+        @Test
+        public void shouldPassEveryStreamedCertificateToConsumerTest() throws NotFoundException {
+            doAnswer(invocation -> {
+                Consumer<List<GiftCertificate>> chunkConsumer = invocation.getArgument(1);
+                chunkConsumer.accept(List.of(giftCertificate, giftCertificate));
+                chunkConsumer.accept(List.of(giftCertificate));
+                return null;
+            }).when(giftCertificateRepository).streamAll(anyInt(), any());
+            when(giftCertificateMapper.toGiftCertificateDTO(giftCertificate))
+                    .thenReturn(giftCertificateDTO);
+            List<GiftCertificateDTO> exported = new ArrayList<>();
+            giftCertificateService.exportAll(exported::add);
+            assertEquals(List.of(giftCertificateDTO, giftCertificateDTO, giftCertificateDTO), exported);
+        }
+    }
+
+    @Nested
+    class UpdateTest {
+        @Test
+        public void shouldThrowNotFoundExceptionIfNoCertificateWasUpdatedTest() {
+            when(giftCertificateMapper.toGiftCertificate(giftCertificateDTO))
+                    .thenReturn(giftCertificate);
+            when(giftCertificateRepository.update(giftCertificate))
+                    .thenReturn(false);
             assertThrows(NotFoundException.class,
                     () -> giftCertificateService.update(giftCertificateDTO));
+            verify(giftCertificateRepository, never()).updateTags(any());
+            verifyNoInteractions(eventPublisher);
         }
 
         @Test
         public void shouldThrowModificationExceptionIfCertificateDataAccessExceptionWasThrownTest() {
-            when(giftCertificateRepository.findById(0L)).
-                    thenReturn(Optional.of(giftCertificate));
             when(giftCertificateMapper.toGiftCertificate(giftCertificateDTO))
                     .thenReturn(giftCertificate);
             doThrow(new DataAccessException("") {})
@@ -237,31 +657,44 @@ public class GiftCertificateServiceTest {
 
         @Test
         public void shouldThrowModificationExceptionIfTagDataAccessExceptionWasThrownTest() {
-            when(giftCertificateRepository.findById(0L)).
-                    thenReturn(Optional.of(giftCertificate));
             when(giftCertificateMapper.toGiftCertificate(giftCertificateDTO))
                     .thenReturn(giftCertificate);
-            doNothing()
-                    .when(giftCertificateRepository).update(giftCertificate);
+            when(giftCertificateRepository.update(giftCertificate))
+                    .thenReturn(true);
             doThrow(new DataAccessException("") {})
                     .when(giftCertificateRepository)
-                    .insertTags(giftCertificate);
+                    .updateTags(giftCertificate);
             assertThrows(DataModificationException.class,
                     () -> giftCertificateService.update(giftCertificateDTO));
         }
 
         @Test
         public void shouldNotThrowAnyExceptionIfNoExceptionWasThrownTest() {
-            when(giftCertificateRepository.findById(0L)).
-                    thenReturn(Optional.of(giftCertificate));
-            doNothing()
-                    .when(giftCertificateRepository)
-                    .update(giftCertificate);
+            when(giftCertificateMapper.toGiftCertificate(giftCertificateDTO))
+                    .thenReturn(giftCertificate);
+            when(giftCertificateRepository.update(giftCertificate))
+                    .thenReturn(true);
             doNothing()
                     .when(giftCertificateRepository)
-                    .insertTags(giftCertificate);
+                    .updateTags(giftCertificate);
             assertDoesNotThrow(() ->
                     giftCertificateService.update(giftCertificateDTO));
+            verify(giftCertificateRepository, never()).findById(any());
+            verify(eventPublisher).publishEvent(new GiftCertificateChangedEvent(0L));
+        }
+
+        @Test
+        public void shouldLeaveTagsUntouchedIfRequestHasNoTagsTest() throws NotFoundException, DataModificationException {
+            GiftCertificate certificate = GiftCertificate.builder()
+                    .id(0L)
+                    .price(10.0)
+                    .build();
+            when(giftCertificateMapper.toGiftCertificate(giftCertificateDTO))
+                    .thenReturn(certificate);
+            when(giftCertificateRepository.update(certificate))
+                    .thenReturn(true);
+            giftCertificateService.update(giftCertificateDTO);
+            verify(giftCertificateRepository, never()).updateTags(any());
         }
     }
 
@@ -287,23 +720,124 @@ public class GiftCertificateServiceTest {
             assertDoesNotThrow(() ->
                     giftCertificateService.create(giftCertificateDTO));
         }
+
+        @Test
+        public void shouldResolveExistingTagFromDictionaryWithoutInsertingItTest() throws DataModificationException {
+            GiftCertificate certificate = GiftCertificate.builder()
+                    .name("name")
+                    .tags(Set.of(Tag.builder().name(tag.getName()).build()))
+                    .build();
+            when(giftCertificateMapper.toGiftCertificate(giftCertificateDTO))
+                    .thenReturn(certificate);
+            when(giftCertificateRepository.insert(certificate))
+                    .thenReturn(1L);
+            giftCertificateService.create(giftCertificateDTO);
+            assertEquals(Set.of(tag), certificate.getTags());
+            verify(tagRepository, never()).upsertAll(any());
+            verify(giftCertificateRepository).insertTags(certificate);
+            verify(eventPublisher).publishEvent(new GiftCertificateChangedEvent(1L));
+        }
+
+        @Test
+        public void shouldInsertTagMissingFromDictionaryAndPublishItTest() throws DataModificationException {
+            GiftCertificate certificate = GiftCertificate.builder()
+                    .name("name")
+                    .tags(Set.of(Tag.builder().name("new").build()))
+                    .build();
+            when(giftCertificateMapper.toGiftCertificate(giftCertificateDTO))
+                    .thenReturn(certificate);
+            when(giftCertificateRepository.insert(certificate))
+                    .thenReturn(1L);
+            when(tagDictionary.findIdByName("new"))
+                    .thenReturn(Optional.empty());
+            when(tagRepository.upsertAll(List.of("new")))
+                    .thenReturn(List.of(Tag.builder().id(5L).name("new").build()));
+            giftCertificateService.create(giftCertificateDTO);
+            assertEquals(Set.of(Tag.builder().id(5L).name("new").build()), certificate.getTags());
+            verify(eventPublisher).publishEvent(new TagsCreatedEvent(List.of(Tag.builder().id(5L).name("new").build())));
+        }
+
+        @Test
+        public void shouldNotPublishTagCreatedMeanwhileByAnotherTransactionTest() throws DataModificationException {
+            GiftCertificate certificate = GiftCertificate.builder()
+                    .name("name")
+                    .tags(Set.of(Tag.builder().name("new").build()))
+                    .build();
+            when(giftCertificateMapper.toGiftCertificate(giftCertificateDTO))
+                    .thenReturn(certificate);
+            when(giftCertificateRepository.insert(certificate))
+                    .thenReturn(1L);
+            when(tagDictionary.findIdByName("new"))
+                    .thenReturn(Optional.empty())
+                    .thenReturn(Optional.of(5L));
+            when(tagRepository.upsertAll(List.of("new")))
+                    .thenReturn(List.of(Tag.builder().id(5L).name("new").build()));
+            giftCertificateService.create(giftCertificateDTO);
+            assertEquals(Set.of(Tag.builder().id(5L).name("new").build()), certificate.getTags());
+            verify(eventPublisher, never()).publishEvent(any(TagsCreatedEvent.class));
+        }
+    }
+
+    @Nested
+    class ImportAllTest {
+        private final InputStream ndjson = new ByteArrayInputStream((
+                "{\"name\":\"Spa weekend\",\"description\":\"Two days at the spa\",\"price\":99.5,\"duration\":30,\"tags\":[{\"name\":\"spa\"}]}\n" +
+                "{\"name\":\"Spa\",\"description\":\"Too short\",\"price\":10,\"duration\":30,\"tags\":[]}\n" +
+                "{\"name\":\"Cinema night\",\"description\":\"Two tickets to the cinema\",\"price\":20,\"duration\":90,\"tags\":[]}\n")
+                .getBytes(StandardCharsets.UTF_8));
+
+        @Test
+        public void shouldImportValidRowsAndReportInvalidOnesTest() throws DataModificationException {
+            List<GiftCertificateDTO> mapped = new ArrayList<>();
+            when(giftCertificateMapper.toGiftCertificate(any(GiftCertificateDTO.class)))
+                    .thenAnswer(invocation -> {
+                        mapped.add(invocation.getArgument(0));
+                        return giftCertificate;
+                    });
+            Tag created = Tag.builder().id(7L).name("spa").build();
+            when(giftCertificateRepository.importAll(any()))
+                    .thenAnswer(invocation -> {
+                        Iterator<GiftCertificate> certificates = invocation.getArgument(0);
+                        long count = 0;
+                        for (; certificates.hasNext(); certificates.next()) {
+                            count++;
+                        }
+                        return new ImportResult(count, List.of(created));
+                    });
+
+            ImportReportDTO report = giftCertificateService.importAll(ndjson, ImportFormat.NDJSON);
+
+            assertEquals(new ImportReportDTO(2, 1, List.of(new ImportErrorDTO(2,
+                    List.of("name must be between 5 and 50 characters", "description must be between 10 and 200 characters")))),
+                    report);
+            assertEquals(List.of("Spa weekend", "Cinema night"), mapped.stream().map(GiftCertificateDTO::getName).toList());
+            verify(eventPublisher).publishEvent(new TagsCreatedEvent(List.of(created)));
+            verify(eventPublisher).publishEvent(new GiftCertificatesImportedEvent(2));
+        }
+
+        @Test
+        public void shouldThrowModificationExceptionIfDataAccessExceptionWasThrownTest() {
+            doThrow(new DataAccessException("") {})
+                    .when(giftCertificateRepository).importAll(any());
+            assertThrows(DataModificationException.class,
+                    () -> giftCertificateService.importAll(ndjson, ImportFormat.NDJSON));
+            verify(eventPublisher, never()).publishEvent(any());
+        }
     }
 
     @Nested
     class DeleteTest {
         @Test
-        public void shouldThrowNotFoundExceptionIfEmptyResultDataAccessExceptionWasThrownTest() {
-            doThrow(EmptyResultDataAccessException.class)
-                    .when(giftCertificateRepository)
-                    .findById(0L);
+        public void shouldThrowNotFoundExceptionIfNoCertificateWasDeletedTest() {
+            when(giftCertificateRepository.delete(0L))
+                    .thenReturn(false);
             assertThrows(NotFoundException.class,
                     () -> giftCertificateService.delete(0L));
+            verifyNoInteractions(eventPublisher);
         }
 
         @Test
         public void shouldThrowModificationExceptionIfDataAccessExceptionWasThrownTest() {
-            when(giftCertificateRepository.findById(0L))
-                    .thenReturn(Optional.of(giftCertificate));
             doThrow(new DataAccessException("") {})
                     .when(giftCertificateRepository)
                     .delete(0L);
@@ -313,13 +847,12 @@ public class GiftCertificateServiceTest {
 
         @Test
         public void shouldNotThrowAnyExceptionIfNoExceptionWasThrownTest() {
-            when(giftCertificateRepository.findById(0L))
-                    .thenReturn(Optional.of(giftCertificate));
-            doNothing()
-                    .when(giftCertificateRepository)
-                    .delete(0L);
+            when(giftCertificateRepository.delete(0L))
+                    .thenReturn(true);
             assertDoesNotThrow(() ->
                     giftCertificateService.delete(0L));
+            verify(giftCertificateRepository, never()).findById(any());
+            verify(eventPublisher).publishEvent(new GiftCertificateChangedEvent(0L));
         }
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,12 @@
 package com.epam.esm.service.impl;
 
+import com.epam.esm.cache.TagDictionary;
+import com.epam.esm.cache.TagIndex;
 import com.epam.esm.config.ServiceTestConfig;
+import com.epam.esm.dto.TagSuggestionDTO;
+import com.epam.esm.entity.Tag;
+import com.epam.esm.event.TagCreatedEvent;
+import com.epam.esm.event.TagDeletedEvent;
 import com.epam.esm.exception.DataModificationException;
 import com.epam.esm.exception.NotFoundException;
 import com.epam.esm.repository.impl.TagRepositoryImpl;
@@ -13,12 +19,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessException;
-import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static com.epam.esm.util.ServiceTestEntityHolder.tag;
@@ -37,6 +44,12 @@ public class TagServiceTest {
     private TagMapper tagMapper;
     @Mock
     private TagRepository tagRepository;
+    @Mock
+    private TagDictionary tagDictionary;
+    @Mock
+    private TagIndex tagIndex;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
     @InjectMocks
     private TagService tagService;
 
@@ -44,50 +57,143 @@ public class TagServiceTest {
     public void setUp() {
         tagMapper = mock(TagMapper.class);
         tagRepository = mock(TagRepositoryImpl.class);
-        tagService = new TagServiceImpl(tagRepository, tagMapper);
+        tagDictionary = mock(TagDictionary.class);
+        tagIndex = mock(TagIndex.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        tagService = new TagServiceImpl(tagRepository, tagMapper, tagDictionary, tagIndex, eventPublisher);
     }
 
     @Nested
     class FindAllTest {
         @Test
-        public void shouldThrowNotFoundExceptionIfDataAccessExceptionWasThrownTest() {
-            doThrow(new DataAccessException("") {})
-                    .when(tagRepository)
-                    .findAll();
-            assertThrows(NotFoundException.class,
-                    () -> tagService.findAll());
+        public void shouldReturnEmptyListIfDictionaryIsEmptyTest() throws NotFoundException {
+            when(tagDictionary.findAll())
+                    .thenReturn(List.of());
+            assertEquals(List.of(),
+                    tagService.findAll());
         }
 
         @Test
         public void shouldReturnCorrectListOfTagsIfNoExceptionWasThrownTest() throws NotFoundException {
-            when(tagRepository.findAll())
+            when(tagDictionary.findAll())
                     .thenReturn(List.of(tag));
             when(tagMapper.toTagDTO(tag))
                     .thenReturn(tagDTO);
             assertEquals(List.of(tagDTO),
                     tagService.findAll());
+            verifyNoInteractions(tagRepository);
         }
     }
 
     @Nested
     class FindByIdTest {
         @Test
-        public void shouldThrowNotFoundExceptionIfEmptyResultDataAccessExceptionWasThrownTest() {
-            doThrow(EmptyResultDataAccessException.class)
-                    .when(tagRepository)
-                    .findById(0L);
+        public void shouldThrowNotFoundExceptionIfTagIsNotInDictionaryTest() {
+            when(tagDictionary.findById(0L))
+                    .thenReturn(Optional.empty());
             assertThrows(NotFoundException.class,
                     () -> tagService.findById(0L));
         }
 
         @Test
         public void shouldReturnCorrectTagIfTagWithSuchIdWasFound() throws NotFoundException {
-            when(tagRepository.findById(0L))
+            when(tagDictionary.findById(0L))
                     .thenReturn(Optional.of(tag));
             when(tagMapper.toTagDTO(tag))
                     .thenReturn(tagDTO);
             assertEquals(tagDTO,
                     tagService.findById(0L));
+            verifyNoInteractions(tagRepository);
+        }
+    }
+
+    @Nested
+    class SuggestTest {
+        private final Tag spa = Tag.builder().id(1L).name("Spa").build();
+        private final Tag spain = Tag.builder().id(2L).name("spain").build();
+        private final Tag sport = Tag.builder().id(3L).name("Sport").build();
+
+        @BeforeEach
+        public void setUp() {
+            when(tagDictionary.findByNamePrefix("sp"))
+                    .thenReturn(List.of(spa, spain, sport));
+            when(tagIndex.isEnabled())
+                    .thenReturn(true);
+            when(tagIndex.countCertificates(1L))
+                    .thenReturn(2L);
+            when(tagIndex.countCertificates(2L))
+                    .thenReturn(5L);
+            when(tagIndex.countCertificates(3L))
+                    .thenReturn(2L);
+            when(tagMapper.toTagSuggestionDTO(any(Tag.class), anyLong()))
+                    .thenAnswer(invocation -> {
+                        Tag tag = invocation.getArgument(0);
+                        return new TagSuggestionDTO(tag.getId(), tag.getName(), invocation.getArgument(1));
+                    });
+        }
+
+        @Test
+        public void shouldRankMostUsedTagsFirstThenByIdTest() {
+            assertEquals(List.of(new TagSuggestionDTO(2L, "spain", 5), new TagSuggestionDTO(1L, "Spa", 2),
+                            new TagSuggestionDTO(3L, "Sport", 2)),
+                    tagService.suggest("sp", 10));
+            verifyNoInteractions(tagRepository);
+        }
+
+        @Test
+        public void shouldKeepOnlyBestSuggestionsUpToLimitTest() {
+            assertEquals(List.of(new TagSuggestionDTO(2L, "spain", 5), new TagSuggestionDTO(1L, "Spa", 2)),
+                    tagService.suggest("sp", 2));
+        }
+
+        @Test
+        public void shouldWalkTagsRankedByIndexIfPrefixMatchesManyTagsTest() {
+            when(tagDictionary.findByNamePrefix(""))
+                    .thenReturn(List.of(spa, spain, sport));
+            when(tagIndex.countRankedTags())
+                    .thenReturn(3);
+            when(tagIndex.findTagIdsByCount())
+                    .thenReturn(List.of(2L, 1L, 3L));
+            when(tagDictionary.findById(2L))
+                    .thenReturn(Optional.of(spain));
+            when(tagDictionary.findById(1L))
+                    .thenReturn(Optional.of(spa));
+            assertEquals(List.of(new TagSuggestionDTO(2L, "spain", 5), new TagSuggestionDTO(1L, "Spa", 2)),
+                    tagService.suggest("", 2));
+            verify(tagDictionary, never()).findById(3L);
+            verify(tagIndex, never()).countCertificates(3L);
+        }
+
+        @Test
+        public void shouldRankAllMatchingTagsIfTooFewOfThemAreUsedTest() {
+            when(tagDictionary.findByNamePrefix(""))
+                    .thenReturn(List.of(spa, spain, sport));
+            when(tagIndex.countRankedTags())
+                    .thenReturn(1);
+            when(tagIndex.findTagIdsByCount())
+                    .thenReturn(List.of(2L));
+            when(tagDictionary.findById(2L))
+                    .thenReturn(Optional.of(spain));
+            assertEquals(List.of(new TagSuggestionDTO(2L, "spain", 5), new TagSuggestionDTO(1L, "Spa", 2)),
+                    tagService.suggest("", 2));
+        }
+
+        @Test
+        public void shouldCountCertificatesInDatabaseIfTagIndexIsDisabledTest() {
+            when(tagIndex.isEnabled())
+                    .thenReturn(false);
+            when(tagRepository.countCertificates(List.of(1L, 2L, 3L)))
+                    .thenReturn(Map.of(1L, 2L, 2L, 5L));
+            assertEquals(List.of(new TagSuggestionDTO(2L, "spain", 5), new TagSuggestionDTO(1L, "Spa", 2),
+                            new TagSuggestionDTO(3L, "Sport", 0)),
+                    tagService.suggest("sp", 10));
+            verify(tagIndex, never()).countCertificates(anyLong());
+        }
+
+        @Test
+        public void shouldSuggestAtLeastOneTagTest() {
+            assertEquals(List.of(new TagSuggestionDTO(2L, "spain", 5)),
+                    tagService.suggest("sp", 0));
         }
     }
 
@@ -112,15 +218,23 @@ public class TagServiceTest {
                     .thenReturn(0L);
             assertDoesNotThrow(() ->
                     tagService.create(tagDTO));
+            verify(eventPublisher).publishEvent(new TagCreatedEvent(0L, "name"));
         }
     }
 
     @Nested
     class DeleteTest {
+        @Test
+        public void shouldThrowNotFoundExceptionIfNoTagWasDeletedTest() {
+            when(tagRepository.delete(0L))
+                    .thenReturn(false);
+            assertThrows(NotFoundException.class,
+                    () -> tagService.delete(0L));
+            verifyNoInteractions(eventPublisher);
+        }
+
         @Test
         public void shouldThrowModificationExceptionIfDataAccessExceptionWasThrownTest() {
-            when(tagRepository.findById(0L))
-                    .thenReturn(Optional.of(tag));
             doThrow(new DataAccessException("") {})
                     .when(tagRepository)
                     .delete(0L);
@@ -131,13 +245,11 @@ public class TagServiceTest {
 
         @Test
         public void shouldNotThrowAnyExceptionIfNoExceptionWasThrownTest() {
-            when(tagRepository.findById(0L))
-                    .thenReturn(Optional.of(tag));
-            doNothing()
-                    .when(tagRepository)
-                    .delete(0L);
+            when(tagRepository.delete(0L))
+                    .thenReturn(true);
             assertDoesNotThrow(() ->
                     tagService.delete(0L));
+            verify(eventPublisher).publishEvent(new TagDeletedEvent(0L));
         }
     }
-}
\ No newline at end of file
+}
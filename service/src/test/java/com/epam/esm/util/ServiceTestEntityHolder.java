@@ -4,14 +4,19 @@ import com.epam.esm.dto.GiftCertificateDTO;
 import com.epam.esm.dto.TagDTO;
 import com.epam.esm.dto.filter.SearchFilterDTO;
 import com.epam.esm.dto.filter.SortFilterDTO;
+import com.epam.esm.dto.filter.TagFilterDTO;
+import com.epam.esm.dto.page.PageRequestDTO;
 import com.epam.esm.entity.GiftCertificate;
 import com.epam.esm.entity.Tag;
+import com.epam.esm.entity.filter.page.PageFilter;
 import com.epam.esm.entity.filter.search.SearchFilter;
 import com.epam.esm.entity.filter.search.SearchPlace;
 import com.epam.esm.entity.filter.search.SearchType;
 import com.epam.esm.entity.filter.sort.SortFilter;
 import com.epam.esm.entity.filter.sort.SortOrder;
 import com.epam.esm.entity.filter.sort.SortType;
+import com.epam.esm.entity.filter.tag.TagFilter;
+import com.epam.esm.entity.filter.tag.TagMatch;
 import lombok.experimental.UtilityClass;
 
 import java.time.LocalDateTime;
@@ -29,12 +34,16 @@ public class ServiceTestEntityHolder {
     public static final GiftCertificate giftCertificate;
     public static final SortFilter sortFilter;
     public static final SearchFilter searchFilter;
+    public static final TagFilter tagFilter;
+    public static final PageFilter pageFilter;
 
     // Entity DTO
     public static final TagDTO tagDTO;
     public static final GiftCertificateDTO giftCertificateDTO;
     public static final SortFilterDTO sortFilterDTO;
     public static final SearchFilterDTO searchFilterDTO;
+    public static final TagFilterDTO tagFilterDTO;
+    public static final PageRequestDTO pageRequestDTO;
 
     // Null Entities and DTOs
     public static final Tag nullTag;
@@ -80,6 +89,18 @@ public class ServiceTestEntityHolder {
                 .searchPlace(SearchPlace.STARTS_WITH)
                 .build();
 
+        tagFilter = TagFilter
+                .builder()
+                .includedTags(Set.of("name"))
+                .excludedTags(Set.of())
+                .tagMatch(TagMatch.ANY)
+                .build();
+
+        pageFilter = PageFilter
+                .builder()
+                .limit(1)
+                .build();
+
         tagDTO = TagDTO
                 .builder()
                 .id(0L)
@@ -111,6 +132,17 @@ public class ServiceTestEntityHolder {
                 .searchPlace(SearchPlace.STARTS_WITH.toString())
                 .build();
 
+        tagFilterDTO = TagFilterDTO
+                .builder()
+                .includedTags(List.of("name", "name"))
+                .tagMatch("any")
+                .build();
+
+        pageRequestDTO = PageRequestDTO
+                .builder()
+                .size(1)
+                .build();
+
         nullTag = Tag
                 .builder()
                 .build();
@@ -1,15 +1,36 @@
 package com.epam.esm.util.mapper;
 
 import com.epam.esm.config.ServiceTestConfig;
+import com.epam.esm.dto.filter.GiftCertificateFilterDTO;
+import com.epam.esm.dto.filter.SearchFilterDTO;
+import com.epam.esm.dto.filter.TagFilterDTO;
+import com.epam.esm.dto.page.PageRequestDTO;
+import com.epam.esm.entity.filter.GiftCertificateFilter;
+import com.epam.esm.entity.filter.page.PageFilter;
+import com.epam.esm.entity.filter.search.SearchFilter;
+import com.epam.esm.entity.filter.search.SearchPlace;
+import com.epam.esm.entity.filter.search.SearchType;
+import com.epam.esm.entity.filter.sort.SortFilter;
+import com.epam.esm.entity.filter.sort.SortOrder;
+import com.epam.esm.entity.filter.sort.SortType;
+import com.epam.esm.entity.filter.tag.TagFilter;
+import com.epam.esm.entity.filter.tag.TagMatch;
+import com.epam.esm.util.PageCursor;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.util.List;
+import java.util.Set;
+
 import static com.epam.esm.util.ServiceTestEntityHolder.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ExtendWith(SpringExtension.class)
 @ContextConfiguration(classes = {ServiceTestConfig.class})
@@ -31,6 +52,59 @@ class FilterMapperTest {
         assertEquals(searchFilter, filterMapper.toSearchFilter(searchFilterDTO));
     }
 
+    @Test
+    public void shouldMapTagFilterWithDistinctNamesTest() {
+        // Test that repeated tag names are mapped once and absent lists are empty
+        assertEquals(tagFilter, filterMapper.toTagFilter(tagFilterDTO));
+
+        // Test that the tag match requires all included tags if absent
+        TagFilter emptyFilter = filterMapper.toTagFilter(new TagFilterDTO());
+        assertEquals(TagMatch.ALL, emptyFilter.getTagMatch());
+        assertTrue(emptyFilter.getIncludedTags().isEmpty());
+    }
+
+    @Test
+    public void shouldMapCombinedFilterWithDefaultsTest() {
+        // Test that the present filters are mapped with defaults for their absent parameters
+        GiftCertificateFilterDTO combinedFilter = GiftCertificateFilterDTO
+                .builder()
+                .tag(List.of("Spa", "Spa"))
+                .search("relax")
+                .sort("by_name")
+                .build();
+        GiftCertificateFilter expected = GiftCertificateFilter
+                .builder()
+                .tagFilter(TagFilter.builder().includedTags(Set.of("Spa")).excludedTags(Set.of()).tagMatch(TagMatch.ALL).build())
+                .searchFilter(SearchFilter.builder().searchValue("relax").searchType(SearchType.TITLE).searchPlace(SearchPlace.CONTAINS).build())
+                .sortFilter(SortFilter.builder().sortType(SortType.BY_NAME).sortOrder(SortOrder.ASCENDING).build())
+                .build();
+        assertEquals(expected, filterMapper.toGiftCertificateFilter(combinedFilter));
+
+        // Test that filters without parameters are left out
+        assertEquals(GiftCertificateFilter.builder().build(), filterMapper.toGiftCertificateFilter(new GiftCertificateFilterDTO()));
+    }
+
+    @Test
+    public void shouldMapFullTextSearchTypeTest() {
+        // Test that the full-text search type maps next to the field search types
+        assertEquals(SearchType.FULL_TEXT, filterMapper.toSearchType("full_text"));
+        assertEquals(SearchType.TITLE, filterMapper.toSearchType("title"));
+    }
+
+    @Test
+    public void shouldMapCaseInsensitiveFlagTest() {
+        // Test that the optional case-insensitive flag defaults to case-sensitive search
+        SearchFilterDTO caseInsensitiveFilter = SearchFilterDTO
+                .builder()
+                .searchValue(searchFilterDTO.getSearchValue())
+                .searchType(searchFilterDTO.getSearchType())
+                .searchPlace(searchFilterDTO.getSearchPlace())
+                .caseInsensitive(true)
+                .build();
+        assertTrue(filterMapper.toSearchFilter(caseInsensitiveFilter).isCaseInsensitive());
+        assertFalse(filterMapper.toSearchFilter(searchFilterDTO).isCaseInsensitive());
+    }
+
     @Test
     public void shouldReturnNullIfNullPassedTest() {
         // Test if null input returns null for SortFilter and SearchFilter
@@ -46,4 +120,47 @@ class FilterMapperTest {
         // Test if null SearchFilterDTO returns null SearchFilter and vice versa
         assertEquals(nullSearchFilter, filterMapper.toSearchFilter(nullSearchFilterDTO));
     }
+
+    @Test
+    public void shouldDecodePageCursorOfEncodedCertificateTest() {
+        // Test that the cursor of a certificate decodes into a page filter starting after it
+        SortFilter byCreateDate = SortFilter.builder().sortType(SortType.BY_CREATE_DATE).sortOrder(SortOrder.DESCENDING).build();
+        PageRequestDTO pageRequest = PageRequestDTO
+                .builder()
+                .cursor(PageCursor.encode(giftCertificate, byCreateDate))
+                .size(10)
+                .build();
+        PageFilter expected = PageFilter
+                .builder()
+                .limit(10)
+                .lastId(giftCertificate.getId())
+                .lastValue(giftCertificate.getCreateDate())
+                .build();
+        assertEquals(expected, filterMapper.toPageFilter(pageRequest, byCreateDate));
+    }
+
+    @Test
+    public void shouldUseDefaultPageSizeIfNoSizePassedTest() {
+        // Test that a missing page request maps to the first page of default size
+        assertEquals(PageFilter.builder().limit(PageRequestDTO.DEFAULT_SIZE).build(),
+                filterMapper.toPageFilter(null, null));
+    }
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionIfCursorIsInvalidTest() {
+        // Test that malformed cursors and cursors of another sort type or order are rejected
+        SortFilter byNameAscending = SortFilter.builder().sortType(SortType.BY_NAME).sortOrder(SortOrder.ASCENDING).build();
+        SortFilter byNameDescending = SortFilter.builder().sortType(SortType.BY_NAME).sortOrder(SortOrder.DESCENDING).build();
+        SortFilter byCreateDateAscending = SortFilter.builder().sortType(SortType.BY_CREATE_DATE).sortOrder(SortOrder.ASCENDING).build();
+        PageRequestDTO malformed = PageRequestDTO.builder().cursor("not a cursor").build();
+        assertThrows(IllegalArgumentException.class, () -> filterMapper.toPageFilter(malformed, null));
+
+        PageRequestDTO unsorted = PageRequestDTO.builder().cursor(PageCursor.encode(giftCertificate, null)).build();
+        assertThrows(IllegalArgumentException.class, () -> filterMapper.toPageFilter(unsorted, byNameAscending));
+
+        PageRequestDTO sorted = PageRequestDTO.builder().cursor(PageCursor.encode(giftCertificate, byNameAscending)).build();
+        assertThrows(IllegalArgumentException.class, () -> filterMapper.toPageFilter(sorted, byNameDescending));
+        assertThrows(IllegalArgumentException.class, () -> filterMapper.toPageFilter(sorted, byCreateDateAscending));
+        assertThrows(IllegalArgumentException.class, () -> filterMapper.toPageFilter(sorted, null));
+    }
 }
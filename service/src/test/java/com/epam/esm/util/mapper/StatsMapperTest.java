@@ -0,0 +1,63 @@
+package com.epam.esm.util.mapper;
+
+import com.epam.esm.config.ServiceTestConfig;
+import com.epam.esm.dto.stats.LatencyStatsDTO;
+import com.epam.esm.dto.stats.PoolStatsDTO;
+import com.epam.esm.metrics.ConnectionPoolStats;
+import com.epam.esm.metrics.LatencyHistogram;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {ServiceTestConfig.class})
+class StatsMapperTest {
+
+    private final StatsMapper statsMapper;
+
+    @Autowired
+    public StatsMapperTest(StatsMapper statsMapper) {
+        this.statsMapper = statsMapper;
+    }
+
+    @Test
+    public void shouldMapConnectionPoolStatsCorrectlyTest() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(3_000);
+        histogram.record(100_000);
+        ConnectionPoolStats connectionPoolStats = new ConnectionPoolStats("primary", 2, 3, 5, 1, 16, 4, 7,
+                histogram.snapshot(), new LatencyHistogram().snapshot());
+        LatencyStatsDTO acquireLatency = LatencyStatsDTO.builder()
+                .count(2)
+                .mean(51)
+                .p50(4)
+                .p95(100)
+                .p99(100)
+                .max(100)
+                .countsByUpperBound(new TreeMap<>(Map.of(4L, 1L, 128L, 1L)))
+                .build();
+        LatencyStatsDTO usageLatency = LatencyStatsDTO.builder()
+                .countsByUpperBound(Map.of())
+                .build();
+        PoolStatsDTO poolStatsDTO = PoolStatsDTO.builder()
+                .name("primary")
+                .active(2)
+                .idle(3)
+                .total(5)
+                .waiting(1)
+                .maximumSize(16)
+                .minimumIdle(4)
+                .timeoutCount(7)
+                .acquireLatency(acquireLatency)
+                .usageLatency(usageLatency)
+                .build();
+        assertEquals(poolStatsDTO, statsMapper.toPoolStatsDTO(connectionPoolStats));
+    }
+}